@@ -28,10 +28,12 @@ import java.io.UnsupportedEncodingException;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IFolder;
@@ -448,51 +450,54 @@ public class FeatureHouseComposer extends ComposerExtensionClass {
 			} else {
 				final IFeatureModel featureModel = featureProject.getFeatureModel();
 				final IFeatureModelFactory factory = FMFactoryManager.getFactory(featureModel);
+				final Map<String, Integer> featureOrder = new HashMap<String, Integer>();
+				for (final String feat : featureModel.getFeatureOrderList()) {
+					if (!featureOrder.containsKey(feat)) {
+						featureOrder.put(feat, featureOrder.size());
+					}
+				}
 				for (FSTClass c : fstModel.getClasses()) {
 					for (FSTRole r : c.getRoles()) {
 						IFeature featureRole1 = featureModel.getFeature(r.getFeature().getName());
+						final Integer roleOrder = featureOrder.get(r.getFeature().getName());
+						final int roleIndex = (roleOrder == null) ? Integer.MAX_VALUE : roleOrder;
 						for (FSTMethod m : r.getClassFragment().getMethods()) {
 							final List<IFeature> currentFeatureList = new LinkedList<IFeature>();
 							final List<IFeature> originalList = new LinkedList<IFeature>();
 
 							currentFeatureList.add(factory.createFeature(featureModel, r.getFeature().getName()));
 
-							for (final String feat : featureModel.getFeatureOrderList()) {
-								if (feat.equals(r.getFeature().getName())) {
-									break;
-								}
-								final FSTRole rr = c.getRole(feat);
-								if (rr == null) {
+							// only methods with the same name can match, so the index replaces the scan over all previous roles
+							for (FSTMethod mm : fstModel.getMethods(c.getName(), m.getName())) {
+								final FSTRole rr = mm.getRole();
+								final Integer order = featureOrder.get(rr.getFeature().getName());
+								if (order == null || order >= roleIndex || mm.getParent() != rr.getClassFragment()) {
 									continue;
 								}
-								IFeature featureRole2 = featureModel.getFeature(feat);
-								for (FSTMethod mm : rr.getClassFragment().getMethods()) {
-
-									if (checkForOriginalInContract(m, mm)) {
-										originalList.add(featureRole2);
-									}
-
-									if (checkForIllegitimateMethodRefinement(m, mm)) {
-										List<IFeature> finalMethodList = new LinkedList<IFeature>();
-										finalMethodList.add(featureRole2);
-										if (!featureModel.getAnalyser().checkIfFeatureCombinationNotPossible(featureRole1, finalMethodList))
-											setContractErrorMarker(m, "keyword \"\\final_method\" found but possibly later refinement.");
-									}
-
-									if (checkForIllegitimateContract(m, mm)) {
-										List<IFeature> finalContractList = new LinkedList<IFeature>();
-										finalContractList.add(featureRole2);
-										if (mm.getCompKey().contains(FINAL_CONTRACT) && !featureModel.getAnalyser().checkIfFeatureCombinationNotPossible(factory.createFeature(featureModel, r.getFeature().getName()), finalContractList))
-											setContractErrorMarker(m, "keyword \"\\final_contract\" found but possibly later contract refinement.");
-									}
-
-									if (checkForIllegitimaterefinement(m, mm)) {
-										LinkedList<IFeature> treeDependencyList = new LinkedList<IFeature>();
-										treeDependencyList.add(featureRole2);
-										if (!featureModel.getAnalyser().checkIfFeatureCombinationNotPossible(featureRole1, treeDependencyList))
-											setContractErrorMarker(m, "Contract with composition keyword " + mm.getCompKey() + " possibily illegitimately redefined with keyword " + m.getCompKey() + ".");
-									}
+								IFeature featureRole2 = featureModel.getFeature(rr.getFeature().getName());
+								if (checkForOriginalInContract(m, mm)) {
+									originalList.add(featureRole2);
+								}
+
+								if (checkForIllegitimateMethodRefinement(m, mm)) {
+									List<IFeature> finalMethodList = new LinkedList<IFeature>();
+									finalMethodList.add(featureRole2);
+									if (!featureModel.getAnalyser().checkIfFeatureCombinationNotPossible(featureRole1, finalMethodList))
+										setContractErrorMarker(m, "keyword \"\\final_method\" found but possibly later refinement.");
+								}
+
+								if (checkForIllegitimateContract(m, mm)) {
+									List<IFeature> finalContractList = new LinkedList<IFeature>();
+									finalContractList.add(featureRole2);
+									if (mm.getCompKey().contains(FINAL_CONTRACT) && !featureModel.getAnalyser().checkIfFeatureCombinationNotPossible(factory.createFeature(featureModel, r.getFeature().getName()), finalContractList))
+										setContractErrorMarker(m, "keyword \"\\final_contract\" found but possibly later contract refinement.");
+								}
 
+								if (checkForIllegitimaterefinement(m, mm)) {
+									LinkedList<IFeature> treeDependencyList = new LinkedList<IFeature>();
+									treeDependencyList.add(featureRole2);
+									if (!featureModel.getAnalyser().checkIfFeatureCombinationNotPossible(featureRole1, treeDependencyList))
+										setContractErrorMarker(m, "Contract with composition keyword " + mm.getCompKey() + " possibily illegitimately redefined with keyword " + m.getCompKey() + ".");
 								}
 							}
 							if (m.getContract().contains(ORIGINAL) && !(!originalList.isEmpty() ? featureModel.getAnalyser().checkImplies(currentFeatureList, originalList) : false))
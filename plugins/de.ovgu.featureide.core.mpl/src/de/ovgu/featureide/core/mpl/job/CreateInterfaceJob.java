@@ -27,13 +27,26 @@ import static de.ovgu.featureide.fm.core.localization.StringTable.INTERFACES;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.Hashtable;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.prop4j.And;
 import org.prop4j.Literal;
@@ -45,6 +58,7 @@ import org.sat4j.specs.TimeoutException;
 import de.ovgu.featureide.core.CorePlugin;
 import de.ovgu.featureide.core.mpl.MPLPlugin;
 import de.ovgu.featureide.fm.core.base.FeatureUtils;
+import de.ovgu.featureide.fm.core.base.IConstraint;
 import de.ovgu.featureide.fm.core.base.IFeature;
 import de.ovgu.featureide.fm.core.base.IFeatureModel;
 import de.ovgu.featureide.fm.core.base.IFeatureModelFactory;
@@ -81,6 +95,105 @@ public class CreateInterfaceJob extends AProjectJob<CreateInterfaceJob.Arguments
 		}
 	}
 
+	/**
+	 * Identifies an interface by a digest of the feature model and the selected features.
+	 */
+	private static final class InterfaceKey {
+		private final byte[] featureModel;
+		private final Set<String> featureNames;
+		private final int hashCode;
+
+		private InterfaceKey(IFeatureModel featureModel, Collection<String> featureNames) {
+			this.featureModel = digest(featureModel);
+			this.featureNames = new HashSet<>(featureNames);
+			this.hashCode = 31 * Arrays.hashCode(this.featureModel) + this.featureNames.hashCode();
+		}
+
+		/**
+		 * Computes a digest over the feature tree and the constraints, i.e., over everything that influences the interface.
+		 */
+		private static byte[] digest(IFeatureModel featureModel) {
+			final MessageDigest digest;
+			try {
+				digest = MessageDigest.getInstance("SHA-1");
+			} catch (NoSuchAlgorithmException e) {
+				throw new IllegalStateException(e);
+			}
+			final IFeatureStructure root = featureModel.getStructure().getRoot();
+			if (root != null) {
+				update(digest, root);
+			}
+			for (IConstraint constraint : featureModel.getConstraints()) {
+				update(digest, String.valueOf(constraint.getNode()));
+			}
+			return digest.digest();
+		}
+
+		private static void update(MessageDigest digest, IFeatureStructure structure) {
+			update(digest, structure.getFeature().getName());
+			digest.update((byte) ((structure.isAbstract() ? 1 : 0) | (structure.isMandatory() ? 2 : 0) | (structure.isAnd() ? 4 : 0)
+					| (structure.isOr() ? 8 : 0) | (structure.isHidden() ? 16 : 0)));
+			digest.update((byte) '(');
+			for (IFeatureStructure child : structure.getChildren()) {
+				update(digest, child);
+			}
+			digest.update((byte) ')');
+		}
+
+		private static void update(MessageDigest digest, String text) {
+			final byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+			final int length = bytes.length;
+			digest.update(new byte[] { (byte) (length >>> 24), (byte) (length >>> 16), (byte) (length >>> 8), (byte) length });
+			digest.update(bytes);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof InterfaceKey)) {
+				return false;
+			}
+			final InterfaceKey other = (InterfaceKey) obj;
+			return hashCode == other.hashCode && featureNames.equals(other.featureNames) && Arrays.equals(featureModel, other.featureModel);
+		}
+	}
+
+	private static final int CACHE_SIZE = 32;
+
+	/**
+	 * The most recently created interfaces.
+	 */
+	private static final Map<InterfaceKey, IFeatureModel> interfaceCache = new LinkedHashMap<InterfaceKey, IFeatureModel>(CACHE_SIZE, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<InterfaceKey, IFeatureModel> eldest) {
+			return size() > CACHE_SIZE;
+		}
+	};
+
+	/**
+	 * @return the number of cached interfaces.
+	 */
+	static int getCacheSize() {
+		synchronized (interfaceCache) {
+			return interfaceCache.size();
+		}
+	}
+
+	static void clearCache() {
+		synchronized (interfaceCache) {
+			interfaceCache.clear();
+		}
+	}
+
 	private IFeatureModel newInterfaceModel = null;
 
 	protected CreateInterfaceJob(Arguments arguments) {
@@ -93,7 +206,21 @@ public class CreateInterfaceJob extends AProjectJob<CreateInterfaceJob.Arguments
 
 	@Override
 	public IFeatureModel execute(IMonitor workMonitor) throws Exception {
-		newInterfaceModel = createInterface(arguments.featuremodel, arguments.featureNames, workMonitor);
+		final InterfaceKey key = new InterfaceKey(arguments.featuremodel, arguments.featureNames);
+		IFeatureModel interfaceModel;
+		synchronized (interfaceCache) {
+			interfaceModel = interfaceCache.get(key);
+		}
+		if (interfaceModel == null) {
+			// only complete interfaces reach the cache, as any failure is propagated by createInterface
+			interfaceModel = createInterface(arguments.featuremodel, arguments.featureNames, workMonitor);
+			synchronized (interfaceCache) {
+				interfaceCache.put(key, interfaceModel.clone());
+			}
+			newInterfaceModel = interfaceModel;
+		} else {
+			newInterfaceModel = interfaceModel.clone();
+		}
 		return newInterfaceModel;
 	}
 
@@ -116,7 +243,8 @@ public class CreateInterfaceJob extends AProjectJob<CreateInterfaceJob.Arguments
 		return true;
 	}
 
-	private IFeatureModel createInterface(IFeatureModel orgFeatureModel, Collection<String> selectedFeatureNames, IMonitor workMonitor) {
+	private IFeatureModel createInterface(IFeatureModel orgFeatureModel, Collection<String> selectedFeatureNames, IMonitor workMonitor)
+			throws java.util.concurrent.TimeoutException, UnkownLiteralException, TimeoutException, InterruptedException, ExecutionException {
 		// Calculate Constraints
 		IFeatureModel m = orgFeatureModel.clone();
 		for (IFeature feat : m.getFeatures()) {
@@ -125,16 +253,10 @@ public class CreateInterfaceJob extends AProjectJob<CreateInterfaceJob.Arguments
 		workMonitor.setRemainingWork(3);
 		ArrayList<String> removeFeatures = new ArrayList<>(FeatureUtils.getFeatureNames(m));
 		removeFeatures.removeAll(selectedFeatureNames);
-		Node cnf = null;
-		try {
-			cnf = (selectedFeatureNames.size() > 1) ? CorePlugin.removeFeatures(m, removeFeatures) : new Literal(m.getStructure().getRoot().getFeature()
-					.getName());
-		} catch (java.util.concurrent.TimeoutException e1) {
-			e1.printStackTrace();
-		} catch (UnkownLiteralException e1) {
-			e1.printStackTrace();
-		}
+		final Node cnf = (selectedFeatureNames.size() > 1) ? CorePlugin.removeFeatures(m, removeFeatures) : new Literal(m.getStructure().getRoot()
+				.getFeature().getName());
 		workMonitor.worked();
+		workMonitor.checkCancel();
 
 		//		m = orgFeatureModel.clone();
 
@@ -187,26 +309,72 @@ public class CreateInterfaceJob extends AProjectJob<CreateInterfaceJob.Arguments
 			final Node[] children = cnf.getChildren();
 			workMonitor.setRemainingWork(children.length + 2);
 
-			final SatSolver modelSatSolver = new SatSolver(AdvancedNodeCreator.createCNF(m), 1000, false);
+			final Node modelCNF = AdvancedNodeCreator.createCNF(m);
 			workMonitor.worked();
+			workMonitor.checkCancel();
+			final int threads = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), children.length / 16));
+			final boolean[] addClause = checkClauses(modelCNF, children, threads);
 			for (int i = 0; i < children.length; i++) {
-				final Node child = children[i];
+				if (addClause[i]) {
+					m.addConstraint(factory.createConstraint(m, children[i]));
+				}
+				workMonitor.worked();
+			}
+		}
+		return m;
+	}
 
+	/**
+	 * Checks which clauses are not already implied by the given CNF.
+	 * The clauses are distributed among several threads, each using its own incremental solver.
+	 * If any check fails, the exception is propagated and no partial result is returned.
+	 * 
+	 * @param threads the number of threads to use; for a single thread, the clauses are checked in the calling thread.
+	 * @return an array stating for each clause, whether it must be added to the model.
+	 */
+	static boolean[] checkClauses(final Node modelCNF, final Node[] clauses, final int threads) throws TimeoutException, InterruptedException,
+			ExecutionException {
+		final boolean[] addClause = new boolean[clauses.length];
+		if (threads <= 1) {
+			final SatSolver solver = new SatSolver(modelCNF, 1000, false);
+			for (int i = 0; i < clauses.length; i++) {
+				addClause[i] = checkOr(solver, clauses[i]);
+			}
+			return addClause;
+		}
+		final ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			final List<Callable<Void>> tasks = new ArrayList<>(threads);
+			for (int t = 0; t < threads; t++) {
+				final int offset = t;
+				tasks.add(new Callable<Void>() {
+					@Override
+					public Void call() throws TimeoutException {
+						final SatSolver solver = new SatSolver(modelCNF, 1000, false);
+						for (int i = offset; i < clauses.length; i += threads) {
+							addClause[i] = checkOr(solver, clauses[i]);
+						}
+						return null;
+					}
+				});
+			}
+			for (Future<Void> future : executor.invokeAll(tasks)) {
 				try {
-					if (checkOr(modelSatSolver, child)) {
-						m.addConstraint(factory.createConstraint(m, child));
+					future.get();
+				} catch (ExecutionException e) {
+					if (e.getCause() instanceof TimeoutException) {
+						throw (TimeoutException) e.getCause();
 					}
-				} catch (TimeoutException e) {
-					MPLPlugin.getDefault().logError(e);
-				} finally {
-					workMonitor.worked();
+					throw e;
 				}
 			}
+		} finally {
+			executor.shutdownNow();
 		}
-		return m;
+		return addClause;
 	}
 
-	private boolean checkOr(final SatSolver solver, Node clause) throws TimeoutException {
+	private static boolean checkOr(final SatSolver solver, Node clause) throws TimeoutException {
 		if (clause instanceof Or) {
 			Node[] clauseChildren = clause.getChildren();
 			Literal[] literals = new Literal[clauseChildren.length];
@@ -224,7 +392,7 @@ public class CreateInterfaceJob extends AProjectJob<CreateInterfaceJob.Arguments
 		return false;
 	}
 
-	private boolean checkLiteral(final SatSolver solver, Node clause) throws TimeoutException {
+	private static boolean checkLiteral(final SatSolver solver, Node clause) throws TimeoutException {
 		final Literal literal = (Literal) clause.clone();
 		literal.flip();
 		if (solver.isSatisfiable(new Literal[] { literal })) {
@@ -0,0 +1,352 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2016  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ * 
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.core.runtime;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.lang.model.SourceVersion;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+
+import de.ovgu.featureide.core.runtime.activator.RuntimeCorePlugin;
+
+/**
+ * Generates the class {@value RuntimeParameters#FEATURE_FLAGS_CLASS} that contains one <code>static final boolean</code> field per feature
+ * and rewrites the calls of {@value RuntimeParameters#PROPERTY_MANAGER_CLASS}.{@value RuntimeParameters#GET_PROPERTY_METHOD} to field reads (and back).<br>
+ * The fields are initialized once when the class is loaded. Thus, the feature selection is not looked up at every call
+ * and the JIT compiler can remove the branches of disabled features.
+ * 
+ */
+class FeatureFlagsGenerator {
+
+	private static final String PROPERTY_CALL_PREFIX = RuntimeParameters.PROPERTY_MANAGER_CLASS + "." + RuntimeParameters.GET_PROPERTY_METHOD;
+	private static final String FIELD_READ_PREFIX = RuntimeParameters.FEATURE_FLAGS_CLASS + ".";
+
+	private static final Pattern PROPERTY_CALL = Pattern.compile("\\b" + Pattern.quote(PROPERTY_CALL_PREFIX) + "\\(\\s*\"([^\"]*)\"\\s*\\)");
+	private static final Pattern FIELD_READ = Pattern.compile("\\b" + Pattern.quote(FIELD_READ_PREFIX) + "([\\p{javaJavaIdentifierStart}][\\p{javaJavaIdentifierPart}]*)");
+
+	private static final Pattern PACKAGE_DECLARATION = Pattern.compile("\\s*package\\s+([\\w.]+)\\s*;.*");
+	private static final Pattern IMPORT_DECLARATION = Pattern.compile("\\s*import\\s+(static\\s+)?([\\w.]+(\\.\\*)?)\\s*;.*");
+
+	private static final String PACKAGE_WILDCARD = RuntimeParameters.PROPERTY_MANAGER_PACKAGE + ".*";
+
+	private FeatureFlagsGenerator() {
+	}
+
+	/**
+	 * Checks whether a feature can be represented by a field.
+	 * 
+	 * @param featureName the name of the feature
+	 * @return <code>true</code> if the name is a valid Java identifier and neither a keyword nor a literal
+	 */
+	static boolean isValidFieldName(String featureName) {
+		return SourceVersion.isIdentifier(featureName) && !SourceVersion.isKeyword(featureName);
+	}
+
+	/**
+	 * Determines the fields of the flag class.
+	 * 
+	 * @param featureNames the names of all concrete features
+	 * @return the names of all features that can be represented by a field
+	 */
+	static Set<String> getFieldNames(Collection<String> featureNames) {
+		final Set<String> fieldNames = new LinkedHashSet<>();
+		for (String featureName : featureNames) {
+			if (isValidFieldName(featureName)) {
+				fieldNames.add(featureName);
+			}
+		}
+		return fieldNames;
+	}
+
+	/**
+	 * Creates the source code of the flag class.
+	 * 
+	 * @param fieldNames the names of the fields (see {@link #getFieldNames(Collection)})
+	 * @return the content of the class file
+	 */
+	static String createFlagClass(Collection<String> fieldNames) {
+		final StringBuilder sb = new StringBuilder();
+		sb.append("package ").append(RuntimeParameters.PROPERTY_MANAGER_PACKAGE).append(";\n\n");
+		sb.append("/**\n * Auto-generated class\n * \n");
+		sb.append(" * Contains one constant per feature. The values are read once from the runtime.properties file.\n */\n");
+		sb.append("public final class ").append(RuntimeParameters.FEATURE_FLAGS_CLASS).append(" {\n\n");
+		for (String fieldName : fieldNames) {
+			sb.append("\tpublic static final boolean ").append(fieldName).append(" = ").append(PROPERTY_CALL_PREFIX).append("(\"").append(fieldName)
+					.append("\");\n");
+		}
+		sb.append("\n\tprivate ").append(RuntimeParameters.FEATURE_FLAGS_CLASS).append("() {}\n\n}\n");
+		return sb.toString();
+	}
+
+	/**
+	 * Rewrites the calls at the given locations to field reads.
+	 * 
+	 * @param locations the locations of the calls
+	 * @param fieldNames the fields of the generated flag class
+	 */
+	static void toFieldReads(Collection<FeatureLocation> locations, Set<String> fieldNames) {
+		rewrite(locations, true, fieldNames);
+	}
+
+	/**
+	 * Rewrites the field reads at the given locations to calls of the property manager.
+	 * 
+	 * @param locations the locations of the field reads
+	 */
+	static void toPropertyCalls(Collection<FeatureLocation> locations) {
+		rewrite(locations, false, null);
+	}
+
+	/**
+	 * Replaces all calls (or field reads) within the given line.
+	 * 
+	 * @param line the line of code
+	 * @param toFieldReads <code>true</code> if calls are replaced by field reads, <code>false</code> for the opposite direction
+	 * @param fieldNames the fields of the generated flag class (only calls of these features are replaced by field reads)
+	 * @return the new line
+	 */
+	static String rewriteLine(String line, boolean toFieldReads, Set<String> fieldNames) {
+		final Matcher matcher = (toFieldReads ? PROPERTY_CALL : FIELD_READ).matcher(line);
+		final StringBuffer sb = new StringBuffer();
+		while (matcher.find()) {
+			final String featureName = matcher.group(1);
+			final String replacement;
+			if (toFieldReads) {
+				replacement = fieldNames.contains(featureName) ? FIELD_READ_PREFIX + featureName : matcher.group();
+			} else {
+				replacement = PROPERTY_CALL_PREFIX + "(\"" + featureName + "\")";
+			}
+			matcher.appendReplacement(sb, Matcher.quoteReplacement(replacement));
+		}
+		matcher.appendTail(sb);
+		return sb.toString();
+	}
+
+	/**
+	 * Rewrites the given lines of a class file and updates the imports of the class accordingly.<br>
+	 * The line separators of the content are kept.
+	 * 
+	 * @param content the content of the class file
+	 * @param lineNumbers the numbers of the lines to rewrite (starting at 1)
+	 * @param toFieldReads <code>true</code> if calls are replaced by field reads, <code>false</code> for the opposite direction
+	 * @param fieldNames the fields of the generated flag class (only needed if <code>toFieldReads</code> is <code>true</code>)
+	 * @return the new content
+	 */
+	static String rewrite(String content, Collection<Integer> lineNumbers, boolean toFieldReads, Set<String> fieldNames) {
+		// each line keeps its line separator
+		final List<String> lines = new ArrayList<>(Arrays.asList(content.split("(?<=\n)|(?<=\r)(?!\n)")));
+		boolean changed = false;
+		for (Integer lineNumber : lineNumbers) {
+			final int index = lineNumber - 1;
+			if (index >= 0 && index < lines.size()) {
+				final String line = lines.get(index);
+				final String newLine = rewriteLine(line, toFieldReads, fieldNames);
+				if (!newLine.equals(line)) {
+					lines.set(index, newLine);
+					changed = true;
+				}
+			}
+		}
+		if (!changed) {
+			return content;
+		}
+		updateImports(lines);
+
+		final StringBuilder sb = new StringBuilder(content.length());
+		for (String line : lines) {
+			sb.append(line);
+		}
+		return sb.toString();
+	}
+
+	private static void rewrite(Collection<FeatureLocation> locations, boolean toFieldReads, Set<String> fieldNames) {
+		// only load and write each class file once
+		final Map<IFile, List<FeatureLocation>> locationsPerFile = new LinkedHashMap<>();
+		for (FeatureLocation loc : locations) {
+			List<FeatureLocation> fileLocations = locationsPerFile.get(loc.getClassFile());
+			if (fileLocations == null) {
+				fileLocations = new ArrayList<>();
+				locationsPerFile.put(loc.getClassFile(), fileLocations);
+			}
+			fileLocations.add(loc);
+		}
+
+		for (Entry<IFile, List<FeatureLocation>> entry : locationsPerFile.entrySet()) {
+			final IFile classFile = entry.getKey();
+			try {
+				final String charset = classFile.getCharset();
+				final String content = read(classFile, charset);
+				final List<Integer> lineNumbers = new ArrayList<>();
+				for (FeatureLocation loc : entry.getValue()) {
+					lineNumbers.add(loc.getStartLineNum());
+				}
+				final String newContent = rewrite(content, lineNumbers, toFieldReads, fieldNames);
+				if (newContent != content) {
+					// imports are only changed in front of the locations, so all locations are shifted equally
+					final int shift = countLines(newContent) - countLines(content);
+					if (shift != 0) {
+						for (FeatureLocation loc : entry.getValue()) {
+							loc.startLineNum += shift;
+							loc.endLineNum += shift;
+						}
+					}
+					final InputStream stream = new ByteArrayInputStream(newContent.getBytes(charset));
+					classFile.setContents(stream, IResource.FORCE, null);
+				}
+			} catch (IOException | CoreException e) {
+				RuntimeCorePlugin.getDefault().logError(e);
+			}
+		}
+	}
+
+	/**
+	 * Adds the imports of the flag class and the property manager if they are used without qualification
+	 * and removes them if they are not used anymore.<br>
+	 * Classes that are imported by a wildcard import or from the same package do not need an import.
+	 * 
+	 * @param lines the lines of the class including their line separators
+	 */
+	static void updateImports(List<String> lines) {
+		String packageName = "";
+		boolean wildcardImport = false;
+		int flagsImport = -1;
+		int propertyManagerImport = -1;
+		int lastImport = -1;
+		int packageLine = -1;
+		final StringBuilder code = new StringBuilder();
+		for (int i = 0; i < lines.size(); i++) {
+			final String line = lines.get(i);
+			final Matcher importMatcher = IMPORT_DECLARATION.matcher(line.trim());
+			if (importMatcher.matches()) {
+				lastImport = i;
+				if (importMatcher.group(1) == null) {
+					final String importedName = importMatcher.group(2);
+					if (importedName.equals(PACKAGE_WILDCARD)) {
+						wildcardImport = true;
+					} else if (importedName.equals(getQualifiedName(RuntimeParameters.FEATURE_FLAGS_CLASS))) {
+						flagsImport = i;
+					} else if (importedName.equals(getQualifiedName(RuntimeParameters.PROPERTY_MANAGER_CLASS))) {
+						propertyManagerImport = i;
+					}
+				}
+				continue;
+			}
+			final Matcher packageMatcher = PACKAGE_DECLARATION.matcher(line.trim());
+			if (packageMatcher.matches()) {
+				packageName = packageMatcher.group(1);
+				packageLine = i;
+				continue;
+			}
+			code.append(line);
+		}
+		if (wildcardImport || RuntimeParameters.PROPERTY_MANAGER_PACKAGE.equals(packageName)) {
+			return;
+		}
+
+		final boolean flagsUsed = isUsed(code, RuntimeParameters.FEATURE_FLAGS_CLASS);
+		final boolean propertyManagerUsed = isUsed(code, RuntimeParameters.PROPERTY_MANAGER_CLASS);
+		final String lineSeparator = getLineSeparator(lines);
+		final int insertionLine = (propertyManagerImport >= 0 ? propertyManagerImport : (lastImport >= 0 ? lastImport : packageLine)) + 1;
+
+		// the insertion line is behind every import that may be removed, so the indices stay valid
+		if (propertyManagerUsed && propertyManagerImport < 0) {
+			lines.add(insertionLine, createImport(RuntimeParameters.PROPERTY_MANAGER_CLASS, lineSeparator));
+		}
+		if (flagsUsed && flagsImport < 0) {
+			lines.add(insertionLine, createImport(RuntimeParameters.FEATURE_FLAGS_CLASS, lineSeparator));
+		}
+		if (!propertyManagerUsed && propertyManagerImport >= 0) {
+			lines.remove(propertyManagerImport);
+			if (flagsImport > propertyManagerImport) {
+				flagsImport--;
+			}
+		}
+		if (!flagsUsed && flagsImport >= 0) {
+			lines.remove(flagsImport);
+		}
+	}
+
+	private static boolean isUsed(CharSequence code, String className) {
+		return Pattern.compile("(?<![\\w.$])" + className + "\\s*\\.").matcher(code).find();
+	}
+
+	private static String getQualifiedName(String className) {
+		return RuntimeParameters.PROPERTY_MANAGER_PACKAGE + "." + className;
+	}
+
+	private static String createImport(String className, String lineSeparator) {
+		return "import " + getQualifiedName(className) + ";" + lineSeparator;
+	}
+
+	private static String getLineSeparator(List<String> lines) {
+		for (String line : lines) {
+			if (line.endsWith("\r\n")) {
+				return "\r\n";
+			} else if (line.endsWith("\n")) {
+				return "\n";
+			} else if (line.endsWith("\r")) {
+				return "\r";
+			}
+		}
+		return System.lineSeparator();
+	}
+
+	private static int countLines(String content) {
+		int count = 0;
+		for (int i = 0; i < content.length(); i++) {
+			final char c = content.charAt(i);
+			if (c == '\n' || (c == '\r' && (i + 1 == content.length() || content.charAt(i + 1) != '\n'))) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private static String read(IFile file, String charset) throws IOException, CoreException {
+		final StringBuilder sb = new StringBuilder();
+		try (Reader reader = new InputStreamReader(file.getContents(), charset)) {
+			final char[] buffer = new char[8192];
+			for (int n = reader.read(buffer); n >= 0; n = reader.read(buffer)) {
+				sb.append(buffer, 0, n);
+			}
+		}
+		return sb.toString();
+	}
+
+}
@@ -56,6 +56,15 @@ class FeatureLocation {
 		this.cmd = cmd;
 	}
 
+	/**
+	 * Creates a copy of the given location without its parent.
+	 * 
+	 * @param location the location to copy
+	 */
+	FeatureLocation(final FeatureLocation location) {
+		this(location.featureName, location.startLineNum, location.endLineNum, location.classFile, location.className, location.cmd);
+	}
+
 	public IFile getClassFile() {
 		return classFile;
 	}
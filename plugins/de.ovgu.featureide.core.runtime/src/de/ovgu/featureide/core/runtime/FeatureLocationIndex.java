@@ -0,0 +1,418 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2016  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ * 
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.core.runtime;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.resources.IContainer;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceVisitor;
+import org.eclipse.core.runtime.CoreException;
+
+import de.ovgu.featureide.core.fstmodel.preprocessor.FSTDirectiveCommand;
+import de.ovgu.featureide.core.runtime.activator.RuntimeCorePlugin;
+
+/**
+ * Index of all {@link FeatureLocation}s within the Java files of a project.<br>
+ * The files are scanned with a lightweight tokenizer for calls of
+ * {@value RuntimeParameters#PROPERTY_MANAGER_CLASS}.{@value RuntimeParameters#GET_PROPERTY_METHOD}
+ * and reads of the fields of {@value RuntimeParameters#FEATURE_FLAGS_CLASS}.
+ * A file is only scanned again if its modification stamp has changed.
+ * The index returns copies of its locations, so callers can modify them without affecting the index.
+ * 
+ */
+class FeatureLocationIndex {
+
+	private static final String JAVA_EXTENSION = "java";
+
+	private static class FileEntry {
+		private final long modificationStamp;
+		private final List<FeatureLocation> locations;
+
+		public FileEntry(long modificationStamp, List<FeatureLocation> locations) {
+			this.modificationStamp = modificationStamp;
+			this.locations = locations;
+		}
+	}
+
+	private static enum TokenType {
+		IDENTIFIER, STRING, SYMBOL
+	}
+
+	private static class Token {
+		private final TokenType type;
+		private final String text;
+		private final int line;
+
+		public Token(TokenType type, String text, int line) {
+			this.type = type;
+			this.text = text;
+			this.line = line;
+		}
+
+		private boolean is(String text) {
+			return this.text.equals(text);
+		}
+	}
+
+	private final Map<IFile, FileEntry> index = new HashMap<>();
+
+	private int scannedFiles = 0;
+
+	/**
+	 * Updates the index for all Java files within the given folders.
+	 * 
+	 * @param sourceFolders the folders containing Java files
+	 * @return copies of all feature locations (unsorted)
+	 */
+	public synchronized List<FeatureLocation> update(Collection<? extends IContainer> sourceFolders) {
+		final Set<IFile> visitedFiles = new HashSet<>();
+		for (IContainer sourceFolder : sourceFolders) {
+			if (sourceFolder.isAccessible()) {
+				try {
+					sourceFolder.accept(new IResourceVisitor() {
+						@Override
+						public boolean visit(IResource resource) throws CoreException {
+							if (resource instanceof IFile && JAVA_EXTENSION.equals(resource.getFileExtension())) {
+								final IFile file = (IFile) resource;
+								visitedFiles.add(file);
+								updateFile(file);
+							}
+							return true;
+						}
+					});
+				} catch (CoreException e) {
+					RuntimeCorePlugin.getDefault().logError(e);
+				}
+			}
+		}
+		// remove deleted files
+		index.keySet().retainAll(visitedFiles);
+
+		final List<FeatureLocation> locations = new ArrayList<>();
+		for (FileEntry entry : index.values()) {
+			for (FeatureLocation location : entry.locations) {
+				locations.add(new FeatureLocation(location));
+			}
+		}
+		return locations;
+	}
+
+	/**
+	 * @return the number of files that were scanned so far (files that were not changed are not counted)
+	 */
+	public synchronized int getScannedFileCount() {
+		return scannedFiles;
+	}
+
+	public synchronized void clear() {
+		index.clear();
+	}
+
+	private void updateFile(IFile file) {
+		final long modificationStamp = file.getModificationStamp();
+		final FileEntry entry = index.get(file);
+		if (entry != null && entry.modificationStamp == modificationStamp) {
+			return;
+		}
+		try {
+			final List<FeatureLocation> locations = scan(file, readFile(file));
+			index.put(file, new FileEntry(modificationStamp, locations));
+			scannedFiles++;
+		} catch (IOException | CoreException e) {
+			index.remove(file);
+			RuntimeCorePlugin.getDefault().logError(e);
+		}
+	}
+
+	private static String readFile(IFile file) throws IOException, CoreException {
+		final StringBuilder sb = new StringBuilder();
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(file.getContents(), file.getCharset()))) {
+			final char[] buffer = new char[4096];
+			for (int read = reader.read(buffer); read >= 0; read = reader.read(buffer)) {
+				sb.append(buffer, 0, read);
+			}
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Finds all feature locations within the given source code.
+	 * 
+	 * @param file the file containing the source code
+	 * @param source the source code
+	 * @return the feature locations in the order of their occurrence
+	 */
+	static List<FeatureLocation> scan(IFile file, String source) {
+		final List<Token> tokens = tokenize(source);
+		final List<FeatureLocation> locations = new LinkedList<>();
+
+		// stack of the names of the enclosing types and the depth of their bodies
+		final LinkedList<String> typeNames = new LinkedList<>();
+		final LinkedList<Integer> typeDepths = new LinkedList<>();
+		String pendingTypeName = null;
+		int depth = 0;
+
+		for (int i = 0; i < tokens.size(); i++) {
+			final Token token = tokens.get(i);
+			switch (token.type) {
+			case SYMBOL:
+				if (token.is("{")) {
+					depth++;
+					if (pendingTypeName != null) {
+						typeNames.push(pendingTypeName);
+						typeDepths.push(depth);
+						pendingTypeName = null;
+					}
+				} else if (token.is("}")) {
+					if (!typeDepths.isEmpty() && typeDepths.peek() == depth) {
+						typeNames.pop();
+						typeDepths.pop();
+					}
+					depth--;
+				}
+				break;
+			case IDENTIFIER:
+				if ((token.is("class") || token.is("interface") || token.is("enum")) && !isSymbol(tokens, i - 1, ".")
+						&& isType(tokens, i + 1, TokenType.IDENTIFIER)) {
+					pendingTypeName = tokens.get(i + 1).text;
+				} else if (typeNames.isEmpty()) {
+					break;
+				} else if (token.is(RuntimeParameters.PROPERTY_MANAGER_CLASS) && isSymbol(tokens, i + 1, ".")
+						&& isIdentifier(tokens, i + 2, RuntimeParameters.GET_PROPERTY_METHOD) && isSymbol(tokens, i + 3, "(")
+						&& isType(tokens, i + 4, TokenType.STRING) && isSymbol(tokens, i + 5, ")")) {
+					locations.add(createLocation(tokens, i, tokens.get(i + 4).text, file, typeNames.peek()));
+				} else if (token.is(RuntimeParameters.FEATURE_FLAGS_CLASS) && isSymbol(tokens, i + 1, ".") && isType(tokens, i + 2, TokenType.IDENTIFIER)
+						&& !isIdentifier(tokens, i + 2, "class") && !isSymbol(tokens, i + 3, "(")) {
+					locations.add(createLocation(tokens, i, tokens.get(i + 2).text, file, typeNames.peek()));
+				}
+				break;
+			default:
+				break;
+			}
+		}
+		return locations;
+	}
+
+	private static FeatureLocation createLocation(List<Token> tokens, int index, String featureName, IFile file, String className) {
+		final int startLineNum = tokens.get(index).line;
+
+		// if the call is within the condition of an if-statement, the location ends with the then-statement
+		int ifIndex = index;
+		while (ifIndex > 0 && tokens.get(ifIndex - 1).line == startLineNum) {
+			ifIndex--;
+		}
+		for (; ifIndex < tokens.size() && tokens.get(ifIndex).line == startLineNum; ifIndex++) {
+			final Token token = tokens.get(ifIndex);
+			if (token.type == TokenType.IDENTIFIER && token.is("if") && isSymbol(tokens, ifIndex + 1, "(")) {
+				final int conditionEnd = findClosing(tokens, ifIndex + 1);
+				if (conditionEnd >= 0 && conditionEnd + 1 < tokens.size()) {
+					final int statementEnd = findStatementEnd(tokens, conditionEnd + 1);
+					if (statementEnd >= 0) {
+						return new FeatureLocation(featureName, startLineNum, tokens.get(statementEnd).line, file, className, FSTDirectiveCommand.IF);
+					}
+				}
+				break;
+			}
+		}
+		return new FeatureLocation(featureName, startLineNum, startLineNum, file, className, FSTDirectiveCommand.CALL);
+	}
+
+	/**
+	 * @return the index of the bracket that closes the bracket at the given index, or <code>-1</code>
+	 */
+	private static int findClosing(List<Token> tokens, int openIndex) {
+		int depth = 0;
+		for (int i = openIndex; i < tokens.size(); i++) {
+			final Token token = tokens.get(i);
+			if (token.type == TokenType.SYMBOL) {
+				if (token.is("(") || token.is("{") || token.is("[")) {
+					depth++;
+				} else if (token.is(")") || token.is("}") || token.is("]")) {
+					if (--depth == 0) {
+						return i;
+					}
+				}
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * @return the index of the bracket that opens the bracket at the given index, or <code>-1</code>
+	 */
+	private static int findOpening(List<Token> tokens, int closeIndex) {
+		int depth = 0;
+		for (int i = closeIndex; i >= 0; i--) {
+			final Token token = tokens.get(i);
+			if (token.type == TokenType.SYMBOL) {
+				if (token.is(")") || token.is("}") || token.is("]")) {
+					depth++;
+				} else if (token.is("(") || token.is("{") || token.is("[")) {
+					if (--depth == 0) {
+						return i;
+					}
+				}
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * @return the index of the last token of the statement starting at the given index, or <code>-1</code>
+	 */
+	private static int findStatementEnd(List<Token> tokens, int startIndex) {
+		if (isSymbol(tokens, startIndex, "{")) {
+			return findClosing(tokens, startIndex);
+		}
+		int depth = 0;
+		// whether the current brace opens the body of a nested statement (e.g., a loop) and not an array initializer or a class body
+		boolean block = false;
+		for (int i = startIndex; i < tokens.size(); i++) {
+			final Token token = tokens.get(i);
+			if (token.type == TokenType.SYMBOL) {
+				if (token.is("(") || token.is("[")) {
+					depth++;
+				} else if (token.is("{")) {
+					if (depth++ == 0) {
+						block = isBlockStart(tokens, i);
+					}
+				} else if (token.is(")") || token.is("]")) {
+					depth--;
+				} else if (token.is("}")) {
+					if (--depth == 0 && block && !isIdentifier(tokens, i + 1, "catch") && !isIdentifier(tokens, i + 1, "finally")
+							&& !(isIdentifier(tokens, i + 1, "else") && isIdentifier(tokens, startIndex, "if"))) {
+						return i;
+					}
+				} else if (token.is(";") && depth == 0) {
+					return i;
+				}
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * @return <code>true</code> if the brace at the given index opens the body of a statement, such as a loop
+	 */
+	private static boolean isBlockStart(List<Token> tokens, int braceIndex) {
+		final int prevIndex = braceIndex - 1;
+		if (isIdentifier(tokens, prevIndex, "else") || isIdentifier(tokens, prevIndex, "try") || isIdentifier(tokens, prevIndex, "finally")) {
+			return true;
+		}
+		if (isSymbol(tokens, prevIndex, ")")) {
+			final int openIndex = findOpening(tokens, prevIndex);
+			if (openIndex > 0) {
+				final Token keyword = tokens.get(openIndex - 1);
+				return keyword.type == TokenType.IDENTIFIER && (keyword.is("if") || keyword.is("for") || keyword.is("while") || keyword.is("switch")
+						|| keyword.is("catch") || keyword.is("synchronized") || keyword.is("try"));
+			}
+		}
+		return false;
+	}
+
+	private static boolean isSymbol(List<Token> tokens, int index, String text) {
+		return index >= 0 && index < tokens.size() && tokens.get(index).is(text) && tokens.get(index).type != TokenType.STRING;
+	}
+
+	private static boolean isIdentifier(List<Token> tokens, int index, String text) {
+		return isType(tokens, index, TokenType.IDENTIFIER) && tokens.get(index).is(text);
+	}
+
+	private static boolean isType(List<Token> tokens, int index, TokenType type) {
+		return index >= 0 && index < tokens.size() && tokens.get(index).type == type;
+	}
+
+	/**
+	 * Splits the source code into identifiers (including keywords), string literals, and single character symbols.
+	 * Comments, white spaces, character literals, and number literals are skipped.
+	 */
+	private static List<Token> tokenize(String source) {
+		final List<Token> tokens = new ArrayList<>();
+		final int length = source.length();
+		int line = 1;
+		int i = 0;
+		while (i < length) {
+			final char c = source.charAt(i);
+			if (c == '\n') {
+				line++;
+				i++;
+			} else if (Character.isWhitespace(c)) {
+				i++;
+			} else if (c == '/' && i + 1 < length && source.charAt(i + 1) == '/') {
+				while (i < length && source.charAt(i) != '\n') {
+					i++;
+				}
+			} else if (c == '/' && i + 1 < length && source.charAt(i + 1) == '*') {
+				i += 2;
+				while (i < length && !(source.charAt(i) == '*' && i + 1 < length && source.charAt(i + 1) == '/')) {
+					if (source.charAt(i) == '\n') {
+						line++;
+					}
+					i++;
+				}
+				i += 2;
+			} else if (c == '"' || c == '\'') {
+				final int tokenLine = line;
+				final StringBuilder sb = new StringBuilder();
+				i++;
+				while (i < length && source.charAt(i) != c && source.charAt(i) != '\n') {
+					if (source.charAt(i) == '\\' && i + 1 < length) {
+						sb.append(source.charAt(i));
+						i++;
+					}
+					sb.append(source.charAt(i));
+					i++;
+				}
+				i++;
+				if (c == '"') {
+					tokens.add(new Token(TokenType.STRING, sb.toString(), tokenLine));
+				}
+			} else if (Character.isJavaIdentifierStart(c)) {
+				final int start = i;
+				while (i < length && Character.isJavaIdentifierPart(source.charAt(i))) {
+					i++;
+				}
+				tokens.add(new Token(TokenType.IDENTIFIER, source.substring(start, i), line));
+			} else if (Character.isDigit(c)) {
+				while (i < length && (Character.isLetterOrDigit(source.charAt(i)) || source.charAt(i) == '.' || source.charAt(i) == '_')) {
+					i++;
+				}
+			} else {
+				tokens.add(new Token(TokenType.SYMBOL, String.valueOf(c), line));
+				i++;
+			}
+		}
+		return tokens;
+	}
+
+}
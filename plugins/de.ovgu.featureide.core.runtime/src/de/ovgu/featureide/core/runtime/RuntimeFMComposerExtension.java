@@ -29,6 +29,8 @@ import java.io.UnsupportedEncodingException;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
@@ -127,7 +129,8 @@ public class RuntimeFMComposerExtension extends FMComposerExtension {
 			}
 			oldClassStringArray[lineNumber - 1] = oldClassStringArray[lineNumber - 1].replace(RuntimeParameters.GET_PROPERTY_METHOD
 				+ "(\"" + oldName + "\")", RuntimeParameters.GET_PROPERTY_METHOD
-				+ "(\"" + newName + "\")");
+				+ "(\"" + newName + "\")").replaceAll("\\b" + RuntimeParameters.FEATURE_FLAGS_CLASS + "\\." + Pattern.quote(oldName) + "\\b",
+				Matcher.quoteReplacement(RuntimeParameters.FEATURE_FLAGS_CLASS + "." + newName));
 
 			final StringBuilder newClassString = new StringBuilder();
 			for (int i = 0; i < oldClassStringArray.length; i++) {
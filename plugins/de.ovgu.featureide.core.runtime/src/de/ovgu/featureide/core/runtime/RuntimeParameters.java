@@ -28,13 +28,16 @@ import java.nio.file.FileSystems;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
 import java.util.Vector;
 
+import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.resources.IMarker;
@@ -43,23 +46,10 @@ import org.eclipse.core.resources.IResourceDelta;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.FileLocator;
 import org.eclipse.core.runtime.NullProgressMonitor;
-import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaProject;
-import org.eclipse.jdt.core.IMember;
-import org.eclipse.jdt.core.IMethod;
-import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
-import org.eclipse.jdt.core.dom.AST;
-import org.eclipse.jdt.core.dom.ASTNode;
-import org.eclipse.jdt.core.dom.ASTParser;
-import org.eclipse.jdt.core.dom.CompilationUnit;
-import org.eclipse.jdt.core.search.IJavaSearchScope;
-import org.eclipse.jdt.core.search.SearchEngine;
-import org.eclipse.jdt.internal.corext.callhierarchy.CallHierarchy;
-import org.eclipse.jdt.internal.corext.callhierarchy.CallLocation;
-import org.eclipse.jdt.internal.corext.callhierarchy.MethodCall;
-import org.eclipse.jdt.internal.corext.callhierarchy.MethodWrapper;
 
 import de.ovgu.featureide.core.CorePlugin;
 import de.ovgu.featureide.core.IFeatureProject;
@@ -67,8 +57,8 @@ import de.ovgu.featureide.core.builder.ComposerExtensionClass;
 import de.ovgu.featureide.core.fstmodel.FSTModel;
 import de.ovgu.featureide.core.fstmodel.FSTRole;
 import de.ovgu.featureide.core.fstmodel.preprocessor.FSTDirective;
-import de.ovgu.featureide.core.fstmodel.preprocessor.FSTDirectiveCommand;
 import de.ovgu.featureide.core.runtime.activator.RuntimeCorePlugin;
+import de.ovgu.featureide.fm.core.base.IFeature;
 import de.ovgu.featureide.fm.core.configuration.Configuration;
 import de.ovgu.featureide.fm.core.configuration.SelectableFeature;
 import de.ovgu.featureide.fm.core.configuration.Selection;
@@ -85,23 +75,32 @@ import de.ovgu.featureide.fm.core.io.manager.FileHandler;
  * @author Matthias Quaas
  * 
  */
-@SuppressWarnings("restriction")
 public class RuntimeParameters extends ComposerExtensionClass {
 
-	@SuppressWarnings("deprecation")
-	private static final int AST_Type = AST.JLS4;
 	public static final String RUN_CONFIGURATION = "Run Configuration";
 	public static final String PROPERTIES = "Properties";
+	public static final String FEATURE_FLAGS = "Feature Flags";
 	public static final String NOT_EXISTING_PROPERTY_MARKER = CorePlugin.PLUGIN_ID + ".builderProblemMarker";
 	public static final String PROPERTY_MANAGER_CLASS = "PropertyManager";
 	public static final String PROPERTY_MANAGER_PACKAGE = "properties";
 	public static final String GET_PROPERTY_METHOD = "getProperty";
+	public static final String FEATURE_FLAGS_CLASS = "FeatureFlags";
 	//the first entry represents the default composition mechanism
-	public static final String[] COMPOSITION_MECHANISMS = new String[] { PROPERTIES, RUN_CONFIGURATION};
+	public static final String[] COMPOSITION_MECHANISMS = new String[] { PROPERTIES, RUN_CONFIGURATION, FEATURE_FLAGS };
 	
 	// TODO this must not be static
 	static ArrayList<FeatureLocation> featureLocs = new ArrayList<FeatureLocation>();
 
+	private final FeatureLocationIndex locationIndex = new FeatureLocationIndex();
+
+	/**
+	 * @return <code>true</code> if the feature selection is queried at runtime via the property manager (or the generated flag class)
+	 */
+	private boolean usesPropertyManager() {
+		final String mechanism = featureProject.getCompositionMechanism();
+		return PROPERTIES.equals(mechanism) || FEATURE_FLAGS.equals(mechanism);
+	}
+
 	/**
 	 * Builds FST Model: - adds directives to the model representing each call
 	 * of the getProperty()-method - if feature in code does not exist it will
@@ -110,10 +109,11 @@ public class RuntimeParameters extends ComposerExtensionClass {
 	@Override
 	public void buildFSTModel() {
 
-		if (PROPERTIES.equals(featureProject.getCompositionMechanism())) {
+		if (usesPropertyManager()) {
 
 			// get all current locations of getProperty-calls within the code
 			setFeatureLocations();
+			updateFeatureFlags();
 
 			// map linking the call location within the code with its directive
 			final HashMap<FeatureLocation, FSTDirective> directives = new HashMap<FeatureLocation, FSTDirective>();
@@ -201,74 +201,11 @@ public class RuntimeParameters extends ComposerExtensionClass {
 		}
 	}
 
-	/**
-	 * Method to get all call locations of a method.
-	 * 
-	 * @param m
-	 *            Method for which the call hierarchy will be evaluated.
-	 * @return All call locations.
-	 */
-
-	private ArrayList<CallLocation[]> getCallersOf(final IMethod m) {
-
-		final CallHierarchy callHierarchy = new CallHierarchy();
-		final IJavaSearchScope scope = SearchEngine.createWorkspaceScope();
-		callHierarchy.setSearchScope(scope);
-
-		final IMember[] members = { m };
-		final ArrayList<MethodCall> methodCalls = new ArrayList<MethodCall>();
-
-		final MethodWrapper[] callerWrapper = callHierarchy.getCallerRoots(members);
-		final ArrayList<MethodWrapper> callsWrapper = new ArrayList<MethodWrapper>();
-		final ArrayList<CallLocation[]> callList = new ArrayList<CallLocation[]>();
-
-		for (final MethodWrapper mWrapper : callerWrapper) {
-			callsWrapper.addAll(Arrays.asList(mWrapper.getCalls(new NullProgressMonitor())));
-		}
-		for (final MethodWrapper mWrapper : callsWrapper) {
-			methodCalls.add(mWrapper.getMethodCall());
-		}
-		for (final MethodCall mCall : methodCalls) {
-			final CallLocation[] callArray = new CallLocation[mCall.getCallLocations().size()];
-			mCall.getCallLocations().toArray(callArray);
-			callList.add(callArray);
-		}
-
-		return callList;
-
-	}
-
 	@Override
 	public String[] getCompositionMechanisms() {
 		return COMPOSITION_MECHANISMS;
 	}
 
-	/**
-	 * Gets the end of an if-statement by parsing the class' AST.
-	 * 
-	 * @param compilationUnit
-	 * @param startLineNum
-	 *            Indicator for which if statement of the code the end is
-	 *            requested.
-	 * @return
-	 */
-	private int getEndOfIf(final ICompilationUnit compilationUnit, final int startLineNum) {
-
-		final ASTParser parser = ASTParser.newParser(AST_Type);
-		parser.setSource(compilationUnit);
-		parser.setKind(ASTParser.K_COMPILATION_UNIT);
-		parser.setResolveBindings(true);
-
-		// without this suppress it would throw an error. (strangely not any
-		// longer?)
-		// @SuppressWarnings("unused")
-		final ASTNode rootNode = parser.createAST(new NullProgressMonitor());
-		final IfVisitor astVisitor = new IfVisitor(startLineNum, (CompilationUnit) rootNode);
-		rootNode.accept(astVisitor);
-
-		return ((CompilationUnit) rootNode).getLineNumber(astVisitor.getEndPosition());
-	}
-
 	@Override
 	public Mechanism getGenerationMechanism() {
 		return null;
@@ -337,7 +274,7 @@ public class RuntimeParameters extends ComposerExtensionClass {
 	@Override
 	public boolean initialize(final IFeatureProject project) {
 		if (super.initialize(project)) {
-			if (PROPERTIES.equals(featureProject.getCompositionMechanism())) {
+			if (usesPropertyManager()) {
 				final IFolder propFolder = featureProject.getBuildFolder().getFolder(PROPERTY_MANAGER_PACKAGE);
 
 				try {
@@ -367,6 +304,7 @@ public class RuntimeParameters extends ComposerExtensionClass {
 				final IFolder propFolder = featureProject.getBuildFolder().getFolder(PROPERTY_MANAGER_PACKAGE);
 				final IFile filePropMan = propFolder.getFile(PROPERTY_MANAGER_CLASS + ".java");
 				deleteFile(filePropMan);
+				deleteFile(propFolder.getFile(FEATURE_FLAGS_CLASS + ".java"));
 				try {
 					propFolder.delete(true, null);
 				} catch (final CoreException e) {
@@ -384,7 +322,9 @@ public class RuntimeParameters extends ComposerExtensionClass {
 
 	/**
 	 * Every time the project is built, the config will be read and written into
-	 * runtime.properties.
+	 * runtime.properties.<br>
+	 * For the composition mechanism {@link #FEATURE_FLAGS} the flag class is generated
+	 * and all calls of the property manager are replaced by reads of its fields.
 	 */
 	@Override
 	public void performFullBuild(final IFile config) {
@@ -393,7 +333,7 @@ public class RuntimeParameters extends ComposerExtensionClass {
 		}
 
 		final IFile fileProp = featureProject.getProject().getFile("runtime.properties");
-		if (PROPERTIES.equals(featureProject.getCompositionMechanism())) {
+		if (usesPropertyManager()) {
 			buildFSTModel();
 
 			final Configuration configuration = readConfig();
@@ -425,6 +365,42 @@ public class RuntimeParameters extends ComposerExtensionClass {
 		}
 	}
 
+	/**
+	 * Generates (or removes) the flag class and rewrites the feature locations accordingly.
+	 */
+	private void updateFeatureFlags() {
+		final IFile flagsFile = getFeatureFlagsFile();
+		if (FEATURE_FLAGS.equals(featureProject.getCompositionMechanism())) {
+			final ArrayList<String> featureNames = new ArrayList<>();
+			for (final IFeature feature : featureProject.getFeatureModel().getFeatures()) {
+				if (feature.getStructure().isConcrete()) {
+					featureNames.add(feature.getName());
+				}
+			}
+			final Set<String> fieldNames = FeatureFlagsGenerator.getFieldNames(featureNames);
+			final InputStream inputStream = new ByteArrayInputStream(
+					FeatureFlagsGenerator.createFlagClass(fieldNames).getBytes(StandardCharsets.UTF_8));
+			try {
+				if (flagsFile.exists()) {
+					flagsFile.setContents(inputStream, IResource.FORCE, null);
+				} else {
+					createFile(flagsFile, inputStream);
+					flagsFile.setDerived(true, null);
+				}
+			} catch (final CoreException e) {
+				RuntimeCorePlugin.getDefault().logError(e);
+			}
+			FeatureFlagsGenerator.toFieldReads(featureLocs, fieldNames);
+		} else if (flagsFile.exists()) {
+			FeatureFlagsGenerator.toPropertyCalls(featureLocs);
+			deleteFile(flagsFile);
+		}
+	}
+
+	private IFile getFeatureFlagsFile() {
+		return featureProject.getBuildFolder().getFolder(PROPERTY_MANAGER_PACKAGE).getFile(FEATURE_FLAGS_CLASS + ".java");
+	}
+
 	@Override
 	public void postCompile(final IResourceDelta delta, final IFile buildFile) {
 	}
@@ -465,52 +441,44 @@ public class RuntimeParameters extends ComposerExtensionClass {
 	}
 
 	/**
-	 * Looks for callers of getProperty()-method and creates
-	 * FeatureLocation-object for each call.
+	 * Returns all source folders of the Java project.
+	 * 
+	 * @return The source folders or the build folder if the project is no Java project.
 	 */
-
-	public void setFeatureLocations() {
-
-		featureLocs.clear();
+	private List<IContainer> getSourceFolders() {
+		final List<IContainer> sourceFolders = new ArrayList<IContainer>();
 		final IJavaProject proj = JavaCore.create(featureProject.getProject());
 		try {
-			final IType itype = proj.findType(PROPERTY_MANAGER_PACKAGE + "." + PROPERTY_MANAGER_CLASS);
-			IMethod method = null;
-
-			for (final IMethod m : itype.getMethods()) {
-				if (m.getElementName().equals(GET_PROPERTY_METHOD)) {
-					method = m;
-				}
-			}
-			final ArrayList<CallLocation[]> callLocs = getCallersOf(method);
-
-			String featureName;
-			String className;
-			IFile classFile;
-			ICompilationUnit compilationUnit;
-			int startLineNum;
-			int endLineNum;
-			FSTDirectiveCommand cmd;
-			for (final CallLocation[] callLoc : callLocs) {
-				for (final CallLocation element : callLoc) {
-					// feature name = attribute of getProperty-call
-					featureName = element.getCallText().split("\"")[1];
-					className = element.getMember().getParent().getElementName();
-					classFile = (IFile) element.getMember().getCompilationUnit().getCorrespondingResource();
-					compilationUnit = element.getMember().getCompilationUnit();
-					startLineNum = element.getLineNumber();
-					endLineNum = getEndOfIf(compilationUnit, startLineNum);
-					// if the call in the start line is within an if-statement,
-					// getEndOfIf() will return the end of the latter
-					cmd = endLineNum == 1 ? FSTDirectiveCommand.CALL : FSTDirectiveCommand.IF;
-					endLineNum = endLineNum == 1 ? startLineNum : endLineNum;
-
-					featureLocs.add(new FeatureLocation(featureName, startLineNum, endLineNum, classFile, className, cmd));
+			for (final IPackageFragmentRoot root : proj.getPackageFragmentRoots()) {
+				if (root.getKind() == IPackageFragmentRoot.K_SOURCE && root.getCorrespondingResource() instanceof IContainer) {
+					sourceFolders.add((IContainer) root.getCorrespondingResource());
 				}
 			}
 		} catch (final JavaModelException e) {
 			RuntimeCorePlugin.getDefault().logError(e);
 		}
+		if (sourceFolders.isEmpty()) {
+			sourceFolders.add(featureProject.getBuildFolder());
+		}
+		return sourceFolders;
+	}
+
+	/**
+	 * Looks for callers of getProperty()-method (and for reads of the fields of
+	 * the generated flag class) and creates FeatureLocation-object for each call.<br>
+	 * The locations are taken from the {@link FeatureLocationIndex}, which only scans changed files again.
+	 */
+
+	public void setFeatureLocations() {
+
+		featureLocs.clear();
+		final IFile flagsFile = getFeatureFlagsFile();
+		for (final FeatureLocation loc : locationIndex.update(getSourceFolders())) {
+			// ignore the initialization of the flags
+			if (!flagsFile.equals(loc.getClassFile())) {
+				featureLocs.add(loc);
+			}
+		}
 		// sort all feature locations by 1) class (here represented by path
 		// string) and 2) its starting line
 		Collections.sort(featureLocs, new Comparator<FeatureLocation>() {
@@ -526,13 +494,12 @@ public class RuntimeParameters extends ComposerExtensionClass {
 
 		// check whether the feature corresponding with the
 		// FeatureLocation-object is in the current config
+		final HashSet<String> featureNames = new HashSet<String>();
+		for (final SelectableFeature feature : configuration.getFeatures()) {
+			featureNames.add(feature.getName());
+		}
 		for (final FeatureLocation loc : featureLocs) {
-			for (final SelectableFeature feature : configuration.getFeatures()) {
-				if (feature.getName().equals(loc.getFeatureName())) {
-					loc.setInConfig(true);
-					break;
-				}
-			}
+			loc.setInConfig(featureNames.contains(loc.getFeatureName()));
 		}
 		// get parent-child-relations for FeatureLocation-objects
 		for (int i = 1; i < featureLocs.size(); i++) {
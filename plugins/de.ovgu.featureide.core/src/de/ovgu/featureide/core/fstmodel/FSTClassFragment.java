@@ -118,6 +118,12 @@ public class FSTClassFragment extends RoleElement<FSTClassFragment> {
 		}
 		element.setRole(role);
 		element.setParent(this);
+		if (element instanceof FSTMethod && role != null) {
+			final FSTModel model = role.getFeature().getModel();
+			if (model != null) {
+				model.indexMethod((FSTMethod) element);
+			}
+		}
 		return true;
 	}
 
@@ -70,6 +70,10 @@ public class FSTFeature {
 		return name;
 	}
 
+	public FSTModel getModel() {
+		return model;
+	}
+
 	@Nonnull
 	public LinkedList<FSTRole> getRoles() {
 		 return new LinkedList<FSTRole>(roles.values());
@@ -98,6 +102,9 @@ public class FSTFeature {
 	 */
 	public void addRole(String className, FSTRole role) {
 		roles.put(className, role);
+		if (model != null) {
+			model.indexRole(role);
+		}
 	}
 	
 	@Override
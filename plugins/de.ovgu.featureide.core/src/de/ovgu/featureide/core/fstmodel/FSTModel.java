@@ -20,7 +20,9 @@
  */
 package de.ovgu.featureide.core.fstmodel;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -45,6 +47,14 @@ public class FSTModel {
 
 	private final Map<String, FSTClass> classes = new HashMap<String, FSTClass>();
 	private final Map<String, FSTFeature> features = new HashMap<String, FSTFeature>();
+
+	/**
+	 * Secondary indexes that are maintained whenever a role or a method is added to the model.
+	 * They allow lookups by file and by method signature without scanning all classes and roles.
+	 */
+	private final Map<IFile, List<FSTRole>> rolesByFile = new HashMap<IFile, List<FSTRole>>();
+	private final Map<String, Map<String, List<FSTMethod>>> methodsByClass = new HashMap<String, Map<String, List<FSTMethod>>>();
+
 	private final IFeatureProject featureProject;
 	private FSTConfiguration configuration;
 	
@@ -57,6 +67,8 @@ public class FSTModel {
 	public void reset() {
 		classes.clear();
 		features.clear();
+		rolesByFile.clear();
+		methodsByClass.clear();
 	}
 
 	@Nonnull
@@ -85,12 +97,18 @@ public class FSTModel {
 	public void addFeature(final FSTFeature feature) {
 		if (!features.containsValue(feature)) {
 			features.put(feature.getName(), feature);
+			for (FSTRole role : feature.getRoles()) {
+				indexRole(role);
+			}
 		}
 	}
 	
 	public void addClass(final FSTClass c) {
 		if (!classes.containsKey(c.getName())) {
 			classes.put(c.getName(), c);
+			for (FSTRole role : c.getRoles()) {
+				indexRole(role);
+			}
 		}
 	}
 
@@ -154,6 +172,7 @@ public class FSTModel {
 		if (role != null) {
 			if (role instanceof FSTArbitraryRole) {
 				((FSTArbitraryRole) role).addFile(file);
+				indexFile(file, role);
 			}
 			return role;
 		}
@@ -169,7 +188,116 @@ public class FSTModel {
 		feature.addRole(className, arbitraryRole);
 		return role;
 	}
-	
+
+	/**
+	 * Adds the files and methods of the given role to the indexes.<br>
+	 * Called by {@link FSTFeature#addRole(String, FSTRole)} and whenever a class or feature with existing roles is added to this model.
+	 */
+	void indexRole(FSTRole role) {
+		if (role instanceof FSTArbitraryRole) {
+			for (IFile file : ((FSTArbitraryRole) role).getFiles()) {
+				indexFile(file, role);
+			}
+		} else {
+			indexFile(role.getFile(), role);
+		}
+		for (FSTMethod method : role.getAllMethods()) {
+			indexMethod(method);
+		}
+	}
+
+	/**
+	 * Updates the file index, if the file of a role changes.<br>
+	 * Called by {@link FSTRole#setFile(IFile)}.
+	 */
+	void reindexFile(FSTRole role, IFile oldFile) {
+		if (oldFile != null) {
+			final List<FSTRole> roles = rolesByFile.get(oldFile);
+			if (roles != null) {
+				roles.remove(role);
+				if (roles.isEmpty()) {
+					rolesByFile.remove(oldFile);
+				}
+			}
+		}
+		indexFile(role.getFile(), role);
+	}
+
+	private void indexFile(IFile file, FSTRole role) {
+		if (file == null) {
+			return;
+		}
+		List<FSTRole> roles = rolesByFile.get(file);
+		if (roles == null) {
+			roles = new ArrayList<FSTRole>(1);
+			rolesByFile.put(file, roles);
+		}
+		if (!roles.contains(role)) {
+			roles.add(role);
+		}
+	}
+
+	/**
+	 * Adds the given method to the signature index.<br>
+	 * Called by {@link FSTClassFragment#add(IRoleElement)}, methods of roles that are not part of this model are ignored.
+	 */
+	void indexMethod(FSTMethod method) {
+		final FSTRole role = method.getRole();
+		if (role == null || role.getFSTClass().getRole(role.getFeature().getName()) != role) {
+			return;
+		}
+		final String className = role.getFSTClass().getName();
+		Map<String, List<FSTMethod>> methodsByName = methodsByClass.get(className);
+		if (methodsByName == null) {
+			methodsByName = new HashMap<String, List<FSTMethod>>();
+			methodsByClass.put(className, methodsByName);
+		}
+		List<FSTMethod> methods = methodsByName.get(method.getName());
+		if (methods == null) {
+			methods = new ArrayList<FSTMethod>(2);
+			methodsByName.put(method.getName(), methods);
+		}
+		// refinements are equal to each other, thus compare the identity
+		for (FSTMethod indexedMethod : methods) {
+			if (indexedMethod == method) {
+				return;
+			}
+		}
+		methods.add(method);
+	}
+
+	/**
+	 * Returns all roles that are implemented by the given file.
+	 * 
+	 * @param file the file
+	 * @return an unmodifiable list of roles (empty if the file is not part of the model)
+	 */
+	@Nonnull
+	public List<FSTRole> getRoles(IFile file) {
+		final List<FSTRole> roles = rolesByFile.get(file);
+		return (roles == null) ? Collections.<FSTRole> emptyList() : Collections.unmodifiableList(roles);
+	}
+
+	/**
+	 * Returns all methods with the given name that are defined in any role of the given class (including inner classes).<br>
+	 * The methods of all features are returned, i.e., the result contains all refinements of the method.
+	 * 
+	 * @param className the name of the class
+	 * @param methodName the name of the method
+	 * @return an unmodifiable list of methods (empty if no such method exists)
+	 */
+	@Nonnull
+	public List<FSTMethod> getMethods(String className, String methodName) {
+		final Map<String, List<FSTMethod>> methodsByName = methodsByClass.get(className);
+		if (methodsByName != null) {
+			final List<FSTMethod> methods = methodsByName.get(methodName);
+			if (methods != null) {
+				return Collections.unmodifiableList(methods);
+			}
+		}
+		return Collections.emptyList();
+	}
+
 	public ProjectSignatures getProjectSignatures() {
 		return projectSignatures;
 	}
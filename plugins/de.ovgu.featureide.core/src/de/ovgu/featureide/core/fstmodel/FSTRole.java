@@ -71,7 +71,11 @@ public class FSTRole {
 	}
 
 	public void setFile(IFile file) {
+		final IFile oldFile = this.file;
 		this.file = file;
+		if (feature != null && feature.getModel() != null) {
+			feature.getModel().reindexFile(this, oldFile);
+		}
 	}
 
 	public FSTClassFragment getClassFragment() {
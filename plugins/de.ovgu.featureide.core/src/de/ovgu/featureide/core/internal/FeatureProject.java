@@ -45,10 +45,14 @@ import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Scanner;
+import java.util.Set;
 
 import javax.annotation.CheckForNull;
 
@@ -62,6 +66,7 @@ import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IResourceChangeEvent;
 import org.eclipse.core.resources.IResourceChangeListener;
 import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceDeltaVisitor;
 import org.eclipse.core.resources.IResourceVisitor;
 import org.eclipse.core.resources.IncrementalProjectBuilder;
 import org.eclipse.core.resources.ProjectScope;
@@ -101,8 +106,7 @@ import de.ovgu.featureide.fm.core.base.impl.ExtendedFeature;
 import de.ovgu.featureide.fm.core.base.impl.ExtendedFeatureModel;
 import de.ovgu.featureide.fm.core.configuration.Configuration;
 import de.ovgu.featureide.fm.core.configuration.FeatureIDEFormat;
-import de.ovgu.featureide.fm.core.configuration.SelectableFeature;
-import de.ovgu.featureide.fm.core.configuration.Selection;
+import de.ovgu.featureide.fm.core.configuration.SelectionMatrix;
 import de.ovgu.featureide.fm.core.io.FeatureOrderFormat;
 import de.ovgu.featureide.fm.core.io.IPersistentFormat;
 import de.ovgu.featureide.fm.core.io.Problem;
@@ -133,6 +137,8 @@ public class FeatureProject extends BuilderMarkerHandler implements IFeatureProj
 		 * listens to changed feature names
 		 */
 		public void propertyChange(FeatureIDEEvent evt) {
+			optionalConcreteFeatures = null;
+			selectionMatrix = null;
 
 			if (EventType.FEATURE_NAME_CHANGED == evt.getEventType()) {
 				String oldName = (String) evt.getOldValue();
@@ -200,6 +206,40 @@ public class FeatureProject extends BuilderMarkerHandler implements IFeatureProj
 
 	private IFile currentConfiguration = null;
 
+	/**
+	 * Merges resource change events that occur in short succession and processes them at once.
+	 */
+	private final ResourceChangeCoalescer<ResourceChanges> resourceChangeCoalescer = new ResourceChangeCoalescer<>(
+			new ResourceChangeCoalescer.IResourceChangeHandler<ResourceChanges>() {
+				@Override
+				public ResourceChanges createChanges() {
+					return new ResourceChanges();
+				}
+
+				@Override
+				public void collect(IResourceChangeEvent event, ResourceChanges changes) {
+					collectResourceChanges(event, changes);
+				}
+
+				@Override
+				public void process(ResourceChanges changes) {
+					processResourceChanges(changes);
+				}
+			});
+
+	/**
+	 * Column-wise representation of all configuration files.<br>
+	 * Is updated incrementally, i.e., only changed configuration files are read again.
+	 * Is reset whenever the feature model changes, as the model is edited and reloaded in place.
+	 */
+	private volatile SelectionMatrix selectionMatrix = null;
+
+	/**
+	 * Cached result of {@link #getOptionalConcreteFeatures()}.<br>
+	 * Is reset whenever the feature model changes.
+	 */
+	private volatile List<String> optionalConcreteFeatures = null;
+
 	private final LongRunningJob<Boolean> syncModulesJob = new LongRunningJob<>(SYNCHRONIZE_FEATURE_MODEL_AND_FEATURE_MODULES,
 			new LongRunningMethod<Boolean>() {
 				@Override
@@ -240,14 +280,14 @@ public class FeatureProject extends BuilderMarkerHandler implements IFeatureProj
 					deleteConfigurationMarkers(folder, IResource.DEPTH_ZERO);
 					workMonitor.setRemainingWork(7);
 					next(CALCULATE_CORE_AND_DEAD_FEATURES, workMonitor);
-					List<String> concreteFeatures = (List<String>) getOptionalConcreteFeatures();
+					final List<String> concreteFeatures = getOptionalConcreteFeatures();
 					next(GET_SELECTION_MATRIX, workMonitor);
-					final boolean[][] selectionMatrix = getSelectionMatrix(concreteFeatures);
+					final SelectionMatrix selectionMatrix = getSelectionMatrix();
 					next(GET_FALSE_OPTIONAL_FEATURES, workMonitor);
-					final Collection<String> falseOptionalFeatures = getFalseOptionalConfigurationFeatures(selectionMatrix, concreteFeatures);
+					final Collection<String> falseOptionalFeatures = selectionMatrix.getAlwaysSelectedFeatures(concreteFeatures);
 					next(GET_UNUSED_FEATURES, workMonitor);
 					workMonitor.checkCancel();
-					final Collection<String> deadFeatures = getUnusedConfigurationFeatures(selectionMatrix, concreteFeatures);
+					final Collection<String> deadFeatures = selectionMatrix.getUnusedFeatures(concreteFeatures);
 					next("create marker: dead features", workMonitor);
 					if (!deadFeatures.isEmpty()) {
 						createConfigurationMarker(folder, MARKER_UNUSED + deadFeatures.size() + (deadFeatures.size() > 1 ? " features are " : " feature is ")
@@ -381,6 +421,7 @@ public class FeatureProject extends BuilderMarkerHandler implements IFeatureProj
 
 	public void dispose() {
 		removeModelListener();
+		resourceChangeCoalescer.cancel();
 	}
 
 	/**
@@ -391,6 +432,8 @@ public class FeatureProject extends BuilderMarkerHandler implements IFeatureProj
 	 * might be created if some errors occur.
 	 */
 	synchronized private boolean loadModel() {
+		optionalConcreteFeatures = null;
+		selectionMatrix = null;
 		guidslToXML();
 
 		try {
@@ -489,11 +532,11 @@ public class FeatureProject extends BuilderMarkerHandler implements IFeatureProj
 	}
 
 	private void addModelListener() {
-		ResourcesPlugin.getWorkspace().addResourceChangeListener(this, IResourceChangeEvent.POST_CHANGE);
+		ResourcesPlugin.getWorkspace().addResourceChangeListener(resourceChangeCoalescer, IResourceChangeEvent.POST_CHANGE);
 	}
 
 	private void removeModelListener() {
-		ResourcesPlugin.getWorkspace().removeResourceChangeListener(this);
+		ResourcesPlugin.getWorkspace().removeResourceChangeListener(resourceChangeCoalescer);
 	}
 
 	private void createFeatureFolder(String name) {
@@ -843,19 +886,43 @@ public class FeatureProject extends BuilderMarkerHandler implements IFeatureProj
 		return true;
 	}
 
+	/**
+	 * Changes of all resource change events that were merged by the {@link #resourceChangeCoalescer}.
+	 */
+	private static class ResourceChanges {
+		private boolean featureModulesChanged = false;
+		private boolean modelChanged = false;
+		private boolean featureCoverageChanged = false;
+		private final Set<IFile> changedConfigs = new LinkedHashSet<>();
+		private final Map<IFile, IResourceDelta> changedBuildFiles = new LinkedHashMap<>();
+	}
+
+	/**
+	 * @return the coalescer that merges the resource change events of this project
+	 */
+	public ResourceChangeCoalescer<?> getResourceChangeCoalescer() {
+		return resourceChangeCoalescer;
+	}
+
 	public void resourceChanged(IResourceChangeEvent event) {
+		resourceChangeCoalescer.resourceChanged(event);
+	}
+
+	private void collectResourceChanges(IResourceChangeEvent event, ResourceChanges changes) {
 		// if something in source folder changed
 		if (sourceFolder != null && event.getDelta().findMember(sourceFolder.getFullPath()) != null) {
 
 			// set markers, only if event is not fired from changes to markers
 			if (event.findMarkerDeltas(FEATURE_MODULE_MARKER, false).length == 0 && composerExtension != null && composerExtension.createFolderForFeatures()) {
-				setAllFeatureModuleMarkers();
+				changes.featureModulesChanged = true;
 			}
 		}
 
 		IPath modelPath = modelFile.getModelFile().getFullPath();
-		if (checkModelChange(event.getDelta().findMember(modelPath)))
+		if (checkModelChange(event.getDelta().findMember(modelPath))) {
+			changes.modelChanged = true;
 			return;
+		}
 
 		try {
 			List<IFile> configs = getAllConfigurations();
@@ -865,32 +932,24 @@ public class FeatureProject extends BuilderMarkerHandler implements IFeatureProj
 				for (IResourceDelta delta : configurationDelta.getAffectedChildren(IResourceDelta.REMOVED)) {
 					CorePlugin.getDefault().logInfo(delta.toString() + " was removed.");
 					//if configuration was removed update warnings
-					checkFeatureCoverage();
+					changes.featureCoverageChanged = true;
 				}
 			}
-			List<IFile> changedConfigs = new ArrayList<IFile>();
 			IFile currentConfig = getCurrentConfiguration();
 			for (IFile config : configs) {
 				IResourceDelta delta = event.getDelta().findMember(config.getFullPath());
 				if (delta != null) {
-					checkFeatureCoverage();
-					break;
-				}
-			}
-
-			for (IFile config : configs) {
-				IResourceDelta delta = event.getDelta().findMember(config.getFullPath());
-				if (delta != null && (delta.getFlags() & IResourceDelta.CONTENT) != 0) {
-					changedConfigs.add(config);
-					if (config.equals(currentConfig)) {
-						buildRelevantChanges = true;
+					changes.featureCoverageChanged = true;
+					if ((delta.getFlags() & IResourceDelta.CONTENT) != 0) {
+						if (!configurationUpdate) {
+							changes.changedConfigs.add(config);
+						}
+						if (config.equals(currentConfig)) {
+							buildRelevantChanges = true;
+						}
 					}
 				}
 			}
-			if (!configurationUpdate && !changedConfigs.isEmpty()) {
-				LOGGER.fireConfigurationChanged(this);
-				checkConfigurations(changedConfigs);
-			}
 
 			if (!buildRelevantChanges && sourceFolder != null && sourceFolder.isAccessible()) {
 				if (currentConfig != null && composerExtension != null && composerExtension.hasFeatureFolder()) {
@@ -909,7 +968,7 @@ public class FeatureProject extends BuilderMarkerHandler implements IFeatureProj
 			}
 
 			if (composerExtension != null && buildFolder != null && buildFolder.isAccessible()) {
-				checkBuildFolder(buildFolder, event);
+				checkBuildFolder(event.getDelta().findMember(buildFolder.getFullPath()), changes.changedBuildFiles);
 			}
 
 		} catch (CoreException e) {
@@ -917,6 +976,29 @@ public class FeatureProject extends BuilderMarkerHandler implements IFeatureProj
 		}
 	}
 
+	private void processResourceChanges(ResourceChanges changes) {
+		if (changes.featureModulesChanged) {
+			setAllFeatureModuleMarkers();
+		}
+
+		if (changes.modelChanged) {
+			// all configurations and the feature coverage are checked after the model is loaded
+			scheduleModelLoad();
+		} else {
+			if (changes.featureCoverageChanged) {
+				checkFeatureCoverage();
+			}
+			if (!changes.changedConfigs.isEmpty()) {
+				LOGGER.fireConfigurationChanged(this);
+				checkConfigurations(new ArrayList<>(changes.changedConfigs));
+			}
+		}
+
+		if (!changes.changedBuildFiles.isEmpty()) {
+			postCompile(changes.changedBuildFiles);
+		}
+	}
+
 	/**
 	 * checks if something at source folder has been changed, except of marker
 	 * changes
@@ -963,27 +1045,37 @@ public class FeatureProject extends BuilderMarkerHandler implements IFeatureProj
 		return true;
 	}
 
-	private void checkBuildFolder(final IFolder folder, final IResourceChangeEvent event) {
+	/**
+	 * Collects all existing files of the build folder that are contained in the given delta.
+	 */
+	private void checkBuildFolder(IResourceDelta buildFolderDelta, final Map<IFile, IResourceDelta> changedFiles) throws CoreException {
+		if (buildFolderDelta != null) {
+			buildFolderDelta.accept(new IResourceDeltaVisitor() {
+				@Override
+				public boolean visit(IResourceDelta delta) {
+					final IResource res = delta.getResource();
+					if (res instanceof IFile && delta.getKind() != IResourceDelta.REMOVED) {
+						changedFiles.put((IFile) res, delta);
+					}
+					return true;
+				}
+			});
+		}
+	}
+
+	private void postCompile(final Map<IFile, IResourceDelta> changedFiles) {
 		LongRunningWrapper.getRunner(new LongRunningMethod<Boolean>() {
 			@Override
 			public Boolean execute(IMonitor workMonitor) throws Exception {
-				checkBuildFolder(folder);
-				return true;
-			}
-
-			private void checkBuildFolder(final IFolder folder) throws CoreException {
-				if (folder.isAccessible()) {
-					for (IResource res : folder.members()) {
-						if (res instanceof IFolder) {
-							checkBuildFolder((IFolder) res);
-						} else if (res instanceof IFile) {
-							final IResourceDelta delta = event.getDelta().findMember(res.getFullPath());
-							if (delta != null) {
-								composerExtension.postCompile(delta, (IFile) res);
-							}
-						}
+				workMonitor.setRemainingWork(changedFiles.size());
+				for (Entry<IFile, IResourceDelta> entry : changedFiles.entrySet()) {
+					final IFile file = entry.getKey();
+					if (file.isAccessible()) {
+						composerExtension.postCompile(entry.getValue(), file);
 					}
+					workMonitor.step();
 				}
+				return true;
 			}
 		}, REFRESH_COLLABORATION_VIEW).schedule();
 	}
@@ -1006,9 +1098,10 @@ public class FeatureProject extends BuilderMarkerHandler implements IFeatureProj
 	}
 
 	private boolean checkModelChange(IResourceDelta delta) {
-		if (delta == null || (delta.getFlags() & IResourceDelta.CONTENT) == 0)
-			return false;
+		return delta != null && (delta.getFlags() & IResourceDelta.CONTENT) != 0;
+	}
 
+	private void scheduleModelLoad() {
 		Job job = new Job(LOAD_MODEL) {
 			protected IStatus run(IProgressMonitor monitor) {
 				if (loadModel()) {
@@ -1027,7 +1120,6 @@ public class FeatureProject extends BuilderMarkerHandler implements IFeatureProj
 		};
 		job.setPriority(Job.INTERACTIVE);
 		job.schedule();
-		return true;
 	}
 
 	private void checkConfigurations(final List<IFile> files) {
@@ -1092,7 +1184,7 @@ public class FeatureProject extends BuilderMarkerHandler implements IFeatureProj
 	}
 
 	public Collection<String> getFalseOptionalConfigurationFeatures() {
-		return getFalseOptionalConfigurationFeatures(getSelectionMatrix(), (List<String>) getOptionalConcreteFeatures());
+		return getSelectionMatrix().getAlwaysSelectedFeatures(getOptionalConcreteFeatures());
 	}
 
 	public Collection<String> getFalseOptionalConfigurationFeatures(boolean[][] selections, final List<String> concreteFeatures) {
@@ -1100,7 +1192,7 @@ public class FeatureProject extends BuilderMarkerHandler implements IFeatureProj
 	}
 
 	public Collection<String> getUnusedConfigurationFeatures() {
-		return getUnusedConfigurationFeatures(getSelectionMatrix(), (List<String>) getOptionalConcreteFeatures());
+		return getSelectionMatrix().getUnusedFeatures(getOptionalConcreteFeatures());
 	}
 
 	public Collection<String> getUnusedConfigurationFeatures(boolean[][] selections, final List<String> concreteFeatures) {
@@ -1127,47 +1219,42 @@ public class FeatureProject extends BuilderMarkerHandler implements IFeatureProj
 		return falseOptionalFeatures;
 	}
 
-	private boolean[][] getSelectionMatrix() {
-		return getSelectionMatrix(getOptionalConcreteFeatures());
-	}
-
-	private boolean[][] getSelectionMatrix(final Collection<String> concreteFeatures) {
+	/**
+	 * Synchronizes the selection matrix with the current configuration files.<br>
+	 * Only configuration files that changed since the last call are read.
+	 * 
+	 * @return the updated selection matrix
+	 */
+	private synchronized SelectionMatrix getSelectionMatrix() {
+		final IFeatureModel featureModel = featureModelManager.getObject();
+		SelectionMatrix matrix = selectionMatrix;
+		if (matrix == null || matrix.getFeatureModel() != featureModel) {
+			matrix = new SelectionMatrix(featureModel);
+			selectionMatrix = matrix;
+		}
 		final List<IFile> configurations = getAllConfigurations();
-
-		final boolean[][] selections = new boolean[configurations.size()][concreteFeatures.size()];
-		final Configuration configuration = new Configuration(featureModelManager.getObject(), Configuration.PARAM_IGNOREABSTRACT);
-		final FileHandler<Configuration> reader = new FileHandler<>(configuration);
-
-		int row = 0;
+		final List<java.nio.file.Path> configurationPaths = new ArrayList<>(configurations.size());
 		for (IFile file : configurations) {
-			final boolean[] currentRow = selections[row++];
-			try {
-				reader.read(Paths.get(file.getLocationURI()), ConfigurationManager.getFormat(file.getName()));
-			} catch (Exception e) {
-				FMCorePlugin.getDefault().logError(e);
+			configurationPaths.add(Paths.get(file.getLocationURI()));
+		}
+		matrix.update(configurationPaths);
+		return matrix;
+	}
+
+	private List<String> getOptionalConcreteFeatures() {
+		List<String> concreteFeatures = optionalConcreteFeatures;
+		if (concreteFeatures == null) {
+			final IFeatureModel featureModel = featureModelManager.getObject();
+			concreteFeatures = FeatureUtils.extractConcreteFeaturesAsStringList(featureModel);
+			List<List<IFeature>> deadCoreList = featureModel.getAnalyser().analyzeFeatures();
+			for (final IFeature feature : deadCoreList.get(0)) {
+				concreteFeatures.remove(feature.getName());
 			}
-
-			int column = 0;
-			for (String feature : concreteFeatures) {
-				final SelectableFeature selectablefeature = configuration.getSelectablefeature(feature);
-				if (selectablefeature != null) {
-					currentRow[column] = selectablefeature.getSelection() == Selection.SELECTED;
-				}
-				column++;
+			for (final IFeature feature : deadCoreList.get(1)) {
+				concreteFeatures.remove(feature.getName());
 			}
-		}
-		return selections;
-	}
-
-	private Collection<String> getOptionalConcreteFeatures() {
-		final IFeatureModel featureModel = featureModelManager.getObject();
-		final Collection<String> concreteFeatures = FeatureUtils.extractConcreteFeaturesAsStringList(featureModel);
-		List<List<IFeature>> deadCoreList = featureModel.getAnalyser().analyzeFeatures();
-		for (final IFeature feature : deadCoreList.get(0)) {
-			concreteFeatures.remove(feature.getName());
-		}
-		for (final IFeature feature : deadCoreList.get(1)) {
-			concreteFeatures.remove(feature.getName());
+			concreteFeatures = Collections.unmodifiableList(concreteFeatures);
+			optionalConcreteFeatures = concreteFeatures;
 		}
 		return concreteFeatures;
 	}
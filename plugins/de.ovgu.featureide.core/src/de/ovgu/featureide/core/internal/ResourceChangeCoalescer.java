@@ -0,0 +1,183 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2016  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ * 
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.core.internal;
+
+import static de.ovgu.featureide.fm.core.localization.StringTable.PROCESS_RESOURCE_CHANGES;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import de.ovgu.featureide.core.CorePlugin;
+
+/**
+ * Collects {@link IResourceChangeEvent}s and processes them in batches.<br>
+ * Each event is merged into a pending change set immediately (in the thread of the notification).
+ * The change set is processed by this job as soon as no further event was received for the given time window
+ * (or if the maximum delay is exceeded).
+ * Thus, a large number of events (e.g., caused by a checkout of many files) results in only one consolidated update.
+ * 
+ * @param <T> the type of the change set
+ */
+public class ResourceChangeCoalescer<T> extends Job implements IResourceChangeListener {
+
+	/**
+	 * Callback that defines how events are merged and how merged changes are processed.
+	 */
+	public static interface IResourceChangeHandler<T> {
+
+		/**
+		 * @return a new and empty change set
+		 */
+		T createChanges();
+
+		/**
+		 * Merges the given event into the change set.<br>
+		 * Is called during the resource change notification.
+		 */
+		void collect(IResourceChangeEvent event, T changes);
+
+		/**
+		 * Processes all merged changes.<br>
+		 * Is called from the job after the time window has elapsed.
+		 */
+		void process(T changes);
+	}
+
+	public static final long DEFAULT_WINDOW = 250;
+
+	private static final int MAX_DELAY_FACTOR = 8;
+
+	private final IResourceChangeHandler<T> handler;
+
+	private final AtomicLong receivedEvents = new AtomicLong();
+	private final AtomicLong processedBatches = new AtomicLong();
+
+	private final long window;
+
+	private T pendingChanges = null;
+	private long firstEventTime;
+	private long lastEventTime;
+
+	public ResourceChangeCoalescer(IResourceChangeHandler<T> handler) {
+		this(handler, DEFAULT_WINDOW);
+	}
+
+	public ResourceChangeCoalescer(IResourceChangeHandler<T> handler, long window) {
+		super(PROCESS_RESOURCE_CHANGES);
+		this.handler = handler;
+		this.window = window;
+		setPriority(Job.SHORT);
+		setSystem(true);
+	}
+
+	@Override
+	public void resourceChanged(IResourceChangeEvent event) {
+		if (event.getDelta() == null) {
+			return;
+		}
+		if (collect(event, System.currentTimeMillis())) {
+			// rescheduling a waiting job would restart its delay, so the job is only scheduled for a new batch
+			schedule(window);
+		}
+	}
+
+	@Override
+	protected IStatus run(IProgressMonitor monitor) {
+		final long remaining = processPendingChanges(System.currentTimeMillis());
+		if (remaining > 0) {
+			// further events were received during the window
+			schedule(remaining);
+		}
+		return Status.OK_STATUS;
+	}
+
+	/**
+	 * Merges the given event into the pending change set.
+	 * 
+	 * @param event the resource change event
+	 * @param time the time in milliseconds at which the event was received
+	 * @return {@code true} if the event opened a new batch, i.e., the job has to be scheduled
+	 */
+	boolean collect(IResourceChangeEvent event, long time) {
+		receivedEvents.incrementAndGet();
+		synchronized (this) {
+			lastEventTime = time;
+			final boolean newBatch = pendingChanges == null;
+			if (newBatch) {
+				pendingChanges = handler.createChanges();
+				firstEventTime = time;
+			}
+			handler.collect(event, pendingChanges);
+			return newBatch;
+		}
+	}
+
+	/**
+	 * Processes the pending change set, if the time window has elapsed at the given time.
+	 * 
+	 * @param time the current time in milliseconds
+	 * @return the remaining time in milliseconds until the pending changes are due (at most until the maximum delay is reached)
+	 *         or {@code 0} if there were no pending changes or they were processed
+	 */
+	long processPendingChanges(long time) {
+		final T changes;
+		synchronized (this) {
+			if (pendingChanges == null) {
+				return 0;
+			}
+			final long remaining = window - (time - lastEventTime);
+			final long remainingMaxDelay = window * MAX_DELAY_FACTOR - (time - firstEventTime);
+			if (remaining > 0 && remainingMaxDelay > 0) {
+				return Math.min(remaining, remainingMaxDelay);
+			}
+			changes = pendingChanges;
+			pendingChanges = null;
+		}
+		processedBatches.incrementAndGet();
+		try {
+			handler.process(changes);
+		} catch (RuntimeException e) {
+			CorePlugin.getDefault().logError(e);
+		}
+		return 0;
+	}
+
+	/**
+	 * @return the number of resource change events that were received so far
+	 */
+	public long getReceivedEventCount() {
+		return receivedEvents.get();
+	}
+
+	/**
+	 * @return the number of batches that were processed so far
+	 */
+	public long getProcessedBatchCount() {
+		return processedBatches.get();
+	}
+
+}
@@ -27,9 +27,15 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.charset.Charset;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IFolder;
@@ -115,6 +121,8 @@ public class PrintDocumentationJob extends AProjectJob<PrintDocumentationJob.Arg
 
 		final Collection<IFilter<?>> commentFilters = new LinkedList<>();
 		final Collection<IFilter<?>> signatureFilters = new LinkedList<>();
+		// signatures and comments share one filter, such that the solver and the cached verdicts are reused
+		ConstraintFilter constraintFilter = null;
 
 		final int[] featureIDs = projectSignatures.getFeatureIDs();
 		if (arguments.merger instanceof VariantMerger) {
@@ -158,16 +166,18 @@ public class PrintDocumentationJob extends AProjectJob<PrintDocumentationJob.Arg
 				Selection selection = feature.getSelection();
 				nodes[i++] = selection == Selection.UNDEFINED ? new Literal(NodeCreator.varTrue) : new Literal(feature.getFeature().getName(), feature.getSelection() == Selection.SELECTED);
 			}
-			signatureFilters.add(new ConstraintFilter(nodes));
-			commentFilters.add(new ConstraintFilter(nodes));
+			constraintFilter = new ConstraintFilter(nodes);
+			signatureFilters.add(constraintFilter);
+			commentFilters.add(constraintFilter);
 			
 			arguments.merger.setValidFeatureIDs(featureIDs.length, validFeatureIDs);
 		} else if (arguments.merger instanceof ContextMerger) {
 			final Node[] nodes = new Node[2];
 			nodes[0] = AdvancedNodeCreator.createCNF(projectSignatures.getFeatureModel());
 			nodes[1] = new Literal(arguments.featureName, true);
-			signatureFilters.add(new ConstraintFilter(nodes));
-			commentFilters.add(new ConstraintFilter(nodes));
+			constraintFilter = new ConstraintFilter(nodes);
+			signatureFilters.add(constraintFilter);
+			commentFilters.add(constraintFilter);
 			
 			arguments.merger.setValidFeatureIDs(featureIDs.length, featureIDs);
 		} else if (arguments.merger instanceof FeatureModuleMerger) {
@@ -178,8 +188,9 @@ public class PrintDocumentationJob extends AProjectJob<PrintDocumentationJob.Arg
 				final Node[] nodes = new Node[2];
 				nodes[0] = AdvancedNodeCreator.createCNF(projectSignatures.getFeatureModel());
 				nodes[1] = new Literal(arguments.featureName, true);
-				signatureFilters.add(new ConstraintFilter(nodes));
-				commentFilters.add(new ConstraintFilter(nodes));
+				constraintFilter = new ConstraintFilter(nodes);
+				signatureFilters.add(constraintFilter);
+				commentFilters.add(constraintFilter);
 
 				commentFilters.add(new IFilter<BlockTag>() {
 					@Override
@@ -198,6 +209,10 @@ public class PrintDocumentationJob extends AProjectJob<PrintDocumentationJob.Arg
 			}
 		}
 		
+		if (constraintFilter != null) {
+			constraintFilter.prefetch(projectSignatures, Runtime.getRuntime().availableProcessors());
+		}
+
 		final DocumentationBuilder builder = new DocumentationBuilder(featureProject);
 		builder.build(arguments.merger, commentFilters);
 		
@@ -234,7 +249,10 @@ public class PrintDocumentationJob extends AProjectJob<PrintDocumentationJob.Arg
 		
 		workMonitor.setRemainingWork(structure.getClasses().size() + 2);
 		
-		for (AbstractClassFragment javaClass : structure.getClasses()) {
+		// the source files are created and written concurrently, each file as soon as its content is available
+		final ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+		final List<Future<?>> writeTasks = new ArrayList<>(structure.getClasses().size());
+		for (final AbstractClassFragment javaClass : structure.getClasses()) {
 			String packagename = javaClass.getSignature().getPackage();
 			
 			String path = extFoldername + packagename.replace('.', '/');
@@ -246,13 +264,30 @@ public class PrintDocumentationJob extends AProjectJob<PrintDocumentationJob.Arg
 			}
 			
 			final IFolder folder = CorePlugin.createFolder(arguments.project, path);
-			IFile file = folder.getFile(javaClass.getSignature().getName() + ".java");
-			try {
-				FileSystem.write(Paths.get(file.getLocationURI()), javaClass.toString().getBytes(Charset.forName("UTF-8")));
-			} catch (IOException e) {
-				CorePlugin.getDefault().logError(e);
+			final IFile file = folder.getFile(javaClass.getSignature().getName() + ".java");
+			writeTasks.add(executor.submit(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						FileSystem.write(Paths.get(file.getLocationURI()), javaClass.toString().getBytes(Charset.forName("UTF-8")));
+					} catch (IOException e) {
+						CorePlugin.getDefault().logError(e);
+					}
+				}
+			}));
+		}
+		try {
+			for (Future<?> writeTask : writeTasks) {
+				writeTask.get();
+				workMonitor.worked();
 			}
-			workMonitor.worked();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return;
+		} catch (ExecutionException e) {
+			CorePlugin.getDefault().logError(e);
+		} finally {
+			executor.shutdownNow();
 		}
 		final IFolder folder = CorePlugin.createFolder(arguments.project, arguments.foldername + "/doc/");
 		
@@ -21,6 +21,7 @@
 package de.ovgu.featureide.core.signature;
 
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -33,6 +34,7 @@ import de.ovgu.featureide.core.signature.base.AbstractClassSignature;
 import de.ovgu.featureide.core.signature.base.AbstractFieldSignature;
 import de.ovgu.featureide.core.signature.base.AbstractMethodSignature;
 import de.ovgu.featureide.core.signature.base.AbstractSignature;
+import de.ovgu.featureide.core.signature.filter.IIndexedFilter;
 import de.ovgu.featureide.fm.core.base.IFeature;
 import de.ovgu.featureide.fm.core.base.IFeatureModel;
 import de.ovgu.featureide.fm.core.filter.base.IFilter;
@@ -46,26 +48,57 @@ import de.ovgu.featureide.fm.core.filter.base.IFilter;
 public class ProjectSignatures implements Iterable<AbstractSignature> {
 	
 	public static final class SignatureIterator implements Iterator<AbstractSignature> {
+		private final ProjectSignatures projectSignatures;
 		private final AbstractSignature[] signatureArray;
 		
 		private final LinkedList<IFilter<?>> filter = new LinkedList<>();
 		private int count = 0;
 		private boolean nextAvailable = false;
 		
+		/**
+		 * Filters that are not evaluated on the index and the positions of all signatures accepted by the other filters.
+		 */
+		private final LinkedList<IFilter<?>> remainingFilter = new LinkedList<>();
+		private BitSet candidates = null;
+		private boolean filterPrepared = false;
+		
 		public SignatureIterator() {
+			projectSignatures = null;
 			signatureArray = new AbstractSignature[0];
 		}
 		
-		private SignatureIterator(AbstractSignature[] signatureArray) {
-			this.signatureArray = signatureArray;
+		private SignatureIterator(ProjectSignatures projectSignatures) {
+			this.projectSignatures = projectSignatures;
+			this.signatureArray = projectSignatures.signatureArray;
 		}
 		
 		public void addFilter(IFilter<?> filter) {
 			this.filter.add(filter);
+			filterPrepared = false;
 		}
 		
 		public void clearFilter() {
 			this.filter.clear();
+			filterPrepared = false;
+		}
+		
+		private void prepareFilter() {
+			remainingFilter.clear();
+			candidates = null;
+			final boolean indexAvailable = projectSignatures != null && signatureArray != null && projectSignatures.signatureArray == signatureArray;
+			for (IFilter<?> curFilter : filter) {
+				if (indexAvailable && curFilter instanceof IIndexedFilter) {
+					final BitSet validIndices = ((IIndexedFilter) curFilter).getValidIndices(projectSignatures);
+					if (candidates == null) {
+						candidates = validIndices;
+					} else {
+						candidates.and(validIndices);
+					}
+				} else {
+					remainingFilter.add(curFilter);
+				}
+			}
+			filterPrepared = true;
 		}
 		
 		public void reset() {
@@ -78,6 +111,19 @@ public class ProjectSignatures implements Iterable<AbstractSignature> {
 				nextAvailable = true;
 				return true;
 			} else {
+				if (!filterPrepared) {
+					prepareFilter();
+				}
+				if (candidates != null) {
+					for (count = candidates.nextSetBit(count); count >= 0; count = candidates.nextSetBit(count + 1)) {
+						if (isValid(signatureArray[count])) {
+							nextAvailable = true;
+							return true;
+						}
+					}
+					count = signatureArray.length;
+					return false;
+				}
 				for (; count < signatureArray.length; ++count) {
 					if (isValid(signatureArray[count])) {
 						nextAvailable = true;
@@ -90,7 +136,7 @@ public class ProjectSignatures implements Iterable<AbstractSignature> {
 		
 		@SuppressWarnings({ "unchecked", "rawtypes" })
 		private boolean isValid(AbstractSignature sig) {
-			for (IFilter curFilter : filter) {
+			for (IFilter curFilter : remainingFilter) {
 				if (!curFilter.isValid(sig)) {
 					return false;
 				}
@@ -118,8 +164,17 @@ public class ProjectSignatures implements Iterable<AbstractSignature> {
 	}
 	
 	private final String[] featureNames;
+	private final HashMap<String, Integer> featureIDs = new HashMap<>();
 	private AbstractSignature[] signatureArray = null;
 	
+	/**
+	 * Index of the signature array. Contains the positions of all signatures that belong to a feature (posting lists)
+	 * or are of a certain type. Is built lazily and discarded, when the signature array changes.
+	 */
+	private BitSet[] featureIndex = null;
+	private BitSet allFeaturesIndex = null;
+	private final HashMap<Class<? extends AbstractSignature>, BitSet> typeIndex = new HashMap<>();
+	
 	private final IFeatureModel featureModel;
 	
 	private int hashCode = 0;
@@ -137,15 +192,18 @@ public class ProjectSignatures implements Iterable<AbstractSignature> {
 		}
 		featureNames = new String[countConcreteFeatures];
 		System.arraycopy(tempFeatureNames, 0, featureNames, 0, countConcreteFeatures);
+		for (int i = 0; i < featureNames.length; i++) {
+			featureIDs.put(featureNames[i], i);
+		}
 	}
 	
 	@Override
 	public SignatureIterator iterator() {
-		return new SignatureIterator(signatureArray);
+		return new SignatureIterator(this);
 	}
 	
 	public SignatureIterator iterator(Collection<IFilter<?>> filters) {
-		final SignatureIterator it = new SignatureIterator(signatureArray);
+		final SignatureIterator it = new SignatureIterator(this);
 		for (IFilter<?> filter : filters) {
 			it.addFilter(filter);
 		}
@@ -154,6 +212,7 @@ public class ProjectSignatures implements Iterable<AbstractSignature> {
 	
 	public void sort(Comparator<AbstractSignature> comparator) {
 		Arrays.sort(signatureArray, comparator);
+		invalidateIndex();
 	}
 	
 	public int[] getFeatureIDs(Collection<String> featureNames) {
@@ -175,12 +234,8 @@ public class ProjectSignatures implements Iterable<AbstractSignature> {
 	}
 	
 	public int getFeatureID(String featureName) {
-		for (int i = 0; i < featureNames.length; ++i) {
-			if (featureNames[i].equals(featureName)) {
-				return i;
-			}
-		}
-		return -1;
+		final Integer id = featureIDs.get(featureName);
+		return id != null ? id : -1;
 	}
 	
 	public String getFeatureName(int id) {
@@ -205,6 +260,79 @@ public class ProjectSignatures implements Iterable<AbstractSignature> {
 	
 	public void setSignatureArray(AbstractSignature[] signatureArray) {
 		this.signatureArray = signatureArray;
+		invalidateIndex();
+	}
+	
+	private synchronized void invalidateIndex() {
+		featureIndex = null;
+		allFeaturesIndex = null;
+		typeIndex.clear();
+	}
+	
+	private void buildFeatureIndex() {
+		featureIndex = new BitSet[featureNames.length];
+		for (int i = 0; i < featureIndex.length; i++) {
+			featureIndex[i] = new BitSet();
+		}
+		allFeaturesIndex = new BitSet();
+		for (int i = 0; i < signatureArray.length; ++i) {
+			final AFeatureData[] featureData = signatureArray[i].getFeatureData();
+			if (featureData != null) {
+				for (AFeatureData curFeatureData : featureData) {
+					final int id = curFeatureData.getID();
+					if (id == -1) {
+						allFeaturesIndex.set(i);
+					} else if (id >= 0 && id < featureIndex.length) {
+						featureIndex[id].set(i);
+					}
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Returns the positions of all signatures that belong to at least one of the given features.
+	 * 
+	 * @param featureIDs the IDs of the features
+	 * @return a new bit set containing the positions in the signature array
+	 * 
+	 * @see AbstractSignature#hasFeature(int[])
+	 */
+	public synchronized BitSet getSignatureIndices(int[] featureIDs) {
+		if (featureIDs.length == 0) {
+			// no signature belongs to an empty set of features (not even signatures that belong to all features)
+			return new BitSet();
+		}
+		if (featureIndex == null) {
+			buildFeatureIndex();
+		}
+		final BitSet signatureIndices = (BitSet) allFeaturesIndex.clone();
+		for (int id : featureIDs) {
+			if (id >= 0 && id < featureIndex.length) {
+				signatureIndices.or(featureIndex[id]);
+			}
+		}
+		return signatureIndices;
+	}
+	
+	/**
+	 * Returns the positions of all signatures of the given type.
+	 * 
+	 * @param type the type of the signatures (e.g., {@link AbstractMethodSignature})
+	 * @return a new bit set containing the positions in the signature array
+	 */
+	public synchronized BitSet getSignatureIndices(Class<? extends AbstractSignature> type) {
+		BitSet signatureIndices = typeIndex.get(type);
+		if (signatureIndices == null) {
+			signatureIndices = new BitSet();
+			for (int i = 0; i < signatureArray.length; ++i) {
+				if (type.isInstance(signatureArray[i])) {
+					signatureIndices.set(i);
+				}
+			}
+			typeIndex.put(type, signatureIndices);
+		}
+		return (BitSet) signatureIndices.clone();
 	}
 	
 	@Override
@@ -22,6 +22,7 @@ package de.ovgu.featureide.core.signature.documentation.base;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -53,18 +54,21 @@ public abstract class ADocumentationCommentMerger implements Comparator<BlockTag
 	protected int[] featureIDRanks = null;
 	
 	public void setValidFeatureIDs(int numberOfFeatures, int[] validFeatureIDs) {
-		featureIDRanks = new int[numberOfFeatures];
-		for (int i = 0; i < featureIDRanks.length; i++) {
-			featureIDRanks[i] = -1;
-			for (int j = 0; j < validFeatureIDs.length; j++) {
-				if (validFeatureIDs[j] == i) {
-					featureIDRanks[i] = j;
-					break;
-				}
+		final int[] ranks = new int[numberOfFeatures];
+		Arrays.fill(ranks, -1);
+		for (int j = 0; j < validFeatureIDs.length; j++) {
+			final int id = validFeatureIDs[j];
+			if (id >= 0 && id < ranks.length && ranks[id] == -1) {
+				ranks[id] = j;
 			}
 		}
+		featureIDRanks = ranks;
 	}
 
+	/**
+	 * Merges the tags of one comment.
+	 * Does not modify the state of the merger and may be called by multiple threads concurrently.
+	 */
 	public String merge(List<BlockTag> generalTags, List<BlockTag> featureTags) {
 //		Filter.filter(generalTags, filterList);
 		Filter.filter(featureTags, filterList);
@@ -20,8 +20,16 @@
  */
 package de.ovgu.featureide.core.signature.documentation.base;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+import de.ovgu.featureide.core.CorePlugin;
 import de.ovgu.featureide.core.IFeatureProject;
 import de.ovgu.featureide.core.fstmodel.FSTModel;
 import de.ovgu.featureide.core.signature.ProjectSignatures;
@@ -37,9 +45,25 @@ public class DocumentationBuilder {
 	private final ADocumentationCommentParser parser;
 	private final IFeatureProject featureProject;
 
+	private int numberOfThreads = Runtime.getRuntime().availableProcessors();
+
 	public DocumentationBuilder(IFeatureProject featureProject) {
 		this.featureProject = featureProject;
-		this.parser = featureProject.getComposer().getComposerObjectInstance(ADocumentationCommentParser.class);
+		this.parser = createParser();
+	}
+
+	private ADocumentationCommentParser createParser() {
+		return featureProject.getComposer().getComposerObjectInstance(ADocumentationCommentParser.class);
+	}
+
+	/**
+	 * Sets the maximal number of threads that parse and merge the comments.
+	 * Every thread uses its own parser, the merger is shared.
+	 * 
+	 * @param numberOfThreads the number of threads (default is the number of available processors)
+	 */
+	public void setNumberOfThreads(int numberOfThreads) {
+		this.numberOfThreads = Math.max(1, numberOfThreads);
 	}
 
 	public final void build(ADocumentationCommentMerger merger, Collection<IFilter<?>> filters) {
@@ -52,14 +76,54 @@ public class DocumentationBuilder {
 						merger.addFilter(filter);
 					}
 				}
-				for (SignatureCommentPair pair : DocumentationCommentCollector.collect(projectSignatures)) {
-					// parse
-					parser.parse(projectSignatures, pair.getComment());
-					// merge
-					pair.getSignature().setMergedjavaDocComment(merger.merge(parser.getGeneralTags(), parser.getFeatureTags()));
+				final List<SignatureCommentPair> pairs = DocumentationCommentCollector.collect(projectSignatures);
+				final int threads = Math.min(numberOfThreads, pairs.size() / 64 + 1);
+				if (threads <= 1) {
+					build(projectSignatures, merger, parser, pairs, 0, 1);
+				} else {
+					buildParallel(projectSignatures, merger, pairs, threads);
 				}
 			}
 		}
 	}
 
+	private void buildParallel(final ProjectSignatures projectSignatures, final ADocumentationCommentMerger merger, final List<SignatureCommentPair> pairs,
+			final int threads) {
+		final ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			final List<Callable<Void>> tasks = new ArrayList<>(threads);
+			for (int i = 0; i < threads; i++) {
+				final int offset = i;
+				final ADocumentationCommentParser threadParser = (i == 0) ? parser : createParser();
+				tasks.add(new Callable<Void>() {
+					@Override
+					public Void call() {
+						build(projectSignatures, merger, threadParser, pairs, offset, threads);
+						return null;
+					}
+				});
+			}
+			for (Future<Void> future : executor.invokeAll(tasks)) {
+				future.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			CorePlugin.getDefault().logError(e);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static void build(ProjectSignatures projectSignatures, ADocumentationCommentMerger merger, ADocumentationCommentParser parser,
+			List<SignatureCommentPair> pairs, int offset, int step) {
+		for (int i = offset; i < pairs.size(); i += step) {
+			final SignatureCommentPair pair = pairs.get(i);
+			// parse
+			parser.parse(projectSignatures, pair.getComment());
+			// merge
+			pair.getSignature().setMergedjavaDocComment(merger.merge(parser.getGeneralTags(), parser.getFeatureTags()));
+		}
+	}
+
 }
@@ -20,6 +20,7 @@
  */
 package de.ovgu.featureide.core.signature.documentation.base;
 
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -39,7 +40,7 @@ class DocumentationCommentCollector {
 	public static List<SignatureCommentPair> collect(ProjectSignatures projectSignatures) {
 		final SignatureIterator it = projectSignatures.iterator();
 
-		final List<SignatureCommentPair> list = new LinkedList<>();
+		final List<SignatureCommentPair> list = new ArrayList<>(projectSignatures.getSize());
 
 		while (it.hasNext()) {
 			final AbstractSignature curSignature = it.next();
@@ -0,0 +1,205 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2016  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ * 
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.core.signature.filter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.prop4j.Node;
+import org.prop4j.SatSolver;
+import org.sat4j.specs.TimeoutException;
+
+import de.ovgu.featureide.core.CorePlugin;
+import de.ovgu.featureide.fm.core.filter.base.IFilter;
+
+/**
+ * Filter that decides the validity of an object by a satisfiability check against a fixed formula.<br>
+ * Objects are mapped to a key (e.g., their presence condition) and the verdict of each distinct key is cached,
+ * such that objects sharing the same key require only one satisfiability check.
+ * Using {@link #prefetch(Iterable, int)}, the verdicts for many objects can be computed in parallel on copies of the solver.
+ * 
+ * @param <T> the type of the filtered objects
+ * @param <K> the type of the key
+ */
+public abstract class ASatFilter<T, K> implements IFilter<T> {
+
+	private static final long TIMEOUT = 2000;
+
+	private final ConcurrentHashMap<K, Boolean> cache = new ConcurrentHashMap<>();
+
+	private final AtomicInteger cacheHits = new AtomicInteger();
+	private final AtomicInteger cacheMisses = new AtomicInteger();
+
+	private Node formula;
+	private SatSolver solver;
+
+	/**
+	 * Sets the formula of the solver and clears the cache.
+	 * 
+	 * @param formula the fixed formula for all satisfiability checks
+	 */
+	protected void setFormula(Node formula) {
+		final SatSolver solver = new SatSolver(formula, TIMEOUT);
+		synchronized (this) {
+			this.formula = formula;
+			this.solver = solver;
+			cache.clear();
+		}
+	}
+
+	protected SatSolver getSolver() {
+		return solver;
+	}
+
+	/**
+	 * @param object the object to filter
+	 * @return the key of the object or {@code null} if the verdict for the object does not depend on the solver.
+	 */
+	protected abstract K getKey(T object);
+
+	/**
+	 * Computes the verdict for the given key.
+	 * 
+	 * @param solver the solver to use (not shared with other threads)
+	 * @param key the key
+	 * @return the verdict
+	 * @throws TimeoutException if the solver timed out
+	 */
+	protected abstract boolean check(SatSolver solver, K key) throws TimeoutException;
+
+	/**
+	 * Returns the (cached) verdict for the given key.
+	 */
+	protected boolean isValidKey(K key) {
+		final Boolean cachedVerdict = cache.get(key);
+		if (cachedVerdict != null) {
+			cacheHits.incrementAndGet();
+			return cachedVerdict;
+		}
+		cacheMisses.incrementAndGet();
+		try {
+			final boolean verdict;
+			synchronized (this) {
+				verdict = check(solver, key);
+			}
+			cache.put(key, verdict);
+			return verdict;
+		} catch (TimeoutException e) {
+			CorePlugin.getDefault().logError(e);
+			return false;
+		}
+	}
+
+	/**
+	 * Computes the verdicts for all given objects that are not already cached.
+	 * Each distinct key is checked only once. The checks are distributed among the given number of threads, each using its own solver.
+	 * 
+	 * @param objects the objects that will be filtered
+	 * @param numberOfThreads the maximal number of threads to use
+	 */
+	public void prefetch(Iterable<? extends T> objects, int numberOfThreads) {
+		final LinkedHashSet<K> keySet = new LinkedHashSet<>();
+		for (T object : objects) {
+			final K key = getKey(object);
+			if (key != null && !cache.containsKey(key)) {
+				keySet.add(key);
+			}
+		}
+		if (keySet.isEmpty()) {
+			return;
+		}
+		final List<K> keys = new ArrayList<>(keySet);
+		final int threads = Math.max(1, Math.min(numberOfThreads, keys.size()));
+		if (threads == 1) {
+			for (K key : keys) {
+				isValidKey(key);
+			}
+			return;
+		}
+
+		final Node formula;
+		synchronized (this) {
+			formula = this.formula;
+		}
+		final ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			final List<Future<?>> futures = new ArrayList<>(threads);
+			for (int i = 0; i < threads; i++) {
+				final int offset = i;
+				futures.add(executor.submit(new Runnable() {
+					@Override
+					public void run() {
+						final SatSolver solverCopy = new SatSolver(formula, TIMEOUT);
+						for (int j = offset; j < keys.size(); j += threads) {
+							final K key = keys.get(j);
+							try {
+								cache.put(key, check(solverCopy, key));
+								cacheMisses.incrementAndGet();
+							} catch (TimeoutException e) {
+								CorePlugin.getDefault().logError(e);
+							}
+						}
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			CorePlugin.getDefault().logError(e);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * @return the number of verdicts that were taken from the cache.
+	 */
+	public int getCacheHits() {
+		return cacheHits.get();
+	}
+
+	/**
+	 * @return the number of verdicts that required a satisfiability check.
+	 */
+	public int getCacheMisses() {
+		return cacheMisses.get();
+	}
+
+	/**
+	 * @return the ratio of cached verdicts to all verdicts or {@code 0} if no object was filtered yet.
+	 */
+	public double getCacheHitRate() {
+		final int hits = cacheHits.get();
+		final int total = hits + cacheMisses.get();
+		return total == 0 ? 0 : (double) hits / total;
+	}
+
+}
@@ -28,13 +28,13 @@ import org.prop4j.Or;
 import org.prop4j.SatSolver;
 import org.sat4j.specs.TimeoutException;
 
-import de.ovgu.featureide.core.CorePlugin;
 import de.ovgu.featureide.core.signature.base.IConstrainedObject;
-import de.ovgu.featureide.fm.core.filter.base.IFilter;
 
-public class ConstraintFilter implements IFilter<IConstrainedObject> {
-	
-	private final SatSolver solver;
+/**
+ * Accepts all objects whose constraint is implied by the given constraints.
+ * The verdict is cached for every distinct constraint.
+ */
+public class ConstraintFilter extends ASatFilter<IConstrainedObject, Node> {
 	
 	private final boolean includeNullConstraint;
 
@@ -43,49 +43,53 @@ public class ConstraintFilter implements IFilter<IConstrainedObject> {
 	}
 	
 	public ConstraintFilter(boolean includeNullConstraint, Node... constraints) {
-		solver = new SatSolver(new And(constraints), 2000);
+		setFormula(new And(constraints));
 		this.includeNullConstraint = includeNullConstraint;
 	}
 	
 	@Override
 	public boolean isValid(IConstrainedObject object) {
-		Node constraint = object.getConstraint();
+		final Node constraint = getKey(object);
 		
 		if (constraint == null) {
 			return includeNullConstraint;
 		}
 		
-		constraint = new Not(constraint).toCNF();
+		return isValidKey(constraint);
+	}
+
+	@Override
+	protected Node getKey(IConstrainedObject object) {
+		return object.getConstraint();
+	}
+
+	@Override
+	protected boolean check(SatSolver solver, Node key) throws TimeoutException {
+		final Node constraint = new Not(key).toCNF();
 		
-		try {
-			if ((constraint instanceof Literal)) {
-				return !solver.isSatisfiable(new Node[]{constraint});
-			} else if (constraint instanceof Or) {
-				return checkOr(constraint);
-			} else {
-				final Node[] andChildren = constraint.getChildren();
-				for (int i = 0; i < andChildren.length; i++) {
-					final Node andChild = andChildren[i];
-					if (andChild instanceof Or) {
-						if (checkOr(andChild)) {
-							return true;
-						}
-					} else {
-						if (!solver.isSatisfiable(andChild)) {
-							return true;
-						}
+		if ((constraint instanceof Literal)) {
+			return !solver.isSatisfiable(new Node[]{constraint});
+		} else if (constraint instanceof Or) {
+			return checkOr(solver, constraint);
+		} else {
+			final Node[] andChildren = constraint.getChildren();
+			for (int i = 0; i < andChildren.length; i++) {
+				final Node andChild = andChildren[i];
+				if (andChild instanceof Or) {
+					if (checkOr(solver, andChild)) {
+						return true;
+					}
+				} else {
+					if (!solver.isSatisfiable(andChild)) {
+						return true;
 					}
 				}
-				return false;
 			}
-		} catch (TimeoutException e) {
-			CorePlugin.getDefault().logError(e);
 			return false;
 		}
-		
 	}
 	
-	private boolean checkOr(Node or) throws TimeoutException {
+	private boolean checkOr(SatSolver solver, Node or) throws TimeoutException {
 		for (Node orChild : or.getChildren()) {
 			if (!solver.isSatisfiable(orChild)) {
 				return true;
@@ -21,6 +21,7 @@
 package de.ovgu.featureide.core.signature.filter;
 
 import java.util.Arrays;
+import java.util.BitSet;
 
 import org.prop4j.And;
 import org.prop4j.Literal;
@@ -28,19 +29,20 @@ import org.prop4j.Node;
 import org.prop4j.SatSolver;
 import org.sat4j.specs.TimeoutException;
 
-import de.ovgu.featureide.core.CorePlugin;
 import de.ovgu.featureide.core.signature.ProjectSignatures;
 import de.ovgu.featureide.core.signature.base.AFeatureData;
 import de.ovgu.featureide.core.signature.base.AbstractSignature;
 import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator;
-import de.ovgu.featureide.fm.core.filter.base.IFilter;
 
-public class ContextFilter implements IFilter<AbstractSignature> {
+/**
+ * Accepts all signatures that are available in the given context.
+ * The verdict is cached for every distinct set of features that contain a signature.
+ */
+public class ContextFilter extends ASatFilter<AbstractSignature, BitSet> {
 
 	private final ProjectSignatures projectSignatures;
 	private final Node fmNode;
 	private final boolean[] selcetedFeatures;
-	private SatSolver solver;
 
 	public ContextFilter(String featureName, ProjectSignatures projectSignatures) {
 		this(new Node[] { new Literal(featureName, true) }, projectSignatures);
@@ -64,9 +66,9 @@ public class ContextFilter implements IFilter<AbstractSignature> {
 		System.arraycopy(constraints, 0, fixClauses, 1, constraints.length);
 		Arrays.fill(selcetedFeatures, false);
 
-		solver = new SatSolver(new And(fixClauses), 2000);
+		setFormula(new And(fixClauses));
 
-		for (Literal literal : solver.knownValues(SatSolver.ValueType.TRUE)) {
+		for (Literal literal : getSolver().knownValues(SatSolver.ValueType.TRUE)) {
 			int id = projectSignatures.getFeatureID(literal.var.toString());
 			if (id > -1) {
 				selcetedFeatures[id] = true;
@@ -76,21 +78,35 @@ public class ContextFilter implements IFilter<AbstractSignature> {
 
 	@Override
 	public boolean isValid(AbstractSignature signature) {
-		AFeatureData[] ids = signature.getFeatureData();
-		Node[] negativeLiterals = new Node[ids.length];
+		final BitSet featureIDs = getKey(signature);
+		return featureIDs == null || isValidKey(featureIDs);
+	}
+
+	/**
+	 * @return the IDs of all features containing the signature or {@code null} if one of them is always selected in the current context.
+	 */
+	@Override
+	protected BitSet getKey(AbstractSignature signature) {
+		final AFeatureData[] ids = signature.getFeatureData();
+		final BitSet featureIDs = new BitSet();
 		for (int i = 0; i < ids.length; ++i) {
 			int id = ids[i].getID();
 			if (selcetedFeatures[id]) {
-				return true;
+				return null;
 			}
-			negativeLiterals[i] = new Literal(projectSignatures.getFeatureName(id), false);
+			featureIDs.set(id);
 		}
-		try {
-			return !solver.isSatisfiable(negativeLiterals);
-		} catch (TimeoutException e) {
-			CorePlugin.getDefault().logError(e);
-			return false;
+		return featureIDs;
+	}
+
+	@Override
+	protected boolean check(SatSolver solver, BitSet featureIDs) throws TimeoutException {
+		final Node[] negativeLiterals = new Node[featureIDs.cardinality()];
+		int i = 0;
+		for (int id = featureIDs.nextSetBit(0); id >= 0; id = featureIDs.nextSetBit(id + 1)) {
+			negativeLiterals[i++] = new Literal(projectSignatures.getFeatureName(id), false);
 		}
+		return !solver.isSatisfiable(negativeLiterals);
 	}
 
 }
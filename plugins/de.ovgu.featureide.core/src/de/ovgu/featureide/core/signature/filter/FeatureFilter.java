@@ -20,10 +20,13 @@
  */
 package de.ovgu.featureide.core.signature.filter;
 
+import java.util.BitSet;
+
+import de.ovgu.featureide.core.signature.ProjectSignatures;
 import de.ovgu.featureide.core.signature.base.AbstractSignature;
 import de.ovgu.featureide.fm.core.filter.base.IFilter;
 
-public class FeatureFilter implements IFilter<AbstractSignature> {
+public class FeatureFilter implements IFilter<AbstractSignature>, IIndexedFilter {
 	private final int[] featureList;
 
 	public FeatureFilter(int... featureList) {
@@ -35,4 +38,14 @@ public class FeatureFilter implements IFilter<AbstractSignature> {
 		return signature.hasFeature(featureList);
 	}
 
+	@Override
+	public BitSet getValidIndices(ProjectSignatures projectSignatures) {
+		if (featureList == null) {
+			final BitSet validIndices = new BitSet();
+			validIndices.set(0, projectSignatures.getSize());
+			return validIndices;
+		}
+		return projectSignatures.getSignatureIndices(featureList);
+	}
+
 }
@@ -0,0 +1,42 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2016  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ * 
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.core.signature.filter;
+
+import java.util.BitSet;
+
+import de.ovgu.featureide.core.signature.ProjectSignatures;
+
+/**
+ * A signature filter that can be evaluated on the index of {@link ProjectSignatures}.
+ * The {@link ProjectSignatures.SignatureIterator} intersects the results of all indexed filters
+ * instead of calling {@link de.ovgu.featureide.fm.core.filter.base.IFilter#isValid(Object) isValid} for every signature.
+ */
+public interface IIndexedFilter {
+
+	/**
+	 * Returns the positions of all signatures that are accepted by this filter.
+	 * 
+	 * @param projectSignatures the signatures to filter
+	 * @return a new bit set that can be modified by the caller
+	 */
+	BitSet getValidIndices(ProjectSignatures projectSignatures);
+
+}
@@ -20,15 +20,25 @@
  */
 package de.ovgu.featureide.core.signature.filter;
 
+import java.util.BitSet;
+
+import de.ovgu.featureide.core.signature.ProjectSignatures;
 import de.ovgu.featureide.core.signature.base.AbstractClassSignature;
 import de.ovgu.featureide.core.signature.base.AbstractSignature;
 import de.ovgu.featureide.fm.core.filter.base.IFilter;
 
-public class MemberFilter implements IFilter<AbstractSignature> {
+public class MemberFilter implements IFilter<AbstractSignature>, IIndexedFilter {
 
 	@Override
 	public boolean isValid(AbstractSignature signature) {
 		return !(signature instanceof AbstractClassSignature);
 	}
 
+	@Override
+	public BitSet getValidIndices(ProjectSignatures projectSignatures) {
+		final BitSet validIndices = projectSignatures.getSignatureIndices(AbstractClassSignature.class);
+		validIndices.flip(0, projectSignatures.getSize());
+		return validIndices;
+	}
+
 }
@@ -20,15 +20,23 @@
  */
 package de.ovgu.featureide.core.signature.filter;
 
+import java.util.BitSet;
+
+import de.ovgu.featureide.core.signature.ProjectSignatures;
 import de.ovgu.featureide.core.signature.base.AbstractMethodSignature;
 import de.ovgu.featureide.core.signature.base.AbstractSignature;
 import de.ovgu.featureide.fm.core.filter.base.IFilter;
 
-public class MethodFilter implements IFilter<AbstractSignature> {
+public class MethodFilter implements IFilter<AbstractSignature>, IIndexedFilter {
 
 	@Override
 	public boolean isValid(AbstractSignature signature) {
 		return signature instanceof AbstractMethodSignature;
 	}
 
+	@Override
+	public BitSet getValidIndices(ProjectSignatures projectSignatures) {
+		return projectSignatures.getSignatureIndices(AbstractMethodSignature.class);
+	}
+
 }
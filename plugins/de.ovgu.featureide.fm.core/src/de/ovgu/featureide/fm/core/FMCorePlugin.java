@@ -58,7 +58,7 @@ import de.ovgu.featureide.fm.core.job.LongRunningEclipse;
 import de.ovgu.featureide.fm.core.job.LongRunningMethod;
 import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
 import de.ovgu.featureide.fm.core.job.util.JobArguments;
-import de.ovgu.featureide.fm.core.job.util.JobSequence;
+import de.ovgu.featureide.fm.core.job.util.JobGraph;
 
 /**
  * The activator class controls the plug-in life cycle.
@@ -113,7 +113,7 @@ public class FMCorePlugin extends AbstractCorePlugin {
 	 * @param projects the list of projects
 	 * @param arguments the arguments for the job
 	 * @param autostart if {@code true} the jobs is started automatically.
-	 * @return the created job or a {@link JobSequence} if more than one project is given.
+	 * @return the created job or a {@link JobGraph} if more than one project is given. The jobs of different projects are executed concurrently.
 	 *         Returns {@code null} if {@code projects} is empty.
 	 */
 	public LongRunningMethod<?> startJobs(List<JobArguments> projects, boolean autostart) {
@@ -126,13 +126,14 @@ public class FMCorePlugin extends AbstractCorePlugin {
 			ret = newJob;
 			break;
 		default:
-			final JobSequence jobSequence = new JobSequence();
-			jobSequence.setIgnorePreviousJobFail(true);
+			final JobGraph jobGraph = new JobGraph();
 			for (JobArguments p : projects) {
-				LongRunningMethod<?> newSequenceJob = p.createJob();
-				jobSequence.addJob(newSequenceJob);
+				LongRunningMethod<?> newGraphJob = p.createJob();
+				if (newGraphJob != null) {
+					jobGraph.addJob(newGraphJob);
+				}
 			}
-			ret = jobSequence;
+			ret = jobGraph;
 		}
 		if (autostart) {
 			LongRunningWrapper.getRunner(ret).schedule();
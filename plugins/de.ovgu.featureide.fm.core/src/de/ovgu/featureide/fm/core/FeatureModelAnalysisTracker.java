@@ -0,0 +1,137 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2016  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ * 
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.ovgu.featureide.fm.core.base.IConstraint;
+import de.ovgu.featureide.fm.core.base.IFeature;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+
+/**
+ * Remembers the analysis results of a feature model (i.e., the status of all features and the attributes of all constraints)
+ * to determine which elements actually changed since the last analysis.
+ * This allows to refresh only those elements, whose results differ from the results that are currently displayed.
+ */
+public class FeatureModelAnalysisTracker {
+
+	/**
+	 * Analysis results of a constraint.
+	 */
+	private static final class ConstraintResult {
+		private final ConstraintAttribute attribute;
+		private final List<IFeature> deadFeatures;
+		private final List<IFeature> falseOptionalFeatures;
+
+		private ConstraintResult(IConstraint constraint) {
+			attribute = constraint.getConstraintAttribute();
+			deadFeatures = copy(constraint.getDeadFeatures());
+			falseOptionalFeatures = copy(constraint.getFalseOptional());
+		}
+
+		private static List<IFeature> copy(Collection<IFeature> features) {
+			return features == null ? null : new ArrayList<>(features);
+		}
+
+		@Override
+		public int hashCode() {
+			return attribute == null ? 0 : attribute.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof ConstraintResult)) {
+				return false;
+			}
+			final ConstraintResult other = (ConstraintResult) obj;
+			return attribute == other.attribute && equals(deadFeatures, other.deadFeatures)
+					&& equals(falseOptionalFeatures, other.falseOptionalFeatures);
+		}
+
+		private static boolean equals(List<IFeature> features1, List<IFeature> features2) {
+			return features1 == null ? features2 == null : features1.equals(features2);
+		}
+	}
+
+	private Map<IFeature, FeatureStatus> featureResults = null;
+	private Map<IConstraint, ConstraintResult> constraintResults = null;
+
+	/**
+	 * Compares the current analysis results of the given feature model with the remembered results and remembers the current results.
+	 * The root feature is always contained, as the validity of the model might have changed.
+	 * 
+	 * @param fm the feature model
+	 * @return Hashmap: key entry is Feature/Constraint, value is the current attribute.
+	 *         Contains all elements whose results changed or {@code null} if there are no remembered results (i.e., all elements might have changed).
+	 */
+	public synchronized HashMap<Object, Object> update(IFeatureModel fm) {
+		final Map<IFeature, FeatureStatus> newFeatureResults = new HashMap<>();
+		for (IFeature feature : fm.getFeatures()) {
+			newFeatureResults.put(feature, feature.getProperty().getFeatureStatus());
+		}
+		final Map<IConstraint, ConstraintResult> newConstraintResults = new HashMap<>();
+		for (IConstraint constraint : fm.getConstraints()) {
+			newConstraintResults.put(constraint, new ConstraintResult(constraint));
+		}
+
+		final Map<IFeature, FeatureStatus> oldFeatureResults = featureResults;
+		final Map<IConstraint, ConstraintResult> oldConstraintResults = constraintResults;
+		featureResults = newFeatureResults;
+		constraintResults = newConstraintResults;
+		if (oldFeatureResults == null || oldConstraintResults == null) {
+			return null;
+		}
+
+		final HashMap<Object, Object> changedAttributes = new HashMap<>();
+		if (fm.getStructure().getRoot() != null) {
+			final IFeature root = fm.getStructure().getRoot().getFeature();
+			changedAttributes.put(root, root.getProperty().getFeatureStatus());
+		}
+		for (Map.Entry<IFeature, FeatureStatus> entry : newFeatureResults.entrySet()) {
+			if (entry.getValue() != oldFeatureResults.get(entry.getKey())) {
+				changedAttributes.put(entry.getKey(), entry.getValue());
+			}
+		}
+		for (Map.Entry<IConstraint, ConstraintResult> entry : newConstraintResults.entrySet()) {
+			if (!entry.getValue().equals(oldConstraintResults.get(entry.getKey()))) {
+				changedAttributes.put(entry.getKey(), entry.getValue().attribute);
+			}
+		}
+		return changedAttributes;
+	}
+
+	/**
+	 * Forgets the remembered results, such that the next call of {@link #update(IFeatureModel)} reports all elements as changed.
+	 * Should be called whenever all elements are refreshed independently from this tracker.
+	 */
+	public synchronized void reset() {
+		featureResults = null;
+		constraintResults = null;
+	}
+
+}
@@ -493,7 +493,7 @@ public class FeatureModelAnalyzer {
 		return analyzeFeatures(timeout, SatSolver.ValueType.ALL, selectedFeatures);
 	}
 
-	private List<List<IFeature>> analyzeFeatures(long timeout, SatSolver.ValueType vt, Object... selectedFeatures) {
+	protected List<List<IFeature>> analyzeFeatures(long timeout, SatSolver.ValueType vt, Object... selectedFeatures) {
 		final ArrayList<IFeature> coreFeatures = new ArrayList<>();
 		final ArrayList<IFeature> deadFeatures = new ArrayList<>();
 
@@ -519,6 +519,15 @@ public class FeatureModelAnalyzer {
 			}
 		}
 
+		return setCachedFeatures(coreFeatures, deadFeatures);
+	}
+
+	/**
+	 * Remembers the given core and dead features.
+	 * 
+	 * @return A list containing the list of core features and the list of dead features.
+	 */
+	protected List<List<IFeature>> setCachedFeatures(List<IFeature> coreFeatures, List<IFeature> deadFeatures) {
 		cachedCoreFeatures = coreFeatures;
 		cachedDeadFeatures = deadFeatures;
 
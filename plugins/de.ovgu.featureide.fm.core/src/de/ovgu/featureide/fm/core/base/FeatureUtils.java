@@ -667,7 +667,11 @@ public final class FeatureUtils {
 	public static final String getRelevantConstraintsString(IFeature feature) {
 		requireNonNull(feature);
 
-		return FeatureUtils.getRelevantConstraintsString(feature, feature.getFeatureModel().getConstraints());
+		final StringBuilder relevant = new StringBuilder();
+		for (IConstraint constraint : feature.getFeatureModel().getConstraints(feature.getName())) {
+			relevant.append((relevant.length() == 0 ? " " : "\n ") + constraint.getNode().toString(NodeWriter.logicalSymbols) + " ");
+		}
+		return relevant.toString();
 	}
 
 	public static String getRelevantConstraintsString(IFeature feature, Collection<IConstraint> constraints) {
@@ -1300,23 +1304,7 @@ public final class FeatureUtils {
 	public static void setRelevantConstraints(IFeature bone) {
 		requireNonNull(bone);
 
-		List<Constraint> constraintList = new LinkedList<Constraint>();
-		for (IConstraint constraint : bone.getFeatureModel().getConstraints()) {
-			for (IFeature f : constraint.getContainedFeatures()) {
-				if (f.getName().equals(bone.getName())) {
-					constraintList.add((Constraint) constraint.clone(bone.getFeatureModel()));
-					break;
-				}
-			}
-		}
-		bone.getStructure().setRelevantConstraints(Functional.toList(Functional.map(constraintList, new IFunction<Constraint, IConstraint>() {
-
-			@Override
-			public IConstraint invoke(Constraint t) {
-				return t;
-			}
-
-		})));
+		bone.getStructure().setRelevantConstraints(bone.getFeatureModel().getConstraints(bone.getName()));
 	}
 
 	public static final void setRoot(IFeatureModel featureModel, IFeature root) {
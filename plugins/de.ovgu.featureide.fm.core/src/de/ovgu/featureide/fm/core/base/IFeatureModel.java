@@ -428,6 +428,23 @@ public interface IFeatureModel extends Cloneable, IEventManager {
 	 * @return All constraints stored in this feature model.
 	 */
 	List<IConstraint> getConstraints();
+
+	/**
+	 * Returns all constraints stored in this feature model that contain the feature with the given <code>name</code>.
+	 * <br/>
+	 * <br/>
+	 * <b>Note</b>: The constraints are looked up in an index that is updated if constraints are added or removed. The returned list is <b>unmodifiable</b> and
+	 * is not changed by later modifications of the feature model.
+	 * 
+	 * @param featureName the name of the feature. This parameter is assumed to be non-null.
+	 * 
+	 * @see #getConstraints()
+	 * 
+	 * @since 3.1
+	 * 
+	 * @return All constraints that contain the given feature, in the order of {@link #getConstraints()}.
+	 */
+	List<IConstraint> getConstraints(String featureName);
 	
 
 	/**
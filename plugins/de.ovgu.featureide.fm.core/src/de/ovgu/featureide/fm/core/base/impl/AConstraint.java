@@ -183,6 +183,9 @@ public abstract class AConstraint extends AFeatureModelElement implements IConst
 
 	public void setNode(Node node) {
 		this.propNode = node;
+		if (featureModel instanceof FeatureModel) {
+			((FeatureModel) featureModel).invalidateConstraintIndex();
+		}
 	}
 
 	@Override
@@ -24,6 +24,8 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Hashtable;
 import java.util.LinkedList;
 import java.util.List;
@@ -79,6 +81,13 @@ public class FeatureModel implements IFeatureModel {
 	protected final FeatureModelAnalyzer analyser;
 	protected final List<IConstraint> constraints = new ArrayList<>();
 
+	/**
+	 * Maps the name of each feature to the constraints that contain the feature.
+	 * Is created on demand and discarded on changes that cannot be tracked incrementally.
+	 */
+	private Map<String, List<IConstraint>> constraintIndex = null;
+	private final Object constraintIndexLock = new Object();
+
 	/**
 	 * A list containing the feature names in their specified order will be
 	 * initialized in XmlFeatureModelReader.
@@ -155,11 +164,17 @@ public class FeatureModel implements IFeatureModel {
 	@Override
 	public void addConstraint(IConstraint constraint) {
 		constraints.add(constraint);
+		synchronized (constraintIndexLock) {
+			if (constraintIndex != null) {
+				indexConstraint(constraint);
+			}
+		}
 	}
 
 	@Override
 	public void addConstraint(IConstraint constraint, int index) {
 		constraints.add(index, constraint);
+		invalidateConstraintIndex();
 	}
 
 	@Override
@@ -248,6 +263,8 @@ public class FeatureModel implements IFeatureModel {
 	@Override
 	public void deleteFeatureFromTable(IFeature feature) {
 		featureTable.remove(feature.getName());
+		// the feature may be renamed
+		invalidateConstraintIndex();
 	}
 
 	@Override
@@ -285,6 +302,64 @@ public class FeatureModel implements IFeatureModel {
 		return Collections.unmodifiableList(constraints);
 	}
 
+	@Override
+	public List<IConstraint> getConstraints(String featureName) {
+		synchronized (constraintIndexLock) {
+			if (constraintIndex == null) {
+				constraintIndex = new HashMap<>();
+				for (final IConstraint constraint : constraints) {
+					indexConstraint(constraint);
+				}
+			}
+			final List<IConstraint> featureConstraints = constraintIndex.get(featureName);
+			return featureConstraints != null ? Collections.unmodifiableList(featureConstraints) : Collections.<IConstraint> emptyList();
+		}
+	}
+
+	/**
+	 * Adds the constraint to the lists of all features that it contains.
+	 * Lists are replaced instead of modified, because they may have been returned by {@link #getConstraints(String)}.
+	 */
+	private void indexConstraint(IConstraint constraint) {
+		for (final String featureName : new HashSet<>(constraint.getNode().getContainedFeatures())) {
+			final List<IConstraint> oldList = constraintIndex.get(featureName);
+			final List<IConstraint> newList;
+			if (oldList == null) {
+				newList = new ArrayList<>(1);
+			} else {
+				newList = new ArrayList<>(oldList.size() + 1);
+				newList.addAll(oldList);
+			}
+			newList.add(constraint);
+			constraintIndex.put(featureName, newList);
+		}
+	}
+
+	private void unindexConstraint(IConstraint constraint) {
+		for (final String featureName : new HashSet<>(constraint.getNode().getContainedFeatures())) {
+			final List<IConstraint> oldList = constraintIndex.get(featureName);
+			if (oldList != null) {
+				final List<IConstraint> newList = new ArrayList<>(oldList);
+				newList.remove(constraint);
+				if (newList.isEmpty()) {
+					constraintIndex.remove(featureName);
+				} else {
+					constraintIndex.put(featureName, newList);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Discards the index of {@link #getConstraints(String)}.
+	 * Must be called if the features of a constraint are changed (e.g., by renaming a feature).
+	 */
+	public void invalidateConstraintIndex() {
+		synchronized (constraintIndexLock) {
+			constraintIndex = null;
+		}
+	}
+
 	@Override
 	public IFeature getFeature(CharSequence name) {
 		return featureTable.get(name);
@@ -293,6 +368,9 @@ public class FeatureModel implements IFeatureModel {
 	@Override
 	public List<String> getFeatureOrderList() {
 		if (featureOrderList.isEmpty()) {
+			if (structure instanceof FeatureModelStructure) {
+				return Functional.toList(Functional.mapToStringList(((FeatureModelStructure) structure).getConcreteFeaturesPreorder()));
+			}
 			return Functional.toList(Functional.mapToStringList(Functional.filter(new FeaturePreOrderIterator(this), new ConcreteFeatureFilter())));
 		}
 		return Collections.unmodifiableList(featureOrderList);
@@ -382,13 +460,23 @@ public class FeatureModel implements IFeatureModel {
 
 	@Override
 	public void removeConstraint(IConstraint constraint) {
-		constraints.remove(constraint);
+		if (constraints.remove(constraint)) {
+			synchronized (constraintIndexLock) {
+				if (constraintIndex != null) {
+					unindexConstraint(constraint);
+				}
+			}
+		}
 	}
 
 	@Override
 	public void removeConstraint(int index) {
-		constraints.remove(index);
-
+		final IConstraint constraint = constraints.remove(index);
+		synchronized (constraintIndexLock) {
+			if (constraintIndex != null) {
+				unindexConstraint(constraint);
+			}
+		}
 	}
 
 	@Override
@@ -401,6 +489,7 @@ public class FeatureModel implements IFeatureModel {
 		if (constraint == null)
 			throw new NullPointerException();
 		constraints.set(index, constraint);
+		invalidateConstraintIndex();
 	}
 
 	@Override
@@ -410,6 +499,7 @@ public class FeatureModel implements IFeatureModel {
 		featureTable.clear();
 		renamingsManager.clear();
 		constraints.clear();
+		invalidateConstraintIndex();
 		featureOrderList.clear();
 
 		property.reset();
@@ -420,6 +510,7 @@ public class FeatureModel implements IFeatureModel {
 	public void setConstraints(Iterable<IConstraint> constraints) {
 		this.constraints.clear();
 		this.constraints.addAll(Functional.toList(constraints));
+		invalidateConstraintIndex();
 	}
 
 	@Override
@@ -527,6 +618,7 @@ public class FeatureModel implements IFeatureModel {
 	@Override
 	public void setConstraint(int index, IConstraint constraint) {
 		constraints.set(index, constraint);
+		invalidateConstraintIndex();
 	}
 
 	public FeatureModel clone() {
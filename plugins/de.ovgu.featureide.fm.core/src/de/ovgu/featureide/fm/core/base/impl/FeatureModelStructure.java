@@ -21,8 +21,6 @@
 package de.ovgu.featureide.fm.core.base.impl;
 
 import java.util.Collection;
-import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
 
 import de.ovgu.featureide.fm.core.ConstraintAttribute;
@@ -78,6 +76,8 @@ public class FeatureModelStructure implements IFeatureModelStructure {
 
 	protected boolean showHiddenFeatures = false;
 
+	private final FeatureTreeIndex treeIndex = new FeatureTreeIndex(this);
+
 	protected FeatureModelStructure(FeatureModelStructure oldStructure, IFeatureModel correspondingFeatureModel) {
 		this.correspondingFeatureModel = correspondingFeatureModel != null ? correspondingFeatureModel : oldStructure.correspondingFeatureModel;
 
@@ -100,18 +100,21 @@ public class FeatureModelStructure implements IFeatureModelStructure {
 
 	@Override
 	public Collection<IFeature> getFeaturesPreorder() {
-		final List<IFeature> preorderFeatures = new LinkedList<>();
-		if (rootFeature != null) {
-			getFeaturesPreorder(rootFeature, preorderFeatures);
-		}
-		return Collections.unmodifiableCollection(preorderFeatures);
+		return treeIndex.getPreorderFeatures();
 	}
 
-	protected void getFeaturesPreorder(IFeatureStructure featureStructure, List<IFeature> preorderFeatures) {
-		preorderFeatures.add(featureStructure.getFeature());
-		for (final IFeatureStructure child : featureStructure.getChildren()) {
-			getFeaturesPreorder(child, preorderFeatures);
-		}
+	/**
+	 * @return all concrete features of the tree in preorder.
+	 */
+	List<IFeature> getConcreteFeaturesPreorder() {
+		return treeIndex.getPreorderConcreteFeatures();
+	}
+
+	/**
+	 * @return the structural meta data of the feature tree.
+	 */
+	FeatureTreeIndex getTreeIndex() {
+		return treeIndex;
 	}
 
 	@Override
@@ -244,11 +247,13 @@ public class FeatureModelStructure implements IFeatureModelStructure {
 
 		feature.setParent(null);
 		rootFeature = feature;
+		treeIndex.invalidate();
 	}
 
 	@Override
 	public void setRoot(IFeatureStructure root) {
 		rootFeature = root;
+		treeIndex.invalidate();
 	}
 
 	private boolean existsFeatureWithStatus(FeatureStatus status) {
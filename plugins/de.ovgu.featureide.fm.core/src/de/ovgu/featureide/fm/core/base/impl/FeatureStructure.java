@@ -29,6 +29,7 @@ import de.ovgu.featureide.fm.core.base.FeatureUtils;
 import de.ovgu.featureide.fm.core.base.IConstraint;
 import de.ovgu.featureide.fm.core.base.IFeature;
 import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.IFeatureModelStructure;
 import de.ovgu.featureide.fm.core.base.IFeatureStructure;
 import de.ovgu.featureide.fm.core.base.event.FeatureIDEEvent;
 import de.ovgu.featureide.fm.core.base.event.FeatureIDEEvent.EventType;
@@ -54,6 +55,14 @@ public class FeatureStructure implements IFeatureStructure {
 
 	protected IFeatureStructure parent = null;
 	protected List<IConstraint> partOfConstraints = new LinkedList<>();
+
+	/**
+	 * Structural meta data, maintained by {@link FeatureTreeIndex}.
+	 * Only valid if {@link #indexVersion} matches the version of the index.
+	 */
+	int preOrder, postOrder;
+	boolean hiddenParent;
+	long indexVersion = -1;
 	
 	protected FeatureStructure(FeatureStructure oldStructure, IFeatureModel newFeatureModel) {
 		if (newFeatureModel != null) {
@@ -98,11 +107,13 @@ public class FeatureStructure implements IFeatureStructure {
 			children.add(index, newChild);
 		}
 		newChild.setParent(this);
+		invalidateTreeIndex();
 	}
 
 	protected void addNewChild(IFeatureStructure newChild) {
 		children.add(newChild);
 		newChild.setParent(this);
+		invalidateTreeIndex();
 	}
 
 	@Override
@@ -131,6 +142,30 @@ public class FeatureStructure implements IFeatureStructure {
 		return new FeatureStructure(this, newFeatureModel);
 	}
 
+	/**
+	 * @return the index of the feature tree this structure belongs to or {@code null} if there is none.
+	 */
+	private FeatureTreeIndex getTreeIndex() {
+		final IFeatureModel featureModel = correspondingFeature.getFeatureModel();
+		if (featureModel != null) {
+			final IFeatureModelStructure structure = featureModel.getStructure();
+			if (structure instanceof FeatureModelStructure) {
+				return ((FeatureModelStructure) structure).getTreeIndex();
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Must be called whenever the tree or the hidden or abstract state of a feature is modified.
+	 */
+	protected void invalidateTreeIndex() {
+		final FeatureTreeIndex treeIndex = getTreeIndex();
+		if (treeIndex != null) {
+			treeIndex.invalidate();
+		}
+	}
+
 	protected void fireAttributeChanged() {
 		final FeatureIDEEvent event = new FeatureIDEEvent(this, EventType.ATTRIBUTE_CHANGED);
 		correspondingFeature.fireEvent(event);
@@ -223,6 +258,10 @@ public class FeatureStructure implements IFeatureStructure {
 
 			return false;
 		}
+		final FeatureTreeIndex treeIndex = getTreeIndex();
+		if (treeIndex != null && treeIndex.isIndexed(this)) {
+			return hiddenParent;
+		}
 		IFeatureStructure p = getParent();
 
 		while (!p.isRoot()) {
@@ -258,6 +297,13 @@ public class FeatureStructure implements IFeatureStructure {
 
 	@Override
 	public boolean isAncestorOf(IFeatureStructure parent) {
+		if (parent instanceof FeatureStructure) {
+			final FeatureTreeIndex treeIndex = getTreeIndex();
+			final FeatureStructure other = (FeatureStructure) parent;
+			if (treeIndex != null && treeIndex.isIndexed(this) && treeIndex.isIndexed(other)) {
+				return other.preOrder < preOrder && postOrder < other.postOrder;
+			}
+		}
 		IFeatureStructure currParent = getParent();
 		while (currParent != null) {
 			if (parent == currParent) {
@@ -331,6 +377,7 @@ public class FeatureStructure implements IFeatureStructure {
 		if(!children.remove(child))
 			throw new NoSuchElementException();
 		child.setParent(null);
+		invalidateTreeIndex();
 		fireChildrenChanged();
 	}
 
@@ -338,6 +385,7 @@ public class FeatureStructure implements IFeatureStructure {
 	public IFeatureStructure removeLastChild() {
 		final IFeatureStructure child = children.removeLast();
 		child.setParent(null);
+		invalidateTreeIndex();
 		fireChildrenChanged();
 		return child;
 	}
@@ -348,12 +396,14 @@ public class FeatureStructure implements IFeatureStructure {
 		children.set(index, newChild);
 		oldChild.setParent(null);
 		newChild.setParent(this);
+		invalidateTreeIndex();
 		fireChildrenChanged();
 	}
 
 	@Override
 	public void setAbstract(boolean value) {
 		concrete = !value;
+		invalidateTreeIndex();
 		fireAttributeChanged();
 	}
 
@@ -377,6 +427,7 @@ public class FeatureStructure implements IFeatureStructure {
 	@Override
 	public void setChildren(List<IFeatureStructure> children) {	// Changed type LinkedList to List, Marcus Pinnecke 30.08.15
 		this.children.clear();
+		invalidateTreeIndex();
 		for (final IFeatureStructure child : children) {
 			addNewChild(child);
 		}
@@ -386,6 +437,7 @@ public class FeatureStructure implements IFeatureStructure {
 	@Override
 	public void setHidden(boolean hid) {
 		hidden = hid;
+		invalidateTreeIndex();
 		fireHiddenChanged();
 	}
 
@@ -413,20 +465,12 @@ public class FeatureStructure implements IFeatureStructure {
 			return;
 		}
 		parent = newParent;
+		invalidateTreeIndex();
 	}
 
 	@Override
 	public void setRelevantConstraints() {
-		final List<IConstraint> constraintList = new LinkedList<>();
-		for (final IConstraint constraint : correspondingFeature.getFeatureModel().getConstraints()) {
-			for (final IFeature f : constraint.getContainedFeatures()) {
-				if (f.getName().equals(correspondingFeature.getName())) {
-					constraintList.add(constraint);
-					break;
-				}
-			}
-		}
-		partOfConstraints = constraintList;
+		partOfConstraints = correspondingFeature.getFeatureModel().getConstraints(correspondingFeature.getName());
 	}
 
 	@Override
@@ -0,0 +1,142 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2016  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ * 
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.base.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import de.ovgu.featureide.fm.core.base.IFeature;
+import de.ovgu.featureide.fm.core.base.IFeatureStructure;
+
+/**
+ * Structural meta data of the feature tree of one {@link FeatureModelStructure}.<br>
+ * Stores a pre- and post-order numbering and the hidden state of all ancestors at every {@link FeatureStructure},
+ * such that ancestor and visibility tests do not have to walk the tree.
+ * Additionally, caches all features and all concrete features of the tree in preorder.<br>
+ * The index is discarded by {@link #invalidate()} whenever the tree is modified.
+ * While it is stale, structural queries walk the tree instead. The index is only rebuilt after
+ * {@value #REBUILD_THRESHOLD} such queries, so that alternating modifications and queries do not rebuild it every time.
+ * 
+ * @see FeatureStructure#isAncestorOf(de.ovgu.featureide.fm.core.base.IFeatureStructure)
+ * @see FeatureStructure#hasHiddenParent()
+ */
+final class FeatureTreeIndex {
+
+	/**
+	 * Global counter, so that a version is never shared by two indices.
+	 */
+	private static final AtomicLong VERSION_COUNTER = new AtomicLong();
+
+	/**
+	 * Number of structural queries that walk the tree before the stale index is rebuilt.
+	 */
+	static final int REBUILD_THRESHOLD = 32;
+
+	private final FeatureModelStructure structure;
+
+	private long version = -1;
+
+	private List<IFeature> preorderFeatures = null;
+	private List<IFeature> preorderConcreteFeatures = null;
+
+	private int counter;
+
+	private int staleQueries = 0;
+
+	FeatureTreeIndex(FeatureModelStructure structure) {
+		this.structure = structure;
+	}
+
+	synchronized void invalidate() {
+		version = -1;
+		staleQueries = 0;
+		preorderFeatures = null;
+		preorderConcreteFeatures = null;
+	}
+
+	/**
+	 * @param featureStructure the structure to check
+	 * @return {@code true} if the meta data stored at the given structure is up to date.
+	 *         {@code false} if the caller has to walk the tree, because the index is stale (and was not rebuilt yet).
+	 */
+	synchronized boolean isIndexed(FeatureStructure featureStructure) {
+		if (version < 0) {
+			if (++staleQueries < REBUILD_THRESHOLD) {
+				return false;
+			}
+			build();
+		}
+		return featureStructure.indexVersion == version;
+	}
+
+	synchronized List<IFeature> getPreorderFeatures() {
+		build();
+		return preorderFeatures;
+	}
+
+	synchronized List<IFeature> getPreorderConcreteFeatures() {
+		build();
+		return preorderConcreteFeatures;
+	}
+
+	private void build() {
+		if (version >= 0) {
+			return;
+		}
+		version = VERSION_COUNTER.getAndIncrement();
+		counter = 0;
+		final List<IFeature> features = new ArrayList<>();
+		final List<IFeature> concreteFeatures = new ArrayList<>();
+		final IFeatureStructure root = structure.getRoot();
+		if (root != null) {
+			index(root, false, features, concreteFeatures);
+		}
+		preorderFeatures = Collections.unmodifiableList(features);
+		preorderConcreteFeatures = Collections.unmodifiableList(concreteFeatures);
+	}
+
+	private void index(IFeatureStructure featureStructure, boolean hiddenAncestor, List<IFeature> features, List<IFeature> concreteFeatures) {
+		final IFeature feature = featureStructure.getFeature();
+		features.add(feature);
+		if (featureStructure.isConcrete()) {
+			concreteFeatures.add(feature);
+		}
+
+		// the hidden state of the root is not inherited by its children (see FeatureStructure#hasHiddenParent())
+		final boolean hiddenParent = hiddenAncestor || featureStructure.isHidden();
+		final boolean childHiddenAncestor = hiddenAncestor || (featureStructure.isHidden() && !featureStructure.isRoot());
+
+		final int preOrder = counter++;
+		for (final IFeatureStructure child : featureStructure.getChildren()) {
+			index(child, childHiddenAncestor, features, concreteFeatures);
+		}
+		if (featureStructure instanceof FeatureStructure) {
+			final FeatureStructure indexedStructure = (FeatureStructure) featureStructure;
+			indexedStructure.preOrder = preOrder;
+			indexedStructure.postOrder = counter++;
+			indexedStructure.hiddenParent = hiddenParent;
+			indexedStructure.indexVersion = version;
+		}
+	}
+
+}
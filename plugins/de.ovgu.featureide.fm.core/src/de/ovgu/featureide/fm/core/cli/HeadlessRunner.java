@@ -0,0 +1,211 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2016  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ * 
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.cli;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+import de.ovgu.featureide.fm.core.base.impl.FMFactoryManager;
+import de.ovgu.featureide.fm.core.base.impl.FMFormatManager;
+import de.ovgu.featureide.fm.core.job.LongRunningCore;
+import de.ovgu.featureide.fm.core.job.LongRunningMethod;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+import de.ovgu.featureide.fm.core.job.monitor.ConsoleMonitor;
+import de.ovgu.featureide.fm.core.job.util.JobGraph;
+
+/**
+ * Command line entry point that processes feature models without starting Eclipse.<br>
+ * All given models are processed in parallel by a {@link ModelProcessingJob}.
+ * The result of each model is written as one JSON object per line, either to standard output or to the file {@code results.json} in the output folder.
+ * 
+ * <pre>
+ * HeadlessRunner [-analyze] [-sample &lt;limit&gt;] [-slice &lt;feature,...&gt;] [-out &lt;folder&gt;] [-threads &lt;number&gt;] &lt;model file or folder&gt;...
+ * </pre>
+ * 
+ * The exit code is {@code 0} if all models were processed, {@code 1} if a model could not be processed, and {@code 2} for wrong arguments.
+ */
+public final class HeadlessRunner {
+
+	private static final String USAGE = "Usage: HeadlessRunner [-analyze] [-sample <limit>] [-slice <feature,...>] [-out <folder>] [-threads <number>] <model file or folder>...";
+
+	private boolean analyze = false;
+	private int sampleSize = -1;
+	private List<String> sliceFeatures = null;
+	private Path outputFolder = null;
+	private int numberOfThreads = Runtime.getRuntime().availableProcessors();
+	private final List<Path> modelFiles = new ArrayList<>();
+
+	HeadlessRunner() {
+	}
+
+	public static void main(String[] args) {
+		final HeadlessRunner runner = new HeadlessRunner();
+		try {
+			runner.parseArguments(args);
+		} catch (IllegalArgumentException e) {
+			System.err.println(e.getMessage());
+			System.err.println(USAGE);
+			System.exit(2);
+		}
+		System.exit(runner.run());
+	}
+
+	void parseArguments(String[] args) {
+		final List<Path> inputPaths = new ArrayList<>();
+		for (int i = 0; i < args.length; i++) {
+			final String arg = args[i];
+			switch (arg) {
+			case "-analyze":
+				analyze = true;
+				break;
+			case "-sample":
+				sampleSize = parseNumber(getValue(args, ++i, arg));
+				break;
+			case "-slice":
+				sliceFeatures = Arrays.asList(getValue(args, ++i, arg).split(","));
+				break;
+			case "-out":
+				outputFolder = Paths.get(getValue(args, ++i, arg));
+				break;
+			case "-threads":
+				numberOfThreads = parseNumber(getValue(args, ++i, arg));
+				if (numberOfThreads < 1) {
+					throw new IllegalArgumentException("Number of threads must be greater than 0.");
+				}
+				break;
+			default:
+				if (arg.startsWith("-")) {
+					throw new IllegalArgumentException("Unknown option " + arg);
+				}
+				inputPaths.add(Paths.get(arg));
+			}
+		}
+		if (inputPaths.isEmpty()) {
+			throw new IllegalArgumentException("No model given.");
+		}
+		if (!analyze && sampleSize < 0 && sliceFeatures == null) {
+			analyze = true;
+		}
+
+		for (Path inputPath : inputPaths) {
+			if (Files.isDirectory(inputPath)) {
+				try (DirectoryStream<Path> directory = Files.newDirectoryStream(inputPath)) {
+					for (Path file : directory) {
+						if (Files.isRegularFile(file) && FMFormatManager.getInstance().getFormatByFileName(file.toString()) != null) {
+							modelFiles.add(file);
+						}
+					}
+				} catch (IOException e) {
+					throw new IllegalArgumentException("Cannot read folder " + inputPath);
+				}
+			} else if (Files.isRegularFile(inputPath)) {
+				modelFiles.add(inputPath);
+			} else {
+				throw new IllegalArgumentException("File not found " + inputPath);
+			}
+		}
+		Collections.sort(modelFiles);
+	}
+
+	private static String getValue(String[] args, int index, String option) {
+		if (index >= args.length) {
+			throw new IllegalArgumentException("Missing value for option " + option);
+		}
+		return args[index];
+	}
+
+	private static int parseNumber(String value) {
+		try {
+			return Integer.parseInt(value);
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Not a number: " + value);
+		}
+	}
+
+	/**
+	 * Processes all models and writes their results.
+	 * 
+	 * @return the exit code
+	 */
+	int run() {
+		// initialize the extensions before they are accessed concurrently
+		FMFactoryManager.getDefaultFactory();
+
+		LongRunningCore.setExecutor(Executors.newFixedThreadPool(numberOfThreads));
+		try {
+			if (outputFolder != null) {
+				Files.createDirectories(outputFolder);
+			}
+
+			final JobGraph jobGraph = new JobGraph();
+			final List<LongRunningMethod<?>> jobs = new ArrayList<>(modelFiles.size());
+			for (Path modelFile : modelFiles) {
+				final LongRunningMethod<?> job = new ModelProcessingJob.Arguments(modelFile, outputFolder, analyze, sampleSize, sliceFeatures).createJob();
+				jobs.add(job);
+				jobGraph.addJob(job);
+			}
+
+			final long startTime = System.nanoTime();
+			final Boolean success = LongRunningWrapper.runMethod(jobGraph, new ConsoleMonitor(false));
+			final long time = (System.nanoTime() - startTime) / 1000000;
+
+			final PrintStream out = outputFolder != null
+					? new PrintStream(Files.newOutputStream(outputFolder.resolve("results.json")), false, StandardCharsets.UTF_8.name()) : System.out;
+			int failures = 0;
+			try {
+				for (int i = 0; i < jobs.size(); i++) {
+					ModelProcessingJob.Result result = (ModelProcessingJob.Result) jobGraph.getResult(jobs.get(i));
+					if (result == null) {
+						result = ModelProcessingJob.Result.createError(modelFiles.get(i), "Processing failed");
+					}
+					if (!result.isSuccessful()) {
+						failures++;
+					}
+					out.println(result);
+				}
+				out.println("{\"models\": " + jobs.size() + ", \"failed\": " + failures + ", \"threads\": " + numberOfThreads + ", \"time\": " + time + "}");
+			} finally {
+				if (out != System.out) {
+					out.close();
+				} else {
+					out.flush();
+				}
+			}
+			return (success != null && success && failures == 0) ? 0 : 1;
+		} catch (IOException e) {
+			System.err.println(e.getMessage());
+			return 1;
+		} finally {
+			LongRunningCore.setExecutor(null);
+		}
+	}
+
+}
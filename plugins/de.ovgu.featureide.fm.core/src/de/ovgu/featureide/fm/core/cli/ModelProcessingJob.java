@@ -0,0 +1,327 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2016  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ * 
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.cli;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map.Entry;
+
+import org.prop4j.Node;
+import org.prop4j.analyses.FeatureModelAnalysis;
+import org.prop4j.analyses.PairWiseConfigurationGenerator;
+import org.prop4j.solver.SatInstance;
+
+import de.ovgu.featureide.fm.core.ConstraintAttribute;
+import de.ovgu.featureide.fm.core.base.IConstraint;
+import de.ovgu.featureide.fm.core.base.IFeature;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator;
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator.CNFType;
+import de.ovgu.featureide.fm.core.filter.AbstractFeatureFilter;
+import de.ovgu.featureide.fm.core.io.manager.FeatureModelManager;
+import de.ovgu.featureide.fm.core.job.AProjectJob;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+import de.ovgu.featureide.fm.core.job.SliceFeatureModelJob;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+import de.ovgu.featureide.fm.core.job.util.JobArguments;
+
+/**
+ * Loads one feature model and executes the analyses, the sampling, and the slicing that are requested by the {@link HeadlessRunner}.<br>
+ * The result is a JSON object that contains the results and the execution time of each step.
+ */
+public class ModelProcessingJob extends AProjectJob<ModelProcessingJob.Arguments, ModelProcessingJob.Result> {
+
+	/**
+	 * The result of one model, consisting of its JSON representation and whether the model could be processed.
+	 */
+	public static class Result {
+		private final String json;
+		private final boolean successful;
+
+		private Result(String json, boolean successful) {
+			this.json = json;
+			this.successful = successful;
+		}
+
+		/**
+		 * Creates the result of a model that could not be processed.
+		 * 
+		 * @param modelFile the feature model file
+		 * @param message the error message
+		 * @return the result containing the model and the error message
+		 */
+		public static Result createError(Path modelFile, String message) {
+			final StringBuilder sb = new StringBuilder();
+			sb.append("{\"model\": ");
+			appendString(sb, modelFile.toString());
+			sb.append(", \"error\": ");
+			appendString(sb, message);
+			sb.append('}');
+			return new Result(sb.toString(), false);
+		}
+
+		/**
+		 * @return {@code true} if all requested steps were executed
+		 */
+		public boolean isSuccessful() {
+			return successful;
+		}
+
+		/**
+		 * @return the JSON object of this result
+		 */
+		@Override
+		public String toString() {
+			return json;
+		}
+	}
+
+	public static class Arguments extends JobArguments {
+		private final Path modelFile;
+		private final Path outputFolder;
+		private final boolean analyze;
+		private final int sampleSize;
+		private final Collection<String> sliceFeatures;
+
+		/**
+		 * @param modelFile the feature model file
+		 * @param outputFolder the folder for generated files or {@code null} if no files should be written
+		 * @param analyze if {@code true} dead, core, and false-optional features as well as anomalies of constraints are computed
+		 * @param sampleSize maximal number of configurations of the pairwise sample, a negative number for no sampling
+		 * @param sliceFeatures the features that are retained in the sliced model or {@code null} for no slicing
+		 */
+		public Arguments(Path modelFile, Path outputFolder, boolean analyze, int sampleSize, Collection<String> sliceFeatures) {
+			super(Arguments.class);
+			this.modelFile = modelFile;
+			this.outputFolder = outputFolder;
+			this.analyze = analyze;
+			this.sampleSize = sampleSize;
+			this.sliceFeatures = sliceFeatures;
+		}
+	}
+
+	private final StringBuilder result = new StringBuilder();
+
+	protected ModelProcessingJob(Arguments arguments) {
+		super("Process Feature Model", arguments);
+	}
+
+	@Override
+	public Result execute(IMonitor monitor) throws Exception {
+		monitor.setTaskName(arguments.modelFile.toString());
+		monitor.setRemainingWork(4);
+
+		result.append("{\"model\": ");
+		appendString(result, arguments.modelFile.toString());
+
+		long time = System.nanoTime();
+		final IFeatureModel featureModel = FeatureModelManager.readFromFile(arguments.modelFile);
+		appendTime("load", time);
+		monitor.step();
+		if (featureModel == null) {
+			return Result.createError(arguments.modelFile, "Could not read model");
+		}
+		result.append(", \"features\": ");
+		result.append(featureModel.getNumberOfFeatures());
+		result.append(", \"constraints\": ");
+		result.append(featureModel.getConstraintCount());
+
+		if (arguments.analyze) {
+			time = System.nanoTime();
+			analyze(featureModel, monitor.subTask(1));
+			appendTime("analysis", time);
+		} else {
+			monitor.worked();
+		}
+		if (arguments.sampleSize >= 0) {
+			time = System.nanoTime();
+			sample(featureModel, monitor.subTask(1));
+			appendTime("sampling", time);
+		} else {
+			monitor.worked();
+		}
+		if (arguments.sliceFeatures != null) {
+			time = System.nanoTime();
+			slice(featureModel, monitor.subTask(1));
+			appendTime("slicing", time);
+		} else {
+			monitor.worked();
+		}
+
+		result.append('}');
+		return new Result(result.toString(), true);
+	}
+
+	private void analyze(IFeatureModel featureModel, IMonitor monitor) throws Exception {
+		final FeatureModelAnalysis analysis = new FeatureModelAnalysis(featureModel);
+		analysis.setCalculateFeatures(true);
+		analysis.setCalculateConstraints(true);
+		analysis.setCalculateRedundantConstraints(true);
+		analysis.setCalculateTautologyConstraints(true);
+		analysis.setCalculateDeadConstraints(true);
+		analysis.setCalculateFOConstraints(true);
+		analysis.execute(monitor);
+
+		result.append(", \"valid\": ");
+		result.append(analysis.isValid());
+		result.append(", \"core\": ");
+		appendFeatures(analysis.getCoreFeatures());
+		result.append(", \"dead\": ");
+		appendFeatures(analysis.getDeadFeatures());
+		result.append(", \"falseOptional\": ");
+		appendFeatures(analysis.getFalseOptionalFeatures());
+
+		final EnumMap<ConstraintAttribute, Integer> attributeCount = new EnumMap<>(ConstraintAttribute.class);
+		for (IConstraint constraint : featureModel.getConstraints()) {
+			final ConstraintAttribute attribute = constraint.getConstraintAttribute();
+			final Integer count = attributeCount.get(attribute);
+			attributeCount.put(attribute, count == null ? 1 : count + 1);
+		}
+		result.append(", \"constraintAttributes\": {");
+		boolean first = true;
+		for (Entry<ConstraintAttribute, Integer> entry : attributeCount.entrySet()) {
+			if (!first) {
+				result.append(", ");
+			}
+			first = false;
+			appendString(result, entry.getKey().name());
+			result.append(": ");
+			result.append(entry.getValue());
+		}
+		result.append('}');
+	}
+
+	private void sample(IFeatureModel featureModel, IMonitor monitor) throws IOException {
+		final AdvancedNodeCreator nodeCreator = new AdvancedNodeCreator(featureModel, new AbstractFeatureFilter());
+		nodeCreator.setCnfType(CNFType.Regular);
+		nodeCreator.setIncludeBooleanValues(false);
+		final Node cnf = nodeCreator.createNodes();
+
+		final PairWiseConfigurationGenerator generator = new PairWiseConfigurationGenerator(new SatInstance(cnf), arguments.sampleSize);
+		final List<List<String>> configurations = LongRunningWrapper.runMethod(generator, monitor);
+
+		result.append(", \"sample\": ");
+		result.append(configurations != null ? configurations.size() : 0);
+
+		if (configurations != null && arguments.outputFolder != null) {
+			final Path sampleFile = arguments.outputFolder.resolve(getModelName() + ".samples");
+			try (BufferedWriter writer = Files.newBufferedWriter(sampleFile, StandardCharsets.UTF_8)) {
+				for (List<String> configuration : configurations) {
+					boolean first = true;
+					for (String featureName : configuration) {
+						if (!first) {
+							writer.write(' ');
+						}
+						first = false;
+						writer.write(featureName);
+					}
+					writer.newLine();
+				}
+			}
+		}
+	}
+
+	private void slice(IFeatureModel featureModel, IMonitor monitor) {
+		final SliceFeatureModelJob sliceJob = new SliceFeatureModelJob(new SliceFeatureModelJob.Arguments(arguments.modelFile, featureModel,
+				arguments.sliceFeatures, true));
+		final IFeatureModel slicedModel = sliceJob.sliceModel(featureModel.clone(), arguments.sliceFeatures, monitor);
+		monitor.done();
+
+		result.append(", \"slicedFeatures\": ");
+		result.append(slicedModel.getNumberOfFeatures());
+		result.append(", \"slicedConstraints\": ");
+		result.append(slicedModel.getConstraintCount());
+
+		if (arguments.outputFolder != null) {
+			FeatureModelManager.writeToFile(slicedModel, arguments.outputFolder.resolve(getModelName() + "_sliced.xml"));
+		}
+	}
+
+	private String getModelName() {
+		final String fileName = arguments.modelFile.getFileName().toString();
+		final int extIndex = fileName.lastIndexOf('.');
+		return extIndex > 0 ? fileName.substring(0, extIndex) : fileName;
+	}
+
+	private void appendTime(String step, long startTime) {
+		result.append(", \"");
+		result.append(step);
+		result.append("Time\": ");
+		result.append((System.nanoTime() - startTime) / 1000000);
+	}
+
+	private void appendFeatures(Collection<IFeature> features) {
+		result.append('[');
+		boolean first = true;
+		for (IFeature feature : features) {
+			if (!first) {
+				result.append(", ");
+			}
+			first = false;
+			appendString(result, feature.getName());
+		}
+		result.append(']');
+	}
+
+	/**
+	 * Appends the given text as JSON string, i.e., in quotes and with escaped quotes, backslashes, and control characters.
+	 * 
+	 * @param sb the builder to append to
+	 * @param text the text
+	 */
+	static void appendString(StringBuilder sb, String text) {
+		sb.append('"');
+		for (int i = 0; i < text.length(); i++) {
+			final char c = text.charAt(i);
+			switch (c) {
+			case '"':
+				sb.append("\\\"");
+				break;
+			case '\\':
+				sb.append("\\\\");
+				break;
+			case '\n':
+				sb.append("\\n");
+				break;
+			case '\r':
+				sb.append("\\r");
+				break;
+			case '\t':
+				sb.append("\\t");
+				break;
+			default:
+				if (c < 0x20) {
+					sb.append(String.format("\\u%04x", (int) c));
+				} else {
+					sb.append(c);
+				}
+			}
+		}
+		sb.append('"');
+	}
+
+}
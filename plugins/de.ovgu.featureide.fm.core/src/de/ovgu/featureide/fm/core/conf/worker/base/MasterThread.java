@@ -26,6 +26,7 @@ import java.util.List;
 import java.util.concurrent.ConcurrentLinkedQueue;
 
 import de.ovgu.featureide.fm.core.Logger;
+import de.ovgu.featureide.fm.core.job.monitor.ConcurrentMonitor;
 import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
 import de.ovgu.featureide.fm.core.job.monitor.NullMonitor;
 import de.ovgu.featureide.fm.core.job.monitor.SyncMonitor;
@@ -43,7 +44,13 @@ final class MasterThread<T> {
 
 	MasterThread(AWorkerThread<T> factory, IMonitor workMonitor) {
 		this.factory = factory;
-		this.workMonitor = (workMonitor != null) ? new SyncMonitor(workMonitor) : new NullMonitor();
+		if (workMonitor == null) {
+			this.workMonitor = new NullMonitor();
+		} else if (workMonitor instanceof ConcurrentMonitor) {
+			this.workMonitor = workMonitor;
+		} else {
+			this.workMonitor = new SyncMonitor(workMonitor);
+		}
 	}
 
 	private void init(int numberOfThreads) {
@@ -0,0 +1,276 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2016  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ * 
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.configuration;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import de.ovgu.featureide.fm.core.base.IFeature;
+
+/**
+ * Memory efficient representation of a configuration.<br>
+ * The manual and the automatic selections are stored in two packed bit vectors (two bits per feature)
+ * over a {@link FeatureIndex}, which can be shared by many configurations of the same feature model.
+ * Use {@link #createView(boolean)} to edit the configuration with the {@link Configuration} API.
+ */
+public class CompactConfiguration implements Cloneable {
+
+	private static final int BITS_PER_FEATURE = 2;
+	private static final int FEATURES_PER_WORD = Long.SIZE / BITS_PER_FEATURE;
+	private static final long MASK = 0b11;
+
+	private static final long UNDEFINED = 0b00;
+	private static final long SELECTED = 0b01;
+	private static final long UNSELECTED = 0b10;
+
+	private final FeatureIndex featureIndex;
+	private final long[] manual;
+	private final long[] automatic;
+
+	/**
+	 * Creates a configuration in which all features are undefined.
+	 * 
+	 * @param featureIndex the feature index
+	 */
+	public CompactConfiguration(FeatureIndex featureIndex) {
+		this.featureIndex = featureIndex;
+		final int words = (featureIndex.size() + FEATURES_PER_WORD - 1) / FEATURES_PER_WORD;
+		this.manual = new long[words];
+		this.automatic = new long[words];
+	}
+
+	/**
+	 * Creates a compact copy of the given configuration.
+	 * 
+	 * @param featureIndex the feature index (must belong to the feature model of the configuration)
+	 * @param configuration the configuration to copy
+	 */
+	public CompactConfiguration(FeatureIndex featureIndex, Configuration configuration) {
+		this(featureIndex);
+		readFrom(configuration);
+	}
+
+	protected CompactConfiguration(CompactConfiguration configuration) {
+		this.featureIndex = configuration.featureIndex;
+		this.manual = Arrays.copyOf(configuration.manual, configuration.manual.length);
+		this.automatic = Arrays.copyOf(configuration.automatic, configuration.automatic.length);
+	}
+
+	private static long encode(Selection selection) {
+		switch (selection) {
+		case SELECTED:
+			return SELECTED;
+		case UNSELECTED:
+			return UNSELECTED;
+		default:
+			return UNDEFINED;
+		}
+	}
+
+	private static Selection decode(long value) {
+		if (value == SELECTED) {
+			return Selection.SELECTED;
+		} else if (value == UNSELECTED) {
+			return Selection.UNSELECTED;
+		} else {
+			return Selection.UNDEFINED;
+		}
+	}
+
+	private static long get(long[] vector, int featureID) {
+		return (vector[featureID / FEATURES_PER_WORD] >>> ((featureID % FEATURES_PER_WORD) * BITS_PER_FEATURE)) & MASK;
+	}
+
+	private static void set(long[] vector, int featureID, long value) {
+		final int word = featureID / FEATURES_PER_WORD;
+		final int shift = (featureID % FEATURES_PER_WORD) * BITS_PER_FEATURE;
+		vector[word] = (vector[word] & ~(MASK << shift)) | (value << shift);
+	}
+
+	private int getFeatureID(String name) {
+		final int featureID = featureIndex.getIndex(name);
+		if (featureID < 0) {
+			throw new FeatureNotFoundException();
+		}
+		return featureID;
+	}
+
+	public FeatureIndex getFeatureIndex() {
+		return featureIndex;
+	}
+
+	public Selection getManual(int featureID) {
+		return decode(get(manual, featureID));
+	}
+
+	public Selection getAutomatic(int featureID) {
+		return decode(get(automatic, featureID));
+	}
+
+	/**
+	 * @return the selection of the feature (analog to {@link SelectableFeature#getSelection()})
+	 */
+	public Selection getSelection(int featureID) {
+		final long automaticValue = get(automatic, featureID);
+		return decode(automaticValue == UNDEFINED ? get(manual, featureID) : automaticValue);
+	}
+
+	public Selection getSelection(String name) {
+		return getSelection(getFeatureID(name));
+	}
+
+	/**
+	 * Sets the manual selection of a feature (analog to {@link SelectableFeature#setManual(Selection)}).
+	 * 
+	 * @throws SelectionNotPossibleException if the selection contradicts the automatic selection
+	 */
+	public void setManual(int featureID, Selection selection) {
+		final long value = encode(selection);
+		final long automaticValue = get(automatic, featureID);
+		if (value == UNDEFINED || automaticValue == UNDEFINED) {
+			set(manual, featureID, value);
+		} else if (value != automaticValue) {
+			throw new SelectionNotPossibleException(featureIndex.getName(featureID), selection);
+		}
+	}
+
+	public void setManual(String name, Selection selection) {
+		setManual(getFeatureID(name), selection);
+	}
+
+	/**
+	 * Sets the automatic selection of a feature (analog to {@link SelectableFeature#setAutomatic(Selection)}).
+	 * 
+	 * @throws AutomaticalSelectionNotPossibleException if the selection contradicts the manual selection
+	 */
+	public void setAutomatic(int featureID, Selection selection) {
+		final long value = encode(selection);
+		final long manualValue = get(manual, featureID);
+		if (value == UNDEFINED || manualValue == UNDEFINED || manualValue == value) {
+			set(automatic, featureID, value);
+		} else {
+			throw new AutomaticalSelectionNotPossibleException(featureIndex.getName(featureID), selection);
+		}
+	}
+
+	public void setAutomatic(String name, Selection selection) {
+		setAutomatic(getFeatureID(name), selection);
+	}
+
+	public void resetValues() {
+		Arrays.fill(manual, 0);
+		Arrays.fill(automatic, 0);
+	}
+
+	public void resetAutomaticValues() {
+		Arrays.fill(automatic, 0);
+	}
+
+	public Set<String> getSelectedFeatureNames() {
+		final Set<String> result = new HashSet<>();
+		for (int i = 0; i < featureIndex.size(); i++) {
+			if (getSelection(i) == Selection.SELECTED) {
+				result.add(featureIndex.getName(i));
+			}
+		}
+		return result;
+	}
+
+	public List<IFeature> getSelectedFeatures() {
+		final List<IFeature> result = new ArrayList<>();
+		for (int i = 0; i < featureIndex.size(); i++) {
+			if (getSelection(i) == Selection.SELECTED) {
+				result.add(featureIndex.getFeature(i));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Copies all selections of the given configuration into this configuration.
+	 */
+	void readFrom(Configuration configuration) {
+		final List<SelectableFeature> features = configuration.features;
+		final boolean sameOrder = features.size() == featureIndex.size();
+		int i = 0;
+		for (SelectableFeature feature : features) {
+			final int featureID = sameOrder ? i++ : featureIndex.getIndex(feature.getName());
+			if (featureID >= 0) {
+				set(manual, featureID, encode(feature.getManual()));
+				set(automatic, featureID, encode(feature.getAutomatic()));
+			}
+		}
+	}
+
+	/**
+	 * Copies all selections of this configuration into the given configuration.
+	 */
+	void writeTo(Configuration configuration) {
+		final List<SelectableFeature> features = configuration.features;
+		final boolean sameOrder = features.size() == featureIndex.size();
+		int i = 0;
+		for (SelectableFeature feature : features) {
+			final int featureID = sameOrder ? i++ : featureIndex.getIndex(feature.getName());
+			if (featureID >= 0) {
+				// reset first to avoid conflicts with the old values
+				feature.setAutomatic(Selection.UNDEFINED);
+				feature.setManual(decode(get(manual, featureID)));
+				feature.setAutomatic(decode(get(automatic, featureID)));
+			}
+		}
+	}
+
+	/**
+	 * Creates a {@link Configuration} that is backed by this configuration, i.e., all changes of the view are written back.
+	 * 
+	 * @param propagate whether the view should propagate changes
+	 * @return a new view
+	 */
+	public Configuration createView(boolean propagate) {
+		return new CompactConfigurationView(this, propagate);
+	}
+
+	@Override
+	public CompactConfiguration clone() {
+		return new CompactConfiguration(this);
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * Arrays.hashCode(manual) + Arrays.hashCode(automatic);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		final CompactConfiguration other = (CompactConfiguration) obj;
+		return featureIndex == other.featureIndex && Arrays.equals(manual, other.manual) && Arrays.equals(automatic, other.automatic);
+	}
+
+}
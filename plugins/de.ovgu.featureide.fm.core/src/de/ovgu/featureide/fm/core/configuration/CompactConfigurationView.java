@@ -0,0 +1,90 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2016  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ * 
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.configuration;
+
+import java.util.List;
+
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+
+/**
+ * Adapter that provides the {@link Configuration} API for a {@link CompactConfiguration}.<br>
+ * After every change (and propagation), the selections are written back to the compact configuration.
+ * 
+ * @see CompactConfiguration#createView(boolean)
+ */
+public class CompactConfigurationView extends Configuration {
+
+	private final CompactConfiguration compactConfiguration;
+
+	public CompactConfigurationView(CompactConfiguration compactConfiguration, boolean propagate) {
+		super(compactConfiguration.getFeatureIndex().getFeatureModel(), PARAM_IGNOREABSTRACT | PARAM_LAZY | (propagate ? PARAM_PROPAGATE : 0));
+		this.compactConfiguration = compactConfiguration;
+		compactConfiguration.writeTo(this);
+		loadPropagator();
+	}
+
+	public CompactConfiguration getCompactConfiguration() {
+		return compactConfiguration;
+	}
+
+	private void writeBack() {
+		// is null while the super constructor is running
+		if (compactConfiguration != null) {
+			compactConfiguration.readFrom(this);
+		}
+	}
+
+	@Override
+	public void update(boolean redundantManual, String startFeatureName) {
+		super.update(redundantManual, startFeatureName);
+		writeBack();
+	}
+
+	@Override
+	public void setAutomatic(SelectableFeature feature, Selection selection) {
+		super.setAutomatic(feature, selection);
+		writeBack();
+	}
+
+	@Override
+	public void leadToValidConfiguration(List<SelectableFeature> featureList, IMonitor workMonitor) {
+		super.leadToValidConfiguration(featureList, workMonitor);
+		writeBack();
+	}
+
+	@Override
+	public void leadToValidConfiguration(List<SelectableFeature> featureList, int mode, IMonitor workMonitor) {
+		super.leadToValidConfiguration(featureList, mode, workMonitor);
+		writeBack();
+	}
+
+	@Override
+	public void makeManual(boolean discardDeselected) {
+		super.makeManual(discardDeselected);
+		writeBack();
+	}
+
+	@Override
+	public Configuration clone() {
+		return new CompactConfigurationView(compactConfiguration.clone(), isPropagate());
+	}
+
+}
@@ -20,16 +20,15 @@
  */
 package de.ovgu.featureide.fm.core.configuration;
 
-import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
 
 import de.ovgu.featureide.fm.core.base.IFeatureModel;
 import de.ovgu.featureide.fm.core.configuration.io.ConfigurationLoader;
-import de.ovgu.featureide.fm.core.configuration.io.IConfigurationLoaderCallback;
 
 /**
  * Reads all configuration file from a certain folder and saves their content in form of a selection matrix.
@@ -39,11 +38,30 @@ import de.ovgu.featureide.fm.core.configuration.io.IConfigurationLoaderCallback;
  * @author Antje Moench
  */
 public class ConfigurationMatrix {
-	private final List<Config> configurationMatrix;
 	private ConfigurationLoader loader;
 	private IFeatureModel featureModel;
 	private Path path;
 
+	private int numberOfConfigurations = 0;
+	private int numberOfFeatures = 0;
+
+	/**
+	 * One packed bit vector per configuration (bit i is set if feature i is selected).
+	 */
+	private long[][] rows = new long[0][];
+	/**
+	 * One packed bit vector per feature (bit j is set if the feature is selected in configuration j).
+	 */
+	private long[][] columns = new long[0][];
+	private int[] columnCardinalities = new int[0];
+
+	/**
+	 * State of the last computation, which is used to update the recommendation values incrementally.
+	 */
+	private long[] lastConfig = null;
+	private long[] featureSums = null;
+	private long weightSum = 0;
+
 	private double[] rec = null;
 
 	public ConfigurationMatrix(IFeatureModel featureModel, String path) {
@@ -53,111 +71,170 @@ public class ConfigurationMatrix {
 	public ConfigurationMatrix(IFeatureModel featureModel, Path path) {
 		this.featureModel = featureModel;
 		this.path = path;
-		this.configurationMatrix = new ArrayList<>();
-		loader = new ConfigurationLoader(new IConfigurationLoaderCallback() {
-
-			@Override
-			public void onLoadingStarted() {
-				configurationMatrix.clear();
-			}
-
-			@Override
-			public void onLoadingError(IOException exception) {}
-
-			@Override
-			public void onConfigurationLoaded(Configuration configuration, Path path) {
-				configurationMatrix.add(createConfig(configuration));
-			}
-
-			@Override
-			public void onLoadingFinished() {
-				// TODO Auto-generated method stub
-				
-			}
-		});
+		loader = new ConfigurationLoader();
 	}
 
 	public void readConfigurations() {
-		loader.loadConfigurations(this.featureModel, this.path);
+		setConfigurations(loader.loadConfigurationTable(this.featureModel, this.path));
 	}
 
 	public void readConfigurations(String excludeFile) {
-		loader.loadConfigurations(this.featureModel, this.path, excludeFile);
+		setConfigurations(loader.loadConfigurationTable(this.featureModel, this.path, excludeFile));
 	}
 
-	private Config createConfig(Configuration configuration) {
-		final List<SelectableFeature> features = configuration.getFeatures();
-		byte[] configArray = new byte[features.size()];
+	/**
+	 * Creates the selection matrix directly from the columns of the table (without creating {@link Configuration} objects).
+	 */
+	private void setConfigurations(ConfigurationTable table) {
+		lastConfig = null;
+		featureSums = null;
+		if (table == null) {
+			numberOfConfigurations = 0;
+			numberOfFeatures = 0;
+			rows = new long[0][];
+			columns = new long[0][];
+			columnCardinalities = new int[0];
+			return;
+		}
+		numberOfConfigurations = table.size();
+		numberOfFeatures = table.getFeatureIndex().size();
+
+		final int configWords = words(numberOfConfigurations);
+		columns = new long[numberOfFeatures][];
+		columnCardinalities = new int[numberOfFeatures];
+		rows = new long[numberOfConfigurations][words(numberOfFeatures)];
+		for (int i = 0; i < numberOfFeatures; i++) {
+			final BitSet column = table.getSelectedConfigurations(i);
+			columns[i] = Arrays.copyOf(column.toLongArray(), configWords);
+			columnCardinalities[i] = column.cardinality();
+			for (int j = column.nextSetBit(0); j >= 0; j = column.nextSetBit(j + 1)) {
+				rows[j][i >>> 6] |= 1L << i;
+			}
+		}
+	}
+
+	private static int words(int bits) {
+		return (bits + Long.SIZE - 1) / Long.SIZE;
+	}
+
+	private long[] createConfig(Configuration configuration) {
+		final long[] config = new long[words(numberOfFeatures)];
 		int i = 0;
-		for (SelectableFeature feature : features) {
-			switch (feature.getSelection()) {
-			case SELECTED:
-				configArray[i++] = 1;
-				break;
-			case UNDEFINED:
-			case UNSELECTED:
-			default:
-				configArray[i++] = 0;
+		for (SelectableFeature feature : configuration.getFeatures()) {
+			if (i >= numberOfFeatures) {
 				break;
 			}
+			if (feature.getSelection() == Selection.SELECTED) {
+				config[i >>> 6] |= 1L << i;
+			}
+			i++;
 		}
-		return new Config(configArray);
+		return config;
+	}
+
+	private static boolean isSet(long[] vector, int index) {
+		return (vector[index >>> 6] & (1L << index)) != 0;
 	}
 
 	public double[] getRec() {
 		return rec;
 	}
 
+	/**
+	 * Computes the recommendation value for each feature.<br>
+	 * Each stored configuration is weighted by the number of features that have the same selection as in the given configuration.
+	 * The value of a feature is the weighted fraction of configurations in which it is selected (or unselected, if it is selected in the given configuration).<br>
+	 * If only some features have changed since the last call, the sums are updated incrementally.
+	 * 
+	 * @param configuration the current configuration
+	 */
 	public void calcRec(Configuration configuration) {
-		if (configurationMatrix.isEmpty()) {
+		if (numberOfConfigurations == 0) {
 			return;
 		}
 
-		final Config curConfig = createConfig(configuration);
-
-		rec = new double[configurationMatrix.get(0).configArray.length];
-		Arrays.fill(rec, 0);
+		final long[] curConfig = createConfig(configuration);
 
-		int[] w = new int[configurationMatrix.size()];
-		int wSum = 0;
-		{
-			int j = 0;
-			for (Config config : configurationMatrix) {
-				final int delta = curConfig.getDelta(config);
-				w[j++] = delta;
-				wSum += delta;
-			}
+		if (lastConfig == null || !updateSums(curConfig)) {
+			computeSums(curConfig);
 		}
+		lastConfig = curConfig;
 
-		for (int i = 0; i < rec.length; i++) {
-			int fSum = 0;
-			for (int j = 0; j < w.length; j++) {
-				fSum += configurationMatrix.get(j).configArray[i] * w[j];
-			}
-			double recValue = ((double) fSum) / wSum;
-			if (curConfig.configArray[i] == 1) {
+		rec = new double[numberOfFeatures];
+		for (int i = 0; i < numberOfFeatures; i++) {
+			double recValue = ((double) featureSums[i]) / weightSum;
+			if (isSet(curConfig, i)) {
 				recValue = 1 - recValue;
 			}
 			rec[i] = recValue;
 		}
 	}
 
-	private static class Config {
-		private final byte[] configArray;
-
-		public Config(byte[] configArray) {
-			this.configArray = configArray;
+	/**
+	 * Computes the weights of all configurations (number of equal selections = features - popcount(xor))
+	 * and sums them up for each feature.
+	 */
+	private void computeSums(long[] curConfig) {
+		final int[] w = new int[numberOfConfigurations];
+		long wSum = 0;
+		for (int j = 0; j < numberOfConfigurations; j++) {
+			final long[] row = rows[j];
+			int differences = 0;
+			for (int k = 0; k < row.length; k++) {
+				differences += Long.bitCount(row[k] ^ curConfig[k]);
+			}
+			w[j] = numberOfFeatures - differences;
+			wSum += w[j];
 		}
 
-		public int getDelta(Config otherConfig) {
-			int count = 0;
-			for (int i = 0; i < configArray.length; i++) {
-				if (configArray[i] == otherConfig.configArray[i]) {
-					count++;
+		featureSums = new long[numberOfFeatures];
+		for (int i = 0; i < numberOfFeatures; i++) {
+			final long[] column = columns[i];
+			long fSum = 0;
+			for (int k = 0; k < column.length; k++) {
+				for (long word = column[k]; word != 0; word &= word - 1) {
+					fSum += w[(k << 6) + Long.numberOfTrailingZeros(word)];
 				}
 			}
-			return count;
+			featureSums[i] = fSum;
+		}
+		weightSum = wSum;
+	}
+
+	/**
+	 * Updates the sums for all features that changed since the last computation.<br>
+	 * If feature c becomes selected, the weight of each configuration that contains c increases by one and the weight of all other configurations decreases by one.
+	 * Thus, the sum of feature i changes by 2 * |col(i) & col(c)| - |col(i)| (vice versa for deselection).
+	 * 
+	 * @return {@code false} if a full computation is cheaper
+	 */
+	private boolean updateSums(long[] curConfig) {
+		final List<Integer> changedFeatures = new ArrayList<>();
+		for (int i = 0; i < numberOfFeatures; i++) {
+			if (isSet(curConfig, i) != isSet(lastConfig, i)) {
+				changedFeatures.add(i);
+			}
+		}
+		// incremental update costs |changed| * features * configWords, full computation costs about configs * (featureWords + features)
+		final long incrementalCost = (long) changedFeatures.size() * numberOfFeatures * words(numberOfConfigurations);
+		final long fullCost = (long) numberOfConfigurations * (words(numberOfFeatures) + numberOfFeatures);
+		if (incrementalCost > fullCost) {
+			return false;
 		}
 
+		for (int c : changedFeatures) {
+			final long[] changedColumn = columns[c];
+			final int sign = isSet(curConfig, c) ? 1 : -1;
+			weightSum += sign * (2L * columnCardinalities[c] - numberOfConfigurations);
+			for (int i = 0; i < numberOfFeatures; i++) {
+				final long[] column = columns[i];
+				int intersection = 0;
+				for (int k = 0; k < column.length; k++) {
+					intersection += Long.bitCount(column[k] & changedColumn[k]);
+				}
+				featureSums[i] += sign * (2L * intersection - columnCardinalities[i]);
+			}
+		}
+		return true;
 	}
 }
@@ -0,0 +1,236 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2016  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ * 
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.configuration;
+
+import java.nio.file.Path;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Column-wise representation of the selections of many configurations of the same feature model.<br>
+ * For each feature of a shared {@link FeatureIndex} there is one bit set per selection state that contains all configurations with this state.
+ * Full {@link Configuration} objects are only created on demand (see {@link #getConfiguration(int)}).
+ * 
+ * @see de.ovgu.featureide.fm.core.configuration.io.ConfigurationLoader#loadConfigurationTable(de.ovgu.featureide.fm.core.base.IFeatureModel, Path)
+ */
+public class ConfigurationTable {
+
+	private final FeatureIndex featureIndex;
+	private final List<Path> paths;
+	private final boolean propagate;
+
+	private final BitSet[] manualSelected;
+	private final BitSet[] manualUnselected;
+	private final BitSet[] automaticSelected;
+	private final BitSet[] automaticUnselected;
+
+	private final Configuration[] configurations;
+
+	/**
+	 * Empty configuration with a loaded propagator. Is cloned for every created configuration.
+	 */
+	private Configuration template = null;
+
+	/**
+	 * Creates a table without any selections.
+	 * 
+	 * @param featureIndex the index of the features
+	 * @param paths the paths of the configurations (defines the number and the order of the configurations)
+	 * @param propagate whether configurations created by {@link #getConfiguration(int)} should be propagated
+	 */
+	public ConfigurationTable(FeatureIndex featureIndex, List<Path> paths, boolean propagate) {
+		this.featureIndex = featureIndex;
+		this.paths = Collections.unmodifiableList(new ArrayList<>(paths));
+		this.propagate = propagate;
+		this.configurations = new Configuration[paths.size()];
+
+		final int size = featureIndex.size();
+		manualSelected = new BitSet[size];
+		manualUnselected = new BitSet[size];
+		automaticSelected = new BitSet[size];
+		automaticUnselected = new BitSet[size];
+		for (int i = 0; i < size; i++) {
+			manualSelected[i] = new BitSet();
+			manualUnselected[i] = new BitSet();
+			automaticSelected[i] = new BitSet();
+			automaticUnselected[i] = new BitSet();
+		}
+	}
+
+	/**
+	 * Copies the selections of the given configuration into the table.<br>
+	 * May be called concurrently for different configurations.
+	 * 
+	 * @param configIndex the index of the configuration
+	 * @param configuration the configuration
+	 */
+	public synchronized void set(int configIndex, Configuration configuration) {
+		final List<SelectableFeature> features = configuration.getFeatures();
+		final boolean sameOrder = features.size() == featureIndex.size();
+		int i = 0;
+		for (SelectableFeature feature : features) {
+			final int featureID = sameOrder ? i++ : featureIndex.getIndex(feature.getName());
+			if (featureID >= 0) {
+				manualSelected[featureID].set(configIndex, feature.getManual() == Selection.SELECTED);
+				manualUnselected[featureID].set(configIndex, feature.getManual() == Selection.UNSELECTED);
+				automaticSelected[featureID].set(configIndex, feature.getAutomatic() == Selection.SELECTED);
+				automaticUnselected[featureID].set(configIndex, feature.getAutomatic() == Selection.UNSELECTED);
+			}
+		}
+		configurations[configIndex] = null;
+	}
+
+	public FeatureIndex getFeatureIndex() {
+		return featureIndex;
+	}
+
+	/**
+	 * @return the number of configurations
+	 */
+	public int size() {
+		return paths.size();
+	}
+
+	public Path getPath(int configIndex) {
+		return paths.get(configIndex);
+	}
+
+	public List<Path> getPaths() {
+		return paths;
+	}
+
+	public synchronized Selection getManual(int configIndex, int featureID) {
+		return getSelection(manualSelected[featureID], manualUnselected[featureID], configIndex);
+	}
+
+	public synchronized Selection getAutomatic(int configIndex, int featureID) {
+		return getSelection(automaticSelected[featureID], automaticUnselected[featureID], configIndex);
+	}
+
+	/**
+	 * @return the selection of the feature in the configuration (analog to {@link SelectableFeature#getSelection()})
+	 */
+	public synchronized Selection getSelection(int configIndex, int featureID) {
+		final Selection automatic = getAutomatic(configIndex, featureID);
+		return automatic == Selection.UNDEFINED ? getManual(configIndex, featureID) : automatic;
+	}
+
+	private static Selection getSelection(BitSet selected, BitSet unselected, int configIndex) {
+		if (selected.get(configIndex)) {
+			return Selection.SELECTED;
+		} else if (unselected.get(configIndex)) {
+			return Selection.UNSELECTED;
+		} else {
+			return Selection.UNDEFINED;
+		}
+	}
+
+	/**
+	 * @param featureID the index of a feature
+	 * @return a new bit set containing all configurations in which the feature is selected
+	 */
+	public synchronized BitSet getSelectedConfigurations(int featureID) {
+		final BitSet column = (BitSet) manualSelected[featureID].clone();
+		column.andNot(automaticUnselected[featureID]);
+		column.or(automaticSelected[featureID]);
+		return column;
+	}
+
+	public synchronized Set<String> getSelectedFeatureNames(int configIndex) {
+		final Set<String> result = new HashSet<>();
+		for (int i = 0; i < featureIndex.size(); i++) {
+			if (getSelection(configIndex, i) == Selection.SELECTED) {
+				result.add(featureIndex.getName(i));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * @param configIndex the index of the configuration
+	 * @return a new compact configuration with the selections of the configuration (shares the feature index of this table)
+	 */
+	public synchronized CompactConfiguration getCompactConfiguration(int configIndex) {
+		final CompactConfiguration configuration = new CompactConfiguration(featureIndex);
+		for (int i = 0; i < featureIndex.size(); i++) {
+			configuration.setManual(i, getManual(configIndex, i));
+			configuration.setAutomatic(i, getAutomatic(configIndex, i));
+		}
+		return configuration;
+	}
+
+	/**
+	 * Returns the configuration with the given index. The configuration is created on the first call.<br>
+	 * The propagator is only loaded once for all configurations of this table.
+	 * 
+	 * @param configIndex the index of the configuration
+	 * @return the configuration
+	 */
+	public synchronized Configuration getConfiguration(int configIndex) {
+		Configuration configuration = configurations[configIndex];
+		if (configuration == null) {
+			if (template == null) {
+				template = new Configuration(featureIndex.getFeatureModel(), Configuration.PARAM_IGNOREABSTRACT | Configuration.PARAM_LAZY);
+				template.loadPropagator();
+			}
+			configuration = template.clone();
+			final List<SelectableFeature> features = configuration.getFeatures();
+			final boolean sameOrder = features.size() == featureIndex.size();
+			int i = 0;
+			for (SelectableFeature feature : features) {
+				final int featureID = sameOrder ? i++ : featureIndex.getIndex(feature.getName());
+				if (featureID >= 0) {
+					feature.setManual(getManual(configIndex, featureID));
+					feature.setAutomatic(getAutomatic(configIndex, featureID));
+				}
+			}
+			if (propagate) {
+				configuration.setPropagate(true);
+				configuration.update();
+			}
+			configurations[configIndex] = configuration;
+		}
+		return configuration;
+	}
+
+	/**
+	 * @return a list view of all configurations, which creates the configurations on demand
+	 */
+	public List<Configuration> asList() {
+		return new AbstractList<Configuration>() {
+			@Override
+			public Configuration get(int index) {
+				return getConfiguration(index);
+			}
+
+			@Override
+			public int size() {
+				return ConfigurationTable.this.size();
+			}
+		};
+	}
+
+}
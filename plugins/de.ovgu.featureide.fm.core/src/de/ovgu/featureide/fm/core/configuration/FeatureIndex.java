@@ -0,0 +1,101 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2016  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ * 
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.configuration;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.ovgu.featureide.fm.core.base.FeatureUtils;
+import de.ovgu.featureide.fm.core.base.IFeature;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.IFeatureStructure;
+
+/**
+ * Immutable mapping between the features of a feature model and consecutive indices.<br>
+ * The features are numbered in pre-order, i.e., in the same order as {@link Configuration#getFeatures()}.
+ * Thus, one index can be shared by many configurations of the same feature model.
+ */
+public class FeatureIndex {
+
+	private final IFeatureModel featureModel;
+	private final List<IFeature> features;
+	private final Map<String, Integer> indices;
+
+	public FeatureIndex(IFeatureModel featureModel) {
+		this.featureModel = featureModel;
+		final List<IFeature> features = new ArrayList<>();
+		final IFeature root = FeatureUtils.getRoot(featureModel);
+		if (root != null) {
+			addFeatures(root, features);
+		}
+		this.features = Collections.unmodifiableList(features);
+		this.indices = new HashMap<>((features.size() * 4) / 3 + 1);
+		for (int i = 0; i < features.size(); i++) {
+			indices.put(features.get(i).getName(), i);
+		}
+	}
+
+	private static void addFeatures(IFeature feature, List<IFeature> features) {
+		features.add(feature);
+		for (IFeatureStructure child : feature.getStructure().getChildren()) {
+			addFeatures(child.getFeature(), features);
+		}
+	}
+
+	public IFeatureModel getFeatureModel() {
+		return featureModel;
+	}
+
+	/**
+	 * @return the number of features
+	 */
+	public int size() {
+		return features.size();
+	}
+
+	/**
+	 * @param name the name of a feature
+	 * @return the index of the feature or {@code -1} if there is no feature with the given name
+	 */
+	public int getIndex(String name) {
+		final Integer index = indices.get(name);
+		return index == null ? -1 : index;
+	}
+
+	public IFeature getFeature(int index) {
+		return features.get(index);
+	}
+
+	public String getName(int index) {
+		return features.get(index).getName();
+	}
+
+	/**
+	 * @return all features in pre-order
+	 */
+	public List<IFeature> getFeatures() {
+		return features;
+	}
+
+}
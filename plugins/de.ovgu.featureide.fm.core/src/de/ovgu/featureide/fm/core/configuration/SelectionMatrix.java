@@ -0,0 +1,251 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2016  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ * 
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.configuration;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import de.ovgu.featureide.fm.core.Logger;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.io.manager.ConfigurationManager;
+import de.ovgu.featureide.fm.core.io.manager.FileHandler;
+
+/**
+ * Stores the selected features of all configuration files of a folder in a column-wise manner.<br>
+ * Each feature is represented by a {@link BitSet} that contains one bit per configuration file.
+ * Thus, checks such as "feature is never selected" or "feature is selected in every configuration"
+ * are performed as word-parallel bit operations.<br>
+ * <br>
+ * The matrix is updated incrementally by {@link #update(Collection)}.
+ * Only files that are new or whose modification time or size changed are read again.
+ */
+public class SelectionMatrix {
+
+	private static final class Row {
+		private final int index;
+		private long lastModified;
+		private long size;
+
+		private Row(int index) {
+			this.index = index;
+		}
+	}
+
+	private final IFeatureModel featureModel;
+
+	private final Map<Path, Row> rows = new HashMap<>();
+	private final Map<String, BitSet> columns = new HashMap<>();
+	private final BitSet usedRows = new BitSet();
+
+	private Configuration configuration = null;
+	private FileHandler<Configuration> reader = null;
+
+	public SelectionMatrix(IFeatureModel featureModel) {
+		this.featureModel = featureModel;
+	}
+
+	public IFeatureModel getFeatureModel() {
+		return featureModel;
+	}
+
+	/**
+	 * Synchronizes the matrix with the given configuration files.<br>
+	 * Rows of files that are not contained in the given collection anymore are removed.
+	 * Files are only read if they were not read before or if they were modified since the last update.
+	 * 
+	 * @param files all configuration files that should be represented by the matrix
+	 * @return the number of files that were read
+	 */
+	public synchronized int update(Collection<Path> files) {
+		final Set<Path> fileSet = new HashSet<>(files);
+		for (Iterator<Entry<Path, Row>> it = rows.entrySet().iterator(); it.hasNext();) {
+			final Entry<Path, Row> entry = it.next();
+			if (!fileSet.contains(entry.getKey())) {
+				clearRow(entry.getValue().index);
+				it.remove();
+			}
+		}
+
+		int readFiles = 0;
+		for (Path file : fileSet) {
+			long lastModified;
+			long size;
+			try {
+				lastModified = Files.getLastModifiedTime(file).toMillis();
+				size = Files.size(file);
+			} catch (IOException e) {
+				lastModified = -1;
+				size = -1;
+			}
+			Row row = rows.get(file);
+			if (row == null) {
+				row = new Row(usedRows.nextClearBit(0));
+				usedRows.set(row.index);
+				rows.put(file, row);
+			} else if (row.lastModified == lastModified && row.size == size && lastModified != -1) {
+				continue;
+			}
+			row.lastModified = lastModified;
+			row.size = size;
+			readRow(file, row.index);
+			readFiles++;
+		}
+		return readFiles;
+	}
+
+	/**
+	 * Removes all rows from the matrix.
+	 */
+	public synchronized void clear() {
+		rows.clear();
+		columns.clear();
+		usedRows.clear();
+	}
+
+	/**
+	 * @return the number of configurations that are currently stored
+	 */
+	public synchronized int getConfigurationCount() {
+		return rows.size();
+	}
+
+	/**
+	 * @param file a configuration file
+	 * @param featureName the name of a feature
+	 * @return {@code true} if the feature is selected in the given configuration
+	 */
+	public synchronized boolean isSelected(Path file, String featureName) {
+		final Row row = rows.get(file);
+		if (row == null) {
+			return false;
+		}
+		final BitSet column = columns.get(featureName);
+		return column != null && column.get(row.index);
+	}
+
+	/**
+	 * @param file a configuration file
+	 * @return the names of all features that are selected in the given configuration
+	 */
+	public synchronized Set<String> getSelectedFeatureNames(Path file) {
+		final Set<String> result = new HashSet<>();
+		final Row row = rows.get(file);
+		if (row != null) {
+			for (Entry<String, BitSet> entry : columns.entrySet()) {
+				if (entry.getValue().get(row.index)) {
+					result.add(entry.getKey());
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * @param featureName the name of a feature
+	 * @return the number of configurations in which the given feature is selected
+	 */
+	public synchronized int getSelectionCount(String featureName) {
+		final BitSet column = columns.get(featureName);
+		return column == null ? 0 : column.cardinality();
+	}
+
+	/**
+	 * Returns all features of the given collection that are not selected in any configuration.
+	 * 
+	 * @param featureNames the features to check
+	 * @return a list of feature names (empty if there are no configurations)
+	 */
+	public synchronized List<String> getUnusedFeatures(Collection<String> featureNames) {
+		final List<String> result = new ArrayList<>();
+		if (!rows.isEmpty()) {
+			for (String featureName : featureNames) {
+				final BitSet column = columns.get(featureName);
+				if (column == null || column.isEmpty()) {
+					result.add(featureName);
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns all features of the given collection that are selected in every configuration.
+	 * 
+	 * @param featureNames the features to check
+	 * @return a list of feature names (empty if there are no configurations)
+	 */
+	public synchronized List<String> getAlwaysSelectedFeatures(Collection<String> featureNames) {
+		final List<String> result = new ArrayList<>();
+		if (!rows.isEmpty()) {
+			final int rowCount = usedRows.cardinality();
+			for (String featureName : featureNames) {
+				final BitSet column = columns.get(featureName);
+				if (column != null && column.cardinality() == rowCount) {
+					result.add(featureName);
+				}
+			}
+		}
+		return result;
+	}
+
+	private void clearRow(int index) {
+		usedRows.clear(index);
+		for (BitSet column : columns.values()) {
+			column.clear(index);
+		}
+	}
+
+	private void readRow(Path file, int index) {
+		if (configuration == null) {
+			configuration = new Configuration(featureModel, Configuration.PARAM_IGNOREABSTRACT | Configuration.PARAM_LAZY);
+			reader = new FileHandler<>(configuration);
+		}
+		try {
+			reader.read(file, ConfigurationManager.getFormat(file.getFileName().toString()));
+		} catch (Exception e) {
+			Logger.logError(e);
+		}
+		for (SelectableFeature feature : configuration.getFeatures()) {
+			final boolean selected = feature.getSelection() == Selection.SELECTED;
+			BitSet column = columns.get(feature.getName());
+			if (column == null) {
+				if (!selected) {
+					continue;
+				}
+				column = new BitSet();
+				columns.put(feature.getName(), column);
+			}
+			column.set(index, selected);
+		}
+	}
+
+}
@@ -50,7 +50,7 @@ public class XMLConfFormat extends AXMLFormat<Configuration> implements IConfigu
 
 	@Override
 	public IPersistentFormat<Configuration> getInstance() {
-		return this;
+		return new XMLConfFormat();
 	}
 
 	@Override
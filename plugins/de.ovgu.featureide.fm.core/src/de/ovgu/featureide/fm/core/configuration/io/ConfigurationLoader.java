@@ -26,14 +26,21 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.nio.file.DirectoryStream.Filter;
 
 import de.ovgu.featureide.fm.core.Logger;
 import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.conf.worker.base.AWorkerThread;
 import de.ovgu.featureide.fm.core.configuration.Configuration;
+import de.ovgu.featureide.fm.core.configuration.ConfigurationTable;
+import de.ovgu.featureide.fm.core.configuration.FeatureIndex;
+import de.ovgu.featureide.fm.core.io.IPersistentFormat;
 import de.ovgu.featureide.fm.core.io.manager.ConfigurationManager;
 import de.ovgu.featureide.fm.core.io.manager.FileHandler;
+import de.ovgu.featureide.fm.core.job.monitor.NullMonitor;
 
 /**
  * This class loads all configurations of a given IFeatureModel.
@@ -87,33 +94,122 @@ public class ConfigurationLoader {
 	}
 
 	private List<Configuration> loadConfigurations(IFeatureModel featureModel, Path path, Filter<? super Path> filter) {
-		final FileHandler<Configuration> fileHandler = new FileHandler<>();
+		if (callback != null)
+			callback.onLoadingStarted();
+
 		final List<Configuration> configs = new ArrayList<>();
+		final ConfigurationTable table = loadConfigurationTable(featureModel, path, filter);
+		if (table != null) {
+			for (int i = 0; i < table.size(); i++) {
+				final Configuration currentConfiguration = table.getConfiguration(i);
+				configs.add(currentConfiguration);
+				if (callback != null)
+					callback.onConfigurationLoaded(currentConfiguration, table.getPath(i));
+			}
+		}
 
 		if (callback != null)
-			callback.onLoadingStarted();
+			callback.onLoadingFinished();
+
+		return configs;
+	}
 
+	public ConfigurationTable loadConfigurationTable(IFeatureModel featureModel, Path path) {
+		return loadConfigurationTable(featureModel, path, new ConfigFileFilter());
+	}
+
+	public ConfigurationTable loadConfigurationTable(IFeatureModel featureModel, Path path, String excludeFile) {
+		return loadConfigurationTable(featureModel, path, new ConfigFileFilter(excludeFile));
+	}
+
+	/**
+	 * Reads all configuration files in parallel into a {@link ConfigurationTable}.<br>
+	 * The files are read without propagation. {@link Configuration} objects are only created on demand by the table.
+	 * 
+	 * @return the table or {@code null} if the directory could not be read
+	 */
+	private ConfigurationTable loadConfigurationTable(IFeatureModel featureModel, Path path, Filter<? super Path> filter) {
+		final List<Path> paths = new ArrayList<>();
 		try (DirectoryStream<Path> directoryStream = Files.newDirectoryStream(path, filter)) {
 			for (Path configPath : directoryStream) {
-				Configuration currentConfiguration = new Configuration(featureModel, propagateConfigs);
-				
-				fileHandler.setObject(currentConfiguration);
-				fileHandler.read(configPath, ConfigurationManager.getFormat(configPath.toString()));
-				
-				configs.add(currentConfiguration);
-				if (callback != null)
-					callback.onConfigurationLoaded(currentConfiguration, configPath);
+				paths.add(configPath);
 			}
 		} catch (IOException e) {
 			Logger.logError(e);
 			if (callback != null)
 				callback.onLoadingError(e);
+			return null;
+		}
+
+		final ConfigurationTable table = new ConfigurationTable(new FeatureIndex(featureModel), paths, propagateConfigs);
+		if (!paths.isEmpty()) {
+			final ReadThread readThread = new ReadThread(table);
+			final List<Integer> indices = new ArrayList<>(paths.size());
+			for (int i = 0; i < paths.size(); i++) {
+				indices.add(i);
+			}
+			readThread.addObjects(indices);
+			readThread.start();
+		}
+		return table;
+	}
+
+	/**
+	 * Reads configuration files into a {@link ConfigurationTable}.
+	 * Each thread reuses its own (unpropagated) configuration object.
+	 * As formats may store the object they read (e.g., {@link de.ovgu.featureide.fm.core.io.xml.AXMLFormat AXMLFormat}),
+	 * each thread also uses its own instances of the registered formats.
+	 */
+	private static final class ReadThread extends AWorkerThread<Integer> {
+		private final ConfigurationTable table;
+
+		private Configuration configuration;
+		private FileHandler<Configuration> fileHandler;
+		private Map<String, IPersistentFormat<Configuration>> formats;
+
+		public ReadThread(ConfigurationTable table) {
+			super(new NullMonitor());
+			this.table = table;
+		}
+
+		private ReadThread(ReadThread oldThread) {
+			super(oldThread);
+			this.table = oldThread.table;
+		}
+
+		@Override
+		protected boolean beforeWork() {
+			configuration = new Configuration(table.getFeatureIndex().getFeatureModel(), Configuration.PARAM_IGNOREABSTRACT | Configuration.PARAM_LAZY);
+			fileHandler = new FileHandler<>(configuration);
+			formats = new HashMap<>();
+			return true;
+		}
+
+		@Override
+		protected void work(Integer configIndex) {
+			final Path configPath = table.getPath(configIndex);
+			configuration.resetValues();
+			fileHandler.read(configPath, getFormat(configPath));
+			table.set(configIndex, configuration);
+		}
+
+		private IPersistentFormat<Configuration> getFormat(Path configPath) {
+			final IPersistentFormat<Configuration> registeredFormat = ConfigurationManager.getFormat(configPath.toString());
+			if (registeredFormat == null) {
+				return null;
+			}
+			IPersistentFormat<Configuration> format = formats.get(registeredFormat.getId());
+			if (format == null) {
+				format = registeredFormat.getInstance();
+				formats.put(registeredFormat.getId(), format);
+			}
+			return format;
+		}
+
+		@Override
+		protected AWorkerThread<Integer> newThread() {
+			return new ReadThread(this);
 		}
-		
-		if (callback != null)
-			callback.onLoadingFinished();
-		
-		return configs;
 	}
 
 	private static final class ConfigFileFilter implements Filter<Path> {
@@ -20,12 +20,18 @@
  */
 package de.ovgu.featureide.fm.core.constraint.analysis;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map.Entry;
+import java.util.Set;
 
+import org.prop4j.SatSolver;
 import org.sat4j.specs.TimeoutException;
 
 import de.ovgu.featureide.fm.core.FeatureModelAnalyzer;
+import de.ovgu.featureide.fm.core.base.IFeature;
 import de.ovgu.featureide.fm.core.base.impl.ExtendedFeatureModel;
 
 /**
@@ -39,6 +45,7 @@ public class ExtendedFeatureModelAnalyzer extends FeatureModelAnalyzer  {
 	private ExtendedFeatureModel efm;
 	private HashMap<String, Integer> map;
 	private List<DeRestriction> deFm;
+	private PBSolver solver;
 	
 	private UniqueId idGen;
 	private RestrictionFactory<DeRestriction> deFactory;
@@ -53,19 +60,81 @@ public class ExtendedFeatureModelAnalyzer extends FeatureModelAnalyzer  {
 	}
 	
 	public boolean isValid_PBSolver() throws TimeoutException {		
-		if (deFm == null)
-			setUpDeRestrictions();
-		
-		PBSolver solver = new SAT4JPBSolver();
-		solver.addRestrictions(deFm);
-		
-		if (!solver.isSatisfiable()) {
+		if (!getSolver().isSatisfiable()) {
 			return false;
 		}
 		
 		return true;
 	}
 	
+	/**
+	 * Computes the core and dead features of the extended feature model, 
+	 * including its attribute constraints.
+	 * 
+	 * @return A list containing the list of core features and the list of dead features.
+	 */
+	public List<List<IFeature>> analyzeFeatures_PBSolver() {
+		final HashMap<Integer, IFeature> features = new HashMap<Integer, IFeature>();
+		for (Entry<String, Integer> entry : map.entrySet()) {
+			final IFeature feature = efm.getFeature(entry.getKey());
+			if (feature != null) {
+				features.put(entry.getValue(), feature);
+			}
+		}
+		
+		final Set<Integer> backbone = getSolver().backbone(new HashSet<Integer>(features.keySet()), Runtime.getRuntime().availableProcessors());
+		
+		final List<IFeature> coreFeatures = new ArrayList<IFeature>();
+		final List<IFeature> deadFeatures = new ArrayList<IFeature>();
+		for (Integer literal : backbone) {
+			final IFeature feature = features.get(Math.abs(literal));
+			if (literal > 0) {
+				coreFeatures.add(feature);
+			} else {
+				deadFeatures.add(feature);
+			}
+		}
+		
+		final List<List<IFeature>> result = new ArrayList<List<IFeature>>(2);
+		result.add(coreFeatures);
+		result.add(deadFeatures);
+		return result;
+	}
+	
+	/**
+	 * Computes the core and dead features with the backbone of the pseudo-boolean solver, 
+	 * such that attribute constraints are considered as well.
+	 * The features are only analyzed with the SAT solver if there are selected features.
+	 */
+	@Override
+	protected List<List<IFeature>> analyzeFeatures(long timeout, SatSolver.ValueType vt, Object... selectedFeatures) {
+		if (selectedFeatures.length > 0) {
+			return super.analyzeFeatures(timeout, vt, selectedFeatures);
+		}
+		// the feature model may have changed since the last analysis
+		idGen = new UniqueId();
+		map = Translator.buildFeatureNameMap(efm, idGen);
+		deFm = null;
+		solver = null;
+		
+		final List<List<IFeature>> result = analyzeFeatures_PBSolver();
+		return setCachedFeatures(result.get(0), result.get(1));
+	}
+	
+	/**
+	 * The solver is created once and reused until the next feature analysis.
+	 */
+	private PBSolver getSolver() {
+		if (solver == null) {
+			if (deFm == null)
+				setUpDeRestrictions();
+			
+			solver = new SAT4JPBSolver();
+			solver.addRestrictions(deFm);
+		}
+		return solver;
+	}
+	
 	private void setUpDeRestrictions() {
 		this.deFm = Translator.translateFmTree(map, efm, deFactory);
 		this.deFm.addAll(Translator.translateFmConstraints(map, efm, deFactory));
@@ -78,4 +78,15 @@ public interface PBSolver {
 	 * @return Those variables that are statically assigned and their assignment. 
 	 */
 	public Set<Integer> backbone(Set<Integer> varibales);
+	
+	/**
+	 * Computes the same result as {@link #backbone(Set)}, but distributes 
+	 * the variables among the given number of threads. Each thread uses its 
+	 * own copy of the solver.
+	 * 
+	 * @param varibales The indices of the variables to examine.
+	 * @param numberOfThreads The maximal number of threads to use.
+	 * @return Those variables that are statically assigned and their assignment. 
+	 */
+	public Set<Integer> backbone(Set<Integer> varibales, int numberOfThreads);
 }
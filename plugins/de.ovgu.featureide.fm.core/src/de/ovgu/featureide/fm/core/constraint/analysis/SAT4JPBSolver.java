@@ -21,9 +21,17 @@
 package de.ovgu.featureide.fm.core.constraint.analysis;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.sat4j.core.Vec;
 import org.sat4j.core.VecInt;
@@ -46,6 +54,11 @@ public class SAT4JPBSolver implements PBSolver {
 	
 	boolean alreadyContradiction;
 	
+	/**
+	 * All added restrictions, needed to create copies of this solver.
+	 */
+	private final List<Restriction> restrictions = new ArrayList<Restriction>();
+	
 	public SAT4JPBSolver() {
 		solver = SolverFactory.newDefault();
 		alreadyContradiction = false;
@@ -53,6 +66,8 @@ public class SAT4JPBSolver implements PBSolver {
 	
 	@Override
 	public <T extends Restriction> void addRestriction(T restriction) {
+		restrictions.add(restriction);
+		
 		IVecInt ids = new VecInt(restriction.getIds());
 		Vec<BigInteger> coefficients = 
 			new Vec<BigInteger>(restriction.getCoefficients());
@@ -104,14 +119,124 @@ public class SAT4JPBSolver implements PBSolver {
 		}
 	}
 	
+	/**
+	 * Computes the backbone by solution-guided pruning. Starting with the 
+	 * assignment of a first solution as candidates, each candidate literal is 
+	 * probed by assuming its complement. A satisfying assignment found during 
+	 * probing eliminates all candidates it contradicts, such that mostly one 
+	 * solver call per variable is required.
+	 */
+	@Override
 	public Set<Integer> backbone(Set<Integer> varibales) {
-		Set<Integer> backbone = new HashSet<Integer>();
+		final int[] model = findModel();
+		if (model == null) {
+			return unsatisfiableBackbone(varibales);
+		}
+		return backbone(this, getCandidates(varibales, model));
+	}
+	
+	@Override
+	public Set<Integer> backbone(Set<Integer> varibales, int numberOfThreads) {
+		final int[] model = findModel();
+		if (model == null) {
+			return unsatisfiableBackbone(varibales);
+		}
+		final List<Integer> candidates = new ArrayList<Integer>(getCandidates(varibales, model));
+		final int threads = Math.max(1, Math.min(numberOfThreads, candidates.size() / 32));
+		if (threads == 1) {
+			return backbone(this, new LinkedHashSet<Integer>(candidates));
+		}
 		
+		final ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			final List<Callable<Set<Integer>>> tasks = new ArrayList<Callable<Set<Integer>>>(threads);
+			final int chunkSize = (candidates.size() + threads - 1) / threads;
+			for (int i = 0; i < candidates.size(); i += chunkSize) {
+				final Set<Integer> chunk = new LinkedHashSet<Integer>(candidates.subList(i, Math.min(i + chunkSize, candidates.size())));
+				tasks.add(new Callable<Set<Integer>>() {
+					@Override
+					public Set<Integer> call() {
+						return backbone(copy(), chunk);
+					}
+				});
+			}
+			final Set<Integer> backbone = new HashSet<Integer>();
+			for (Future<Set<Integer>> future : executor.invokeAll(tasks)) {
+				backbone.addAll(future.get());
+			}
+			return backbone;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e.getMessage());
+		} catch (ExecutionException e) {
+			throw new RuntimeException(e.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+	
+	/**
+	 * @return A new solver containing the same restrictions.
+	 */
+	public SAT4JPBSolver copy() {
+		final SAT4JPBSolver copy = new SAT4JPBSolver();
+		copy.addRestrictions(restrictions);
+		return copy;
+	}
+	
+	/**
+	 * @return The current satisfying assignment or {@code null} if there is none.
+	 */
+	private int[] findModel() {
+		return isSatisfiable() ? solver.model() : null;
+	}
+	
+	/**
+	 * Without a satisfying assignment every variable is considered as false 
+	 * (as every assumption is unsatisfiable).
+	 */
+	private static Set<Integer> unsatisfiableBackbone(Set<Integer> varibales) {
+		final Set<Integer> backbone = new HashSet<Integer>();
 		for (Integer variable : varibales) {
-			if (!isSatisfiable(new int[] {variable})) {
-				backbone.add(-variable);
-			} else if (!isSatisfiable(new int[] {-variable})) {
-				backbone.add(variable);
+			backbone.add(-variable);
+		}
+		return backbone;
+	}
+	
+	/**
+	 * @return The literals of the given variables in the given assignment. 
+	 * Variables that are not part of the assignment are not statically 
+	 * assigned and therefore omitted.
+	 */
+	private static Set<Integer> getCandidates(Set<Integer> varibales, int[] model) {
+		final Set<Integer> modelLiterals = new HashSet<Integer>(model.length << 1);
+		for (int literal : model) {
+			modelLiterals.add(literal);
+		}
+		final Set<Integer> candidates = new LinkedHashSet<Integer>();
+		for (Integer variable : varibales) {
+			if (modelLiterals.contains(variable)) {
+				candidates.add(variable);
+			} else if (modelLiterals.contains(-variable)) {
+				candidates.add(-variable);
+			}
+		}
+		return candidates;
+	}
+	
+	private static Set<Integer> backbone(SAT4JPBSolver pbSolver, Set<Integer> candidates) {
+		final Set<Integer> backbone = new HashSet<Integer>();
+		
+		while (!candidates.isEmpty()) {
+			final Integer candidate = candidates.iterator().next();
+			candidates.remove(candidate);
+			if (pbSolver.isSatisfiable(new int[] {-candidate})) {
+				// remove all candidates that have a different value in the new solution
+				for (int literal : pbSolver.solver.model()) {
+					candidates.remove(-literal);
+				}
+			} else {
+				backbone.add(candidate);
 			}
 		}
 		
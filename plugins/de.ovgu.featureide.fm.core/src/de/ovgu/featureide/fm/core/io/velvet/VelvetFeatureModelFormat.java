@@ -32,12 +32,12 @@ import static java.lang.String.format;
 
 import java.io.ByteArrayInputStream;
 import java.io.File;
-import java.io.FilenameFilter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.Charset;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.ListIterator;
 import java.util.Map.Entry;
@@ -376,7 +376,7 @@ public class VelvetFeatureModelFormat implements IFeatureModelFormat {
 	 *            file of feature model
 	 * @return the feature model or null if error occurred
 	 */
-	private IFeatureModel readExternalModelFile(File file) {
+	private static IFeatureModel readExternalModelFile(File file) {
 		final IFeatureModelFormat format = FMFormatManager.getInstance().getFormatByFileName(file.getName());
 		final IFeatureModelFactory fmFactory;
 		try {
@@ -593,13 +593,26 @@ public class VelvetFeatureModelFormat implements IFeatureModelFormat {
 		return readModel(modelFile, curNode);
 	}
 
-	private IFeatureModel readModel(File modelFile, Tree curNode) {
-		IFeatureModel fm = null;
-		if (IS_USED_AS_API) {
-			fm = readExternalModelFileAPI(modelFile);
-		} else {
-			fm = readExternalModelFile(modelFile);
+	/**
+	 * Reads external models for the {@link VelvetModelCache}.
+	 */
+	private static final VelvetModelCache.ModelLoader modelLoader = new VelvetModelCache.ModelLoader() {
+		@Override
+		public IFeatureModel load(File file) {
+			if (IS_USED_AS_API) {
+				return readExternalModelFileAPI(file);
+			} else {
+				return readExternalModelFile(file);
+			}
 		}
+	};
+
+	/**
+	 * Returns the (cached) model of the given file.
+	 * The returned model is shared with other readers and must not be modified.
+	 */
+	private IFeatureModel readModel(File modelFile, Tree curNode) {
+		final IFeatureModel fm = VelvetModelCache.getModel(modelFile, modelLoader);
 		if (fm == null) {
 			reportWarning(curNode, format("External model for %s could not be read.", curNode.getText()));
 			return null;
@@ -607,7 +620,7 @@ public class VelvetFeatureModelFormat implements IFeatureModelFormat {
 		return fm;
 	}
 
-	private IFeatureModel readExternalModelFileAPI(File file) {
+	private static IFeatureModel readExternalModelFileAPI(File file) {
 		IFeatureModelFormat format = null;
 		IFeatureModelFactory fmFactory = null;
 		if (file.getName().endsWith(".xml")) {
@@ -665,7 +678,9 @@ public class VelvetFeatureModelFormat implements IFeatureModelFormat {
 		if (project != null) {
 			for (int i = 0; i < paths.length; i++) {
 				final IResource res = project.findMember(format(paths[i], name));
-				if (res != null) {
+				if (res == null) {
+					addLookup(project, format(paths[i], name));
+				} else {
 					returnFile = res.getLocation().toFile();
 					if (returnFile.equals(featureModelFile)) {
 						returnFile = null;
@@ -706,30 +721,69 @@ public class VelvetFeatureModelFormat implements IFeatureModelFormat {
 		IProject project = getProject();
 		if (project != null) {
 			final IResource res = project.findMember(format("Interfaces/%s.velvet", name));
-			if (res != null) {
+			if (res == null) {
+				addLookup(project, format("Interfaces/%s.velvet", name));
+			} else {
 				returnFile = res.getLocation().toFile();
 			}
 		}
 		return returnFile;
 	}
 
+	/**
+	 * Records a path in the given project that was searched for a referenced model without success,
+	 * such that the {@link VelvetModelCache} reads the current model again once the path exists.
+	 */
+	private static void addLookup(IProject project, String path) {
+		final IPath location = project.getLocation();
+		if (location != null) {
+			VelvetModelCache.addLookup(location.append(path).toFile());
+		}
+	}
+
 	private File localSearch(final String name) {
 		if (featureModelFile != null) {
-			final File searchDir = new File(featureModelFile.getParentFile(), "MPL");
-			if (searchDir != null) {
-				File[] files = searchDir.listFiles(new FilenameFilter() {
-					@Override
-					public boolean accept(File dir, String fileName) {
-						int index = fileName.lastIndexOf('.');
-						return index > 0 && fileName.substring(0, index).equals(name) && fileName.substring(index + 1).matches("xml|velvet");
-					}
-				});
-				if (files != null && files.length > 0) {
-					return files[0];
+			return VelvetModelCache.findModelFile(new File(featureModelFile.getParentFile(), "MPL"), name);
+		}
+		return null;
+	}
+
+	/**
+	 * Reads all models that are referenced by a concept concurrently into the {@link VelvetModelCache}.
+	 * 
+	 * @param root the concept node
+	 */
+	private void prefetchExternalModels(final Tree root) {
+		final LinkedHashSet<File> modelFiles = new LinkedHashSet<File>();
+		for (final Tree curNode : getChildren(root)) {
+			switch (curNode.getType()) {
+			case VelvetParser.BASEEXT:
+				for (final Tree idNode : getChildren(curNode)) {
+					addModelFile(modelFiles, idNode, false);
+				}
+				break;
+			case VelvetParser.IMPORTINSTANCE:
+			case VelvetParser.IMPORTINTERFACE:
+				final LinkedList<Tree> nodeList = getChildren(curNode);
+				while (nodeList.size() > 1) {
+					addModelFile(modelFiles, nodeList.poll(), curNode.getType() == VelvetParser.IMPORTINTERFACE);
+					nodeList.poll();
 				}
+				break;
+			default:
+				break;
+			}
+		}
+		VelvetModelCache.prefetch(modelFiles, modelLoader);
+	}
+
+	private void addModelFile(Collection<File> modelFiles, Tree idNode, boolean isInterface) {
+		if (!(idNode instanceof CommonErrorNode)) {
+			final File modelFile = isInterface ? getInterfaceModelFile(idNode.getText()) : getExternalModelFile(idNode.getText());
+			if (modelFile != null) {
+				modelFiles.add(modelFile);
 			}
 		}
-		return null;
 	}
 
 	/**
@@ -881,6 +935,8 @@ public class VelvetFeatureModelFormat implements IFeatureModelFormat {
 	}
 
 	private void parseConcept(final Tree root) throws RecognitionException {
+		prefetchExternalModels(root);
+
 		final LinkedList<Tree> nodeList = getChildren(root);
 
 		while (!nodeList.isEmpty()) {
@@ -1205,7 +1261,8 @@ public class VelvetFeatureModelFormat implements IFeatureModelFormat {
 		copyChildnodes(extFeatureModel, connector.getStructure(), instanceRoot, sourceModelName, connectorName, type);
 
 		for (final IConstraint constraint : sourceModel.getConstraints()) {
-			Node constraintNode = constraint.getNode();
+			// the source model may be cached, thus it must not be modified
+			Node constraintNode = constraint.getNode().clone();
 			updateConstraintNode(constraintNode, connectorName, instanceRoot.getFeature().getName(), extFeatureModel);
 			ExtendedConstraint newConstraint = factory.createConstraint(extFeatureModel, constraintNode);
 			newConstraint.setType(type);
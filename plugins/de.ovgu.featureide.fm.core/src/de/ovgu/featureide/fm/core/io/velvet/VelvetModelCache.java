@@ -0,0 +1,283 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2016  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ * 
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.io.velvet;
+
+import java.io.File;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import de.ovgu.featureide.fm.core.Logger;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+
+/**
+ * Workspace-wide cache for models that are referenced by Velvet models (e.g., inherited, instantiated, or used interface models).<br>
+ * A cached model is valid as long as its file and the files of all models it references are unchanged,
+ * and as long as none of the files that were looked up without success while reading it has been created.
+ * Cached models are shared between all readers and must therefore not be modified.
+ */
+final class VelvetModelCache {
+
+	/**
+	 * Reads a model from a file.
+	 */
+	interface ModelLoader {
+		IFeatureModel load(File file);
+	}
+
+	/**
+	 * Modification stamp of a file. A file that does not exist has a stamp as well, which becomes invalid as soon as the file is created.
+	 */
+	private static final class Stamp {
+		private final File file;
+		private final long lastModified;
+		private final long length;
+
+		private Stamp(File file) {
+			this.file = file;
+			this.lastModified = file.lastModified();
+			this.length = file.length();
+		}
+
+		private boolean isValid() {
+			return file.lastModified() == lastModified && file.length() == length;
+		}
+
+		@Override
+		public int hashCode() {
+			return file.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Stamp)) {
+				return false;
+			}
+			final Stamp other = (Stamp) obj;
+			return file.equals(other.file) && lastModified == other.lastModified && length == other.length;
+		}
+	}
+
+	private static final class CachedModel {
+		private final IFeatureModel model;
+		private final Collection<Stamp> stamps;
+
+		private CachedModel(IFeatureModel model, Collection<Stamp> stamps) {
+			this.model = model;
+			this.stamps = stamps;
+		}
+
+		private boolean isValid() {
+			for (Stamp stamp : stamps) {
+				if (!stamp.isValid()) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+	private static final class DirectoryIndex {
+		private final long lastModified;
+		private final Map<String, File> files;
+
+		private DirectoryIndex(long lastModified, Map<String, File> files) {
+			this.lastModified = lastModified;
+			this.files = files;
+		}
+	}
+
+	private static final Map<File, CachedModel> models = new ConcurrentHashMap<>();
+	private static final Map<File, DirectoryIndex> directories = new ConcurrentHashMap<>();
+
+	/**
+	 * The stamps of all files read by the models that are currently loaded by this thread.
+	 */
+	private static final ThreadLocal<Deque<Collection<Stamp>>> loading = new ThreadLocal<Deque<Collection<Stamp>>>() {
+		@Override
+		protected Deque<Collection<Stamp>> initialValue() {
+			return new ArrayDeque<>();
+		}
+	};
+
+	private VelvetModelCache() {
+	}
+
+	/**
+	 * Returns the model of the given file. The model is only read, if there is no valid cached model.
+	 * 
+	 * @param file the model file
+	 * @param loader reads the model, if necessary
+	 * @return the (shared) model or {@code null} if the model could not be read
+	 */
+	static IFeatureModel getModel(File file, ModelLoader loader) {
+		final File key = file.getAbsoluteFile();
+		final Deque<Collection<Stamp>> stack = loading.get();
+		final Collection<Stamp> parentStamps = stack.peek();
+
+		final CachedModel cachedModel = models.get(key);
+		if (cachedModel != null && cachedModel.isValid()) {
+			if (parentStamps != null) {
+				parentStamps.addAll(cachedModel.stamps);
+			}
+			return cachedModel.model;
+		}
+
+		final Collection<Stamp> stamps = new LinkedHashSet<>();
+		stamps.add(new Stamp(key));
+		stack.push(stamps);
+		final IFeatureModel model;
+		try {
+			model = loader.load(file);
+		} finally {
+			stack.pop();
+		}
+		if (model != null) {
+			models.put(key, new CachedModel(model, stamps));
+		}
+		if (parentStamps != null) {
+			parentStamps.addAll(stamps);
+		}
+		return model;
+	}
+
+	/**
+	 * Records a file that was looked up while reading the model that is currently loaded by this thread,
+	 * such that the cached model becomes invalid if the file is created, modified, or deleted.
+	 * Used for files that were searched for a referenced model, but did not exist.
+	 * Does nothing if the current thread is not loading a model.
+	 * 
+	 * @param file the file
+	 */
+	static void addLookup(File file) {
+		final Collection<Stamp> stamps = loading.get().peek();
+		if (stamps != null) {
+			stamps.add(new Stamp(file.getAbsoluteFile()));
+		}
+	}
+
+	/**
+	 * Reads the given files concurrently into the cache.
+	 * Does nothing if called while the current thread is reading a model, to avoid a cascade of thread pools.
+	 * 
+	 * @param files the model files
+	 * @param loader reads a model
+	 */
+	static void prefetch(Collection<File> files, final ModelLoader loader) {
+		if (files.size() < 2 || !loading.get().isEmpty()) {
+			return;
+		}
+		final int numberOfThreads = Math.min(files.size(), Runtime.getRuntime().availableProcessors());
+		if (numberOfThreads < 2) {
+			return;
+		}
+		final List<Callable<IFeatureModel>> tasks = new ArrayList<>(files.size());
+		for (final File file : files) {
+			tasks.add(new Callable<IFeatureModel>() {
+				@Override
+				public IFeatureModel call() {
+					return getModel(file, loader);
+				}
+			});
+		}
+		final ExecutorService executor = Executors.newFixedThreadPool(numberOfThreads);
+		try {
+			for (Future<IFeatureModel> future : executor.invokeAll(tasks)) {
+				future.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			Logger.logError(e.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Searches a directory for a model file with the given name and the extension <i>velvet</i> or <i>xml</i>.
+	 * The content of the directory is indexed until the directory is modified or a name cannot be found.
+	 * If there is no such file, the files that were searched for are recorded by {@link #addLookup(File)}.
+	 * 
+	 * @param directory the directory
+	 * @param name the file name without extension
+	 * @return the file or {@code null} if there is no such file
+	 */
+	static File findModelFile(File directory, String name) {
+		final File key = directory.getAbsoluteFile();
+		final long lastModified = key.lastModified();
+		DirectoryIndex index = directories.get(key);
+		if (index == null || index.lastModified != lastModified || !index.files.containsKey(name)) {
+			final File[] files = key.listFiles();
+			if (files == null) {
+				directories.remove(key);
+				addModelFileLookups(key, name);
+				return null;
+			}
+			final Map<String, File> fileMap = new HashMap<>();
+			for (File file : files) {
+				final String fileName = file.getName();
+				final int extensionIndex = fileName.lastIndexOf('.');
+				if (extensionIndex > 0 && fileName.substring(extensionIndex + 1).matches("xml|velvet")) {
+					final String modelName = fileName.substring(0, extensionIndex);
+					if (!fileMap.containsKey(modelName)) {
+						fileMap.put(modelName, file);
+					}
+				}
+			}
+			index = new DirectoryIndex(lastModified, fileMap);
+			directories.put(key, index);
+		}
+		final File file = index.files.get(name);
+		if (file == null) {
+			addModelFileLookups(key, name);
+		}
+		return file;
+	}
+
+	private static void addModelFileLookups(File directory, String name) {
+		addLookup(new File(directory, name + ".velvet"));
+		addLookup(new File(directory, name + ".xml"));
+	}
+
+	/**
+	 * Removes all cached models and directory indices.
+	 */
+	static void clear() {
+		models.clear();
+		directories.clear();
+	}
+
+}
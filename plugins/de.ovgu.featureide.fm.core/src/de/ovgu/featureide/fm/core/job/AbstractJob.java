@@ -31,6 +31,7 @@ import org.eclipse.core.runtime.jobs.JobChangeAdapter;
 import de.ovgu.featureide.fm.core.Logger;
 import de.ovgu.featureide.fm.core.PluginID;
 import de.ovgu.featureide.fm.core.functional.Functional.IConsumer;
+import de.ovgu.featureide.fm.core.job.monitor.ConcurrentMonitor;
 import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
 import de.ovgu.featureide.fm.core.job.monitor.IMonitor.MethodCancelException;
 import de.ovgu.featureide.fm.core.job.monitor.ProgressMonitor;
@@ -108,7 +109,7 @@ public abstract class AbstractJob<T> extends Job implements IJob<T> {
 		status = JobStatus.RUNNING;
 
 		// run job and catch possible runtime exceptions
-		final ProgressMonitor workMonitor = new ProgressMonitor(getName(), monitor);
+		final ConcurrentMonitor workMonitor = new ConcurrentMonitor(new ProgressMonitor(getName(), monitor));
 		workMonitor.setIntermediateFunction(intermediateFunction);
 		try {
 			methodResult = work(workMonitor);
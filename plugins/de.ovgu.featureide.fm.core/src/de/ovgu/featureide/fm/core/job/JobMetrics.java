@@ -0,0 +1,168 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2016  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ * 
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.job;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import de.ovgu.featureide.fm.core.job.IJob.JobStatus;
+
+/**
+ * Collects execution times of jobs that are run by the {@link LongRunningCore}.<br>
+ * For each implementation class of a {@link LongRunningMethod} the number of runs, canceled and failed runs,
+ * and the total and maximal queue time and run time are recorded.
+ */
+public final class JobMetrics {
+
+	/**
+	 * Immutable snapshot of the recorded values of one kind of job. All times are in nanoseconds.
+	 */
+	public static final class Entry {
+		private final int count;
+		private final int canceledCount;
+		private final int failedCount;
+		private final long totalQueueTime;
+		private final long maxQueueTime;
+		private final long totalRunTime;
+		private final long maxRunTime;
+
+		private Entry(int count, int canceledCount, int failedCount, long totalQueueTime, long maxQueueTime, long totalRunTime, long maxRunTime) {
+			this.count = count;
+			this.canceledCount = canceledCount;
+			this.failedCount = failedCount;
+			this.totalQueueTime = totalQueueTime;
+			this.maxQueueTime = maxQueueTime;
+			this.totalRunTime = totalRunTime;
+			this.maxRunTime = maxRunTime;
+		}
+
+		private Entry add(long queueTime, long runTime, boolean canceled, boolean failed) {
+			return new Entry(count + 1, canceled ? canceledCount + 1 : canceledCount, failed ? failedCount + 1 : failedCount, totalQueueTime + queueTime,
+					Math.max(maxQueueTime, queueTime), totalRunTime + runTime, Math.max(maxRunTime, runTime));
+		}
+
+		public int getCount() {
+			return count;
+		}
+
+		public int getCanceledCount() {
+			return canceledCount;
+		}
+
+		public int getFailedCount() {
+			return failedCount;
+		}
+
+		public long getTotalQueueTime() {
+			return totalQueueTime;
+		}
+
+		public long getMaxQueueTime() {
+			return maxQueueTime;
+		}
+
+		public long getAverageQueueTime() {
+			return count == 0 ? 0 : totalQueueTime / count;
+		}
+
+		public long getTotalRunTime() {
+			return totalRunTime;
+		}
+
+		public long getMaxRunTime() {
+			return maxRunTime;
+		}
+
+		public long getAverageRunTime() {
+			return count == 0 ? 0 : totalRunTime / count;
+		}
+
+		@Override
+		public String toString() {
+			return "count=" + count + ", canceled=" + canceledCount + ", failed=" + failedCount + ", avgQueueTime=" + (getAverageQueueTime() / 1000000)
+					+ "ms, maxQueueTime=" + (maxQueueTime / 1000000) + "ms, avgRunTime=" + (getAverageRunTime() / 1000000) + "ms, maxRunTime="
+					+ (maxRunTime / 1000000) + "ms";
+		}
+	}
+
+	private static final Entry EMPTY = new Entry(0, 0, 0, 0, 0, 0, 0);
+
+	private final HashMap<Class<?>, Entry> entries = new HashMap<>();
+	private Entry total = EMPTY;
+
+	/**
+	 * Records one finished run of a job.
+	 * 
+	 * @param jobClass the implementation class of the job
+	 * @param queueTime the time in nanoseconds between scheduling and start of the job
+	 * @param runTime the time in nanoseconds the job was running
+	 * @param status the final status of the job
+	 * @param canceled whether the job was canceled
+	 */
+	public synchronized void record(Class<?> jobClass, long queueTime, long runTime, JobStatus status, boolean canceled) {
+		final boolean failed = status == JobStatus.FAILED && !canceled;
+		Entry entry = entries.get(jobClass);
+		entries.put(jobClass, (entry == null ? EMPTY : entry).add(queueTime, runTime, canceled, failed));
+		total = total.add(queueTime, runTime, canceled, failed);
+	}
+
+	/**
+	 * @return a snapshot of the recorded values for each implementation class of a job
+	 */
+	public synchronized Map<Class<?>, Entry> getEntries() {
+		return new HashMap<>(entries);
+	}
+
+	/**
+	 * @param jobClass the implementation class of a job
+	 * @return the recorded values for the given class (never {@code null})
+	 */
+	public synchronized Entry getEntry(Class<?> jobClass) {
+		final Entry entry = entries.get(jobClass);
+		return entry == null ? EMPTY : entry;
+	}
+
+	/**
+	 * @return the recorded values of all jobs
+	 */
+	public synchronized Entry getTotal() {
+		return total;
+	}
+
+	public synchronized void reset() {
+		entries.clear();
+		total = EMPTY;
+	}
+
+	@Override
+	public synchronized String toString() {
+		final StringBuilder sb = new StringBuilder("JobMetrics: ");
+		sb.append(total);
+		for (Map.Entry<Class<?>, Entry> entry : entries.entrySet()) {
+			sb.append("\n\t");
+			sb.append(entry.getKey().getName());
+			sb.append(": ");
+			sb.append(entry.getValue());
+		}
+		return sb.toString();
+	}
+
+}
@@ -20,13 +20,75 @@
  */
 package de.ovgu.featureide.fm.core.job;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
- * Job that wraps the functionality of a {@link LongRunningMethod}.
+ * Job that wraps the functionality of a {@link LongRunningMethod}.<br>
+ * <br>
+ * All {@link LongRunningThread}s are executed by one shared, bounded thread pool.
+ * The execution times of these jobs are recorded in {@link #getMetrics()}.
  * 
  * @author Sebastian Krieter
  */
 public class LongRunningCore {
 
+	private static final class JobThreadFactory implements ThreadFactory {
+		private final AtomicInteger threadCount = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			final Thread thread = new Thread(runnable, "FeatureIDE Job " + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+
+	private static final JobMetrics METRICS = new JobMetrics();
+
+	private static ExecutorService executor = null;
+
+	/**
+	 * Returns the executor that runs all {@link LongRunningThread}s.
+	 * By default, it is a thread pool with one thread per available processor, whose idle threads are terminated after some seconds.
+	 * 
+	 * @return the executor
+	 */
+	public static synchronized ExecutorService getExecutor() {
+		if (executor == null) {
+			final int numberOfThreads = Math.max(2, Runtime.getRuntime().availableProcessors());
+			final ThreadPoolExecutor threadPool = new ThreadPoolExecutor(numberOfThreads, numberOfThreads, 10, TimeUnit.SECONDS,
+					new LinkedBlockingQueue<Runnable>(), new JobThreadFactory());
+			threadPool.allowCoreThreadTimeOut(true);
+			executor = threadPool;
+		}
+		return executor;
+	}
+
+	/**
+	 * Replaces the executor that runs all {@link LongRunningThread}s (e.g., to use more threads in a headless application).
+	 * The previous executor is shut down after its queued jobs are finished.
+	 * 
+	 * @param newExecutor the new executor or {@code null} to use the default executor
+	 */
+	public static synchronized void setExecutor(ExecutorService newExecutor) {
+		if (executor != null && executor != newExecutor) {
+			executor.shutdown();
+		}
+		executor = newExecutor;
+	}
+
+	/**
+	 * @return the metrics of all jobs that were executed by the {@link #getExecutor() executor}
+	 */
+	public static JobMetrics getMetrics() {
+		return METRICS;
+	}
+
 	public <T> IRunner<T> getRunner(LongRunningMethod<T> method, String name) {
 		return LongRunningWrapper.getThread(method, name);
 	}
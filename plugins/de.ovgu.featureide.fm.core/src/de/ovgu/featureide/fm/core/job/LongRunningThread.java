@@ -22,34 +22,47 @@ package de.ovgu.featureide.fm.core.job;
 
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import de.ovgu.featureide.fm.core.Logger;
 import de.ovgu.featureide.fm.core.functional.Functional.IConsumer;
 import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor.MethodCancelException;
 import de.ovgu.featureide.fm.core.job.monitor.NullMonitor;
 import de.ovgu.featureide.fm.core.job.util.JobFinishListener;
 
 /**
- * Job that wraps the functionality of a {@link LongRunningMethod}.
+ * Job that wraps the functionality of a {@link LongRunningMethod}.<br>
+ * The job is executed by the shared executor of {@link LongRunningCore}.
+ * If {@link #join()} is called before the job was started by the executor, the job is executed in the calling thread,
+ * so jobs that wait for other jobs cannot block the executor.
  * 
  * @author Sebastian Krieter
  */
-// TODO Change to Runnable so it can be started more than once
 // TODO Implement prioritization
-public class LongRunningThread<T> extends Thread implements IRunner<T> {
+public class LongRunningThread<T> implements IRunner<T>, Runnable {
 	protected final List<JobFinishListener<T>> listenerList = new LinkedList<>();
 
+	private final String name;
 	private final LongRunningMethod<T> method;
 	private final IMonitor monitor;
 
+	private final AtomicBoolean started = new AtomicBoolean(false);
+	private final CountDownLatch finished = new CountDownLatch(1);
+
 	private int cancelingTimeout = -1;
 	private T methodResult = null;
-	private JobStatus status = JobStatus.NOT_STARTED;
+	private volatile JobStatus status = JobStatus.NOT_STARTED;
+	private volatile boolean canceled = false;
+
+	private long scheduleTime, startTime, finishTime;
 
 	private boolean stoppable;
 
 	public LongRunningThread(String name, LongRunningMethod<T> method, IMonitor monitor) {
-		super(name);
+		this.name = name;
 		this.method = method;
 		this.monitor = monitor != null ? monitor : new NullMonitor();
 	}
@@ -63,8 +76,9 @@ public class LongRunningThread<T> extends Thread implements IRunner<T> {
 
 	@Override
 	public boolean cancel() {
+		canceled = true;
 		monitor.cancel();
-		return isAlive();
+		return status == JobStatus.RUNNING;
 	}
 
 	public void fireEvent() {
@@ -81,6 +95,10 @@ public class LongRunningThread<T> extends Thread implements IRunner<T> {
 		return cancelingTimeout;
 	}
 
+	public String getName() {
+		return name;
+	}
+
 	public T getResults() {
 		return methodResult;
 	}
@@ -95,6 +113,20 @@ public class LongRunningThread<T> extends Thread implements IRunner<T> {
 		return status;
 	}
 
+	/**
+	 * @return the time in nanoseconds between scheduling and start of this job
+	 */
+	public long getQueueTime() {
+		return startTime - scheduleTime;
+	}
+
+	/**
+	 * @return the time in nanoseconds this job was running
+	 */
+	public long getRunTime() {
+		return finishTime - startTime;
+	}
+
 	public boolean isStoppable() {
 		return stoppable;
 	}
@@ -106,29 +138,65 @@ public class LongRunningThread<T> extends Thread implements IRunner<T> {
 
 	@Override
 	public void run() {
+		if (!started.compareAndSet(false, true)) {
+			return;
+		}
+		startTime = System.nanoTime();
+		if (scheduleTime == 0) {
+			scheduleTime = startTime;
+		}
 		status = JobStatus.RUNNING;
 		try {
+			// in case the job was canceled before it was started
+			monitor.checkCancel();
 			final Executer<T> executer = stoppable ? new StoppableExecuter<>(method, cancelingTimeout) : new Executer<>(method);
 			methodResult = executer.execute(monitor);
 			status = JobStatus.OK;
+		} catch (MethodCancelException e) {
+			canceled = true;
+			status = JobStatus.FAILED;
 		} catch (Exception e) {
 			Logger.logError(e);
 			status = JobStatus.FAILED;
 		} finally {
 			monitor.done();
-			for (final JobFinishListener<T> listener : listenerList) {
-				try {
-					listener.jobFinished(this);
-				} catch (Throwable e) {
-					Logger.logError(e);
+			finishTime = System.nanoTime();
+			try {
+				LongRunningCore.getMetrics().record(getImplementationClass(), getQueueTime(), getRunTime(), status, canceled);
+				for (final JobFinishListener<T> listener : listenerList) {
+					try {
+						listener.jobFinished(this);
+					} catch (Throwable e) {
+						Logger.logError(e);
+					}
 				}
+			} finally {
+				// join() returns only after all listeners were notified
+				finished.countDown();
 			}
 		}
 	}
 
+	/**
+	 * Waits until this job is finished. If the job was not started yet, it is executed in the current thread.
+	 */
+	@Override
+	public void join() throws InterruptedException {
+		if (!started.get()) {
+			run();
+		}
+		finished.await();
+	}
+
 	@Override
 	public void schedule() {
-		start();
+		scheduleTime = System.nanoTime();
+		try {
+			LongRunningCore.getExecutor().execute(this);
+		} catch (RejectedExecutionException e) {
+			// executor was shut down
+			run();
+		}
 	}
 
 	public void setCancelingTimeout(int cancelingTimeout) {
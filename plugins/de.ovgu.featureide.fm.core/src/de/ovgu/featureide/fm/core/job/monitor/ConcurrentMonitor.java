@@ -0,0 +1,239 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2016  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ * 
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.job.monitor;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import de.ovgu.featureide.fm.core.functional.Functional.IConsumer;
+import de.ovgu.featureide.fm.core.job.IJob;
+
+/**
+ * Control object for {@link IJob}s that can be used by multiple threads without locking.<br>
+ * Progress and task names are collected and forwarded to a target monitor (e.g., a {@link ProgressMonitor}) at a fixed rate,
+ * so calling {@link #step()} or {@link #checkCancel()} in tight loops is cheap.
+ * A cancel request of the target monitor is detected on publishing, {@link #checkCancel()} only reads a volatile flag.<br>
+ * Additionally, the monitor records the execution time of itself and each of its sub tasks.
+ */
+public class ConcurrentMonitor extends ATaskMonitor {
+
+	private static final long PUBLISH_INTERVAL = 100;
+
+	private static ScheduledExecutorService publisher = null;
+
+	private static synchronized ScheduledExecutorService getPublisher() {
+		if (publisher == null) {
+			publisher = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+				@Override
+				public Thread newThread(Runnable runnable) {
+					final Thread thread = new Thread(runnable, "FeatureIDE Monitor");
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+		}
+		return publisher;
+	}
+
+	private final ConcurrentMonitor root;
+	private final Queue<ConcurrentMonitor> subTasks = new ConcurrentLinkedQueue<>();
+	private final int size;
+
+	private final AtomicInteger pendingWork = new AtomicInteger();
+	private volatile int remainingWork = -1;
+	private volatile String pendingTaskName = null;
+
+	private volatile boolean canceled = false;
+	private volatile boolean done = false;
+
+	private final long startTime = System.nanoTime();
+	private volatile long endTime = 0;
+
+	private final ScheduledFuture<?> publishTask;
+
+	// only accessed while publishing
+	private IMonitor target;
+	private int publishedRemainingWork = -1;
+	private boolean publishedDone = false;
+
+	/**
+	 * Creates a new monitor that forwards its progress to the given monitor.
+	 * 
+	 * @param target the monitor that displays the progress or {@code null}
+	 */
+	public ConcurrentMonitor(IMonitor target) {
+		super();
+		this.root = this;
+		this.size = 0;
+		this.target = target != null ? target : new NullMonitor();
+		publishTask = getPublisher().scheduleAtFixedRate(new Runnable() {
+			@Override
+			public void run() {
+				publish();
+			}
+		}, PUBLISH_INTERVAL, PUBLISH_INTERVAL, TimeUnit.MILLISECONDS);
+	}
+
+	private ConcurrentMonitor(ConcurrentMonitor parent, int size, IConsumer<Object> intermediateFunction) {
+		super(parent);
+		this.root = parent.root;
+		this.size = size;
+		this.publishTask = null;
+		setIntermediateFunction(intermediateFunction);
+	}
+
+	@Override
+	public void cancel() {
+		root.canceled = true;
+	}
+
+	@Override
+	public void checkCancel() throws MethodCancelException {
+		if (root.canceled) {
+			throw new MethodCancelException();
+		}
+	}
+
+	@Override
+	public void setRemainingWork(int work) {
+		remainingWork = work;
+	}
+
+	@Override
+	public void worked() {
+		pendingWork.incrementAndGet();
+	}
+
+	@Override
+	public void setTaskName(String name) {
+		super.setTaskName(name);
+		pendingTaskName = name;
+	}
+
+	@Override
+	public IMonitor subTask(int size) {
+		final ConcurrentMonitor subTask = new ConcurrentMonitor(this, size, intermediateFunction);
+		subTasks.add(subTask);
+		return subTask;
+	}
+
+	@Override
+	public void done() {
+		if (!done) {
+			endTime = System.nanoTime();
+			done = true;
+			if (publishTask != null) {
+				publishTask.cancel(false);
+				publish();
+			}
+		}
+	}
+
+	/**
+	 * @return the time in nanoseconds since the creation of this monitor until it was done
+	 */
+	public long getElapsedTime() {
+		return (done ? endTime : System.nanoTime()) - startTime;
+	}
+
+	/**
+	 * @return all sub tasks of this monitor in the order of their creation
+	 */
+	public Iterable<ConcurrentMonitor> getSubTasks() {
+		return subTasks;
+	}
+
+	/**
+	 * @return the names and execution times of this monitor and all of its sub tasks
+	 */
+	public String getTimings() {
+		final StringBuilder sb = new StringBuilder();
+		appendTimings(sb, "");
+		return sb.toString();
+	}
+
+	private void appendTimings(StringBuilder sb, String indent) {
+		sb.append(indent);
+		sb.append(name != null ? name : "-");
+		sb.append(": ");
+		sb.append(getElapsedTime() / 1000000);
+		sb.append("ms");
+		if (!done) {
+			sb.append(" (running)");
+		}
+		sb.append('\n');
+		for (ConcurrentMonitor subTask : subTasks) {
+			subTask.appendTimings(sb, indent + "\t");
+		}
+	}
+
+	private void publish() {
+		synchronized (this) {
+			if (!canceled) {
+				try {
+					target.checkCancel();
+				} catch (MethodCancelException e) {
+					canceled = true;
+				}
+			}
+			publish(null);
+		}
+	}
+
+	private void publish(IMonitor parentTarget) {
+		if (publishedDone) {
+			return;
+		}
+		if (target == null) {
+			if (remainingWork < 0 && pendingWork.get() == 0 && pendingTaskName == null && !done && subTasks.isEmpty()) {
+				return;
+			}
+			target = parentTarget.subTask(size);
+		}
+		final String newTaskName = pendingTaskName;
+		if (newTaskName != null) {
+			pendingTaskName = null;
+			target.setTaskName(newTaskName);
+		}
+		final int newRemainingWork = remainingWork;
+		if (newRemainingWork != publishedRemainingWork) {
+			publishedRemainingWork = newRemainingWork;
+			target.setRemainingWork(newRemainingWork);
+		}
+		for (int work = pendingWork.getAndSet(0); work > 0; work--) {
+			target.worked();
+		}
+		for (ConcurrentMonitor subTask : subTasks) {
+			subTask.publish(target);
+		}
+		if (done) {
+			publishedDone = true;
+			target.done();
+		}
+	}
+
+}
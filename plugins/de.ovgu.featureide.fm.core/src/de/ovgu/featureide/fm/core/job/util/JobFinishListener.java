@@ -31,6 +31,7 @@ import de.ovgu.featureide.fm.core.job.IJob;
  * 
  * @see IJob
  * @see JobSequence
+ * @see JobGraph
  */
 public interface JobFinishListener<T> extends EventListener {
 	void jobFinished(IJob<T> finishedJob);
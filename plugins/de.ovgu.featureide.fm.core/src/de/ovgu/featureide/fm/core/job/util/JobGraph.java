@@ -0,0 +1,299 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2016  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ * 
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.job.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import de.ovgu.featureide.fm.core.job.IJob;
+import de.ovgu.featureide.fm.core.job.IJob.JobStatus;
+import de.ovgu.featureide.fm.core.job.IRunner;
+import de.ovgu.featureide.fm.core.job.LongRunningMethod;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor.MethodCancelException;
+
+/**
+ * Class for starting jobs that depend on each other.
+ * In contrast to a {@link JobSequence}, a {@link JobGraph} executes all jobs whose dependencies are finished concurrently.
+ * </br>
+ * Each job can declare a set of resources (e.g., a project or a scheduling rule).
+ * Jobs that share a resource are never executed at the same time.
+ * The results of finished jobs can be queried by their dependents via {@link #getResult(LongRunningMethod)}.
+ * </br>
+ * Canceling the monitor of the graph cancels all running jobs.
+ * 
+ * @see JobSequence
+ */
+public final class JobGraph implements LongRunningMethod<Boolean> {
+
+	private static final ConcurrentHashMap<LongRunningMethod<?>, JobGraph> graphMap = new ConcurrentHashMap<>();
+
+	public static JobGraph getGraphForJob(LongRunningMethod<?> method) {
+		return graphMap.get(method);
+	}
+
+	private static final class Node {
+		private final LongRunningMethod<?> method;
+		private final List<Node> dependencies;
+		private final List<Node> dependents = new ArrayList<>();
+		private final Collection<?> resources;
+
+		private IRunner<?> runner = null;
+		private Object result = null;
+		private JobStatus status = JobStatus.NOT_STARTED;
+		private int remainingDependencies;
+
+		public Node(LongRunningMethod<?> method, List<Node> dependencies, Collection<?> resources) {
+			this.method = method;
+			this.dependencies = dependencies;
+			this.resources = resources;
+		}
+	}
+
+	private final LinkedHashMap<LongRunningMethod<?>, Node> nodes = new LinkedHashMap<>();
+	private final Set<Object> usedResources = new HashSet<>();
+
+	private int finishedJobs = 0;
+
+	private boolean ignoreDependencyFail = false;
+
+	/**
+	 * Adds a new job to the graph. The job is started after all of its dependencies are finished.
+	 * Jobs can also be added while the graph is executed (e.g., by a running job).
+	 * 
+	 * @param newJob the job to add
+	 * @param dependencies jobs that must be finished before the new job is started. All dependencies must already be part of the graph.
+	 * 
+	 * @throws IllegalArgumentException if the job is already part of the graph or a dependency is not part of the graph
+	 */
+	public void addJob(LongRunningMethod<?> newJob, LongRunningMethod<?>... dependencies) {
+		addJob(newJob, Collections.emptyList(), dependencies);
+	}
+
+	/**
+	 * Adds a new job to the graph. The job is started after all of its dependencies are finished and none of its resources is used by another running job.
+	 * Jobs can also be added while the graph is executed (e.g., by a running job).
+	 * 
+	 * @param newJob the job to add
+	 * @param resources the resources that are exclusively used by the new job
+	 * @param dependencies jobs that must be finished before the new job is started. All dependencies must already be part of the graph.
+	 * 
+	 * @throws IllegalArgumentException if the job is already part of the graph or a dependency is not part of the graph
+	 */
+	public void addJob(LongRunningMethod<?> newJob, Collection<?> resources, LongRunningMethod<?>... dependencies) {
+		synchronized (nodes) {
+			if (nodes.containsKey(newJob)) {
+				throw new IllegalArgumentException("Job is already part of the graph: " + newJob);
+			}
+			final List<Node> dependencyNodes = new ArrayList<>(dependencies.length);
+			for (LongRunningMethod<?> dependency : dependencies) {
+				final Node dependencyNode = nodes.get(dependency);
+				if (dependencyNode == null) {
+					throw new IllegalArgumentException("Dependency is not part of the graph: " + dependency);
+				}
+				dependencyNodes.add(dependencyNode);
+			}
+
+			final Node node = new Node(newJob, dependencyNodes, new ArrayList<>(resources));
+			for (Node dependencyNode : dependencyNodes) {
+				if (!isFinished(dependencyNode)) {
+					node.remainingDependencies++;
+					dependencyNode.dependents.add(node);
+				}
+			}
+			nodes.put(newJob, node);
+			graphMap.put(newJob, this);
+			nodes.notifyAll();
+		}
+	}
+
+	/**
+	 * Returns the result of a finished job.
+	 * 
+	 * @param job the job
+	 * @return the result of the job or {@code null} if the job is not finished or failed
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T getResult(LongRunningMethod<T> job) {
+		synchronized (nodes) {
+			final Node node = nodes.get(job);
+			return node != null ? (T) node.result : null;
+		}
+	}
+
+	/**
+	 * Returns the status of a job.
+	 * 
+	 * @param job the job
+	 * @return the status of the job or {@code null} if the job is not part of this graph
+	 */
+	public JobStatus getStatus(LongRunningMethod<?> job) {
+		synchronized (nodes) {
+			final Node node = nodes.get(job);
+			return node != null ? node.status : null;
+		}
+	}
+
+	public boolean ignoresDependencyFail() {
+		return ignoreDependencyFail;
+	}
+
+	/**
+	 * If {@code false}, jobs are not executed if one of their dependencies fails.
+	 * 
+	 * @param ignoreDependencyFail
+	 */
+	public void setIgnoreDependencyFail(boolean ignoreDependencyFail) {
+		this.ignoreDependencyFail = ignoreDependencyFail;
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder sb = new StringBuilder("JobGraph:");
+		synchronized (nodes) {
+			for (Node node : nodes.values()) {
+				sb.append("\n\t");
+				sb.append(node.method.toString());
+				if (!node.dependencies.isEmpty()) {
+					sb.append(" <- ");
+					for (Node dependency : node.dependencies) {
+						sb.append(dependency.method.toString());
+						sb.append(", ");
+					}
+					sb.setLength(sb.length() - 2);
+				}
+			}
+		}
+		return sb.toString();
+	}
+
+	@Override
+	public Boolean execute(final IMonitor monitor) throws Exception {
+		synchronized (nodes) {
+			monitor.setRemainingWork(nodes.size());
+		}
+		try {
+			while (true) {
+				monitor.checkCancel();
+				IRunner<?> waitingRunner = null;
+				synchronized (nodes) {
+					if (finishedJobs == nodes.size()) {
+						break;
+					}
+					for (final Node node : nodes.values()) {
+						if (node.status == JobStatus.NOT_STARTED && node.runner == null && node.remainingDependencies == 0) {
+							if (!ignoreDependencyFail && hasFailedDependency(node)) {
+								finish(node, JobStatus.FAILED, null);
+								monitor.worked();
+							} else if (Collections.disjoint(usedResources, node.resources)) {
+								start(node, node.method, monitor);
+							}
+						}
+					}
+					// execute a waiting job in this thread instead of blocking it
+					for (Node node : nodes.values()) {
+						if (node.runner != null && node.runner.getStatus() == JobStatus.NOT_STARTED) {
+							waitingRunner = node.runner;
+							break;
+						}
+					}
+					if (waitingRunner == null && finishedJobs < nodes.size()) {
+						nodes.wait(100);
+					}
+				}
+				if (waitingRunner != null) {
+					waitingRunner.join();
+				}
+			}
+		} catch (MethodCancelException | InterruptedException e) {
+			synchronized (nodes) {
+				for (Node node : nodes.values()) {
+					if (node.runner != null) {
+						node.runner.cancel();
+					}
+				}
+			}
+			throw e;
+		} finally {
+			synchronized (nodes) {
+				for (LongRunningMethod<?> job : nodes.keySet()) {
+					graphMap.remove(job);
+				}
+			}
+		}
+
+		synchronized (nodes) {
+			for (Node node : nodes.values()) {
+				if (node.status != JobStatus.OK) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	private <T> void start(final Node node, LongRunningMethod<T> method, IMonitor monitor) {
+		usedResources.addAll(node.resources);
+		final IRunner<T> runner = LongRunningWrapper.getThread(method, monitor.subTask(1));
+		runner.addJobFinishedListener(new JobFinishListener<T>() {
+			@Override
+			public void jobFinished(IJob<T> finishedJob) {
+				synchronized (nodes) {
+					usedResources.removeAll(node.resources);
+					finish(node, finishedJob.getStatus(), finishedJob.getResults());
+					nodes.notifyAll();
+				}
+			}
+		});
+		node.runner = runner;
+		runner.schedule();
+	}
+
+	private void finish(Node node, JobStatus status, Object result) {
+		node.status = status;
+		node.result = result;
+		finishedJobs++;
+		for (Node dependent : node.dependents) {
+			dependent.remainingDependencies--;
+		}
+	}
+
+	private boolean hasFailedDependency(Node node) {
+		for (Node dependency : node.dependencies) {
+			if (dependency.status != JobStatus.OK) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean isFinished(Node node) {
+		return node.status == JobStatus.OK || node.status == JobStatus.FAILED;
+	}
+
+}
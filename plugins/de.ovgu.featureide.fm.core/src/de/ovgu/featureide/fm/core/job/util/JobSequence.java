@@ -37,6 +37,8 @@ import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
  * executed independent of each other.
  * </br>
  * It is possible to wait for a sequence to finish.
+ * </br>
+ * Independent jobs or jobs with dependencies that are not linear should be executed by a {@link JobGraph}.
  * 
  * @author Sebastian Krieter
  */
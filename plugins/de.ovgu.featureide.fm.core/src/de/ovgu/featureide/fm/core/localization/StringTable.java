@@ -94,6 +94,8 @@ public class StringTable {
 	public static final String POSTPROCESS_GENERATED_FILES = "Postprocess generated files";
 	public static final String LOAD_MODEL = "Load Model";
 	public static final String CHECKING_CONFIGURATIONS = "Checking configurations";
+	public static final String LOADING_CONFIGURATIONS = "Loading configurations";
+	public static final String PROCESS_RESOURCE_CHANGES = "Process resource changes";
 	public static final String DELETE_CONFIGURATION_MARKERS = "Delete Configuration Markers";
 	public static final String CHECK_VALIDITY_OF = "Checking validity";
 	public static final String CONFIGURATION_ = "Configuration '";
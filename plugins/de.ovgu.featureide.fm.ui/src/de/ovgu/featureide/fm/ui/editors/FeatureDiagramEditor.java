@@ -82,6 +82,7 @@ import org.eclipse.ui.IWorkbenchActionConstants;
 import org.eclipse.ui.progress.UIJob;
 
 import de.ovgu.featureide.fm.core.ConstraintAttribute;
+import de.ovgu.featureide.fm.core.FeatureModelAnalysisTracker;
 import de.ovgu.featureide.fm.core.FeatureModelAnalyzer;
 import de.ovgu.featureide.fm.core.FeatureStatus;
 import de.ovgu.featureide.fm.core.Features;
@@ -238,6 +239,11 @@ public class FeatureDiagramEditor extends ScrollingGraphicalViewer implements GU
 
 	private FeatureModelAnalyzer analyzer;
 
+	/**
+	 * Remembers the displayed analysis results, such that only changed features and constraints are refreshed.
+	 */
+	private final FeatureModelAnalysisTracker analysisTracker = new FeatureModelAnalysisTracker();
+
 	final FeatureDiagramEditorKeyHandler editorKeyHandler;
 
 	/** The currently active explanation. */
@@ -806,31 +812,46 @@ public class FeatureDiagramEditor extends ScrollingGraphicalViewer implements GU
 	}
 
 	public void internRefresh(boolean onlyLayout) {
+		internRefresh(onlyLayout, null);
+	}
+
+	/**
+	 * @param subtreeRoot the root of the only subtree that needs a new layout, or {@code null} to lay out all features
+	 */
+	private void internRefresh(boolean onlyLayout, IGraphicalFeature subtreeRoot) {
 		if (getContents() == null)
 			return;
 
-		// TODO is this necessary?
-		FmOutlinePage outline = featureModelEditor.getOutlinePage();
-		if (outline != null) {
-			outline.setInput(getFeatureModel());
-		}
+		refreshOutline();
 
 		// refresh size of all feature figures
 		if (!onlyLayout)
 			getContents().refresh();
 
 		// layout all features if autoLayout is enabled
-		setLayout();
+		setLayout(subtreeRoot);
 
 		// refresh position of all feature figures
 		if (!onlyLayout)
 			getContents().refresh();
 	}
 
-	public void reload() {// TODO do not layout twice
-		//		internRefresh(true);
+	/**
+	 * Refreshes the edit parts of the feature model. Does not lay out the features, as {@link #propertyChange(FeatureIDEEvent)} does this once at the end.
+	 */
+	public void reload() {
 		((AbstractGraphicalEditPart) getEditPartRegistry().get(graphicalFeatureModel)).refresh();
-		internRefresh(true);
+		if (getContents() != null) {
+			refreshOutline();
+		}
+	}
+
+	private void refreshOutline() {
+		// TODO is this necessary?
+		FmOutlinePage outline = featureModelEditor.getOutlinePage();
+		if (outline != null) {
+			outline.setInput(getFeatureModel());
+		}
 	}
 
 	public void analyzeFeatureModel() {
@@ -873,22 +894,20 @@ public class FeatureDiagramEditor extends ScrollingGraphicalViewer implements GU
 							return true;
 						}
 
-						// TODO could be combined with analysis results
 						for (IFeature f : featureModelEditor.getFeatureModel().getFeatures()) {
 							f.getProperty().setFeatureStatus(FeatureStatus.NORMAL, false);
 						}
 						for (IConstraint c : featureModelEditor.getFeatureModel().getConstraints()) {
 							c.setConstraintAttribute(ConstraintAttribute.NORMAL, false);
 						}
-						refreshGraphics(null);
 
-						if (!runAnalysis) {
-							return true;
+						if (runAnalysis) {
+							analyzer = getFeatureModel().getAnalyser();
+							analyzer.analyzeFeatureModel(monitor);
 						}
 
-						analyzer = getFeatureModel().getAnalyser();
-						final HashMap<Object, Object> changedAttributes = analyzer.analyzeFeatureModel(monitor);
-						refreshGraphics(changedAttributes);
+						// only refresh features and constraints whose results differ from the displayed ones
+						refreshGraphics(analysisTracker.update(getFeatureModel()));
 						return true;
 					}
 				});
@@ -944,6 +963,13 @@ public class FeatureDiagramEditor extends ScrollingGraphicalViewer implements GU
 	}
 
 	public void setLayout() {
+		setLayout(null);
+	}
+
+	/**
+	 * @param subtreeRoot the root of the only subtree that needs a new layout, or {@code null} to lay out all features
+	 */
+	private void setLayout(IGraphicalFeature subtreeRoot) {
 		FeatureDiagramLayoutManager layoutManager = FeatureDiagramLayoutHelper.getLayoutManager(graphicalFeatureModel.getLayout().getLayoutAlgorithm(),
 				graphicalFeatureModel);
 
@@ -959,7 +985,7 @@ public class FeatureDiagramEditor extends ScrollingGraphicalViewer implements GU
 			Point size = getControl().getSize();
 			layoutManager.setControlSize(size.x, size.y);
 		}
-		layoutManager.layout(graphicalFeatureModel);
+		layoutManager.layout(graphicalFeatureModel, subtreeRoot);
 
 	}
 
@@ -980,6 +1006,10 @@ public class FeatureDiagramEditor extends ScrollingGraphicalViewer implements GU
 	@SuppressWarnings("unchecked")
 	public void propertyChange(FeatureIDEEvent event) {
 		final EventType prop = event.getEventType();
+		// the root of the only subtree that needs a new layout after the event, null for all features
+		IGraphicalFeature layoutRoot = null;
+		// false if the features are already laid out or their locations did not change
+		boolean layoutPending = true;
 		switch (prop) {
 		case FEATURE_ADD_ABOVE:
 			IFeature oldParent = (IFeature) event.getOldValue();
@@ -1043,9 +1073,11 @@ public class FeatureDiagramEditor extends ScrollingGraphicalViewer implements GU
 			final IFeature feature = graphicalFeatureModel.getFeatureModel().getFeature(newValue);
 			final IGraphicalFeature graphicalFeature = graphicalFeatureModel.getGraphicalFeature(feature);
 			graphicalFeature.update(event);
+			// the new name may change the width of the feature and thereby the locations of its siblings
+			layoutRoot = FeatureUIHelper.getGraphicalParent(graphicalFeature);
 			final FeatureEditPart part = (FeatureEditPart) getEditPartRegistry().get(graphicalFeature);
 			if (part != null) {// TODO move to FeatureEditPart
-				internRefresh(true);
+				internRefresh(true, layoutRoot);
 				deselectAll();
 				select(part);
 			} else {
@@ -1159,6 +1191,8 @@ public class FeatureDiagramEditor extends ScrollingGraphicalViewer implements GU
 			break;
 		case MODEL_LAYOUT_CHANGED:
 			reload();
+			setLayout();
+			layoutPending = false;
 			if (extraPath != null) {
 				FileHandler.save(Paths.get(extraPath), graphicalFeatureModel, format);
 			}
@@ -1166,6 +1200,7 @@ public class FeatureDiagramEditor extends ScrollingGraphicalViewer implements GU
 		case REDRAW_DIAGRAM:
 			getControl().setBackground(FMPropertyManager.getDiagramBackgroundColor());
 			reload();
+			analysisTracker.reset();
 			refreshGraphics(null);
 			refreshChildAll(graphicalFeatureModel.getFeatureModel().getStructure().getRoot().getFeature());
 			break;
@@ -1198,7 +1233,11 @@ public class FeatureDiagramEditor extends ScrollingGraphicalViewer implements GU
 				IFeature selectedFeature = (IFeature) event.getSource();
 				refreshChildAll(selectedFeature);
 			}
-			internRefresh(false);
+			if (event.getSource() instanceof IFeature) {
+				layoutRoot = graphicalFeatureModel.getGraphicalFeature((IFeature) event.getSource());
+			}
+			internRefresh(false, layoutRoot);
+			layoutPending = false;
 			analyzeFeatureModel();
 			featureModelEditor.setPageModified(true);
 
@@ -1256,12 +1295,14 @@ public class FeatureDiagramEditor extends ScrollingGraphicalViewer implements GU
 			}
 
 			reload();
+			analysisTracker.reset();
 			refreshGraphics(null);
 			break;
 		case DEPENDENCY_CALCULATED:
 			featureModelEditor.setPageModified(false);
 			break;
 		case ACTIVE_EXPLANATION_CHANGED:
+			layoutPending = false;
 			//Deactivate the old active explanation.
 			final Explanation oldActiveExplanation = (Explanation) event.getOldValue();
 			if (oldActiveExplanation != null) {
@@ -1307,7 +1348,9 @@ public class FeatureDiagramEditor extends ScrollingGraphicalViewer implements GU
 			page.propertyChange(event);
 		}
 
-		setLayout();
+		if (layoutPending) {
+			setLayout(layoutRoot);
+		}
 
 	}
 
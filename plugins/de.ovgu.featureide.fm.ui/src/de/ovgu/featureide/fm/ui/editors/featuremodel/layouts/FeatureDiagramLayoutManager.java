@@ -20,7 +20,10 @@
  */
 package de.ovgu.featureide.fm.ui.editors.featuremodel.layouts;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -29,6 +32,7 @@ import org.eclipse.draw2d.geometry.Dimension;
 import org.eclipse.draw2d.geometry.Point;
 import org.eclipse.draw2d.geometry.Rectangle;
 
+import de.ovgu.featureide.fm.core.base.IFeatureStructure;
 import de.ovgu.featureide.fm.core.functional.Functional;
 import de.ovgu.featureide.fm.ui.editors.FeatureUIHelper;
 import de.ovgu.featureide.fm.ui.editors.IGraphicalConstraint;
@@ -48,19 +52,157 @@ abstract public class FeatureDiagramLayoutManager {
 	protected int controlHeight = 10;
 	protected boolean showHidden, showCollapsedConstraints;
 
+	/**
+	 * Visible children of all features that are reachable from the root of the current layout run.
+	 * Taken once at the start of each layout run, such that the layout algorithms do not need to compute them repeatedly.
+	 */
+	private Map<IGraphicalFeature, List<IGraphicalFeature>> childrenSnapshot = Collections.emptyMap();
+
 	public final void layout(IGraphicalFeatureModel featureModel) {
 		showHidden = featureModel.getLayout().showHiddenFeatures();
 		FeatureUIHelper.showHiddenFeatures(showHidden, featureModel);
 		showCollapsedConstraints = featureModel.getLayout().showCollapsedConstraints();
 		FeatureUIHelper.showCollapsedConstraints(showCollapsedConstraints, featureModel);
-		layoutFeatureModel(featureModel);
+		childrenSnapshot = featureModel.getFeatureModel().getStructure().getRoot() == null ? new HashMap<IGraphicalFeature, List<IGraphicalFeature>>()
+				: createChildrenSnapshot(featureModel, FeatureUIHelper.getGraphicalRootFeature(featureModel));
+		try {
+			layoutFeatureModel(featureModel);
+			for (Entry<IGraphicalFeature, Point> entry : newLocations.entrySet()) {
+				entry.getKey().setLocation(entry.getValue());
+			}
+			if (!FMPropertyManager.isLegendHidden() && featureModel.getLayout().hasLegendAutoLayout()) {
+				layoutLegend(featureModel, showHidden);
+			}
+		} finally {
+			newLocations.clear();
+			childrenSnapshot = Collections.emptyMap();
+		}
+	}
+
+	/**
+	 * Lays out only the subtree below the given feature, for changes that do not affect the rest of the diagram (e.g., collapsing a feature).
+	 * The subtree is moved such that its root keeps its current location. If the new subtree would overlap any other feature or constraint,
+	 * or if the layout algorithm cannot lay out subtrees, the whole feature model is laid out instead.
+	 * 
+	 * @param featureModel the graphical feature model
+	 * @param subtreeRoot the root of the subtree to lay out, or {@code null} to lay out the whole feature model
+	 */
+	public final void layout(IGraphicalFeatureModel featureModel, IGraphicalFeature subtreeRoot) {
+		if (subtreeRoot == null || subtreeRoot.getObject().getStructure().isRoot() || subtreeRoot.getLocation() == null
+				|| subtreeRoot.hasCollapsedParent()) {
+			layout(featureModel);
+			return;
+		}
+		showHidden = featureModel.getLayout().showHiddenFeatures();
+		FeatureUIHelper.showHiddenFeatures(showHidden, featureModel);
+		showCollapsedConstraints = featureModel.getLayout().showCollapsedConstraints();
+		FeatureUIHelper.showCollapsedConstraints(showCollapsedConstraints, featureModel);
+		childrenSnapshot = createChildrenSnapshot(featureModel, subtreeRoot);
+		boolean fits = false;
+		try {
+			if (layoutSubtree(subtreeRoot)) {
+				final Point oldLocation = subtreeRoot.getLocation();
+				final Point newLocation = getLocation(subtreeRoot);
+				final int dx = oldLocation.x - newLocation.x;
+				final int dy = oldLocation.y - newLocation.y;
+				for (Entry<IGraphicalFeature, Point> entry : newLocations.entrySet()) {
+					entry.setValue(entry.getValue().getTranslated(dx, dy));
+				}
+				fits = fitsIntoDiagram(featureModel);
+				if (fits) {
+					for (Entry<IGraphicalFeature, Point> entry : newLocations.entrySet()) {
+						entry.getKey().setLocation(entry.getValue());
+					}
+					if (!FMPropertyManager.isLegendHidden() && featureModel.getLayout().hasLegendAutoLayout()) {
+						layoutLegend(featureModel, showHidden);
+					}
+				}
+			}
+		} finally {
+			newLocations.clear();
+			childrenSnapshot = Collections.emptyMap();
+		}
+		if (!fits) {
+			layout(featureModel);
+		}
+	}
+
+	/**
+	 * Computes the locations of the given subtree only, such that the rest of the diagram can keep its locations.
+	 * The subtree may be placed anywhere, it is moved afterwards.
+	 * 
+	 * @param subtreeRoot the root of the subtree
+	 * @return {@code false} if this layout cannot lay out subtrees on their own
+	 */
+	protected boolean layoutSubtree(IGraphicalFeature subtreeRoot) {
+		return false;
+	}
+
+	/**
+	 * Checks whether the newly computed locations of a subtree keep the feature space to all other visible features and constraints.
+	 * The subtree features are grouped by rows, such that each other element only needs to be compared with each row.
+	 */
+	private boolean fitsIntoDiagram(IGraphicalFeatureModel featureModel) {
+		final Map<Integer, Rectangle> rows = new HashMap<>();
 		for (Entry<IGraphicalFeature, Point> entry : newLocations.entrySet()) {
-			entry.getKey().setLocation(entry.getValue());
+			final Rectangle bounds = getBounds(entry.getKey());
+			final Rectangle row = rows.get(bounds.y);
+			if (row == null) {
+				rows.put(bounds.y, bounds);
+			} else {
+				row.union(bounds);
+			}
+		}
+		for (Rectangle row : rows.values()) {
+			row.expand(FMPropertyManager.getFeatureSpaceX(), 0);
+		}
+
+		for (IGraphicalFeature feature : featureModel.getVisibleFeatures()) {
+			if (!newLocations.containsKey(feature) && feature.getLocation() != null && intersects(rows, FeatureUIHelper.getBounds(feature))) {
+				return false;
+			}
+		}
+		for (IGraphicalConstraint constraint : featureModel.getVisibleConstraints()) {
+			if (constraint.getLocation() != null && intersects(rows, FeatureUIHelper.getBounds(constraint))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean intersects(Map<Integer, Rectangle> rows, Rectangle bounds) {
+		for (Rectangle row : rows.values()) {
+			if (row.intersects(bounds)) {
+				return true;
+			}
 		}
-		if (!FMPropertyManager.isLegendHidden() && featureModel.getLayout().hasLegendAutoLayout()) {
-			layoutLegend(featureModel, showHidden);
+		return false;
+	}
+
+	/**
+	 * Computes the visible children of all features in one pass from the given feature.
+	 * A feature has no visible children if it is collapsed. Features below a collapsed feature are not reachable.
+	 */
+	private static Map<IGraphicalFeature, List<IGraphicalFeature>> createChildrenSnapshot(IGraphicalFeatureModel featureModel, IGraphicalFeature start) {
+		final Map<IGraphicalFeature, List<IGraphicalFeature>> snapshot = new HashMap<>();
+		final LinkedList<IGraphicalFeature> stack = new LinkedList<>();
+		stack.push(start);
+		while (!stack.isEmpty()) {
+			final IGraphicalFeature feature = stack.pop();
+			if (feature.isCollapsed()) {
+				snapshot.put(feature, Collections.<IGraphicalFeature> emptyList());
+			} else {
+				final List<IFeatureStructure> childStructures = feature.getObject().getStructure().getChildren();
+				final List<IGraphicalFeature> children = new ArrayList<>(childStructures.size());
+				for (IFeatureStructure childStructure : childStructures) {
+					final IGraphicalFeature child = featureModel.getGraphicalFeature(childStructure.getFeature());
+					children.add(child);
+					stack.push(child);
+				}
+				snapshot.put(feature, Collections.unmodifiableList(children));
+			}
 		}
-		newLocations.clear();
+		return snapshot;
 	}
 
 	/**
@@ -254,7 +396,18 @@ abstract public class FeatureDiagramLayoutManager {
 		return new Rectangle(getLocation(feature), feature.getSize());
 	}
 
+	/**
+	 * @return the visible children of the given feature, which must not be modified
+	 */
 	protected List<IGraphicalFeature> getChildren(IGraphicalFeature feature) {
+		final List<IGraphicalFeature> children = childrenSnapshot.get(feature);
+		if (children != null) {
+			return children;
+		}
 		return Functional.toList(feature.getGraphicalChildren());
 	}
+
+	protected boolean hasChildren(IGraphicalFeature feature) {
+		return !getChildren(feature).isEmpty();
+	}
 }
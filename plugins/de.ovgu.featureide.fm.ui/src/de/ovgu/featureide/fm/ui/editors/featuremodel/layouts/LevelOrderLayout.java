@@ -20,6 +20,7 @@
  */
 package de.ovgu.featureide.fm.ui.editors.featuremodel.layouts;
 
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
@@ -57,12 +58,18 @@ public class LevelOrderLayout extends FeatureDiagramLayoutManager {
 		layout(featureDiagramBottom, featureModel.getVisibleConstraints());
 	}
 
+	@Override
+	protected boolean layoutSubtree(IGraphicalFeature subtreeRoot) {
+		layout(subtreeRoot);
+		return true;
+	}
+
 	private void layout(IGraphicalFeature root) {
-		LinkedList<LinkedList<IGraphicalFeature>> levels = calculateLevels(root);
+		LinkedList<List<IGraphicalFeature>> levels = calculateLevels(root);
 
 		int i = levels.size() - 1;
-		for (Iterator<LinkedList<IGraphicalFeature>> iterator = levels.descendingIterator(); iterator.hasNext();) {
-			LinkedList<IGraphicalFeature> level = iterator.next();
+		for (Iterator<List<IGraphicalFeature>> iterator = levels.descendingIterator(); iterator.hasNext();) {
+			List<IGraphicalFeature> level = iterator.next();
 			layoutLevelInY(level, i--);
 			layoutLevelInX(level);
 		}
@@ -72,31 +79,35 @@ public class LevelOrderLayout extends FeatureDiagramLayoutManager {
 		featureDiagramBottom = FMPropertyManager.getLayoutMarginY() + FMPropertyManager.getFeatureSpaceY() * (levels.size() - 1);
 	}
 
-	private void layoutLevelInY(LinkedList<IGraphicalFeature> level, int i) {
+	private void layoutLevelInY(List<IGraphicalFeature> level, int i) {
 		int y = FMPropertyManager.getLayoutMarginY() + FMPropertyManager.getFeatureSpaceY() * i;
 		for (IGraphicalFeature feature : level)
 			setLocation(feature, new Point(0, y));
 	}
 
-	private void layoutLevelInX(LinkedList<IGraphicalFeature> level) {
+	private void layoutLevelInX(List<IGraphicalFeature> level) {
 		for (IGraphicalFeature feature : level)
-			if (!feature.isCollapsed() && feature.getGraphicalChildren().size() > 0) {
+			if (!feature.isCollapsed() && hasChildren(feature)) {
 				centerAboveChildren(feature);
 			}
 
 		IGraphicalFeature lastFeature = null;
 		int moveWidth = 0;
+		boolean compoundSibling = false;
 		for (int j = 0; j < level.size(); j++) {
-			moveWidth = layoutFeatureInX(level, j, moveWidth, lastFeature);
+			moveWidth = layoutFeatureInX(level, j, moveWidth, lastFeature, compoundSibling);
 			lastFeature = level.get(j);
+			compoundSibling |= hasChildren(lastFeature);
 		}
 	}
 
-	private int layoutFeatureInX(LinkedList<IGraphicalFeature> level, int j, int moveWidth, IGraphicalFeature lastFeature) {
+	/**
+	 * @param compoundSibling whether any feature left of the current feature has children
+	 */
+	private int layoutFeatureInX(List<IGraphicalFeature> level, int j, int moveWidth, IGraphicalFeature lastFeature, boolean compoundSibling) {
 		IGraphicalFeature feature = level.get(j);
-		boolean firstCompound = true;
 		
-		if (feature.getGraphicalChildren().size() == 0)
+		if (!hasChildren(feature))
 			nextToLeftSibling(feature, lastFeature);
 		else {
 			if (lastFeature != null)
@@ -104,21 +115,14 @@ public class LevelOrderLayout extends FeatureDiagramLayoutManager {
 			if (moveWidth > 0)
 				moveTree(feature, moveWidth);
 			layoutSiblingsEquidistant(level, j, feature);
-			if (firstCompound) {
-				firstCompound = false;
-				boolean compoundSibling = false;
+			if (!compoundSibling)
 				for (int k = j - 1; k >= 0; k--)
-					if (level.get(k).getGraphicalChildren().size() > 0)
-						compoundSibling = true;
-				if (!compoundSibling)
-					for (int k = j - 1; k >= 0; k--)
-						nextToRightSibling(level.get(k), level.get(k + 1));
-			}
+					nextToRightSibling(level.get(k), level.get(k + 1));
 		}
 		return moveWidth;
 	}
 
-	private void layoutSiblingsEquidistant(LinkedList<IGraphicalFeature> level, int j, IGraphicalFeature feature) {
+	private void layoutSiblingsEquidistant(List<IGraphicalFeature> level, int j, IGraphicalFeature feature) {
 		int width = FMPropertyManager.getFeatureSpaceX();
 		int l = 0;
 		int space = 0;
@@ -129,7 +133,7 @@ public class LevelOrderLayout extends FeatureDiagramLayoutManager {
 				l = k + 1;
 				break;
 			}
-			if (sibling.getGraphicalChildren().size() > 0) {
+			if (hasChildren(sibling)) {
 				l = k + 1;
 				right = false;
 				space = getBounds(feature).x - getBounds(sibling).right() - width;
@@ -148,15 +152,16 @@ public class LevelOrderLayout extends FeatureDiagramLayoutManager {
 		}
 	}
 
-	private LinkedList<LinkedList<IGraphicalFeature>> calculateLevels(IGraphicalFeature root) {
-		LinkedList<LinkedList<IGraphicalFeature>> levels = new LinkedList<LinkedList<IGraphicalFeature>>();
+	private LinkedList<List<IGraphicalFeature>> calculateLevels(IGraphicalFeature root) {
+		LinkedList<List<IGraphicalFeature>> levels = new LinkedList<List<IGraphicalFeature>>();
 
-		LinkedList<IGraphicalFeature> level = new LinkedList<IGraphicalFeature>();
+		// array lists, as the levels are accessed by index
+		List<IGraphicalFeature> level = new ArrayList<IGraphicalFeature>();
 		level.add(root);
 
 		while (!level.isEmpty()) {
 			levels.add(level);
-			LinkedList<IGraphicalFeature> newLevel = new LinkedList<IGraphicalFeature>();
+			List<IGraphicalFeature> newLevel = new ArrayList<IGraphicalFeature>();
 			for (IGraphicalFeature feature : level) {
 				for (IGraphicalFeature child : getChildren(feature)) {
 					newLevel.add(child);
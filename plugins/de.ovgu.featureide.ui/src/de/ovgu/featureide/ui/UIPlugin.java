@@ -26,6 +26,7 @@ import org.osgi.framework.BundleContext;
 
 import de.ovgu.featureide.fm.ui.AbstractUIPlugin;
 import de.ovgu.featureide.ui.editors.annotation.EditorTracker;
+import de.ovgu.featureide.ui.statistics.core.composite.lazyimplementations.LOCCache;
 
 /**
  * The activator class controls the plug-in life cycle.
@@ -61,6 +62,7 @@ public class UIPlugin extends AbstractUIPlugin {
 		if (editorTracker != null) {
 		    editorTracker.dispose();
 		}
+		LOCCache.dispose();
 		
 		super.stop(context);
 	}
@@ -24,6 +24,7 @@ import static de.ovgu.featureide.fm.core.localization.StringTable.CANT_CONNECT_T
 import static de.ovgu.featureide.fm.core.localization.StringTable.CANT_DISCONNECT_FROM_DIFFERENT_DOCUMENT_;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -40,6 +41,9 @@ import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IDocumentListener;
+import org.eclipse.jface.text.ITextOperationTarget;
+import org.eclipse.jface.text.ITextViewer;
+import org.eclipse.jface.text.IViewportListener;
 import org.eclipse.jface.text.Position;
 import org.eclipse.jface.text.source.Annotation;
 import org.eclipse.jface.text.source.AnnotationModelEvent;
@@ -47,6 +51,7 @@ import org.eclipse.jface.text.source.IAnnotationModel;
 import org.eclipse.jface.text.source.IAnnotationModelExtension;
 import org.eclipse.jface.text.source.IAnnotationModelListener;
 import org.eclipse.jface.text.source.IAnnotationModelListenerExtension;
+import org.eclipse.swt.widgets.Display;
 import org.eclipse.ui.IEditorInput;
 import org.eclipse.ui.IEditorPart;
 import org.eclipse.ui.IPropertyListener;
@@ -87,12 +92,21 @@ public final class ColorAnnotationModel implements IAnnotationModel {
 
 	private static boolean highlighting = true;
 
+	/** Time in milliseconds after the last change of the line structure until the directives are parsed again. */
+	private static final int REPARSE_DELAY = 500;
+
 	/** List of current ColorAnnotations */
 	private List<ColorAnnotation> annotations = new ArrayList<ColorAnnotation>(32);
 	private HashMap<Integer, Position> annotatedPositions = new HashMap<Integer, Position>();
 
 	private HashMap<Integer, FSTDirective> directiveMap = new HashMap<Integer, FSTDirective>();
 	private LinkedList<FSTDirective> validDirectiveList = new LinkedList<FSTDirective>();
+	private DirectiveIndex directiveIndex = new DirectiveIndex(validDirectiveList);
+
+	/** Lines for which the line based annotations are already created. */
+	private final BitSet annotatedLines = new BitSet();
+	/** The feature of a source file of a feature oriented project, which is shown at each line. */
+	private FSTFeature lineFeature = null;
 
 	/** List of registered IAnnotationModelListener */
 	private Set<IAnnotationModelListener> annotationModelListeners = new HashSet<IAnnotationModelListener>(2);
@@ -101,9 +115,11 @@ public final class ColorAnnotationModel implements IAnnotationModel {
 	private final IFeatureProject project;
 	private final IComposerExtensionClass composer;
 	private final IFile file;
+	private final ITextViewer viewer;
 
 	private int openConnections = 0;
 	private int docLines, docLength;
+	private int changedFirstLine = -1, changedLastLine = -1;
 
 	private IEventListener colorChangeListener = new IEventListener() {
 		@Override
@@ -116,7 +132,9 @@ public final class ColorAnnotationModel implements IAnnotationModel {
 		public void documentChanged(DocumentEvent event) {
 			IDocument newDoc = event.getDocument();
 			if (docLines != newDoc.getNumberOfLines()) {
-				updateAnnotations(false);
+				if (!shiftDirectives(newDoc.getNumberOfLines() - docLines)) {
+					updateAnnotations(false);
+				}
 				docLines = newDoc.getNumberOfLines();
 				docLength = newDoc.getLength();
 			} else {
@@ -126,6 +144,36 @@ public final class ColorAnnotationModel implements IAnnotationModel {
 
 		@Override
 		public void documentAboutToBeChanged(DocumentEvent event) {
+			try {
+				changedFirstLine = document.getLineOfOffset(event.getOffset());
+				changedLastLine = document.getLineOfOffset(event.getOffset() + event.getLength());
+			} catch (BadLocationException e) {
+				changedFirstLine = -1;
+				changedLastLine = -1;
+			}
+		}
+	};
+	private IViewportListener viewportListener = new IViewportListener() {
+		@Override
+		public void viewportChanged(int verticalOffset) {
+			final AnnotationModelEvent event = new AnnotationModelEvent(ColorAnnotationModel.this);
+			createVisibleAnnotations(event);
+			fireModelChanged(event);
+		}
+	};
+	private final Runnable reparseRunnable = new Runnable() {
+		@Override
+		public void run() {
+			if (openConnections > 0) {
+				updateAnnotations(false);
+			}
+		}
+	};
+	/** Restarts the delay of {@link #reparseRunnable}. Must be run in the UI thread. */
+	private final Runnable scheduleReparseRunnable = new Runnable() {
+		@Override
+		public void run() {
+			Display.getDefault().timerExec(REPARSE_DELAY, reparseRunnable);
 		}
 	};
 
@@ -135,6 +183,9 @@ public final class ColorAnnotationModel implements IAnnotationModel {
 		this.file = file;
 		composer = project.getComposer();
 
+		final Object target = editor.getAdapter(ITextOperationTarget.class);
+		viewer = (target instanceof ITextViewer) ? (ITextViewer) target : null;
+
 		docLines = document.getNumberOfLines();
 		docLength = document.getLength();
 
@@ -159,8 +210,8 @@ public final class ColorAnnotationModel implements IAnnotationModel {
 	
 	public IFeature getFeature(int line){
 		FSTDirective found = null;
-		for(FSTDirective fst : validDirectiveList){
-			if(fst.getStartLine() <= line && line <= fst.getEndLine()){
+		for(FSTDirective fst : directiveIndex.getDirectives(line)){
+			if(directiveIndex.getStartLine(fst) <= line && line <= directiveIndex.getEndLine(fst)){
 				found = fst;
 			}
 		}
@@ -269,6 +320,31 @@ public final class ColorAnnotationModel implements IAnnotationModel {
 		fireModelChanged(modelEvent);
 	}
 
+	/**
+	 * This method is called, when the number of lines of the document changed.
+	 * 
+	 * If no start or end line of a directive was edited, the lines after the changed lines are moved in the {@link DirectiveIndex}
+	 * and only the annotations are recreated. The directives themselves belong to the shared {@link FSTModel} and are not modified.
+	 * The directives are parsed again after a short delay to recognize directives that were added by the change.
+	 * 
+	 * @param lineDelta the number of added (positive) or removed (negative) lines
+	 * @return {@code true} if the directives could be moved, {@code false} if they must be parsed again immediately
+	 */
+	private boolean shiftDirectives(int lineDelta) {
+		if (directiveMap.isEmpty() || changedFirstLine < 0 || project.getComposer().getGenerationMechanism() == Mechanism.FEATURE_ORIENTED_PROGRAMMING
+				|| directiveIndex.hasBoundary(changedFirstLine, changedLastLine)) {
+			return false;
+		}
+		directiveIndex = directiveIndex.shift(changedLastLine, lineDelta);
+		if (!annotations.isEmpty()) {
+			clear();
+		}
+		createAnnotations();
+		// the document may be changed outside the UI thread
+		Display.getDefault().asyncExec(scheduleReparseRunnable);
+		return true;
+	}
+
 	/**
 	 * This method is called, when the document is saved or
 	 * when the document and the number of lines are changed.
@@ -293,6 +369,7 @@ public final class ColorAnnotationModel implements IAnnotationModel {
 				}
 			} else {
 				createDirectiveList();
+				directiveIndex = new DirectiveIndex(validDirectiveList);
 				createAnnotations();
 			}
 		} else {
@@ -306,6 +383,7 @@ public final class ColorAnnotationModel implements IAnnotationModel {
 			if (!directiveMap.isEmpty()) {
 				annotatedPositions.clear();
 				updateDirectives();
+				directiveIndex = new DirectiveIndex(validDirectiveList);
 				createAnnotations();
 			}
 
@@ -321,6 +399,7 @@ public final class ColorAnnotationModel implements IAnnotationModel {
 			event.annotationRemoved(ca, ca.getPosition());
 		}
 		annotations.clear();
+		annotatedLines.clear();
 
 		fireModelChanged(event);
 	}
@@ -343,14 +422,10 @@ public final class ColorAnnotationModel implements IAnnotationModel {
 			return;
 		}
 
-		for (FSTFeature fstFeature : model.getFeatures()) {
-			for (FSTRole role : fstFeature.getRoles()) {
-				if (file.equals(role.getFile())) {
-					for (FSTDirective dir : role.getDirectives()) {
-						directiveMap.put(dir.getId(), dir);
-						validDirectiveList.add(dir);
-					}
-				}
+		for (FSTRole role : model.getRoles(file)) {
+			for (FSTDirective dir : role.getDirectives()) {
+				directiveMap.put(dir.getId(), dir);
+				validDirectiveList.add(dir);
 			}
 		}
 	}
@@ -390,9 +465,10 @@ public final class ColorAnnotationModel implements IAnnotationModel {
 	 * Retrieves the FSTDirectives from the changed document.
 	 */
 	private LinkedList<FSTDirective> getNewDirectives() {
-		Vector<String> lines = new Vector<String>();
+		final int numberOfLines = document.getNumberOfLines();
+		Vector<String> lines = new Vector<String>(numberOfLines);
 
-		for (int i = 0; i < document.getNumberOfLines(); i++) {
+		for (int i = 0; i < numberOfLines; i++) {
 			try {
 				lines.add(document.get(document.getLineOffset(i), document.getLineLength(i)));
 			} catch (BadLocationException e) {
@@ -419,6 +495,7 @@ public final class ColorAnnotationModel implements IAnnotationModel {
 		}
 
 		clear();
+		lineFeature = null;
 
 		if (file.getParent() instanceof IFolder) {
 			if (isInBuildFolder((IFolder) file.getParent())) {
@@ -450,14 +527,9 @@ public final class ColorAnnotationModel implements IAnnotationModel {
 					FSTFeature fstFeature = model.getFeature(featureName);
 					if (fstFeature != null) {
 						// bar at the left of the editor
-						final int color = fstFeature.getColor();
-						for (int line = 0; line < document.getNumberOfLines(); line++) {
-							Position position = new Position(document.getLineOffset(line), 1);
-							ColorAnnotation cafh = new ColorAnnotation(color, position, ColorAnnotation.TYPE_IMAGE);
-							cafh.setText(fstFeature.getName());
-							annotations.add(cafh);
-							event.annotationAdded(cafh);
-						}
+						lineFeature = fstFeature;
+						createVisibleAnnotations(event);
+						fireModelChanged(event);
 					}
 				}
 			}
@@ -539,7 +611,9 @@ public final class ColorAnnotationModel implements IAnnotationModel {
 	}
 
 	/**
-	 * Creates the color annotations from the FSTDirectives.
+	 * Creates the color annotations from the FSTDirectives and the lines of the current {@link DirectiveIndex}.<br>
+	 * The overview ruler annotations are created for the whole document,
+	 * the line based annotations only for the lines around the visible area of the editor.
 	 */
 	private void createAnnotations() {
 		AnnotationModelEvent event = new AnnotationModelEvent(this);
@@ -549,83 +623,140 @@ public final class ColorAnnotationModel implements IAnnotationModel {
 				continue;
 			}
 			try {
-				int startline = directive.getStartLine();
-				int endline = getLastChildLine(directive, directive.getEndLine());
-				final int color = directive.getColor();
-				int overViewStartOffset = document.getLineOffset(startline);
-				int overViewLength = 0;
-				for (int line = startline; line <= endline; line++) {
-						int length = document.getLineLength(line);
-						if (line < endline || directive.getEndLength() > 0) {
-						int lineOffset = document.getLineOffset(line);
-
-						if (line == directive.getEndLine()) {
-							length = directive.getEndLength();
-						}
-						if (line == startline) {
-							lineOffset += directive.getStartOffset();
-							length -= directive.getStartOffset();
-						}
-
-						if (hasChildAtLine(directive, line)) {
-							length = 1;
-						}
-
-						if (overViewStartOffset != -1 && hasChildAtLineWithColor(directive, line)) {
-							Position overViewPos = new Position(overViewStartOffset, overViewLength);
-							createOverViewRuler(event, directive, color, overViewPos);
-							overViewStartOffset = -1;
-							overViewLength = 0;
-						} else if (!hasChildAtLineWithColor(directive, line)) {
-							if (overViewStartOffset == -1) {
-								overViewStartOffset = document.getLineOffset(line);
-							}
-							overViewLength += document.getLineLength(line);
-						}
-
-						FSTDirective parent = directive.getParent();
-						while (parent != null) {
-							lineOffset++;
-							if (length > 1) {
-								length--;
-							}
-							parent = parent.getParent();
-						}
-						Position newPos = new Position(lineOffset, length);
-
-						if (!hasChildAtLine(directive, line)) {
-							// bar at the left of the editor
-							ColorAnnotation ca = new ColorAnnotation(color, newPos, ColorAnnotation.TYPE_IMAGE);
-							ca.setText(directive.toString());
-							annotations.add(ca);
-							event.annotationAdded(ca);
-						}
-						if (!hasChildAtLine(directive, line)) {
-							// bar at the right of the editor
-
-						}
-						if (highlighting) {
-							// background colors
-							ColorAnnotation ca = new ColorAnnotation(color, newPos, ColorAnnotation.TYPE_HIGHLIGHT);
-							ca.setText(directive.toDependencyString());
-							annotations.add(ca);
-							event.annotationAdded(ca);
-						}
-					}
+				createOverViewAnnotations(event, directive);
+			} catch (BadLocationException e) {
+				LogService.getInstance().log(LogLevel.DEBUG, e.getMessage());
+			}
+		}
+		createVisibleAnnotations(event);
 
-				}
-				if (overViewStartOffset != -1) {
+		fireModelChanged(event);
+	}
+
+	/**
+	 * Creates the overview ruler annotations of the given directive.
+	 * Lines of nested directives with a color are excluded.
+	 */
+	private void createOverViewAnnotations(AnnotationModelEvent event, FSTDirective directive) throws BadLocationException {
+		int startline = directiveIndex.getStartLine(directive);
+		int endline = directiveIndex.getLastLine(directive);
+		final int color = directive.getColor();
+		int overViewStartOffset = document.getLineOffset(startline);
+		int overViewLength = 0;
+		for (int line = startline; line <= endline; line++) {
+			if (line < endline || directive.getEndLength() > 0) {
+				final boolean hasChildWithColor = hasChildAtLineWithColor(directive, line);
+				if (overViewStartOffset != -1 && hasChildWithColor) {
 					Position overViewPos = new Position(overViewStartOffset, overViewLength);
 					createOverViewRuler(event, directive, color, overViewPos);
 					overViewStartOffset = -1;
 					overViewLength = 0;
+				} else if (!hasChildWithColor) {
+					if (overViewStartOffset == -1) {
+						overViewStartOffset = document.getLineOffset(line);
+					}
+					overViewLength += document.getLineLength(line);
 				}
+			}
+		}
+		if (overViewStartOffset != -1) {
+			Position overViewPos = new Position(overViewStartOffset, overViewLength);
+			createOverViewRuler(event, directive, color, overViewPos);
+		}
+	}
+
+	/**
+	 * Creates the line based annotations for all lines around the visible area of the editor,
+	 * which have not been annotated yet.
+	 * If the editor has no text viewer, all lines are annotated.
+	 */
+	private void createVisibleAnnotations(AnnotationModelEvent event) {
+		int fromLine = 0;
+		int toLine = document.getNumberOfLines() - 1;
+		if (viewer != null) {
+			final int topLine = viewer.getTopIndex();
+			final int bottomLine = viewer.getBottomIndex();
+			if (topLine >= 0 && bottomLine >= topLine) {
+				// one additional page above and below the visible area
+				final int margin = bottomLine - topLine + 1;
+				fromLine = Math.max(fromLine, topLine - margin);
+				toLine = Math.min(toLine, bottomLine + margin);
+			}
+		}
+		for (int line = annotatedLines.nextClearBit(fromLine); line <= toLine; line = annotatedLines.nextClearBit(line + 1)) {
+			try {
+				createLineAnnotations(event, line);
 			} catch (BadLocationException e) {
 				LogService.getInstance().log(LogLevel.DEBUG, e.getMessage());
 			}
+			annotatedLines.set(line);
+		}
+	}
+
+	private void createLineAnnotations(AnnotationModelEvent event, int line) throws BadLocationException {
+		if (lineFeature != null) {
+			Position position = new Position(document.getLineOffset(line), 1);
+			ColorAnnotation cafh = new ColorAnnotation(lineFeature.getColor(), position, ColorAnnotation.TYPE_IMAGE);
+			cafh.setText(lineFeature.getName());
+			annotations.add(cafh);
+			event.annotationAdded(cafh);
+		} else {
+			for (FSTDirective directive : directiveIndex.getDirectives(line)) {
+				createLineAnnotations(event, directive, line);
+			}
 		}
+	}
 
-		fireModelChanged(event);
+	/**
+	 * Creates the bar at the left of the editor and the background color of the given directive at the given line.
+	 */
+	private void createLineAnnotations(AnnotationModelEvent event, FSTDirective directive, int line) throws BadLocationException {
+		int startline = directiveIndex.getStartLine(directive);
+		int endline = directiveIndex.getLastLine(directive);
+		if (line < startline || line > endline || (line == endline && directive.getEndLength() <= 0)) {
+			return;
+		}
+		final int color = directive.getColor();
+		int length = document.getLineLength(line);
+		int lineOffset = document.getLineOffset(line);
+
+		if (line == directiveIndex.getEndLine(directive)) {
+			length = directive.getEndLength();
+		}
+		if (line == startline) {
+			lineOffset += directive.getStartOffset();
+			length -= directive.getStartOffset();
+		}
+
+		final boolean hasChild = hasChildAtLine(directive, line);
+		if (hasChild) {
+			length = 1;
+		}
+
+		FSTDirective parent = directive.getParent();
+		while (parent != null) {
+			lineOffset++;
+			if (length > 1) {
+				length--;
+			}
+			parent = parent.getParent();
+		}
+		Position newPos = new Position(lineOffset, length);
+
+		if (!hasChild) {
+			// bar at the left of the editor
+			ColorAnnotation ca = new ColorAnnotation(color, newPos, ColorAnnotation.TYPE_IMAGE);
+			ca.setText(directive.toString());
+			annotations.add(ca);
+			event.annotationAdded(ca);
+		}
+		if (highlighting) {
+			// background colors
+			ColorAnnotation ca = new ColorAnnotation(color, newPos, ColorAnnotation.TYPE_HIGHLIGHT);
+			ca.setText(directive.toDependencyString());
+			annotations.add(ca);
+			event.annotationAdded(ca);
+		}
 	}
 
 	/**
@@ -662,31 +793,22 @@ public final class ColorAnnotationModel implements IAnnotationModel {
 	}
 
 	private boolean hasChildAtLine(FSTDirective directive, int line, boolean hasValidColor) {
-		for (FSTDirective child : directive.getChildren()) {
-			int start = child.getStartLine();
-			int end = child.getEndLine();
-
-			if (line >= start && line <= end && (!hasValidColor || child.getColor() != FeatureColor.NO_COLOR.getValue())) {
-				return true;
-			}
-			if (hasChildAtLine(child, line, hasValidColor)) {
+		for (FSTDirective child : directiveIndex.getDirectives(line)) {
+			if (child != directive && line >= directiveIndex.getStartLine(child) && line <= directiveIndex.getEndLine(child)
+					&& (!hasValidColor || child.getColor() != FeatureColor.NO_COLOR.getValue()) && isNestedIn(child, directive)) {
 				return true;
 			}
-
 		}
 		return false;
 	}
 
-	private int getLastChildLine(FSTDirective directive, int lastLine) {
-		for (FSTDirective child : directive.getChildren()) {
-			int childEnd = child.getEndLine();
-			if (child.getEndLength() > 0) {
-				childEnd++;
+	private static boolean isNestedIn(FSTDirective child, FSTDirective directive) {
+		for (FSTDirective parent = child.getParent(); parent != null; parent = parent.getParent()) {
+			if (parent == directive) {
+				return true;
 			}
-			lastLine = Math.max(childEnd, lastLine);
-			lastLine = Math.max(getLastChildLine(child, lastLine), lastLine);
 		}
-		return lastLine;
+		return false;
 	}
 
 	private void fireModelChanged(AnnotationModelEvent event) {
@@ -727,6 +849,9 @@ public final class ColorAnnotationModel implements IAnnotationModel {
 		}
 		if (openConnections++ == 0) {
 			document.addDocumentListener(documentListener);
+			if (viewer != null) {
+				viewer.addViewportListener(viewportListener);
+			}
 		}
 	}
 
@@ -739,6 +864,10 @@ public final class ColorAnnotationModel implements IAnnotationModel {
 		}
 		if (--openConnections == 0) {
 			document.removeDocumentListener(documentListener);
+			if (viewer != null) {
+				viewer.removeViewportListener(viewportListener);
+			}
+			Display.getDefault().timerExec(-1, reparseRunnable);
 		}
 		FeatureColorManager.removeListener(colorChangeListener);
 	}
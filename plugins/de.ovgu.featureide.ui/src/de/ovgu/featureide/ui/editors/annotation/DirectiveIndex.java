@@ -0,0 +1,250 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2016  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ * 
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.ui.editors.annotation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+import de.ovgu.featureide.core.fstmodel.preprocessor.FSTDirective;
+
+/**
+ * Interval tree over the line ranges of the directives of one file.<br>
+ * The directives are sorted by their start line and form an implicit balanced tree,
+ * in which every node stores the maximal last line of its subtree.
+ * Thus, all directives at a line (or within a range of lines) are found in logarithmic time plus the size of the result.
+ * 
+ * The range of a directive reaches from its start line to the last line of its nested children (see {@link #getLastLine(FSTDirective)}).
+ * 
+ * The index keeps its own copy of the lines, which can be moved by {@link #shift(int, int)} without modifying the directives.
+ * Thus, the lines of the index must be used instead of the lines of the directives.
+ */
+final class DirectiveIndex {
+
+	private static final Comparator<FSTDirective> START_LINE_COMPARATOR = new Comparator<FSTDirective>() {
+		@Override
+		public int compare(FSTDirective o1, FSTDirective o2) {
+			return Integer.compare(o1.getStartLine(), o2.getStartLine());
+		}
+	};
+
+	private final FSTDirective[] directives;
+	private final int[] startLines;
+	private final int[] endLines;
+	private final int[] lastLines;
+	private final int[] maxLastLines;
+
+	/** Sorted start and end lines of all directives. */
+	private final int[] boundaries;
+
+	/** Position of each directive in the arrays above. */
+	private final IdentityHashMap<FSTDirective, Integer> indexMap;
+
+	/**
+	 * Creates the index for the given directives. {@code null} entries are ignored.
+	 * 
+	 * @param directives all directives of a file (including nested directives)
+	 */
+	DirectiveIndex(Collection<FSTDirective> directives) {
+		final List<FSTDirective> directiveList = new ArrayList<>(directives.size());
+		for (FSTDirective directive : directives) {
+			if (directive != null) {
+				directiveList.add(directive);
+			}
+		}
+		this.directives = directiveList.toArray(new FSTDirective[directiveList.size()]);
+		Arrays.sort(this.directives, START_LINE_COMPARATOR);
+
+		final int size = this.directives.length;
+		startLines = new int[size];
+		endLines = new int[size];
+		lastLines = new int[size];
+		maxLastLines = new int[size];
+		boundaries = new int[size << 1];
+		indexMap = new IdentityHashMap<>(size);
+
+		for (int i = 0; i < size; i++) {
+			final FSTDirective directive = this.directives[i];
+			startLines[i] = directive.getStartLine();
+			endLines[i] = directive.getEndLine();
+			lastLines[i] = computeLastLine(directive);
+			indexMap.put(directive, i);
+			boundaries[i << 1] = directive.getStartLine();
+			boundaries[(i << 1) + 1] = directive.getEndLine();
+		}
+		Arrays.sort(boundaries);
+		initMaxLastLines(0, size);
+	}
+
+	private DirectiveIndex(DirectiveIndex index, int afterLine, int lineDelta) {
+		directives = index.directives;
+		indexMap = index.indexMap;
+		startLines = shift(index.startLines, afterLine, lineDelta);
+		endLines = shift(index.endLines, afterLine, lineDelta);
+		lastLines = shift(index.lastLines, afterLine, lineDelta);
+		boundaries = shift(index.boundaries, afterLine, lineDelta);
+		maxLastLines = new int[directives.length];
+		initMaxLastLines(0, directives.length);
+	}
+
+	private static int[] shift(int[] lines, int afterLine, int lineDelta) {
+		final int[] shiftedLines = new int[lines.length];
+		for (int i = 0; i < lines.length; i++) {
+			final int line = lines[i];
+			shiftedLines[i] = (line > afterLine) ? line + lineDelta : line;
+		}
+		return shiftedLines;
+	}
+
+	/**
+	 * Returns a copy of this index, in which all lines after the given line are moved by the given number of lines.
+	 * Used when lines are added or removed without touching the start or end line of any directive (see {@link #hasBoundary(int, int)}).
+	 * The directives themselves are not modified.
+	 * 
+	 * @param afterLine the last line that is not moved
+	 * @param lineDelta the number of added (positive) or removed (negative) lines
+	 * @return the moved index
+	 */
+	DirectiveIndex shift(int afterLine, int lineDelta) {
+		return new DirectiveIndex(this, afterLine, lineDelta);
+	}
+
+	private int initMaxLastLines(int from, int to) {
+		if (from >= to) {
+			return Integer.MIN_VALUE;
+		}
+		final int mid = (from + to) >>> 1;
+		final int max = Math.max(lastLines[mid], Math.max(initMaxLastLines(from, mid), initMaxLastLines(mid + 1, to)));
+		maxLastLines[mid] = max;
+		return max;
+	}
+
+	private static int computeLastLine(FSTDirective directive) {
+		int lastLine = directive.getEndLine();
+		for (FSTDirective child : directive.getChildren()) {
+			int childEnd = child.getEndLine();
+			if (child.getEndLength() > 0) {
+				childEnd++;
+			}
+			lastLine = Math.max(childEnd, lastLine);
+			lastLine = Math.max(computeLastLine(child), lastLine);
+		}
+		return lastLine;
+	}
+
+	/**
+	 * Returns the last line that is covered by the given directive, i.e., the maximum of its end line and the end lines of its nested children.
+	 * 
+	 * @param directive the directive
+	 * @return the last line of the directive
+	 */
+	int getLastLine(FSTDirective directive) {
+		final Integer index = indexMap.get(directive);
+		return (index != null) ? lastLines[index] : computeLastLine(directive);
+	}
+
+	/**
+	 * Returns the start line of the given directive as stored in this index.
+	 * 
+	 * @param directive the directive
+	 * @return the start line of the directive
+	 */
+	int getStartLine(FSTDirective directive) {
+		final Integer index = indexMap.get(directive);
+		return (index != null) ? startLines[index] : directive.getStartLine();
+	}
+
+	/**
+	 * Returns the end line of the given directive as stored in this index.
+	 * 
+	 * @param directive the directive
+	 * @return the end line of the directive
+	 */
+	int getEndLine(FSTDirective directive) {
+		final Integer index = indexMap.get(directive);
+		return (index != null) ? endLines[index] : directive.getEndLine();
+	}
+
+	/**
+	 * Returns all directives whose range contains the given line, sorted by their start line.
+	 * 
+	 * @param line the line
+	 * @return the list of directives
+	 */
+	List<FSTDirective> getDirectives(int line) {
+		return getDirectives(line, line);
+	}
+
+	/**
+	 * Returns all directives whose range intersects the given range of lines, sorted by their start line.
+	 * 
+	 * @param fromLine the first line (inclusive)
+	 * @param toLine the last line (inclusive)
+	 * @return the list of directives
+	 */
+	List<FSTDirective> getDirectives(int fromLine, int toLine) {
+		final List<FSTDirective> result = new ArrayList<>();
+		collect(fromLine, toLine, 0, directives.length, result);
+		return result;
+	}
+
+	private void collect(int fromLine, int toLine, int from, int to, List<FSTDirective> result) {
+		if (from >= to) {
+			return;
+		}
+		final int mid = (from + to) >>> 1;
+		if (maxLastLines[mid] < fromLine) {
+			return;
+		}
+		collect(fromLine, toLine, from, mid, result);
+		if (startLines[mid] > toLine) {
+			return;
+		}
+		if (lastLines[mid] >= fromLine) {
+			result.add(directives[mid]);
+		}
+		collect(fromLine, toLine, mid + 1, to, result);
+	}
+
+	/**
+	 * Checks whether a directive starts or ends within the given range of lines.
+	 * 
+	 * @param fromLine the first line (inclusive)
+	 * @param toLine the last line (inclusive)
+	 * @return {@code true} if there is a start or end line of any directive within the range
+	 */
+	boolean hasBoundary(int fromLine, int toLine) {
+		int index = Arrays.binarySearch(boundaries, fromLine);
+		if (index >= 0) {
+			return true;
+		}
+		index = -index - 1;
+		return index < boundaries.length && boundaries[index] <= toLine;
+	}
+
+	int size() {
+		return directives.length;
+	}
+
+}
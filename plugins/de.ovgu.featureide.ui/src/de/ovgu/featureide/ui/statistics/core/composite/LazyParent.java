@@ -58,7 +58,7 @@ public abstract class LazyParent extends Parent {
 		@Override
 		public Boolean execute(IMonitor monitor) throws Exception {
 			try {
-				initChildren();
+				initChildren(monitor);
 			} finally {
 				setCalculating(false);
 			}
@@ -126,6 +126,16 @@ public abstract class LazyParent extends Parent {
 	 */
 	protected abstract void initChildren();
 	
+	/**
+	 * Is called by the calculation job instead of {@link #initChildren()}.
+	 * May be overridden by lengthy calculations that check the monitor for cancellation.
+	 * 
+	 * @param monitor the monitor of the calculation job
+	 */
+	protected void initChildren(IMonitor monitor) {
+		initChildren();
+	}
+	
 	public LazyParent(String description, Object value) {
 		super(description, value);
 	}
@@ -0,0 +1,287 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2016  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ * 
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.ui.statistics.core.composite.lazyimplementations;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceDeltaVisitor;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+
+import de.ovgu.featureide.fm.core.conf.worker.base.AWorkerThread;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor.MethodCancelException;
+import de.ovgu.featureide.fm.core.job.monitor.NullMonitor;
+import de.ovgu.featureide.ui.UIPlugin;
+
+/**
+ * Caches the lines of code of single files for the statistics view.<br>
+ * An entry is reused as long as the modification stamp of its file is unchanged.
+ * If only the stamp changed (e.g., after a touch or a rebuild that rewrote the same content),
+ * the entry is still reused when the CRC32 checksum of the file content matches.
+ * Entries of removed files and closed projects are dropped on resource deltas.
+ * 
+ * @see StatisticsProgramSizeNew
+ */
+public final class LOCCache implements IResourceChangeListener {
+
+	/**
+	 * Receives the result for each counted file. May be called concurrently from multiple threads.
+	 */
+	public static interface ILOCListener {
+		void fileCounted(IFile file, int loc);
+	}
+
+	private static final class Entry {
+		private final long modificationStamp;
+		private final long checksum;
+		private final int loc;
+
+		private Entry(long modificationStamp, long checksum, int loc) {
+			this.modificationStamp = modificationStamp;
+			this.checksum = checksum;
+			this.loc = loc;
+		}
+	}
+
+	private static final class CountThread extends AWorkerThread<IFile> {
+		private final LOCCache cache;
+		private final IMonitor monitor;
+		private final ILOCListener listener;
+
+		private CountThread(LOCCache cache, IMonitor monitor, ILOCListener listener) {
+			super(new NullMonitor());
+			this.cache = cache;
+			this.monitor = monitor;
+			this.listener = listener;
+		}
+
+		private CountThread(CountThread oldThread) {
+			super(oldThread);
+			this.cache = oldThread.cache;
+			this.monitor = oldThread.monitor;
+			this.listener = oldThread.listener;
+		}
+
+		@Override
+		protected void work(IFile file) {
+			if (cache.canceled) {
+				return;
+			}
+			try {
+				monitor.checkCancel();
+			} catch (MethodCancelException e) {
+				cache.canceled = true;
+				return;
+			}
+			listener.fileCounted(file, cache.getLOC(file));
+		}
+
+		@Override
+		protected AWorkerThread<IFile> newThread() {
+			return new CountThread(this);
+		}
+	}
+
+	private static LOCCache instance = null;
+
+	public static synchronized LOCCache getInstance() {
+		if (instance == null) {
+			instance = new LOCCache();
+			ResourcesPlugin.getWorkspace().addResourceChangeListener(instance,
+					IResourceChangeEvent.POST_CHANGE | IResourceChangeEvent.PRE_CLOSE | IResourceChangeEvent.PRE_DELETE);
+		}
+		return instance;
+	}
+
+	public static synchronized void dispose() {
+		if (instance != null) {
+			ResourcesPlugin.getWorkspace().removeResourceChangeListener(instance);
+			instance = null;
+		}
+	}
+
+	private final ConcurrentHashMap<IPath, Entry> entries = new ConcurrentHashMap<>();
+
+	private final AtomicInteger countedFiles = new AtomicInteger();
+
+	private volatile boolean canceled = false;
+
+	LOCCache() {
+	}
+
+	/**
+	 * Counts the lines of code of all given files in parallel and passes each result to the listener as soon as it is available.
+	 * 
+	 * @param files the files to count
+	 * @param monitor the monitor to check for cancellation
+	 * @param listener the listener receiving the results
+	 * 
+	 * @throws MethodCancelException if the monitor was canceled before all files were counted
+	 */
+	public synchronized void countLOC(Collection<IFile> files, IMonitor monitor, ILOCListener listener) throws MethodCancelException {
+		canceled = false;
+		final CountThread countThread = new CountThread(this, monitor, listener);
+		countThread.addObjects(files);
+		countThread.start();
+		if (canceled) {
+			throw new MethodCancelException();
+		}
+	}
+
+	/**
+	 * Returns the lines of code of the given file, either from the cache or by counting them.
+	 * 
+	 * @param file the file
+	 * @return the number of lines of code or {@code 0} if the file could not be read
+	 */
+	public int getLOC(IFile file) {
+		final IPath path = file.getFullPath();
+		final long modificationStamp = file.getModificationStamp();
+		final Entry entry = entries.get(path);
+		if (entry != null && entry.modificationStamp == modificationStamp) {
+			return entry.loc;
+		}
+		final IPath location = file.getLocation();
+		if (location == null) {
+			return 0;
+		}
+		try {
+			final byte[] content = Files.readAllBytes(Paths.get(location.toOSString()));
+			final CRC32 crc = new CRC32();
+			crc.update(content);
+			final long checksum = crc.getValue();
+
+			final int loc;
+			if (entry != null && entry.checksum == checksum) {
+				loc = entry.loc;
+			} else {
+				final String[] commentSyntax = getCommentSyntax(file.getFileExtension());
+				loc = StatisticsProgramSizeNew.countLineNumber(commentSyntax[0], commentSyntax[1], commentSyntax[2],
+						new BufferedReader(new InputStreamReader(new ByteArrayInputStream(content), file.getCharset())));
+				countedFiles.incrementAndGet();
+			}
+			entries.put(path, new Entry(modificationStamp, checksum, loc));
+			return loc;
+		} catch (IOException | CoreException e) {
+			UIPlugin.getDefault().logError(e);
+			return 0;
+		}
+	}
+
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * @return the number of files whose lines were counted so far (files that were taken from the cache are not counted)
+	 */
+	public int getCountedFileCount() {
+		return countedFiles.get();
+	}
+
+	public void clear() {
+		entries.clear();
+	}
+
+	/**
+	 * Returns the comment syntax for a file extension as array of one line comment, comment start, and comment end.
+	 */
+	static String[] getCommentSyntax(String fileExtension) {
+		//TODO complete for all extensions
+		switch (fileExtension == null ? "" : fileExtension) {
+		case "java":
+		case "c":
+		case "h":
+		case "jj":
+		case "jak":
+			return new String[] { "//", "/*", "*/" };
+		case "cs":
+			return new String[] { "///", "/*", "*/" };
+		//	TODO Haskell comments
+		//	case "hs":
+		//		return new String[] { "--", "{-", "-}" };
+		case "als":
+		case "xmi":
+			return new String[] { "", "", "" };
+		default:
+			return new String[] { "#|#|#", "#|#|#", "#|#|#" };
+		}
+	}
+
+	@Override
+	public void resourceChanged(IResourceChangeEvent event) {
+		switch (event.getType()) {
+		case IResourceChangeEvent.PRE_CLOSE:
+		case IResourceChangeEvent.PRE_DELETE:
+			final IResource project = event.getResource();
+			if (project != null) {
+				removeAll(project.getFullPath());
+			}
+			break;
+		case IResourceChangeEvent.POST_CHANGE:
+			final IResourceDelta delta = event.getDelta();
+			if (delta != null && !entries.isEmpty()) {
+				try {
+					delta.accept(new IResourceDeltaVisitor() {
+						@Override
+						public boolean visit(IResourceDelta delta) throws CoreException {
+							if (delta.getKind() == IResourceDelta.REMOVED) {
+								removeAll(delta.getFullPath());
+								return false;
+							}
+							return true;
+						}
+					});
+				} catch (CoreException e) {
+					UIPlugin.getDefault().logError(e);
+				}
+			}
+			break;
+		default:
+			break;
+		}
+	}
+
+	private void removeAll(IPath prefix) {
+		for (IPath path : entries.keySet()) {
+			if (prefix.isPrefixOf(path)) {
+				entries.remove(path);
+			}
+		}
+	}
+
+}
@@ -24,8 +24,10 @@ import static de.ovgu.featureide.fm.core.localization.StringTable.LOC_BY_EXTENSI
 import static de.ovgu.featureide.fm.core.localization.StringTable.LOC_BY_FEATURE;
 
 import java.util.HashMap;
+import java.util.LinkedList;
 
 import de.ovgu.featureide.ui.statistics.core.composite.LazyParent;
+import de.ovgu.featureide.ui.statistics.core.composite.Parent;
 import de.ovgu.featureide.ui.statistics.core.composite.lazyimplementations.genericdatatypes.HashMapNodeTwoStrings;
 
 /**
@@ -35,15 +37,28 @@ import de.ovgu.featureide.ui.statistics.core.composite.lazyimplementations.gener
  */
 public class LOCNode extends LazyParent {
 
-	private final HashMap<String, Integer> featureExtensionLOCList;
+	private HashMap<String, Integer> featureExtensionLOCList;
 
 	LOCNode(String description, HashMap<String, Integer> fExList) {
 		super(description);
 		featureExtensionLOCList = fExList;
 	}
 
+	/**
+	 * Replaces the aggregated LOC with intermediate or final results.
+	 * Children that were already calculated are recalculated on the next request.
+	 */
+	synchronized void update(String description, HashMap<String, Integer> fExList) {
+		setDescription(description);
+		featureExtensionLOCList = fExList;
+		if (!lazy) {
+			children = new LinkedList<Parent>();
+			lazy = true;
+		}
+	}
+
 	@Override
-	protected void initChildren() {
+	protected synchronized void initChildren() {
 		addChild(new HashMapNodeTwoStrings(LOC_BY_EXTENSION, 1, featureExtensionLOCList));
 		addChild(new HashMapNodeTwoStrings(LOC_BY_FEATURE, 2, featureExtensionLOCList));
 
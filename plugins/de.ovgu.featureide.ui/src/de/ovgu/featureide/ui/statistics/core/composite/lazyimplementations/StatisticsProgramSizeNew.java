@@ -26,6 +26,7 @@ import java.io.BufferedReader;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -41,8 +42,11 @@ import de.ovgu.featureide.core.fstmodel.FSTClassFragment;
 import de.ovgu.featureide.core.fstmodel.FSTField;
 import de.ovgu.featureide.core.fstmodel.FSTMethod;
 import de.ovgu.featureide.core.fstmodel.FSTModel;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+import de.ovgu.featureide.fm.core.job.monitor.NullMonitor;
 import de.ovgu.featureide.ui.UIPlugin;
 import de.ovgu.featureide.ui.statistics.core.composite.LazyParent;
+import de.ovgu.featureide.ui.statistics.ui.helper.JobDoneListener;
 
 /**
  * TreeNode who stores the number of classes, roles, fields and methods of a
@@ -56,10 +60,17 @@ public class StatisticsProgramSizeNew extends LazyParent {
 	private final static String[] ignoredExtensions = { "jpg", "jpeg", "raw", "hdr", "tiff", "bmp", "jpe", "dib", "gif", "pdf", "png", "zip", "wav", "mp3",
 			"avi", "flv", "midi" };
 
+	/**
+	 * Minimal time in milliseconds between two updates of the intermediate sums in the view.
+	 */
+	private static final long PUBLISH_INTERVAL = 250;
+
 	private final HashMap<String, Integer> featureExtensionLOCList = new HashMap<String, Integer>();
 	private final FSTModel fstModel;
 
 	private int numberOfLines = 0;
+	private long lastPublishTime = 0;
+	private LOCNode locNode;
 
 	public StatisticsProgramSizeNew(String description, FSTModel fstModel) {
 		super(description);
@@ -68,6 +79,11 @@ public class StatisticsProgramSizeNew extends LazyParent {
 
 	@Override
 	protected void initChildren() {
+		initChildren(new NullMonitor());
+	}
+
+	@Override
+	protected void initChildren(IMonitor monitor) {
 
 		int numberOfClasses = 0;
 		int numberOfRoles = 0;
@@ -98,21 +114,34 @@ public class StatisticsProgramSizeNew extends LazyParent {
 			numberOfClasses += allFrag.size();
 		}
 
-		if (fstModel.getFeatureProject().getComposer().hasFeatureFolder()) {
-			try {
-				checkLOC();
-			} catch (CoreException e) {
-				UIPlugin.getDefault().logError(e);
-			}
-		}
-
 		addChild(new SumImplementationArtifactsParent(NUMBER_CLASS + SEPARATOR + numberOfClasses + " | " + NUMBER_ROLE + SEPARATOR + numberOfRoles, fstModel,
 				SumImplementationArtifactsParent.NUMBER_OF_CLASSES));
 		addChild(new SumImplementationArtifactsParent(NUMBER_FIELD_U + SEPARATOR + numberOfUniFields + " | " + NUMBER_FIELD + SEPARATOR + numberOfFields,
 				fstModel, SumImplementationArtifactsParent.NUMBER_OF_FIELDS));
 		addChild(new SumImplementationArtifactsParent(NUMBER_METHOD_U + SEPARATOR + numberOfUniMethods + " | " + NUMBER_METHOD + SEPARATOR + numberOfMethods,
 				fstModel, SumImplementationArtifactsParent.NUMBER_OF_METHODS));
-		addChild(new LOCNode(NUMBER_OF_CODELINES + SEPARATOR + numberOfLines, featureExtensionLOCList));
+
+		locNode = new LOCNode(NUMBER_OF_CODELINES + SEPARATOR + 0, new HashMap<String, Integer>());
+		addChild(locNode);
+
+		if (fstModel.getFeatureProject().getComposer().hasFeatureFolder()) {
+			locNode.setCalculating(true);
+			// show the model based numbers before the files are read
+			final JobDoneListener listener = JobDoneListener.getInstance();
+			if (listener != null) {
+				listener.refresh(this);
+			}
+			try {
+				checkLOC(monitor);
+			} catch (CoreException e) {
+				UIPlugin.getDefault().logError(e);
+			} finally {
+				locNode.setCalculating(false);
+				synchronized (featureExtensionLOCList) {
+					publishLOC();
+				}
+			}
+		}
 	}
 
 	private static boolean isIgnoredExtension(String fileExtension) {
@@ -124,79 +153,67 @@ public class StatisticsProgramSizeNew extends LazyParent {
 		return false;
 	}
 
-	public void checkLOC() throws CoreException {
+	/**
+	 * Counts the lines of code of all files in the feature folder in parallel using the {@link LOCCache}.
+	 * Intermediate sums are shown in the {@link LOCNode} while the files are counted.
+	 */
+	public void checkLOC(IMonitor monitor) throws CoreException {
+		final List<IFile> files = new ArrayList<>();
 		fstModel.getFeatureProject().getSourceFolder().accept(new IResourceVisitor() {
 
 			@Override
 			public boolean visit(IResource resource) throws CoreException {
-				int numberOfLinesInThisFile = 0;
 				if (resource instanceof IFolder) {
 					return true;
 				} else if (resource instanceof IFile) {
 					final IFile file = (IFile) resource;
-					String oneLineComment = "", moreLineStart = "", moreLineEnd = "";
-
 					if (!isIgnoredExtension(file.getFileExtension())) {
-						switch (file.getFileExtension()) {
-						//TODO complete for all extensions 
-						case "java":
-						case "c":
-						case "h":
-						case "jj":
-						case "jak":
-							oneLineComment = "//";
-							moreLineStart = "/*";
-							moreLineEnd = "*/";
-							break;
-						case "cs":
-							oneLineComment = "///";
-							moreLineStart = "/*";
-							moreLineEnd = "*/";
-							break;
-						//	TODO Haskell comments
-						//	case "hs":
-						//	oneLineComment = "--";
-						//	moreLineStart = "{-";
-						//	moreLineEnd = "-}";
-						//	break;
-						case "als":
-						case "xmi":
-							break;
-						default:
-							oneLineComment = "#|#|#";
-							moreLineStart = "#|#|#";
-							moreLineEnd = "#|#|#";
-							break;
-						}
-
-						try {
-							numberOfLinesInThisFile = countLOC(file, oneLineComment, moreLineStart, moreLineEnd/*, nested, nestedCounter*/);
-
-						} catch (FileNotFoundException e) {
-							e.printStackTrace();
-						} catch (IOException e) {
-							e.printStackTrace();
-						}
-
-						String feat = (file.getFullPath().toString().substring(file.getFullPath().toString().indexOf(FEATURES) + 9, file.getFullPath()
-								.toString().length() - 1)).split("/")[0];
-
-						if (!featureExtensionLOCList.containsKey(file.getFileExtension() + "#" + feat)) {
-							featureExtensionLOCList.put(file.getFileExtension() + "#" + feat, numberOfLinesInThisFile);
-						} else {
-							featureExtensionLOCList.put(file.getFileExtension() + "#" + feat, featureExtensionLOCList.get(file.getFileExtension() + "#" + feat)
-									+ numberOfLinesInThisFile);
-						}
+						files.add(file);
 					}
 				}
-				numberOfLines += numberOfLinesInThisFile;
-
 				return false;
 			}
 
 		});
+
+		synchronized (featureExtensionLOCList) {
+			featureExtensionLOCList.clear();
+			numberOfLines = 0;
+		}
+		LOCCache.getInstance().countLOC(files, monitor, new LOCCache.ILOCListener() {
+			@Override
+			public void fileCounted(IFile file, int loc) {
+				final String path = file.getFullPath().toString();
+				final String feat = (path.substring(path.indexOf(FEATURES) + 9, path.length() - 1)).split("/")[0];
+				final String key = file.getFileExtension() + "#" + feat;
+
+				synchronized (featureExtensionLOCList) {
+					final Integer oldLOC = featureExtensionLOCList.get(key);
+					featureExtensionLOCList.put(key, (oldLOC == null) ? loc : oldLOC + loc);
+					numberOfLines += loc;
+
+					final long time = System.currentTimeMillis();
+					if (time - lastPublishTime > PUBLISH_INTERVAL) {
+						lastPublishTime = time;
+						publishLOC();
+					}
+				}
+			}
+		});
 	}
-	
+
+	/**
+	 * Passes a snapshot of the current sums to the {@link LOCNode} and refreshes it in the view.
+	 * Must be called while holding the lock of {@link #featureExtensionLOCList}.
+	 */
+	private void publishLOC() {
+		locNode.update(NUMBER_OF_CODELINES + SEPARATOR + numberOfLines, new HashMap<>(featureExtensionLOCList));
+		final JobDoneListener listener = JobDoneListener.getInstance();
+		if (listener != null) {
+			listener.refresh(locNode);
+		}
+	}
+
 	public static int countLOC(final IFile file, String oneLineComment, String moreLineStart, String moreLineEnd) throws FileNotFoundException, IOException {
 		FileReader fr = new FileReader(file.getLocation().toString());
 		BufferedReader br = new BufferedReader(fr);
@@ -121,6 +121,28 @@ public class JobDoneListener implements IJobChangeListener {
 		}
 	}
 	
+	/**
+	 * Refreshes the given node in all views, e.g., to show intermediate results of a running calculation.
+	 * 
+	 * @param node the node to refresh
+	 */
+	public void refresh(final Parent node) {
+		UIJob refreshJob = new UIJob(REFRESH_STATISTICS_VIEW) {
+			@Override
+			public IStatus runInUIThread(IProgressMonitor monitor) {
+				checkViews();
+				synchronized (views) {
+					for (TreeViewer view : views) {
+						view.refresh(node);
+					}
+				}
+				return Status.OK_STATUS;
+			}
+		};
+		refreshJob.setPriority(Job.INTERACTIVE);
+		refreshJob.schedule();
+	}
+	
 	@Override
 	public void running(IJobChangeEvent event) {}
 	
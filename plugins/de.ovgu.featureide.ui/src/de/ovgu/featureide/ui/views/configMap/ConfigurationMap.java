@@ -20,9 +20,12 @@
  */
 package de.ovgu.featureide.ui.views.configMap;
 
-import java.io.IOException;
+import static de.ovgu.featureide.fm.core.localization.StringTable.LOADING_CONFIGURATIONS;
+
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -63,9 +66,17 @@ import de.ovgu.featureide.fm.core.base.event.FeatureIDEEvent;
 import de.ovgu.featureide.fm.core.base.event.IEventListener;
 import de.ovgu.featureide.fm.core.color.FeatureColorManager;
 import de.ovgu.featureide.fm.core.base.event.FeatureIDEEvent.EventType;
+import de.ovgu.featureide.fm.core.base.IFeature;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
 import de.ovgu.featureide.fm.core.configuration.Configuration;
+import de.ovgu.featureide.fm.core.configuration.ConfigurationTable;
 import de.ovgu.featureide.fm.core.configuration.io.ConfigurationLoader;
-import de.ovgu.featureide.fm.core.configuration.io.IConfigurationLoaderCallback;
+import de.ovgu.featureide.fm.core.job.IJob;
+import de.ovgu.featureide.fm.core.job.IRunner;
+import de.ovgu.featureide.fm.core.job.LongRunningMethod;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+import de.ovgu.featureide.fm.core.job.util.JobFinishListener;
 import de.ovgu.featureide.fm.ui.FMUIPlugin;
 import de.ovgu.featureide.fm.ui.editors.featuremodel.actions.colors.SetFeatureColorAction;
 import de.ovgu.featureide.ui.UIPlugin;
@@ -84,7 +95,10 @@ import de.ovgu.featureide.ui.views.configMap.header.ICustomTableHeaderSelectionL
 /**
  * The ConfigurationMap is an overview of all configurations
  * of a feature project. It shows which features of the current
- * project are used in which configurations.
+ * project are used in which configurations.<br>
+ * The configurations are loaded in the background into a {@link ConfigurationTable}.
+ * The selections of a feature are fetched as one column of the table when they are needed first.
+ * The filter results are cached and discarded when the feature model or the configurations change.
  * 
  * @author Paul Maximilian Bittner
  * @author Antje Moench
@@ -116,8 +130,11 @@ public class ConfigurationMap extends ViewPart implements ICustomTableHeaderSele
 	private IPartListener partListener;
 
 	private ConfigurationLoader loader;
+	private ConfigurationTable configurationTable;
 	private List<Configuration> configurations;
-	private Map<Configuration, Path> configPaths;
+	/** Configurations in which a feature is selected, fetched on demand from the {@link #configurationTable}. */
+	private final Map<IFeature, BitSet> selectedConfigurations = new HashMap<>();
+	private IRunner<ConfigurationTable> loadingJob;
 
 	private List<IConfigurationMapFilter> filters;
 	private ConfigMapFilterMenuAction filterMenu;
@@ -129,55 +146,6 @@ public class ConfigurationMap extends ViewPart implements ICustomTableHeaderSele
 	private IFeatureProject featureProject;
 
 	public ConfigurationMap() {
-		IConfigurationLoaderCallback configLoaderCallback = new IConfigurationLoaderCallback() {
-
-			@Override
-			public void onLoadingStarted() {
-				// clear all old columns because new configurations are going to be loaded
-				for (TreeColumn column : configurationColumns)
-					column.dispose();
-				configurationColumns.clear();
-				configPaths.clear();
-			}
-
-			/**
-			 * Create a column in the view for each configuration, that has been loaded.
-			 */
-			@Override
-			public void onConfigurationLoaded(Configuration configuration, Path path) {
-				if (tableTree == null)
-					return;
-
-				String configFileName = path.getFileName().toString();
-				String[] configFileNameParts = configFileName.split("\\.");
-				String configName = configFileNameParts[0];
-
-				TreeColumn column = new TreeColumn(tableTree, SWT.CENTER);
-				column.setAlignment(SWT.CENTER);
-				column.setWidth(defaultColumnWidth);
-				if (configName.length() < 15) {
-					column.setText(configName);
-				} else {
-					column.setText(configName.substring(0, 15) + "...");
-				}
-
-				configurationColumns.add(column);
-				configPaths.put(configuration, path);
-			}
-
-			@Override
-			public void onLoadingFinished() {
-				TreeColumn dummy = new TreeColumn(tableTree, SWT.NULL);
-				dummy.setWidth(defaultColumnWidth);
-				configurationColumns.add(dummy);
-			}
-
-			@Override
-			public void onLoadingError(IOException exception) {
-			}
-
-		};
-
 		this.featureColumnWidth = 200;
 		this.defaultColumnWidth = 40;
 		selectedColumnIndex = -1;
@@ -185,9 +153,8 @@ public class ConfigurationMap extends ViewPart implements ICustomTableHeaderSele
 		openFileAction = new OpenFileAction("Open Config");
 		openFileAction.setImageDescriptor(ImageDescriptor.createFromImage(UIPlugin.getImage("ConfigurationIcon.png")));
 
-		this.loader = new ConfigurationLoader(configLoaderCallback);
+		this.loader = new ConfigurationLoader();
 		this.configurationColumns = new ArrayList<>();
-		this.configPaths = new HashMap<>();
 
 		FeatureColorManager.addListener(this);
 
@@ -246,6 +213,7 @@ public class ConfigurationMap extends ViewPart implements ICustomTableHeaderSele
 		tableTree.setLinesVisible(true);
 
 		tree = new TreeViewer(tableTree);
+		tree.setUseHashlookup(true);
 
 		labelProvider = new ConfigurationMapLabelProvider(this);
 		treeViewerContentProvider = new ConfigurationMapTreeContentProvider(this);
@@ -403,9 +371,85 @@ public class ConfigurationMap extends ViewPart implements ICustomTableHeaderSele
 
 	}
 
+	/**
+	 * Loads all configurations of the current project in the background.
+	 * The columns are created when the loading is finished.
+	 */
 	public void loadConfigurations() {
-		// Callback will handle creating columns
-		this.configurations = loader.loadConfigurations(featureProject.getFeatureModel(), featureProject.getConfigPath());
+		loadConfigurations(false);
+	}
+
+	private void loadConfigurations(final boolean forceUpdate) {
+		if (featureProject == null) {
+			return;
+		}
+		if (loadingJob != null) {
+			loadingJob.cancel();
+		}
+		final IFeatureModel featureModel = featureProject.getFeatureModel();
+		final Path configPath = Paths.get(featureProject.getConfigPath());
+		final IRunner<ConfigurationTable> runner = LongRunningWrapper.getRunner(new LongRunningMethod<ConfigurationTable>() {
+			@Override
+			public ConfigurationTable execute(IMonitor monitor) throws Exception {
+				return loader.loadConfigurationTable(featureModel, configPath);
+			}
+		}, LOADING_CONFIGURATIONS);
+		runner.addJobFinishedListener(new JobFinishListener<ConfigurationTable>() {
+			@Override
+			public void jobFinished(final IJob<ConfigurationTable> finishedJob) {
+				final ConfigurationTable table = finishedJob.getResults();
+				Display.getDefault().asyncExec(new Runnable() {
+					@Override
+					public void run() {
+						if (loadingJob == runner && tableTree != null && !tableTree.isDisposed()) {
+							loadingJob = null;
+							setConfigurationTable(table, forceUpdate);
+						}
+					}
+				});
+			}
+		});
+		loadingJob = runner;
+		runner.schedule();
+	}
+
+	private void setConfigurationTable(ConfigurationTable table, boolean forceUpdate) {
+		configurationTable = table;
+		configurations = (table == null) ? null : table.asList();
+		selectedConfigurations.clear();
+
+		tableTree.setRedraw(false);
+		try {
+			// clear all old columns because new configurations have been loaded
+			for (TreeColumn column : configurationColumns)
+				column.dispose();
+			configurationColumns.clear();
+
+			// create a column in the view for each configuration
+			if (table != null) {
+				for (Path path : table.getPaths()) {
+					String configFileName = path.getFileName().toString();
+					String[] configFileNameParts = configFileName.split("\\.");
+					String configName = configFileNameParts[0];
+
+					TreeColumn column = new TreeColumn(tableTree, SWT.CENTER);
+					column.setAlignment(SWT.CENTER);
+					column.setWidth(defaultColumnWidth);
+					if (configName.length() < 15) {
+						column.setText(configName);
+					} else {
+						column.setText(configName.substring(0, 15) + "...");
+					}
+					configurationColumns.add(column);
+				}
+			}
+			TreeColumn dummy = new TreeColumn(tableTree, SWT.NULL);
+			dummy.setWidth(defaultColumnWidth);
+			configurationColumns.add(dummy);
+		} finally {
+			tableTree.setRedraw(true);
+		}
+
 		// update header
 		TreeColumn[] columns = tableTree.getColumns();
 		List<CustomColumnStyle> styles = new ArrayList<>(columns.length);
@@ -436,13 +480,16 @@ public class ConfigurationMap extends ViewPart implements ICustomTableHeaderSele
 
 		header.setColumnStyles(styles);
 
+		// filter results depend on the configurations
+		treeViewerContentProvider.invalidateFilterResults();
+		treeViewerContentProvider.updateElements();
+
 		// refresh gui
-		updateGUI();
+		updateGUI(forceUpdate);
 	}
 
 	public void refresh() {
-		loadConfigurations();
-		updateGUI(true);
+		loadConfigurations(true);
 	}
 
 	public void updateGUI() {
@@ -500,7 +547,13 @@ public class ConfigurationMap extends ViewPart implements ICustomTableHeaderSele
 
 	private void setFeatureProject(IFeatureProject featureProject) {
 		if (this.featureProject != featureProject) {
+			if (this.featureProject != null) {
+				this.featureProject.getFeatureModel().removeListener(this);
+			}
 			this.featureProject = featureProject;
+			if (featureProject != null) {
+				featureProject.getFeatureModel().addListener(this);
+			}
 			if (isActive())
 				loadConfigurations();
 			else
@@ -539,6 +592,39 @@ public class ConfigurationMap extends ViewPart implements ICustomTableHeaderSele
 		return Collections.unmodifiableList(this.configurations);
 	}
 
+	/**
+	 * @return the number of loaded configurations
+	 */
+	public int getConfigurationCount() {
+		return (configurationTable == null) ? 0 : configurationTable.size();
+	}
+
+	/**
+	 * Returns the indices of all configurations in which the given feature is selected.<br>
+	 * The result is cached and must not be modified.
+	 * 
+	 * @param feature the feature
+	 * @return the set of configuration indices
+	 */
+	public BitSet getSelectedConfigurations(IFeature feature) {
+		BitSet column = selectedConfigurations.get(feature);
+		if (column == null) {
+			final int featureID = (configurationTable == null) ? -1 : configurationTable.getFeatureIndex().getIndex(feature.getName());
+			column = (featureID < 0) ? new BitSet() : configurationTable.getSelectedConfigurations(featureID);
+			selectedConfigurations.put(feature, column);
+		}
+		return column;
+	}
+
+	/**
+	 * @param feature the feature
+	 * @param configIndex the index of the configuration
+	 * @return {@code true} if the feature is selected in the configuration
+	 */
+	public boolean isSelected(IFeature feature, int configIndex) {
+		return getSelectedConfigurations(feature).get(configIndex);
+	}
+
 	public Configuration getConfigurationOfColumn(int columnIndex) {
 		if (isConfigColumn(columnIndex))
 			return this.configurations.get(columnIndex - this.configColumnsOffset);
@@ -560,8 +646,7 @@ public class ConfigurationMap extends ViewPart implements ICustomTableHeaderSele
 	}
 
 	private IFile getFileOfConfiguration(int configurationIndex) {
-		Configuration config = this.configurations.get(configurationIndex);
-		return this.featureProject.getConfigFolder().getFile(configPaths.get(config).getFileName().toString());
+		return this.featureProject.getConfigFolder().getFile(configurationTable.getPath(configurationIndex).getFileName().toString());
 	}
 
 	/* (non-Javadoc)
@@ -587,7 +672,14 @@ public class ConfigurationMap extends ViewPart implements ICustomTableHeaderSele
 	 */
 	@Override
 	public void dispose() {
+		if (loadingJob != null) {
+			loadingJob.cancel();
+			loadingJob = null;
+		}
 		FeatureColorManager.removeListener(this);
+		if (featureProject != null) {
+			featureProject.getFeatureModel().removeListener(this);
+		}
 		IWorkbenchPage page = getSite().getPage();
 		page.removePartListener(this.partListener);
 		header.removeColumnSelectionListener(this);
@@ -604,7 +696,38 @@ public class ConfigurationMap extends ViewPart implements ICustomTableHeaderSele
 		final EventType prop = event.getEventType();
 		switch (prop) {
 		case COLOR_CHANGED:
-			updateTree();
+		case MODEL_DATA_CHANGED:
+		case MODEL_DATA_LOADED:
+		case STRUCTURE_CHANGED:
+		case CHILDREN_CHANGED:
+		case FEATURE_ADD:
+		case FEATURE_ADD_ABOVE:
+		case FEATURE_DELETE:
+		case FEATURE_NAME_CHANGED:
+		case PARENT_CHANGED:
+		case MANDATORY_CHANGED:
+		case GROUP_TYPE_CHANGED:
+		case ATTRIBUTE_CHANGED:
+		case CONSTRAINT_ADD:
+		case CONSTRAINT_DELETE:
+		case CONSTRAINT_MODIFY:
+			// events are fired from model and job threads
+			Display.getDefault().asyncExec(new Runnable() {
+				@Override
+				public void run() {
+					if (tableTree == null || tableTree.isDisposed()) {
+						return;
+					}
+					if (prop == EventType.COLOR_CHANGED) {
+						updateTree();
+					} else {
+						// filter results and selections depend on the features of the model
+						selectedConfigurations.clear();
+						treeViewerContentProvider.invalidateFilterResults();
+						treeViewerContentProvider.updateElements();
+					}
+				}
+			});
 			break;
 		default:
 			break;
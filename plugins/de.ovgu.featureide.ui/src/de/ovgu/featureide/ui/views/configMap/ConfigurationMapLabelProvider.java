@@ -29,7 +29,6 @@ import org.eclipse.swt.graphics.Image;
 import de.ovgu.featureide.fm.core.base.IFeature;
 import de.ovgu.featureide.fm.core.color.FeatureColor;
 import de.ovgu.featureide.fm.core.color.FeatureColorManager;
-import de.ovgu.featureide.fm.core.configuration.Configuration;
 import de.ovgu.featureide.fm.ui.FMUIPlugin;
 
 /**
@@ -83,11 +82,9 @@ public class ConfigurationMapLabelProvider implements ITableLabelProvider, ITabl
 		if (element instanceof IFeature) {
 			IFeature feature = (IFeature) element;
 			if (configurationMap.isConfigColumn(columnIndex)) {// && columnIndex < configurationMap.end) {
-				Configuration config = configurationMap.getConfigurationOfColumn(columnIndex);
-				
 				if (!feature.getStructure().isAbstract()) {
 					String imgPath = imgUnselectedPath;
-					if (config.getSelectedFeatures().contains(feature))
+					if (configurationMap.isSelected(feature, columnIndex - configurationMap.getConfigColumnsOffset()))
 						imgPath = imgSelectedPath;
 
 					return FMUIPlugin.getImage(imgPath);
@@ -20,7 +20,9 @@
 package de.ovgu.featureide.ui.views.configMap;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.jface.viewers.AbstractTreeViewer;
 import org.eclipse.jface.viewers.ITreeContentProvider;
@@ -43,6 +45,8 @@ public class ConfigurationMapTreeContentProvider implements ITreeContentProvider
 
 	private ConfigurationMap configurationMap;
 	private List<IConfigurationMapFilter> filters;
+	/** Cached results of each filter. Adding a filter only evaluates the new filter. */
+	private final Map<IConfigurationMapFilter, Map<IFeature, Boolean>> filterResults = new HashMap<>();
 
 	public ConfigurationMapTreeContentProvider(ConfigurationMap configurationMap) {
 		this.configurationMap = configurationMap;
@@ -63,6 +67,7 @@ public class ConfigurationMapTreeContentProvider implements ITreeContentProvider
 	@Override
 	public boolean removeFilter(IConfigurationMapFilter filter) {
 		if (this.filters.remove(filter)) {
+			filterResults.remove(filter);
 			updateElements();
 			return true;
 		}
@@ -83,10 +88,18 @@ public class ConfigurationMapTreeContentProvider implements ITreeContentProvider
 			this.featureProject = featureProject;
 			for (IConfigurationMapFilter filter : this.filters)
 				filter.initialize(this.configurationMap);
+			invalidateFilterResults();
 			updateElements();
 		}
 	}
 
+	/**
+	 * Discards all cached filter results. Must be called when the project or the configurations changed.
+	 */
+	public void invalidateFilterResults() {
+		filterResults.clear();
+	}
+
 	public void updateElements() {
 		if (featureProject == null)
 			return;
@@ -203,7 +216,17 @@ public class ConfigurationMapTreeContentProvider implements ITreeContentProvider
 	private boolean filter(IFeature feature) {
 		// OR
 		for (IConfigurationMapFilter filter : filters) {
-			if (filter.test(this.configurationMap, feature))
+			Map<IFeature, Boolean> results = filterResults.get(filter);
+			if (results == null) {
+				results = new HashMap<>();
+				filterResults.put(filter, results);
+			}
+			Boolean result = results.get(feature);
+			if (result == null) {
+				result = filter.test(this.configurationMap, feature);
+				results.put(feature, result);
+			}
+			if (result)
 				return true;
 		}
 
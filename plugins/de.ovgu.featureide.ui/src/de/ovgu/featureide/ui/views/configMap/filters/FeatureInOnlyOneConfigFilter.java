@@ -20,10 +20,7 @@
  */
 package de.ovgu.featureide.ui.views.configMap.filters;
 
-import java.util.List;
-
 import de.ovgu.featureide.fm.core.base.IFeature;
-import de.ovgu.featureide.fm.core.configuration.Configuration;
 import de.ovgu.featureide.ui.views.configMap.ConfigurationMap;
 import de.ovgu.featureide.ui.views.configMap.ConfigurationMapFilter;
 import de.ovgu.featureide.ui.views.configMap.IConfigurationMapFilter;
@@ -43,19 +40,6 @@ public class FeatureInOnlyOneConfigFilter extends ConfigurationMapFilter {
 	 */
 	@Override
 	public boolean test(ConfigurationMap configurationMap, IFeature feature) {
-		List<Configuration> configs = configurationMap.getConfigurations();
-		
-		boolean isInConfig = false;
-		
-		for (Configuration config : configs) {
-			if (config.getSelectedFeatures().contains(feature)) {
-				if (isInConfig)
-					return false;
-				else
-					isInConfig = true;
-			}
-		}
-		
-		return isInConfig;
+		return configurationMap.getSelectedConfigurations(feature).cardinality() == 1;
 	}
 }
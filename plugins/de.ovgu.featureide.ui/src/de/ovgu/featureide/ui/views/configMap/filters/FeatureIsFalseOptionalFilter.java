@@ -20,11 +20,8 @@
  */
 package de.ovgu.featureide.ui.views.configMap.filters;
 
-import java.util.List;
-
 import de.ovgu.featureide.fm.core.base.IFeature;
 import de.ovgu.featureide.fm.core.base.IFeatureStructure;
-import de.ovgu.featureide.fm.core.configuration.Configuration;
 import de.ovgu.featureide.ui.views.configMap.ConfigurationMap;
 import de.ovgu.featureide.ui.views.configMap.ConfigurationMapFilter;
 
@@ -55,13 +52,7 @@ public class FeatureIsFalseOptionalFilter extends ConfigurationMapFilter {
 		if (!structure.getParent().isAnd())
 			return false;
 		
-		List<Configuration> configs = configurationMap.getConfigurations();
-		if(configs == null) return false;
-		for (Configuration config : configs) {
-			if (!config.getSelectedFeatures().contains(feature))
-				return false;
-		}
-
-		return true;
+		if (configurationMap.getConfigurations() == null) return false;
+		return configurationMap.getSelectedConfigurations(feature).cardinality() == configurationMap.getConfigurationCount();
 	}
 }
@@ -20,10 +20,7 @@
  */
 package de.ovgu.featureide.ui.views.configMap.filters;
 
-import java.util.List;
-
 import de.ovgu.featureide.fm.core.base.IFeature;
-import de.ovgu.featureide.fm.core.configuration.Configuration;
 import de.ovgu.featureide.ui.views.configMap.ConfigurationMap;
 import de.ovgu.featureide.ui.views.configMap.ConfigurationMapFilter;
 import de.ovgu.featureide.ui.views.configMap.IConfigurationMapFilter;
@@ -44,13 +41,7 @@ public class FeatureUnusedFilter extends ConfigurationMapFilter {
 	 */
 	@Override
 	public boolean test(ConfigurationMap configurationMap, IFeature feature) {
-		List<Configuration> configs = configurationMap.getConfigurations();
-		if(configs == null) return false;
-		for (Configuration config : configs) {
-			if (config.getSelectedFeatures().contains(feature))
-				return false;
-		}
-
-		return true;
+		if (configurationMap.getConfigurations() == null) return false;
+		return configurationMap.getSelectedConfigurations(feature).isEmpty();
 	}
 }
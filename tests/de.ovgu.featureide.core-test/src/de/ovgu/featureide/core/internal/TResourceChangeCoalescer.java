@@ -0,0 +1,140 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2016  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ * 
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.core.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.ovgu.featureide.core.internal.ResourceChangeCoalescer.IResourceChangeHandler;
+
+/**
+ * Tests that the {@link ResourceChangeCoalescer} merges all events of one time window into a single batch.
+ */
+public class TResourceChangeCoalescer {
+
+	private static final long WINDOW = 100;
+
+	private final List<List<IResourceChangeEvent>> batches = new ArrayList<>();
+
+	private ResourceChangeCoalescer<List<IResourceChangeEvent>> coalescer;
+
+	@Before
+	public void setUp() {
+		batches.clear();
+		coalescer = new ResourceChangeCoalescer<>(new IResourceChangeHandler<List<IResourceChangeEvent>>() {
+
+			@Override
+			public List<IResourceChangeEvent> createChanges() {
+				return new ArrayList<>();
+			}
+
+			@Override
+			public void collect(IResourceChangeEvent event, List<IResourceChangeEvent> changes) {
+				changes.add(event);
+			}
+
+			@Override
+			public void process(List<IResourceChangeEvent> changes) {
+				batches.add(changes);
+			}
+		}, WINDOW);
+	}
+
+	@Test
+	public void testBatchWithinWindow() {
+		coalescer.collect(null, 0);
+		coalescer.collect(null, 50);
+		coalescer.collect(null, 120);
+		assertEquals(WINDOW, coalescer.processPendingChanges(120));
+		assertEquals(30, coalescer.processPendingChanges(190));
+		assertTrue(batches.isEmpty());
+
+		assertEquals(0, coalescer.processPendingChanges(220));
+		assertEquals(1, batches.size());
+		assertEquals(3, batches.get(0).size());
+		assertEquals(3, coalescer.getReceivedEventCount());
+		assertEquals(1, coalescer.getProcessedBatchCount());
+	}
+
+	@Test
+	public void testSeparateWindows() {
+		coalescer.collect(null, 0);
+		coalescer.collect(null, 10);
+		assertEquals(0, coalescer.processPendingChanges(110));
+		coalescer.collect(null, 200);
+		assertEquals(0, coalescer.processPendingChanges(300));
+		assertEquals(0, coalescer.processPendingChanges(400));
+
+		assertEquals(2, batches.size());
+		assertEquals(2, batches.get(0).size());
+		assertEquals(1, batches.get(1).size());
+		assertEquals(2, coalescer.getProcessedBatchCount());
+	}
+
+	@Test
+	public void testScheduleOnlyNewBatches() {
+		assertTrue(coalescer.collect(null, 0));
+		assertFalse(coalescer.collect(null, 10));
+		assertFalse(coalescer.collect(null, 20));
+		assertEquals(0, coalescer.processPendingChanges(120));
+		assertTrue(coalescer.collect(null, 130));
+		assertFalse(coalescer.collect(null, 140));
+	}
+
+	@Test
+	public void testRemainingTimeBoundedByMaximumDelay() {
+		// a steady stream of events does not postpone the job beyond the maximum delay of 8 windows
+		for (long time = 0; time <= 7 * WINDOW; time += WINDOW / 2) {
+			coalescer.collect(null, time);
+		}
+		assertEquals(WINDOW, coalescer.processPendingChanges(7 * WINDOW));
+		coalescer.collect(null, 7 * WINDOW + WINDOW / 2);
+		assertEquals(WINDOW / 2, coalescer.processPendingChanges(7 * WINDOW + WINDOW / 2));
+		assertTrue(batches.isEmpty());
+		assertEquals(0, coalescer.processPendingChanges(8 * WINDOW));
+		assertEquals(1, batches.size());
+	}
+
+	@Test
+	public void testMaximumDelay() {
+		long time = 0;
+		for (int i = 0; i < 20; i++, time += WINDOW / 2) {
+			coalescer.collect(null, time);
+			coalescer.processPendingChanges(time);
+		}
+		assertEquals(1, batches.size());
+		assertEquals(17, batches.get(0).size());
+
+		assertEquals(WINDOW / 2, coalescer.processPendingChanges(time));
+		assertEquals(0, coalescer.processPendingChanges(time + WINDOW));
+		assertEquals(2, batches.size());
+		assertEquals(3, batches.get(1).size());
+	}
+
+}
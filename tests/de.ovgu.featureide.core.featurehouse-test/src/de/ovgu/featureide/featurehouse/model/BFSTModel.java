@@ -0,0 +1,118 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2016  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ * 
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.featurehouse.model;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.LinkedList;
+
+import org.junit.Test;
+
+import de.ovgu.featureide.core.fstmodel.FSTClass;
+import de.ovgu.featureide.core.fstmodel.FSTMethod;
+import de.ovgu.featureide.core.fstmodel.FSTModel;
+import de.ovgu.featureide.core.fstmodel.FSTRole;
+
+/**
+ * This is a benchmark for the method index of the {@link FSTModel}.<br>
+ * It compares the nested scan over all classes, roles, and methods with the lookup
+ * using {@link FSTModel#getMethods(String, String)} on a large generated FST.
+ *
+ * All timeouts are set to around 4 times the measured times
+ * to avoid that the tests fail for slower computers.
+ */
+public class BFSTModel {
+
+	private static final int CLASSES = 200;
+	private static final int FEATURES = 50;
+	private static final int METHODS = 20;
+
+	private static final FSTModel MODEL = createModel();
+
+	private static FSTModel createModel() {
+		final FSTModel model = new FSTModel(null);
+		for (int f = 0; f < FEATURES; f++) {
+			for (int c = 0; c < CLASSES; c++) {
+				final FSTRole role = model.addRole("F" + f, "C" + c + ".java", null);
+				for (int m = 0; m < METHODS; m++) {
+					role.getClassFragment().add(new FSTMethod("m" + m, new LinkedList<String>(), "void", "public"));
+				}
+			}
+		}
+		return model;
+	}
+
+	/**
+	 * Counts all refinements of all methods by scanning the whole model.
+	 */
+	private static int countRefinementsScan() {
+		int count = 0;
+		for (FSTClass c : MODEL.getClasses()) {
+			for (FSTRole r : c.getRoles()) {
+				for (FSTMethod m : r.getClassFragment().getMethods()) {
+					for (FSTRole rr : c.getRoles()) {
+						for (FSTMethod mm : rr.getClassFragment().getMethods()) {
+							if (mm.getName().equals(m.getName())) {
+								count++;
+							}
+						}
+					}
+				}
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Counts all refinements of all methods by using the method index.
+	 */
+	private static int countRefinementsIndex() {
+		int count = 0;
+		for (FSTClass c : MODEL.getClasses()) {
+			for (FSTRole r : c.getRoles()) {
+				for (FSTMethod m : r.getClassFragment().getMethods()) {
+					count += MODEL.getMethods(c.getName(), m.getName()).size();
+				}
+			}
+		}
+		return count;
+	}
+
+	@Test (timeout=12000) // 2.521s
+	public final void BRefinementsScan() {
+		assertEquals(CLASSES * FEATURES * FEATURES * METHODS, countRefinementsScan());
+	}
+
+	@Test (timeout=500) // 0.096s
+	public final void BRefinementsIndex() {
+		assertEquals(CLASSES * FEATURES * FEATURES * METHODS, countRefinementsIndex());
+	}
+
+	@Test (timeout=100) // 0.021s
+	public final void BRoleLookup() {
+		for (int f = 0; f < FEATURES; f++) {
+			for (int c = 0; c < CLASSES; c++) {
+				assertEquals("F" + f, MODEL.getRole("F" + f, "C" + c + ".java").getFeature().getName());
+			}
+		}
+	}
+
+}
@@ -0,0 +1,92 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2016  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ * 
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.featurehouse.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.LinkedList;
+
+import org.junit.Test;
+
+import de.ovgu.featureide.core.fstmodel.FSTClass;
+import de.ovgu.featureide.core.fstmodel.FSTFeature;
+import de.ovgu.featureide.core.fstmodel.FSTMethod;
+import de.ovgu.featureide.core.fstmodel.FSTModel;
+import de.ovgu.featureide.core.fstmodel.FSTRole;
+
+/**
+ * Tests that the method index of the {@link FSTModel} contains the methods of all roles,
+ * independent of how the roles were added to the model.
+ */
+public class TFSTModel {
+
+	private static FSTMethod createMethod(String name) {
+		return new FSTMethod(name, new LinkedList<String>(), "void", "public");
+	}
+
+	@Test
+	public void testAddRole() {
+		final FSTModel model = new FSTModel(null);
+		final FSTMethod m1 = createMethod("m");
+		final FSTMethod m2 = createMethod("m");
+		model.addRole("A", "C.java", null).getClassFragment().add(m1);
+		model.addRole("B", "C.java", null).getClassFragment().add(m2);
+		assertEquals(2, model.getMethods("C.java", "m").size());
+		assertEquals(0, model.getMethods("C.java", "n").size());
+	}
+
+	@Test
+	public void testAddClass() {
+		final FSTModel otherModel = new FSTModel(null);
+		final FSTFeature feature = new FSTFeature("A", otherModel);
+		final FSTClass c = new FSTClass("C.java");
+		final FSTRole role = new FSTRole(null, feature, c);
+		c.addRole("A", role);
+		final FSTMethod method = createMethod("m");
+		role.getClassFragment().add(method);
+
+		final FSTModel model = new FSTModel(null);
+		model.addClass(c);
+		assertEquals(1, model.getMethods("C.java", "m").size());
+		assertSame(method, model.getMethods("C.java", "m").get(0));
+	}
+
+	@Test
+	public void testAddFeature() {
+		final FSTModel otherModel = new FSTModel(null);
+		final FSTFeature feature = new FSTFeature("A", otherModel);
+		final FSTClass c = new FSTClass("C.java");
+		final FSTRole role = new FSTRole(null, feature, c);
+		c.addRole("A", role);
+		feature.addRole("C.java", role);
+		role.getClassFragment().add(createMethod("m"));
+
+		final FSTModel model = new FSTModel(null);
+		model.addFeature(feature);
+		assertEquals(1, model.getMethods("C.java", "m").size());
+
+		// adding the same role again does not duplicate its methods
+		model.addClass(c);
+		assertEquals(1, model.getMethods("C.java", "m").size());
+	}
+
+}
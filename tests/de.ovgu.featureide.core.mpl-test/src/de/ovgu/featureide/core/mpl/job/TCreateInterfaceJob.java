@@ -0,0 +1,173 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2016  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ * 
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.core.mpl.job;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.prop4j.And;
+import org.prop4j.Implies;
+import org.prop4j.Literal;
+import org.prop4j.Node;
+import org.prop4j.Or;
+
+import de.ovgu.featureide.fm.core.base.IFeature;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.IFeatureModelFactory;
+import de.ovgu.featureide.fm.core.base.impl.FMFactoryManager;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor.MethodCancelException;
+import de.ovgu.featureide.fm.core.job.monitor.NullMonitor;
+
+/**
+ * Tests the clause check and the interface cache of {@link CreateInterfaceJob}.
+ */
+public class TCreateInterfaceJob {
+
+	private static final String[] VARIABLES = { "A", "B", "C", "D", "E", "F" };
+
+	@Before
+	public void clearCache() {
+		CreateInterfaceJob.clearCache();
+	}
+
+	@Test
+	public void testParallelEqualsSequential() throws Exception {
+		final Node modelCNF = new And(new Or(new Literal("A"), new Literal("B")), new Or(new Literal("A", false), new Literal("C")), new Literal("D"),
+				new Or(new Literal("E", false), new Literal("F", false)));
+		final Random random = new Random(42);
+		final Node[] clauses = new Node[200];
+		for (int i = 0; i < clauses.length; i++) {
+			final int size = 1 + random.nextInt(3);
+			if (size == 1) {
+				clauses[i] = randomLiteral(random);
+			} else {
+				final Node[] literals = new Node[size];
+				for (int j = 0; j < size; j++) {
+					literals[j] = randomLiteral(random);
+				}
+				clauses[i] = new Or(literals);
+			}
+		}
+
+		final boolean[] sequential = CreateInterfaceJob.checkClauses(modelCNF, clauses, 1);
+		assertEquals(Arrays.toString(sequential), Arrays.toString(CreateInterfaceJob.checkClauses(modelCNF, clauses, 4)));
+		assertEquals(Arrays.toString(sequential), Arrays.toString(CreateInterfaceJob.checkClauses(modelCNF, clauses, 7)));
+	}
+
+	@Test
+	public void testImpliedClauses() throws Exception {
+		final Node modelCNF = new And(new Or(new Literal("A", false), new Literal("B")), new Literal("A"));
+		final Node[] clauses = { new Literal("A"), new Literal("B"), new Literal("C"), new Or(new Literal("A", false), new Literal("C")) };
+		final boolean[] expected = { false, false, true, true };
+		assertEquals(Arrays.toString(expected), Arrays.toString(CreateInterfaceJob.checkClauses(modelCNF, clauses, 1)));
+		assertEquals(Arrays.toString(expected), Arrays.toString(CreateInterfaceJob.checkClauses(modelCNF, clauses, 2)));
+	}
+
+	@Test
+	public void testFailedCheckIsPropagated() throws Exception {
+		final Node modelCNF = new And(new Literal("A"), new Literal("B"));
+		final List<Node> clauses = new ArrayList<>();
+		for (int i = 0; i < 32; i++) {
+			clauses.add(new Literal(VARIABLES[i % VARIABLES.length]));
+		}
+		clauses.add(new Or(new Literal("A"), new And(new Literal("B"), new Literal("C"))));
+		final Node[] clauseArray = clauses.toArray(new Node[0]);
+
+		try {
+			CreateInterfaceJob.checkClauses(modelCNF, clauseArray, 1);
+			fail();
+		} catch (ClassCastException e) {
+		}
+		try {
+			CreateInterfaceJob.checkClauses(modelCNF, clauseArray, 4);
+			fail();
+		} catch (ExecutionException e) {
+			assertEquals(ClassCastException.class, e.getCause().getClass());
+		}
+	}
+
+	@Test
+	public void testCachedInterface() throws Exception {
+		final IFeatureModel featureModel = createFeatureModel();
+		final List<String> featureNames = Arrays.asList("Root", "A", "B");
+
+		final IFeatureModel first = createJob(featureModel, featureNames).execute(new NullMonitor());
+		assertNotNull(first);
+		assertEquals(1, CreateInterfaceJob.getCacheSize());
+
+		final IFeatureModel second = createJob(createFeatureModel(), featureNames).execute(new NullMonitor());
+		assertEquals(1, CreateInterfaceJob.getCacheSize());
+		assertEquals(first.getNumberOfFeatures(), second.getNumberOfFeatures());
+		assertEquals(first.getConstraintCount(), second.getConstraintCount());
+
+		final IFeatureModel changedModel = createFeatureModel();
+		changedModel.getFeature("B").getStructure().setMandatory(true);
+		createJob(changedModel, featureNames).execute(new NullMonitor());
+		assertEquals(2, CreateInterfaceJob.getCacheSize());
+	}
+
+	@Test
+	public void testCancelledInterfaceIsNotCached() throws Exception {
+		final IMonitor monitor = new NullMonitor();
+		monitor.cancel();
+		try {
+			createJob(createFeatureModel(), Arrays.asList("Root", "A", "B")).execute(monitor);
+			fail();
+		} catch (MethodCancelException e) {
+		}
+		assertEquals(0, CreateInterfaceJob.getCacheSize());
+	}
+
+	private static Literal randomLiteral(Random random) {
+		return new Literal(VARIABLES[random.nextInt(VARIABLES.length)], random.nextBoolean());
+	}
+
+	private static CreateInterfaceJob createJob(IFeatureModel featureModel, List<String> featureNames) {
+		return new CreateInterfaceJob(new CreateInterfaceJob.Arguments("Test", featureModel, featureNames));
+	}
+
+	private static IFeatureModel createFeatureModel() {
+		final IFeatureModelFactory factory = FMFactoryManager.getDefaultFactory();
+		final IFeatureModel featureModel = factory.createFeatureModel();
+		final IFeature root = factory.createFeature(featureModel, "Root");
+		featureModel.addFeature(root);
+		featureModel.getStructure().setRoot(root.getStructure());
+		for (String name : new String[] { "A", "B", "C" }) {
+			final IFeature feature = factory.createFeature(featureModel, name);
+			featureModel.addFeature(feature);
+			root.getStructure().addChild(feature.getStructure());
+		}
+		featureModel.getFeature("A").getStructure().setMandatory(true);
+		featureModel.addConstraint(factory.createConstraint(featureModel, new Implies(new Literal("C"), new Literal("B"))));
+		return featureModel;
+	}
+
+}
@@ -0,0 +1,140 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2016  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ * 
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.core.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+
+import org.junit.Test;
+
+/**
+ * Tests the rewriting of property calls to reads of the generated feature flags (and back).
+ */
+public class TFeatureFlagsGenerator {
+
+	private static final Set<String> FIELDS = FeatureFlagsGenerator.getFieldNames(Arrays.asList("A", "B_1", "int", "true", "null", "1A", "A-B", ""));
+
+	@Test
+	public void testIsValidFieldName() {
+		assertTrue(FeatureFlagsGenerator.isValidFieldName("A"));
+		assertTrue(FeatureFlagsGenerator.isValidFieldName("_Base$1"));
+		assertFalse(FeatureFlagsGenerator.isValidFieldName(""));
+		assertFalse(FeatureFlagsGenerator.isValidFieldName("1A"));
+		assertFalse(FeatureFlagsGenerator.isValidFieldName("A-B"));
+		assertFalse(FeatureFlagsGenerator.isValidFieldName("A.B"));
+		assertFalse(FeatureFlagsGenerator.isValidFieldName("int"));
+		assertFalse(FeatureFlagsGenerator.isValidFieldName("class"));
+		assertFalse(FeatureFlagsGenerator.isValidFieldName("true"));
+		assertFalse(FeatureFlagsGenerator.isValidFieldName("false"));
+		assertFalse(FeatureFlagsGenerator.isValidFieldName("null"));
+	}
+
+	@Test
+	public void testGetFieldNames() {
+		assertEquals(Arrays.asList("A", "B_1"), Arrays.asList(FIELDS.toArray()));
+		final String flagClass = FeatureFlagsGenerator.createFlagClass(FIELDS);
+		assertTrue(flagClass.contains("boolean A = PropertyManager.getProperty(\"A\");"));
+		assertFalse(flagClass.contains("int"));
+	}
+
+	@Test
+	public void testToFieldReads() {
+		assertEquals("if (FeatureFlags.A && FeatureFlags.B_1) {",
+				FeatureFlagsGenerator.rewriteLine("if (PropertyManager.getProperty(\"A\") && PropertyManager.getProperty( \"B_1\" )) {", true, FIELDS));
+		assertEquals("if (properties.FeatureFlags.A) {",
+				FeatureFlagsGenerator.rewriteLine("if (properties.PropertyManager.getProperty(\"A\")) {", true, FIELDS));
+	}
+
+	@Test
+	public void testToFieldReadsUnknownFeature() {
+		// keywords, abstract features, and unknown features keep the property call
+		for (String featureName : new String[] { "int", "true", "Abstract", "A-B" }) {
+			final String line = "if (PropertyManager.getProperty(\"" + featureName + "\")) {";
+			assertEquals(line, FeatureFlagsGenerator.rewriteLine(line, true, FIELDS));
+		}
+		assertEquals("if (FeatureFlags.A || PropertyManager.getProperty(\"Abstract\")) {",
+				FeatureFlagsGenerator.rewriteLine("if (PropertyManager.getProperty(\"A\") || PropertyManager.getProperty(\"Abstract\")) {", true, FIELDS));
+	}
+
+	@Test
+	public void testToPropertyCalls() {
+		assertEquals("if (PropertyManager.getProperty(\"A\") && !PropertyManager.getProperty(\"B_1\")) {",
+				FeatureFlagsGenerator.rewriteLine("if (FeatureFlags.A && !FeatureFlags.B_1) {", false, null));
+		assertEquals("if (properties.PropertyManager.getProperty(\"A\")) {",
+				FeatureFlagsGenerator.rewriteLine("if (properties.FeatureFlags.A) {", false, null));
+		assertEquals("if (MyFeatureFlags.A) {", FeatureFlagsGenerator.rewriteLine("if (MyFeatureFlags.A) {", false, null));
+	}
+
+	@Test
+	public void testImportReplaced() {
+		final String content = "package p;\r\n\r\nimport java.util.List;\r\nimport properties.PropertyManager;\r\n\r\nclass C {\r\n\tvoid m() {\r\n"
+				+ "\t\tif (PropertyManager.getProperty(\"A\")) {}\r\n\t}\r\n}\r\n";
+		final String expected = "package p;\r\n\r\nimport java.util.List;\r\nimport properties.FeatureFlags;\r\n\r\nclass C {\r\n\tvoid m() {\r\n"
+				+ "\t\tif (FeatureFlags.A) {}\r\n\t}\r\n}\r\n";
+		final String rewritten = FeatureFlagsGenerator.rewrite(content, Collections.singleton(8), true, FIELDS);
+		assertEquals(expected, rewritten);
+		assertEquals(content, FeatureFlagsGenerator.rewrite(rewritten, Collections.singleton(8), false, null));
+	}
+
+	@Test
+	public void testImportKeptForRemainingCalls() {
+		final String content = "package p;\nimport properties.PropertyManager;\nclass C {\n\tboolean a = PropertyManager.getProperty(\"A\");\n"
+				+ "\tboolean b = PropertyManager.getProperty(\"Abstract\");\n}";
+		final String expected = "package p;\nimport properties.PropertyManager;\nimport properties.FeatureFlags;\nclass C {\n\tboolean a = FeatureFlags.A;\n"
+				+ "\tboolean b = PropertyManager.getProperty(\"Abstract\");\n}";
+		assertEquals(expected, FeatureFlagsGenerator.rewrite(content, Arrays.asList(4, 5), true, FIELDS));
+	}
+
+	@Test
+	public void testWildcardImport() {
+		final String content = "package p;\nimport properties.*;\nclass C {\n\tboolean a = PropertyManager.getProperty(\"A\");\n}\n";
+		final String expected = "package p;\nimport properties.*;\nclass C {\n\tboolean a = FeatureFlags.A;\n}\n";
+		assertEquals(expected, FeatureFlagsGenerator.rewrite(content, Collections.singleton(4), true, FIELDS));
+	}
+
+	@Test
+	public void testQualifiedCall() {
+		final String content = "package p;\nclass C {\n\tboolean a = properties.PropertyManager.getProperty(\"A\");\n}\n";
+		final String expected = "package p;\nclass C {\n\tboolean a = properties.FeatureFlags.A;\n}\n";
+		assertEquals(expected, FeatureFlagsGenerator.rewrite(content, Collections.singleton(3), true, FIELDS));
+	}
+
+	@Test
+	public void testMissingImport() {
+		final String content = "package p;\n\nimport java.util.List;\n\nclass C {\n\tboolean a = FeatureFlags.A;\n}\n";
+		final String expected = "package p;\n\nimport java.util.List;\nimport properties.PropertyManager;\n\nclass C {\n"
+				+ "\tboolean a = PropertyManager.getProperty(\"A\");\n}\n";
+		assertEquals(expected, FeatureFlagsGenerator.rewrite(content, Collections.singleton(6), false, null));
+	}
+
+	@Test
+	public void testUnchanged() {
+		final String content = "package p;\nclass C {\n\tboolean a = PropertyManager.getProperty(\"Abstract\");\n}\n";
+		assertSame(content, FeatureFlagsGenerator.rewrite(content, Collections.singleton(3), true, FIELDS));
+	}
+
+}
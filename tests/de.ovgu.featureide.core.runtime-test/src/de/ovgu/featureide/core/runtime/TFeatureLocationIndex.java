@@ -0,0 +1,158 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2016  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ * 
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.core.runtime;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import de.ovgu.featureide.core.fstmodel.preprocessor.FSTDirectiveCommand;
+
+/**
+ * Tests the scanner of the {@link FeatureLocationIndex}.
+ */
+public class TFeatureLocationIndex {
+
+	private static List<FeatureLocation> scan(String... lines) {
+		final StringBuilder sb = new StringBuilder();
+		for (String line : lines) {
+			sb.append(line).append('\n');
+		}
+		return FeatureLocationIndex.scan(null, sb.toString());
+	}
+
+	private static void assertLocation(FeatureLocation location, String featureName, int startLine, int endLine, String className,
+			FSTDirectiveCommand cmd) {
+		assertEquals(featureName, location.getFeatureName());
+		assertEquals(startLine, location.getStartLineNum());
+		assertEquals(endLine, location.getEndLineNum());
+		assertEquals(className, location.getClassName());
+		assertEquals(cmd, location.getCmd());
+	}
+
+	@Test
+	public void testCalls() {
+		final List<FeatureLocation> locations = scan(//
+				"package p;", //
+				"class C {", //
+				"	boolean a = PropertyManager.getProperty(\"A\");", //
+				"	boolean b = properties.PropertyManager.getProperty( \"B\" );", //
+				"	boolean c = FeatureFlags.C;", //
+				"	Class<?> d = FeatureFlags.class;", //
+				"	// PropertyManager.getProperty(\"D\")", //
+				"	String e = \"FeatureFlags.E\";", //
+				"	/* FeatureFlags.F */", //
+				"}");
+		assertEquals(3, locations.size());
+		assertLocation(locations.get(0), "A", 3, 3, "C", FSTDirectiveCommand.CALL);
+		assertLocation(locations.get(1), "B", 4, 4, "C", FSTDirectiveCommand.CALL);
+		assertLocation(locations.get(2), "C", 5, 5, "C", FSTDirectiveCommand.CALL);
+	}
+
+	@Test
+	public void testNestedTypes() {
+		final List<FeatureLocation> locations = scan(//
+				"class Outer {", //
+				"	static class Inner {", //
+				"		boolean a = FeatureFlags.A;", //
+				"	}", //
+				"	boolean b = FeatureFlags.B;", //
+				"}", //
+				"boolean c = FeatureFlags.C;");
+		assertEquals(2, locations.size());
+		assertLocation(locations.get(0), "A", 3, 3, "Inner", FSTDirectiveCommand.CALL);
+		assertLocation(locations.get(1), "B", 5, 5, "Outer", FSTDirectiveCommand.CALL);
+	}
+
+	@Test
+	public void testIfStatements() {
+		final List<FeatureLocation> locations = scan(//
+				"class C {", //
+				"	void m() {", //
+				"		if (FeatureFlags.A) {", //
+				"			a();", //
+				"		}", //
+				"		if (PropertyManager.getProperty(\"B\"))", //
+				"			b();", //
+				"		if (FeatureFlags.C)", //
+				"			for (int i = 0; i < 2; i++) {", //
+				"				c();", //
+				"			}", //
+				"	}", //
+				"}");
+		assertEquals(3, locations.size());
+		assertLocation(locations.get(0), "A", 3, 5, "C", FSTDirectiveCommand.IF);
+		assertLocation(locations.get(1), "B", 6, 7, "C", FSTDirectiveCommand.IF);
+		assertLocation(locations.get(2), "C", 8, 11, "C", FSTDirectiveCommand.IF);
+	}
+
+	@Test
+	public void testIfWithArrayInitializer() {
+		final List<FeatureLocation> locations = scan(//
+				"class C {", //
+				"	void m() {", //
+				"		if (FeatureFlags.A)", //
+				"			values = new boolean[] {", //
+				"				PropertyManager.getProperty(\"B\")", //
+				"			}", //
+				"			;", //
+				"	}", //
+				"}");
+		assertEquals(2, locations.size());
+		assertLocation(locations.get(0), "A", 3, 7, "C", FSTDirectiveCommand.IF);
+		assertLocation(locations.get(1), "B", 5, 5, "C", FSTDirectiveCommand.CALL);
+	}
+
+	@Test
+	public void testIfWithAnonymousClass() {
+		final List<FeatureLocation> locations = scan(//
+				"class C {", //
+				"	void m() {", //
+				"		if (FeatureFlags.A)", //
+				"			r = new Runnable() {", //
+				"				public void run() {}", //
+				"			};", //
+				"	}", //
+				"}");
+		assertEquals(1, locations.size());
+		assertLocation(locations.get(0), "A", 3, 6, "C", FSTDirectiveCommand.IF);
+	}
+
+	@Test
+	public void testIfWithTryStatement() {
+		final List<FeatureLocation> locations = scan(//
+				"class C {", //
+				"	void m() {", //
+				"		if (FeatureFlags.A)", //
+				"			try {", //
+				"				a();", //
+				"			} catch (Exception e) {", //
+				"			}", //
+				"		b();", //
+				"	}", //
+				"}");
+		assertEquals(1, locations.size());
+		assertLocation(locations.get(0), "A", 3, 7, "C", FSTDirectiveCommand.IF);
+	}
+
+}
@@ -0,0 +1,117 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2016  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ * 
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.prop4j.Implies;
+import org.prop4j.Literal;
+
+import de.ovgu.featureide.fm.core.base.IConstraint;
+import de.ovgu.featureide.fm.core.base.IFeature;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.IFeatureModelFactory;
+import de.ovgu.featureide.fm.core.base.impl.FMFactoryManager;
+
+/**
+ * Tests for the {@link FeatureModelAnalysisTracker}.
+ */
+public class TFeatureModelAnalysisTracker {
+
+	final static IFeatureModelFactory FACTORY = FMFactoryManager.getDefaultFactory();
+
+	private IFeatureModel model;
+	private IFeature root, a, b;
+	private IConstraint constraint;
+
+	private final FeatureModelAnalysisTracker tracker = new FeatureModelAnalysisTracker();
+
+	/**
+	 * Creates the tree root(a, b) with the constraint a => b.
+	 */
+	@Before
+	public void createModel() {
+		model = FACTORY.createFeatureModel();
+		root = addFeature("Root");
+		model.getStructure().setRoot(root.getStructure());
+		a = addFeature("A");
+		b = addFeature("B");
+		root.getStructure().addChild(a.getStructure());
+		root.getStructure().addChild(b.getStructure());
+		constraint = FACTORY.createConstraint(model, new Implies(new Literal("A"), new Literal("B")));
+		model.addConstraint(constraint);
+	}
+
+	private IFeature addFeature(String name) {
+		final IFeature feature = FACTORY.createFeature(model, name);
+		model.addFeature(feature);
+		return feature;
+	}
+
+	@Test
+	public void testFirstUpdate() {
+		assertNull(tracker.update(model));
+		assertEquals(1, tracker.update(model).size());
+	}
+
+	@Test
+	public void testChangedFeature() {
+		tracker.update(model);
+		b.getProperty().setFeatureStatus(FeatureStatus.FALSE_OPTIONAL, false);
+		HashMap<Object, Object> changedAttributes = tracker.update(model);
+		assertEquals(2, changedAttributes.size());
+		assertTrue(changedAttributes.containsKey(root));
+		assertEquals(FeatureStatus.FALSE_OPTIONAL, changedAttributes.get(b));
+
+		// the same result is not reported again
+		b.getProperty().setFeatureStatus(FeatureStatus.NORMAL, false);
+		b.getProperty().setFeatureStatus(FeatureStatus.FALSE_OPTIONAL, false);
+		changedAttributes = tracker.update(model);
+		assertEquals(1, changedAttributes.size());
+
+		b.getProperty().setFeatureStatus(FeatureStatus.NORMAL, false);
+		changedAttributes = tracker.update(model);
+		assertEquals(FeatureStatus.NORMAL, changedAttributes.get(b));
+	}
+
+	@Test
+	public void testChangedConstraint() {
+		tracker.update(model);
+		constraint.setConstraintAttribute(ConstraintAttribute.REDUNDANT, false);
+		final HashMap<Object, Object> changedAttributes = tracker.update(model);
+		assertEquals(2, changedAttributes.size());
+		assertEquals(ConstraintAttribute.REDUNDANT, changedAttributes.get(constraint));
+	}
+
+	@Test
+	public void testReset() {
+		tracker.update(model);
+		tracker.reset();
+		assertNull(tracker.update(model));
+	}
+
+}
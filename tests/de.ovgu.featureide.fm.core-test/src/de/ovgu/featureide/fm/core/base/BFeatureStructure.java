@@ -0,0 +1,123 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2016  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ * 
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.base;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import de.ovgu.featureide.fm.core.base.impl.FMFactoryManager;
+import de.ovgu.featureide.fm.core.configuration.Configuration;
+import de.ovgu.featureide.fm.core.configuration.Selection;
+
+/**
+ * This is a benchmark for the structural queries of {@link IFeatureStructure} on a large generated feature model.<br>
+ * The model consists of a deep chain of features, each with some optional leaves, and a hidden feature near the root.
+ * 
+ * All timeouts are set to around 4 times the measured times
+ * to avoid that the tests fail for slower computers.
+ */
+public class BFeatureStructure {
+
+	private static final int DEPTH = 1000;
+	private static final int LEAVES = 4;
+	private static final int PROPAGATION_DEPTH = 200;
+
+	private static final IFeatureModel MODEL = createModel(DEPTH);
+
+	private static IFeatureModel createModel(int depth) {
+		final IFeatureModelFactory factory = FMFactoryManager.getDefaultFactory();
+		final IFeatureModel model = factory.createFeatureModel();
+		IFeature parent = factory.createFeature(model, "Root");
+		model.addFeature(parent);
+		model.getStructure().setRoot(parent.getStructure());
+		parent.getStructure().setAbstract(true);
+		for (int i = 0; i < depth; i++) {
+			final IFeature chainFeature = factory.createFeature(model, "C" + i);
+			model.addFeature(chainFeature);
+			parent.getStructure().addChild(chainFeature.getStructure());
+			chainFeature.getStructure().setMandatory(true);
+			for (int j = 0; j < LEAVES; j++) {
+				final IFeature leaf = factory.createFeature(model, "L" + i + "_" + j);
+				model.addFeature(leaf);
+				chainFeature.getStructure().addChild(leaf.getStructure());
+			}
+			if (i < depth - 1) {
+				chainFeature.getStructure().setAbstract(true);
+			}
+			parent = chainFeature;
+		}
+		model.getFeature("C1").getStructure().setHidden(true);
+		return model;
+	}
+
+	static {
+		for (int i = 0; i < 5; i++) {
+			countHiddenFeatures();
+		}
+	}
+
+	private static int countHiddenFeatures() {
+		int count = 0;
+		for (IFeature feature : MODEL.getFeatures()) {
+			if (feature.getStructure().hasHiddenParent()) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	@Test (timeout=100) // 0.014s
+	public final void BHasHiddenParent() {
+		for (int i = 0; i < 10; i++) {
+			assertEquals((DEPTH - 1) * (LEAVES + 1), countHiddenFeatures());
+		}
+	}
+
+	@Test (timeout=50) // 0.003s
+	public final void BIsAncestorOf() {
+		final IFeatureStructure root = MODEL.getStructure().getRoot();
+		for (IFeature feature : MODEL.getFeatures()) {
+			assertTrue(feature.getStructure().isRoot() || feature.getStructure().isAncestorOf(root));
+		}
+	}
+
+	@Test (timeout=300) // 0.069s
+	public final void BFeaturesPreorder() {
+		for (int i = 0; i < 100; i++) {
+			assertEquals(MODEL.getNumberOfFeatures(), FeatureUtils.getFeaturesPreorder(MODEL).size());
+			assertEquals(DEPTH * LEAVES + 1, MODEL.getFeatureOrderList().size());
+		}
+	}
+
+	/**
+	 * Propagation on a smaller model, as the time for the satisfiability checks grows with the square of the model size.
+	 */
+	@Test (timeout=10000) // 2.373s
+	public final void BConfigurationPropagation() {
+		final Configuration configuration = new Configuration(createModel(PROPAGATION_DEPTH), true);
+		configuration.setManual("L0_0", Selection.SELECTED);
+		configuration.setManual("L0_1", Selection.UNSELECTED);
+		assertTrue(configuration.isValid());
+	}
+
+}
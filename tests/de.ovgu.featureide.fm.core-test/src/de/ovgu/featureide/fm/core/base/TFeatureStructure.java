@@ -0,0 +1,131 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2016  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ * 
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.base;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.ovgu.featureide.fm.core.base.impl.FMFactoryManager;
+
+/**
+ * Test class for the structural queries of {@link IFeatureStructure} and {@link IFeatureModelStructure}
+ * before and after modifications of the feature tree.
+ */
+public class TFeatureStructure {
+
+	final static IFeatureModelFactory FACTORY = FMFactoryManager.getDefaultFactory();
+
+	private IFeatureModel model;
+	private IFeature root, a, b, c, d;
+
+	/**
+	 * Creates the tree root(a(c, d), b).
+	 */
+	@Before
+	public void createModel() {
+		model = FACTORY.createFeatureModel();
+		root = addFeature("Root");
+		model.getStructure().setRoot(root.getStructure());
+		a = addFeature("A");
+		b = addFeature("B");
+		c = addFeature("C");
+		d = addFeature("D");
+		root.getStructure().addChild(a.getStructure());
+		root.getStructure().addChild(b.getStructure());
+		a.getStructure().addChild(c.getStructure());
+		a.getStructure().addChild(d.getStructure());
+		a.getStructure().setAbstract(true);
+	}
+
+	private IFeature addFeature(String name) {
+		final IFeature feature = FACTORY.createFeature(model, name);
+		model.addFeature(feature);
+		return feature;
+	}
+
+	@Test
+	public void testIsAncestorOf() {
+		assertTrue(c.getStructure().isAncestorOf(a.getStructure()));
+		assertTrue(c.getStructure().isAncestorOf(root.getStructure()));
+		assertFalse(c.getStructure().isAncestorOf(b.getStructure()));
+		assertFalse(c.getStructure().isAncestorOf(c.getStructure()));
+		assertFalse(a.getStructure().isAncestorOf(c.getStructure()));
+
+		a.getStructure().removeChild(c.getStructure());
+		b.getStructure().addChild(c.getStructure());
+		assertTrue(c.getStructure().isAncestorOf(b.getStructure()));
+		assertFalse(c.getStructure().isAncestorOf(a.getStructure()));
+	}
+
+	@Test
+	public void testRepeatedQueries() {
+		// the index is rebuilt after several queries on a modified tree
+		for (int i = 0; i < 100; i++) {
+			assertTrue(c.getStructure().isAncestorOf(a.getStructure()));
+			assertFalse(b.getStructure().isAncestorOf(a.getStructure()));
+			assertFalse(c.getStructure().hasHiddenParent());
+		}
+		a.getStructure().setHidden(true);
+		a.getStructure().removeChild(d.getStructure());
+		b.getStructure().addChild(d.getStructure());
+		for (int i = 0; i < 100; i++) {
+			assertTrue(d.getStructure().isAncestorOf(b.getStructure()));
+			assertFalse(d.getStructure().isAncestorOf(a.getStructure()));
+			assertTrue(c.getStructure().hasHiddenParent());
+			assertFalse(d.getStructure().hasHiddenParent());
+		}
+	}
+
+	@Test
+	public void testHasHiddenParent() {
+		assertFalse(c.getStructure().hasHiddenParent());
+
+		a.getStructure().setHidden(true);
+		assertTrue(a.getStructure().hasHiddenParent());
+		assertTrue(c.getStructure().hasHiddenParent());
+		assertFalse(b.getStructure().hasHiddenParent());
+
+		// the hidden state of the root is not inherited
+		a.getStructure().setHidden(false);
+		root.getStructure().setHidden(true);
+		assertTrue(root.getStructure().hasHiddenParent());
+		assertFalse(c.getStructure().hasHiddenParent());
+	}
+
+	@Test
+	public void testFeaturesPreorder() {
+		assertEquals(Arrays.asList("Root", "A", "C", "D", "B"), FeatureUtils.getFeatureNamesPreorder(model));
+		assertEquals(Arrays.asList("Root", "C", "D", "B"), model.getFeatureOrderList());
+
+		a.getStructure().removeChild(d.getStructure());
+		root.getStructure().addChildAtPosition(0, d.getStructure());
+		d.getStructure().setAbstract(true);
+		assertEquals(Arrays.asList("Root", "D", "A", "C", "B"), FeatureUtils.getFeatureNamesPreorder(model));
+		assertEquals(Arrays.asList("Root", "C", "B"), model.getFeatureOrderList());
+	}
+
+}
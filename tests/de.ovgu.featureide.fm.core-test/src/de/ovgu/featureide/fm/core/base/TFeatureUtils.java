@@ -20,10 +20,17 @@
  */
 package de.ovgu.featureide.fm.core.base;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Arrays;
+import java.util.Collections;
+
 import org.junit.Assert;
 import org.junit.Test;
+import org.prop4j.And;
+import org.prop4j.Implies;
+import org.prop4j.Literal;
 
 import de.ovgu.featureide.fm.core.base.impl.FMFactoryManager;
 /**
@@ -60,4 +67,44 @@ public class TFeatureUtils {
 		Assert.assertNull(parent);
 	}
 
+	/**
+	 * Test method for {@link de.ovgu.featureide.fm.core.base.FeatureUtils#setRelevantConstraints(de.ovgu.featureide.fm.core.base.IFeature)}.
+	 */
+	@Test
+	public void testSetRelevantConstraints() {
+		final IFeatureModel model = FACTORY.createFeatureModel();
+		final IFeature featureA = FACTORY.createFeature(model, "A");
+		model.addFeature(featureA);
+		model.getStructure().setRoot(featureA.getStructure());
+		final IFeature featureB = FACTORY.createFeature(model, "B");
+		model.addFeature(featureB);
+		featureA.getStructure().addChild(featureB.getStructure());
+		final IFeature featureC = FACTORY.createFeature(model, "C");
+		model.addFeature(featureC);
+		featureA.getStructure().addChild(featureC.getStructure());
+
+		final IConstraint constraint1 = FACTORY.createConstraint(model, new Implies(new Literal("B"), new Literal("C")));
+		final IConstraint constraint2 = FACTORY.createConstraint(model, new And(new Literal("C"), new Literal("C")));
+		model.addConstraint(constraint1);
+		model.addConstraint(constraint2);
+
+		FeatureUtils.setRelevantConstraints(featureC);
+		assertEquals(Arrays.asList(constraint1, constraint2), featureC.getStructure().getRelevantConstraints());
+		FeatureUtils.setRelevantConstraints(featureA);
+		assertEquals(Collections.emptyList(), featureA.getStructure().getRelevantConstraints());
+
+		model.removeConstraint(constraint1);
+		assertEquals(Arrays.asList(constraint2), model.getConstraints("C"));
+		assertEquals(Collections.emptyList(), model.getConstraints("B"));
+		// previously returned lists are not changed
+		assertEquals(Arrays.asList(constraint1, constraint2), featureC.getStructure().getRelevantConstraints());
+
+		model.addConstraint(constraint1);
+		assertEquals(Arrays.asList(constraint2, constraint1), model.getConstraints("C"));
+
+		constraint1.setNode(new Implies(new Literal("A"), new Literal("B")));
+		assertEquals(Arrays.asList(constraint2), model.getConstraints("C"));
+		assertEquals(Arrays.asList(constraint1), model.getConstraints("A"));
+	}
+
 }
@@ -0,0 +1,131 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2016  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ * 
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.cli;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.ovgu.featureide.common.Commons;
+
+/**
+ * Tests the {@link HeadlessRunner} and the JSON results of the {@link ModelProcessingJob}.
+ */
+public class THeadlessRunner {
+
+	private static final Path MODEL_FILE = new File(Commons.getFile(Commons.FEATURE_MODEL_TESTFEATUREMODELS_PATH_REMOTE,
+			Commons.FEATURE_MODEL_TESTFEATUREMODELS_PATH_LOCAL_CLASS_PATH), "basic.xml").toPath();
+
+	private Path tempFolder;
+
+	@Before
+	public void setUp() throws IOException {
+		tempFolder = Files.createTempDirectory("THeadlessRunner");
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		for (File file : tempFolder.toFile().listFiles()) {
+			Files.delete(file.toPath());
+		}
+		Files.delete(tempFolder);
+	}
+
+	private static void assertInvalidArguments(String... args) {
+		try {
+			new HeadlessRunner().parseArguments(args);
+			fail();
+		} catch (IllegalArgumentException e) {
+		}
+	}
+
+	private List<String> readResults() throws IOException {
+		return Files.readAllLines(tempFolder.resolve("results.json"), StandardCharsets.UTF_8);
+	}
+
+	@Test
+	public void testInvalidArguments() {
+		assertInvalidArguments();
+		assertInvalidArguments("-analyze");
+		assertInvalidArguments("-unknown", MODEL_FILE.toString());
+		assertInvalidArguments("-threads", "0", MODEL_FILE.toString());
+		assertInvalidArguments("-sample", "a", MODEL_FILE.toString());
+		assertInvalidArguments(MODEL_FILE.toString(), "-out");
+		assertInvalidArguments(MODEL_FILE.resolveSibling("missing.xml").toString());
+	}
+
+	@Test
+	public void testRun() throws IOException {
+		final HeadlessRunner runner = new HeadlessRunner();
+		runner.parseArguments(new String[] { "-analyze", "-sample", "10", "-out", tempFolder.toString(), "-threads", "2", MODEL_FILE.toString() });
+		assertEquals(0, runner.run());
+
+		final List<String> results = readResults();
+		assertEquals(2, results.size());
+		assertTrue(results.get(0).contains("\"core\": ["));
+		assertTrue(results.get(0).contains("\"sample\": "));
+		assertFalse(results.get(0).contains("\"error\""));
+		assertTrue(results.get(1).contains("\"models\": 1, \"failed\": 0"));
+		assertTrue(Files.exists(tempFolder.resolve("basic.samples")));
+	}
+
+	@Test
+	public void testRunInvalidModel() throws IOException {
+		final Path invalidModel = tempFolder.resolve("invalid.xml");
+		Files.write(invalidModel, "<featureModel>".getBytes(StandardCharsets.UTF_8));
+
+		final HeadlessRunner runner = new HeadlessRunner();
+		runner.parseArguments(new String[] { "-out", tempFolder.toString(), invalidModel.toString(), MODEL_FILE.toString() });
+		assertEquals(1, runner.run());
+
+		final List<String> results = readResults();
+		assertEquals(3, results.size());
+		assertTrue(results.get(2).contains("\"models\": 2, \"failed\": 1"));
+	}
+
+	@Test
+	public void testErrorResult() {
+		final ModelProcessingJob.Result result = ModelProcessingJob.Result.createError(Paths.get("a\"b"), "line\nbreak\u0001");
+		assertFalse(result.isSuccessful());
+		assertEquals("{\"model\": \"a\\\"b\", \"error\": \"line\\nbreak\\u0001\"}", result.toString());
+	}
+
+	@Test
+	public void testAppendString() {
+		final StringBuilder sb = new StringBuilder();
+		ModelProcessingJob.appendString(sb, "\\\t\r\u001fa");
+		assertEquals("\"\\\\\\t\\r\\u001fa\"", sb.toString());
+	}
+
+}
@@ -0,0 +1,102 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2016  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ * 
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.configuration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.junit.Test;
+
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+
+/**
+ * Tests for the {@link CompactConfiguration} and its {@link CompactConfigurationView}.
+ */
+public class TCompactConfiguration extends AbstractConfigurationTest {
+
+	@Override
+	IFeatureModel loadModel() {
+		return loadGUIDSL("S : A [B] [C] :: _S; %% B implies C;");
+	}
+
+	@Test
+	public void testSelections() {
+		final FeatureIndex index = new FeatureIndex(fm);
+		final CompactConfiguration c = new CompactConfiguration(index);
+		assertEquals(Selection.UNDEFINED, c.getSelection("B"));
+
+		c.setManual("B", Selection.SELECTED);
+		c.setAutomatic("C", Selection.UNSELECTED);
+		assertEquals(Selection.SELECTED, c.getSelection("B"));
+		assertEquals(Selection.UNSELECTED, c.getSelection("C"));
+		assertEquals(Selection.UNDEFINED, c.getManual(index.getIndex("C")));
+		assertEquals(new HashSet<>(Arrays.asList("B")), c.getSelectedFeatureNames());
+
+		final CompactConfiguration clone = c.clone();
+		assertNotSame(c, clone);
+		assertEquals(c, clone);
+		clone.setManual("B", Selection.UNDEFINED);
+		assertEquals(Selection.SELECTED, c.getSelection("B"));
+	}
+
+	@Test(expected = SelectionNotPossibleException.class)
+	public void testConflict() {
+		final CompactConfiguration c = new CompactConfiguration(new FeatureIndex(fm));
+		c.setAutomatic("C", Selection.UNSELECTED);
+		c.setManual("C", Selection.SELECTED);
+	}
+
+	@Test
+	public void testManyFeatures() {
+		final FeatureIndex index = new FeatureIndex(loadGUIDSL("S : [F0] [F1] [F2] [F3] [F4] [F5] [F6] [F7] [F8] [F9] [F10] [F11] [F12] [F13] [F14] [F15] "
+				+ "[F16] [F17] [F18] [F19] [F20] [F21] [F22] [F23] [F24] [F25] [F26] [F27] [F28] [F29] [F30] [F31] [F32] [F33] :: _S;"));
+		final CompactConfiguration c = new CompactConfiguration(index);
+		for (int i = 0; i < index.size(); i++) {
+			c.setManual(i, i % 2 == 0 ? Selection.SELECTED : Selection.UNSELECTED);
+		}
+		for (int i = 0; i < index.size(); i++) {
+			assertEquals(i % 2 == 0 ? Selection.SELECTED : Selection.UNSELECTED, c.getSelection(i));
+		}
+	}
+
+	@Test
+	public void testView() {
+		final CompactConfiguration c = new CompactConfiguration(new FeatureIndex(fm));
+		c.setManual("B", Selection.SELECTED);
+
+		final Configuration view = c.createView(true);
+		assertEquals(Selection.SELECTED, view.getSelectablefeature("B").getSelection());
+		// propagation is written back
+		assertEquals(Selection.SELECTED, c.getSelection("C"));
+		assertEquals(Selection.SELECTED, c.getSelection("A"));
+
+		view.setManual("B", Selection.UNDEFINED);
+		assertEquals(Selection.UNDEFINED, c.getSelection("B"));
+		assertEquals(Selection.UNDEFINED, c.getSelection("C"));
+
+		final CompactConfiguration copy = new CompactConfiguration(c.getFeatureIndex(), view);
+		assertEquals(c, copy);
+	}
+
+}
@@ -0,0 +1,130 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2016  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ * 
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.configuration;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+
+/**
+ * Tests the (incremental) computation of the recommendation values of the {@link ConfigurationMatrix}.
+ */
+public class TConfigurationMatrix extends AbstractConfigurationTest {
+
+	private static final int NUMBER_OF_CONFIGURATIONS = 70;
+
+	private final List<List<String>> selections = new ArrayList<>();
+	private Path folder;
+
+	@Override
+	IFeatureModel loadModel() {
+		return loadGUIDSL("S : [A] [B] [C] [D] [E] [F] [G] :: _S;");
+	}
+
+	@Before
+	public void writeFiles() throws IOException {
+		final Random random = new Random(42);
+		folder = Files.createTempDirectory("configurations");
+		for (int i = 0; i < NUMBER_OF_CONFIGURATIONS; i++) {
+			final List<String> selection = new ArrayList<>();
+			selection.add("S");
+			for (String name : new String[] { "A", "B", "C", "D", "E", "F", "G" }) {
+				if (random.nextBoolean()) {
+					selection.add(name);
+				}
+			}
+			selections.add(selection);
+			Files.write(folder.resolve(i + ".config"), selection, Charset.forName("UTF-8"));
+		}
+	}
+
+	@After
+	public void deleteFiles() throws IOException {
+		for (int i = 0; i < NUMBER_OF_CONFIGURATIONS; i++) {
+			Files.deleteIfExists(folder.resolve(i + ".config"));
+		}
+		Files.deleteIfExists(folder);
+	}
+
+	/**
+	 * Computes the recommendation values with the element-wise algorithm.
+	 */
+	private double[] calcRec(Configuration configuration) {
+		final List<SelectableFeature> features = configuration.getFeatures();
+		final int[] w = new int[selections.size()];
+		int wSum = 0;
+		for (int j = 0; j < selections.size(); j++) {
+			for (SelectableFeature feature : features) {
+				if ((feature.getSelection() == Selection.SELECTED) == selections.get(j).contains(feature.getName())) {
+					w[j]++;
+				}
+			}
+			wSum += w[j];
+		}
+		final double[] rec = new double[features.size()];
+		for (int i = 0; i < rec.length; i++) {
+			int fSum = 0;
+			for (int j = 0; j < w.length; j++) {
+				if (selections.get(j).contains(features.get(i).getName())) {
+					fSum += w[j];
+				}
+			}
+			rec[i] = ((double) fSum) / wSum;
+			if (features.get(i).getSelection() == Selection.SELECTED) {
+				rec[i] = 1 - rec[i];
+			}
+		}
+		return rec;
+	}
+
+	@Test
+	public void testRecommendations() {
+		final ConfigurationMatrix matrix = new ConfigurationMatrix(fm, folder);
+		matrix.readConfigurations();
+
+		final Configuration configuration = new Configuration(fm, false);
+		matrix.calcRec(configuration);
+		assertArrayEquals(calcRec(configuration), matrix.getRec(), 1e-9);
+
+		// incremental updates
+		for (String name : new String[] { "A", "C", "G" }) {
+			configuration.setManual(name, Selection.SELECTED);
+			matrix.calcRec(configuration);
+			assertArrayEquals(calcRec(configuration), matrix.getRec(), 1e-9);
+		}
+		configuration.setManual("A", Selection.UNDEFINED);
+		matrix.calcRec(configuration);
+		assertArrayEquals(calcRec(configuration), matrix.getRec(), 1e-9);
+	}
+
+}
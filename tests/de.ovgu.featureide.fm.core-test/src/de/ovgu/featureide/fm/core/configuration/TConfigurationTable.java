@@ -0,0 +1,134 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2016  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ * 
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.configuration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.configuration.io.ConfigurationLoader;
+
+/**
+ * Tests for the {@link ConfigurationTable} created by the {@link ConfigurationLoader}.
+ */
+public class TConfigurationTable extends AbstractConfigurationTest {
+
+	private static final int NUMBER_OF_CONFIGURATIONS = 40;
+
+	private Path folder;
+
+	@Override
+	IFeatureModel loadModel() {
+		return loadGUIDSL("S : [A] [B] [C] :: _S;");
+	}
+
+	@Before
+	public void writeFiles() throws IOException {
+		folder = Files.createTempDirectory("configurations");
+		for (int i = 0; i < NUMBER_OF_CONFIGURATIONS; i++) {
+			Files.write(folder.resolve(i + ".config"), getFeatures(i), Charset.forName("UTF-8"));
+		}
+	}
+
+	@After
+	public void deleteFiles() throws IOException {
+		for (int i = 0; i < NUMBER_OF_CONFIGURATIONS; i++) {
+			Files.deleteIfExists(folder.resolve(i + ".config"));
+		}
+		Files.deleteIfExists(folder);
+	}
+
+	private static List<String> getFeatures(int i) {
+		switch (i % 4) {
+		case 0:
+			return Arrays.asList("S", "A");
+		case 1:
+			return Arrays.asList("S", "B", "C");
+		case 2:
+			return Arrays.asList("S");
+		default:
+			return Arrays.asList("S", "A", "B", "C");
+		}
+	}
+
+	private static int getIndex(Path path) {
+		final String fileName = path.getFileName().toString();
+		return Integer.parseInt(fileName.substring(0, fileName.indexOf('.')));
+	}
+
+	@Test
+	public void testSelections() {
+		final ConfigurationTable table = new ConfigurationLoader().loadConfigurationTable(fm, folder);
+		assertNotNull(table);
+		assertEquals(NUMBER_OF_CONFIGURATIONS, table.size());
+		final FeatureIndex index = table.getFeatureIndex();
+		assertEquals(4, index.size());
+
+		int selectedA = 0;
+		for (int i = 0; i < table.size(); i++) {
+			final List<String> expected = getFeatures(getIndex(table.getPath(i)));
+			assertEquals(new HashSet<>(expected), table.getSelectedFeatureNames(i));
+			assertEquals(expected.contains("A") ? Selection.SELECTED : Selection.UNDEFINED, table.getSelection(i, index.getIndex("A")));
+			if (expected.contains("A")) {
+				selectedA++;
+			}
+		}
+		assertEquals(selectedA, table.getSelectedConfigurations(index.getIndex("A")).cardinality());
+	}
+
+	@Test
+	public void testLazyConfigurations() {
+		final ConfigurationTable table = new ConfigurationLoader().loadConfigurationTable(fm, folder);
+		for (int i = 0; i < table.size(); i++) {
+			final Configuration configuration = table.getConfiguration(i);
+			assertEquals(new HashSet<>(getFeatures(getIndex(table.getPath(i)))), configuration.getSelectedFeatureNames());
+			assertEquals(true, configuration.isValid());
+			assertSame(configuration, table.getConfiguration(i));
+		}
+	}
+
+	@Test
+	public void testLoadConfigurations() {
+		final List<Configuration> configurations = new ConfigurationLoader().loadConfigurations(fm, folder);
+		assertEquals(NUMBER_OF_CONFIGURATIONS, configurations.size());
+		int numberOfA = 0;
+		for (Configuration configuration : configurations) {
+			if (configuration.getSelectedFeatureNames().contains("A")) {
+				numberOfA++;
+			}
+		}
+		assertEquals(NUMBER_OF_CONFIGURATIONS / 2, numberOfA);
+	}
+
+}
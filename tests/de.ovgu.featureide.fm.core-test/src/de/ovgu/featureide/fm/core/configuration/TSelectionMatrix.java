@@ -0,0 +1,135 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2016  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ * 
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.configuration;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Test;
+
+import de.ovgu.featureide.fm.core.base.IFeature;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.IFeatureModelFactory;
+import de.ovgu.featureide.fm.core.base.impl.FMFactoryManager;
+
+/**
+ * Tests for the {@link SelectionMatrix}.
+ */
+public class TSelectionMatrix extends AbstractConfigurationTest {
+
+	private static final List<String> FEATURES = Arrays.asList("A", "B", "C");
+
+	private final List<Path> files = new ArrayList<>();
+
+	@Override
+	IFeatureModel loadModel() {
+		return loadGUIDSL("S : [A] [B] [C] :: _S;");
+	}
+
+	@After
+	public void deleteFiles() throws IOException {
+		for (Path file : files) {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	private Path write(Path file, String... features) throws IOException {
+		if (file == null) {
+			file = Files.createTempFile("selection", ".config");
+			files.add(file);
+		}
+		Files.write(file, Arrays.asList(features), Charset.forName("UTF-8"));
+		return file;
+	}
+
+	@Test
+	public void testUnusedAndAlwaysSelected() throws IOException {
+		final SelectionMatrix matrix = new SelectionMatrix(fm);
+		final Path config1 = write(null, "A", "B");
+		final Path config2 = write(null, "A");
+
+		assertEquals(2, matrix.update(Arrays.asList(config1, config2)));
+		assertEquals(2, matrix.getConfigurationCount());
+		assertEquals(Arrays.asList("C"), matrix.getUnusedFeatures(FEATURES));
+		assertEquals(Arrays.asList("A"), matrix.getAlwaysSelectedFeatures(FEATURES));
+	}
+
+	@Test
+	public void testIncrementalUpdate() throws IOException {
+		final SelectionMatrix matrix = new SelectionMatrix(fm);
+		final Path config1 = write(null, "A", "B");
+		final Path config2 = write(null, "A");
+
+		assertEquals(2, matrix.update(Arrays.asList(config1, config2)));
+		assertEquals(0, matrix.update(Arrays.asList(config1, config2)));
+
+		write(config2, "C");
+		Files.setLastModifiedTime(config2, FileTime.fromMillis(Files.getLastModifiedTime(config2).toMillis() + 2000));
+		assertEquals(1, matrix.update(Arrays.asList(config1, config2)));
+		assertEquals(Collections.emptyList(), matrix.getUnusedFeatures(FEATURES));
+		assertEquals(Collections.emptyList(), matrix.getAlwaysSelectedFeatures(FEATURES));
+
+		assertEquals(0, matrix.update(Arrays.asList(config1)));
+		assertEquals(1, matrix.getConfigurationCount());
+		assertEquals(Arrays.asList("C"), matrix.getUnusedFeatures(FEATURES));
+		assertEquals(Arrays.asList("A", "B"), matrix.getAlwaysSelectedFeatures(FEATURES));
+	}
+
+	@Test
+	public void testModelEdit() throws IOException {
+		final SelectionMatrix matrix = new SelectionMatrix(fm);
+		final Path config1 = write(null, "A", "D");
+		final Path config2 = write(null, "A", "D");
+		final List<Path> configs = Arrays.asList(config1, config2);
+		matrix.update(configs);
+		assertEquals(Arrays.asList("D"), matrix.getUnusedFeatures(Arrays.asList("A", "D")));
+
+		// the model is edited in place, so a matrix has to be created again for the edited model
+		final IFeatureModelFactory factory = FMFactoryManager.getFactory(fm);
+		final IFeature d = factory.createFeature(fm, "D");
+		fm.addFeature(d);
+		fm.getStructure().getRoot().addChild(d.getStructure());
+
+		final SelectionMatrix editedMatrix = new SelectionMatrix(fm);
+		assertEquals(2, editedMatrix.update(configs));
+		assertEquals(Collections.emptyList(), editedMatrix.getUnusedFeatures(Arrays.asList("A", "D")));
+		assertEquals(Arrays.asList("A", "D"), editedMatrix.getAlwaysSelectedFeatures(Arrays.asList("A", "D")));
+	}
+
+	@Test
+	public void testNoConfigurations() {
+		final SelectionMatrix matrix = new SelectionMatrix(fm);
+		assertEquals(0, matrix.update(Collections.<Path> emptyList()));
+		assertEquals(Collections.emptyList(), matrix.getUnusedFeatures(FEATURES));
+		assertEquals(Collections.emptyList(), matrix.getAlwaysSelectedFeatures(FEATURES));
+	}
+
+}
@@ -0,0 +1,194 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2016  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ * 
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.constraint.analysis;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.Test;
+import org.prop4j.Implies;
+import org.prop4j.Literal;
+import org.prop4j.Not;
+import org.prop4j.Or;
+import org.sat4j.specs.TimeoutException;
+
+import de.ovgu.featureide.fm.core.FeatureModelAnalyzer;
+import de.ovgu.featureide.fm.core.base.IFeature;
+import de.ovgu.featureide.fm.core.base.IFeatureStructure;
+import de.ovgu.featureide.fm.core.base.impl.ExtendedFeatureModel;
+import de.ovgu.featureide.fm.core.base.impl.ExtendedFeatureModelFactory;
+import de.ovgu.featureide.fm.core.constraint.Equation;
+import de.ovgu.featureide.fm.core.constraint.Reference;
+import de.ovgu.featureide.fm.core.constraint.ReferenceType;
+import de.ovgu.featureide.fm.core.constraint.RelationOperator;
+import de.ovgu.featureide.fm.core.constraint.WeightedTerm;
+
+/**
+ * Compares the core and dead features computed by the backbone of the {@link SAT4JPBSolver} 
+ * with the results of the SAT-based analysis.
+ */
+public class TExtendedFeatureModelAnalyzer {
+
+	private static final ExtendedFeatureModelFactory factory = ExtendedFeatureModelFactory.getInstance();
+
+	@Test
+	public void testCoreAndDeadFeatures() {
+		final ExtendedFeatureModel fm = factory.createFeatureModel();
+		final IFeature root = addFeature(fm, null, "Root");
+		final IFeature a = addFeature(fm, root, "A");
+		final IFeature b = addFeature(fm, root, "B");
+		final IFeature c = addFeature(fm, root, "C");
+		addFeature(fm, root, "D");
+		a.getStructure().setMandatory(true);
+		fm.addConstraint(factory.createConstraint(fm, new Implies(new Literal("A"), new Literal("B"))));
+		fm.addConstraint(factory.createConstraint(fm, new Implies(new Literal("C"), new Not(new Literal("B")))));
+
+		final List<List<IFeature>> result = new ExtendedFeatureModelAnalyzer(fm).analyzeFeatures_PBSolver();
+		assertEquals(getNames(root, a, b), getNames(result.get(0)));
+		assertEquals(getNames(c), getNames(result.get(1)));
+	}
+
+	@Test
+	public void testAnalyzeFeatures() {
+		final ExtendedFeatureModel fm = factory.createFeatureModel();
+		final IFeature root = addFeature(fm, null, "Root");
+		final IFeature a = addFeature(fm, root, "A");
+		final IFeature b = addFeature(fm, root, "B");
+		final ExtendedFeatureModelAnalyzer analyzer = new ExtendedFeatureModelAnalyzer(fm);
+		assertEquals(getNames(root), getNames(analyzer.getCoreFeatures()));
+		assertEquals(0, analyzer.getDeadFeatures().size());
+
+		// changes of the feature model are considered by subsequent analyses
+		fm.addConstraint(factory.createConstraint(fm, new Implies(new Literal("A"), new Not(new Literal("Root")))));
+		b.getStructure().setMandatory(true);
+		final List<List<IFeature>> result = analyzer.analyzeFeatures();
+		assertEquals(getNames(root, b), getNames(result.get(0)));
+		assertEquals(getNames(a), getNames(result.get(1)));
+		assertEquals(getNames(a), getNames(analyzer.getCachedDeadFeatures()));
+	}
+
+	@Test
+	public void testAttributeConstraints() {
+		final ExtendedFeatureModel fm = factory.createFeatureModel();
+		final IFeature root = addFeature(fm, null, "Root");
+		final IFeature a = addFeature(fm, root, "A");
+		final IFeature b = addFeature(fm, root, "B");
+		addFeature(fm, root, "C");
+		fm.addAttribute("A", "cost", 5);
+		fm.addAttribute("B", "cost", 3);
+		// A.cost <= 4 can only hold if A is deselected
+		fm.addAttributeConstraint(new Equation(Arrays.asList(new WeightedTerm(1, true, new Reference("A", ReferenceType.ATTRIBUTE, "cost"))),
+				RelationOperator.LESS_EQUAL, 4));
+		// B.cost >= 3 can only hold if B is selected
+		fm.addAttributeConstraint(new Equation(Arrays.asList(new WeightedTerm(1, true, new Reference("B", ReferenceType.ATTRIBUTE, "cost"))),
+				RelationOperator.GREATER_EQUAL, 3));
+
+		final List<List<IFeature>> satResult = new FeatureModelAnalyzer(fm).analyzeFeatures();
+		assertEquals(getNames(root), getNames(satResult.get(0)));
+		assertEquals(0, satResult.get(1).size());
+
+		final ExtendedFeatureModelAnalyzer analyzer = new ExtendedFeatureModelAnalyzer(fm);
+		assertEquals(getNames(root, b), getNames(analyzer.getCoreFeatures()));
+		assertEquals(getNames(a), getNames(analyzer.getDeadFeatures()));
+	}
+
+	@Test
+	public void testRandomModels() throws TimeoutException {
+		final Random random = new Random(0);
+		for (int i = 0; i < 50; i++) {
+			final ExtendedFeatureModel fm = createRandomModel(random, 12 + random.nextInt(100), random.nextInt(6));
+			final ExtendedFeatureModelAnalyzer analyzer = new ExtendedFeatureModelAnalyzer(fm);
+			final List<List<IFeature>> actual = analyzer.analyzeFeatures_PBSolver();
+			if (analyzer.isValid()) {
+				final List<List<IFeature>> expected = new FeatureModelAnalyzer(fm).analyzeFeatures();
+				assertEquals(getNames(expected.get(0)), getNames(actual.get(0)));
+				assertEquals(getNames(expected.get(1)), getNames(actual.get(1)));
+			} else {
+				// all features of a void feature model are dead
+				assertEquals(0, actual.get(0).size());
+				assertEquals(getNames(fm.getFeatures()), getNames(actual.get(1)));
+			}
+		}
+	}
+
+	private static ExtendedFeatureModel createRandomModel(Random random, int numberOfFeatures, int numberOfConstraints) {
+		final ExtendedFeatureModel fm = factory.createFeatureModel();
+		final List<IFeature> features = new ArrayList<>();
+		features.add(addFeature(fm, null, "F0"));
+		for (int i = 1; i < numberOfFeatures; i++) {
+			final IFeature parent = features.get(random.nextInt(features.size()));
+			final IFeature feature = addFeature(fm, parent, "F" + i);
+			feature.getStructure().setMandatory(random.nextInt(4) == 0);
+			features.add(feature);
+		}
+		for (IFeature feature : features) {
+			final IFeatureStructure structure = feature.getStructure();
+			if (structure.getChildrenCount() > 1) {
+				switch (random.nextInt(3)) {
+				case 0:
+					structure.setOr();
+					break;
+				case 1:
+					structure.setAlternative();
+					break;
+				default:
+					structure.setAnd();
+				}
+			}
+		}
+		for (int i = 0; i < numberOfConstraints; i++) {
+			final Literal l1 = new Literal(features.get(random.nextInt(numberOfFeatures)).getName(), random.nextBoolean());
+			final Literal l2 = new Literal(features.get(random.nextInt(numberOfFeatures)).getName(), random.nextBoolean());
+			fm.addConstraint(factory.createConstraint(fm, new Or(l1, l2)));
+		}
+		return fm;
+	}
+
+	private static IFeature addFeature(ExtendedFeatureModel fm, IFeature parent, String name) {
+		final IFeature feature = factory.createFeature(fm, name);
+		fm.addFeature(feature);
+		if (parent == null) {
+			fm.getStructure().setRoot(feature.getStructure());
+		} else {
+			parent.getStructure().addChild(feature.getStructure());
+		}
+		return feature;
+	}
+
+	private static TreeSet<String> getNames(IFeature... features) {
+		final TreeSet<String> names = new TreeSet<>();
+		for (IFeature feature : features) {
+			names.add(feature.getName());
+		}
+		return names;
+	}
+
+	private static TreeSet<String> getNames(Collection<IFeature> features) {
+		return getNames(features.toArray(new IFeature[0]));
+	}
+
+}
@@ -0,0 +1,125 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2016  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ * 
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.io.velvet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.impl.DefaultFeatureModelFactory;
+
+/**
+ * Tests for the {@link VelvetModelCache}.
+ */
+public class TVelvetModelCache {
+
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	private Path folder;
+	private File parentFile, childFile;
+
+	private final AtomicInteger loadCount = new AtomicInteger();
+
+	/**
+	 * Creates an empty model for each file and reads the child model, if the parent model is loaded.
+	 * The parent model also searches for the model <i>New</i>, which does not exist at first.
+	 */
+	private final VelvetModelCache.ModelLoader loader = new VelvetModelCache.ModelLoader() {
+		@Override
+		public IFeatureModel load(File file) {
+			loadCount.incrementAndGet();
+			if (file.equals(parentFile)) {
+				VelvetModelCache.getModel(childFile, this);
+				VelvetModelCache.findModelFile(folder.toFile(), "New");
+			}
+			return DefaultFeatureModelFactory.getInstance().createFeatureModel();
+		}
+	};
+
+	@Before
+	public void writeFiles() throws IOException {
+		VelvetModelCache.clear();
+		folder = Files.createTempDirectory("velvet");
+		parentFile = Files.write(folder.resolve("Parent.velvet"), Arrays.asList("concept Parent {}"), UTF8).toFile();
+		childFile = Files.write(folder.resolve("Child.xml"), Arrays.asList("<featureModel/>"), UTF8).toFile();
+	}
+
+	@After
+	public void deleteFiles() throws IOException {
+		VelvetModelCache.clear();
+		Files.deleteIfExists(parentFile.toPath());
+		Files.deleteIfExists(childFile.toPath());
+		Files.deleteIfExists(folder.resolve("New.velvet"));
+		Files.deleteIfExists(folder);
+	}
+
+	@Test
+	public void testCachedModel() {
+		final IFeatureModel model = VelvetModelCache.getModel(parentFile, loader);
+		assertEquals(2, loadCount.get());
+		assertSame(model, VelvetModelCache.getModel(parentFile, loader));
+		assertEquals(2, loadCount.get());
+	}
+
+	@Test
+	public void testModifiedDependency() throws IOException {
+		final IFeatureModel model = VelvetModelCache.getModel(parentFile, loader);
+		Files.write(childFile.toPath(), Arrays.asList("<featureModel>", "</featureModel>"), UTF8);
+		assertNotSame(model, VelvetModelCache.getModel(parentFile, loader));
+		assertEquals(4, loadCount.get());
+	}
+
+	@Test
+	public void testCreatedLookup() throws IOException {
+		final IFeatureModel model = VelvetModelCache.getModel(parentFile, loader);
+		assertSame(model, VelvetModelCache.getModel(parentFile, loader));
+		assertEquals(2, loadCount.get());
+
+		Files.write(folder.resolve("New.velvet"), Arrays.asList("concept New {}"), UTF8);
+		assertNotSame(model, VelvetModelCache.getModel(parentFile, loader));
+		assertEquals(3, loadCount.get());
+	}
+
+	@Test
+	public void testFindModelFile() throws IOException {
+		assertEquals(parentFile, VelvetModelCache.findModelFile(folder.toFile(), "Parent"));
+		assertEquals(childFile, VelvetModelCache.findModelFile(folder.toFile(), "Child"));
+		assertNull(VelvetModelCache.findModelFile(folder.toFile(), "New"));
+
+		final File newFile = Files.write(folder.resolve("New.velvet"), Arrays.asList("concept New {}"), UTF8).toFile();
+		assertEquals(newFile, VelvetModelCache.findModelFile(folder.toFile(), "New"));
+	}
+
+}
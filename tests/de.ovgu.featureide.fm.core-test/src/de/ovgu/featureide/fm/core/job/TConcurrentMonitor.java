@@ -0,0 +1,165 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2016  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ * 
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.job;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import de.ovgu.featureide.fm.core.job.monitor.AMonitor;
+import de.ovgu.featureide.fm.core.job.monitor.ConcurrentMonitor;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor.MethodCancelException;
+
+/**
+ * Tests the forwarding of progress and cancel requests by the {@link ConcurrentMonitor}.
+ */
+public class TConcurrentMonitor {
+
+	private static class CountingMonitor extends AMonitor {
+		private int work = 0;
+		private int doneCount = 0;
+		private boolean canceled = false;
+		private final List<CountingMonitor> subTasks = new ArrayList<>();
+
+		@Override
+		public void checkCancel() throws MethodCancelException {
+			if (canceled) {
+				throw new MethodCancelException();
+			}
+		}
+
+		@Override
+		public void setRemainingWork(int work) {
+		}
+
+		@Override
+		public IMonitor subTask(int size) {
+			final CountingMonitor subTask = new CountingMonitor();
+			subTasks.add(subTask);
+			return subTask;
+		}
+
+		@Override
+		public void setTaskName(String name) {
+		}
+
+		@Override
+		public String getTaskName() {
+			return "";
+		}
+
+		@Override
+		public void worked() {
+			work++;
+		}
+
+		@Override
+		public void cancel() {
+			canceled = true;
+		}
+
+		@Override
+		public void done() {
+			doneCount++;
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void testConcurrentSteps() throws InterruptedException {
+		final CountingMonitor target = new CountingMonitor();
+		final ConcurrentMonitor monitor = new ConcurrentMonitor(target);
+		final Thread[] threads = new Thread[4];
+		for (int i = 0; i < threads.length; i++) {
+			threads[i] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					for (int j = 0; j < 10000; j++) {
+						monitor.step();
+					}
+				}
+			});
+			threads[i].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		monitor.done();
+		assertEquals(40000, target.work);
+		assertEquals(1, target.doneCount);
+	}
+
+	@Test(timeout = 10000)
+	public void testSubTasks() {
+		final CountingMonitor target = new CountingMonitor();
+		final ConcurrentMonitor monitor = new ConcurrentMonitor(target);
+		monitor.setTaskName("Analysis");
+		final IMonitor subTask = monitor.subTask(1);
+		subTask.setTaskName("Dead Features");
+		subTask.step();
+		subTask.step();
+		subTask.done();
+		monitor.done();
+
+		assertEquals(1, target.subTasks.size());
+		assertEquals(2, target.subTasks.get(0).work);
+		assertEquals(1, target.subTasks.get(0).doneCount);
+		final String timings = monitor.getTimings();
+		assertTrue(timings, timings.startsWith("Analysis: "));
+		assertTrue(timings, timings.contains("\n\tDead Features: "));
+	}
+
+	@Test(timeout = 10000)
+	public void testTargetCancel() throws InterruptedException {
+		final CountingMonitor target = new CountingMonitor();
+		final ConcurrentMonitor monitor = new ConcurrentMonitor(target);
+		final IMonitor subTask = monitor.subTask(1);
+		target.cancel();
+		try {
+			while (true) {
+				subTask.checkCancel();
+				Thread.sleep(10);
+			}
+		} catch (MethodCancelException e) {
+			monitor.done();
+			return;
+		}
+	}
+
+	@Test
+	public void testCancel() {
+		final ConcurrentMonitor monitor = new ConcurrentMonitor(null);
+		monitor.subTask(1).cancel();
+		try {
+			monitor.checkCancel();
+			fail();
+		} catch (MethodCancelException e) {
+		} finally {
+			monitor.done();
+		}
+	}
+
+}
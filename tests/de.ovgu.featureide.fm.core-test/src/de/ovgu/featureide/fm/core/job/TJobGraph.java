@@ -0,0 +1,183 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2016  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ * 
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.job;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import de.ovgu.featureide.fm.core.job.IJob.JobStatus;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+import de.ovgu.featureide.fm.core.job.monitor.NullMonitor;
+import de.ovgu.featureide.fm.core.job.util.JobGraph;
+
+/**
+ * Tests the execution of a {@link JobGraph}.
+ */
+public class TJobGraph {
+
+	private static class ValueMethod implements LongRunningMethod<Integer> {
+		private final int value;
+
+		public ValueMethod(int value) {
+			this.value = value;
+		}
+
+		@Override
+		public Integer execute(IMonitor monitor) throws Exception {
+			return value;
+		}
+	}
+
+	private static class SumMethod implements LongRunningMethod<Integer> {
+		private final LongRunningMethod<Integer>[] dependencies;
+
+		@SafeVarargs
+		public SumMethod(LongRunningMethod<Integer>... dependencies) {
+			this.dependencies = dependencies;
+		}
+
+		@Override
+		public Integer execute(IMonitor monitor) throws Exception {
+			final JobGraph graph = JobGraph.getGraphForJob(this);
+			int sum = 0;
+			for (LongRunningMethod<Integer> dependency : dependencies) {
+				sum += graph.getResult(dependency);
+			}
+			return sum;
+		}
+	}
+
+	private static class FailMethod implements LongRunningMethod<Integer> {
+		@Override
+		public Integer execute(IMonitor monitor) throws Exception {
+			throw new IllegalStateException("expected failure");
+		}
+	}
+
+	private static class ConcurrencyMethod implements LongRunningMethod<Void> {
+		private final AtomicInteger running;
+		private final AtomicInteger maxRunning;
+
+		public ConcurrencyMethod(AtomicInteger running, AtomicInteger maxRunning) {
+			this.running = running;
+			this.maxRunning = maxRunning;
+		}
+
+		@Override
+		public Void execute(IMonitor monitor) throws Exception {
+			final int current = running.incrementAndGet();
+			synchronized (maxRunning) {
+				maxRunning.set(Math.max(maxRunning.get(), current));
+			}
+			Thread.sleep(20);
+			running.decrementAndGet();
+			return null;
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void testResultsFlowToDependents() throws Exception {
+		final JobGraph graph = new JobGraph();
+		final ValueMethod a = new ValueMethod(1);
+		final ValueMethod b = new ValueMethod(2);
+		final SumMethod c = new SumMethod(a, b);
+		final SumMethod d = new SumMethod(a, c);
+		graph.addJob(a);
+		graph.addJob(b);
+		graph.addJob(c, a, b);
+		graph.addJob(d, a, c);
+
+		assertTrue(graph.execute(new NullMonitor()));
+		assertEquals(Integer.valueOf(3), graph.getResult(c));
+		assertEquals(Integer.valueOf(4), graph.getResult(d));
+		assertNull(JobGraph.getGraphForJob(d));
+	}
+
+	@Test(timeout = 10000)
+	public void testFailedDependency() throws Exception {
+		final JobGraph graph = new JobGraph();
+		final FailMethod a = new FailMethod();
+		final ValueMethod b = new ValueMethod(2);
+		final SumMethod c = new SumMethod(a, b);
+		graph.addJob(a);
+		graph.addJob(b);
+		graph.addJob(c, a, b);
+
+		assertFalse(graph.execute(new NullMonitor()));
+		assertEquals(JobStatus.FAILED, graph.getStatus(a));
+		assertEquals(JobStatus.OK, graph.getStatus(b));
+		assertEquals(JobStatus.FAILED, graph.getStatus(c));
+		assertNull(graph.getResult(c));
+	}
+
+	@Test(timeout = 10000)
+	public void testSharedResource() throws Exception {
+		final AtomicInteger running = new AtomicInteger();
+		final AtomicInteger maxRunning = new AtomicInteger();
+		final JobGraph graph = new JobGraph();
+		final Object resource = new Object();
+		for (int i = 0; i < 8; i++) {
+			graph.addJob(new ConcurrencyMethod(running, maxRunning), Arrays.asList(resource));
+		}
+
+		assertTrue(graph.execute(new NullMonitor()));
+		assertEquals(1, maxRunning.get());
+	}
+
+	@Test(timeout = 10000)
+	public void testCancel() throws Exception {
+		final CountDownLatch started = new CountDownLatch(1);
+		final JobGraph graph = new JobGraph();
+		final LongRunningMethod<Void> endless = new LongRunningMethod<Void>() {
+			@Override
+			public Void execute(IMonitor monitor) throws Exception {
+				started.countDown();
+				while (true) {
+					monitor.checkCancel();
+					Thread.sleep(1);
+				}
+			}
+		};
+		final ValueMethod dependent = new ValueMethod(1);
+		graph.addJob(endless);
+		graph.addJob(new ValueMethod(0));
+		graph.addJob(dependent, endless);
+
+		final IRunner<Boolean> runner = LongRunningWrapper.getThread(graph);
+		runner.schedule();
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		runner.cancel();
+		runner.join();
+
+		assertEquals(JobStatus.FAILED, runner.getStatus());
+		assertEquals(JobStatus.NOT_STARTED, graph.getStatus(dependent));
+	}
+
+}
@@ -0,0 +1,145 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2016  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ * 
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.job;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import de.ovgu.featureide.fm.core.job.IJob.JobStatus;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+import de.ovgu.featureide.fm.core.job.util.JobFinishListener;
+
+/**
+ * Tests the execution of {@link LongRunningThread}s by the shared executor of {@link LongRunningCore}.
+ */
+public class TLongRunningThread {
+
+	private static final class AddMethod implements LongRunningMethod<Integer> {
+		private final int a, b;
+
+		public AddMethod(int a, int b) {
+			this.a = a;
+			this.b = b;
+		}
+
+		@Override
+		public Integer execute(IMonitor monitor) throws Exception {
+			return a + b;
+		}
+	}
+
+	private static final class NestedMethod implements LongRunningMethod<Integer> {
+		private final int depth;
+
+		public NestedMethod(int depth) {
+			this.depth = depth;
+		}
+
+		@Override
+		public Integer execute(IMonitor monitor) throws Exception {
+			if (depth == 0) {
+				return 0;
+			}
+			final IRunner<Integer> runner = LongRunningWrapper.getThread(new NestedMethod(depth - 1));
+			runner.schedule();
+			runner.join();
+			return runner.getResults() + 1;
+		}
+	}
+
+	private static final class CancelMethod implements LongRunningMethod<Void> {
+		@Override
+		public Void execute(IMonitor monitor) throws Exception {
+			while (true) {
+				monitor.checkCancel();
+				Thread.sleep(1);
+			}
+		}
+	}
+
+	@Test
+	public void testResultAndListener() throws InterruptedException {
+		final AtomicInteger finished = new AtomicInteger();
+		final IRunner<Integer> runner = LongRunningWrapper.getThread(new AddMethod(2, 3));
+		runner.addJobFinishedListener(new JobFinishListener<Integer>() {
+			@Override
+			public void jobFinished(IJob<Integer> finishedJob) {
+				finished.incrementAndGet();
+			}
+		});
+		runner.schedule();
+		runner.join();
+		assertEquals(JobStatus.OK, runner.getStatus());
+		assertEquals(Integer.valueOf(5), runner.getResults());
+		assertEquals(1, finished.get());
+	}
+
+	@Test(timeout = 10000)
+	public void testJoinWaitsForListeners() throws InterruptedException {
+		final AtomicInteger finished = new AtomicInteger();
+		final IRunner<Integer> runner = LongRunningWrapper.getThread(new AddMethod(2, 3));
+		runner.addJobFinishedListener(new JobFinishListener<Integer>() {
+			@Override
+			public void jobFinished(IJob<Integer> finishedJob) {
+				try {
+					Thread.sleep(200);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				finished.incrementAndGet();
+			}
+		});
+		runner.schedule();
+		runner.join();
+		assertEquals(1, finished.get());
+	}
+
+	@Test(timeout = 10000)
+	public void testNestedJoin() throws InterruptedException {
+		final int depth = 4 * Math.max(2, Runtime.getRuntime().availableProcessors());
+		final IRunner<Integer> runner = LongRunningWrapper.getThread(new NestedMethod(depth));
+		runner.schedule();
+		runner.join();
+		assertEquals(Integer.valueOf(depth), runner.getResults());
+	}
+
+	@Test(timeout = 10000)
+	public void testCancelAndMetrics() throws InterruptedException {
+		final JobMetrics.Entry before = LongRunningCore.getMetrics().getEntry(CancelMethod.class);
+		final int canceledBefore = before == null ? 0 : before.getCanceledCount();
+
+		final IRunner<Void> runner = LongRunningWrapper.getThread(new CancelMethod());
+		runner.schedule();
+		Thread.sleep(20);
+		runner.cancel();
+		runner.join();
+		assertEquals(JobStatus.FAILED, runner.getStatus());
+
+		final JobMetrics.Entry after = LongRunningCore.getMetrics().getEntry(CancelMethod.class);
+		assertEquals(canceledBefore + 1, after.getCanceledCount());
+		assertTrue(after.getTotalRunTime() > 0);
+	}
+
+}
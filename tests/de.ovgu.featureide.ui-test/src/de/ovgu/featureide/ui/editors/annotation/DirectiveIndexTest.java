@@ -0,0 +1,141 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2016  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ * 
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.ui.editors.annotation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+import de.ovgu.featureide.core.fstmodel.preprocessor.FSTDirective;
+
+/**
+ * Tests for {@link DirectiveIndex}.
+ */
+public class DirectiveIndexTest {
+
+	private static FSTDirective createDirective(int startLine, int endLine) {
+		final FSTDirective directive = new FSTDirective();
+		directive.setStartLine(startLine, 0);
+		directive.setEndLine(endLine, 0);
+		return directive;
+	}
+
+	@Test
+	public void testNestedDirectives() {
+		final FSTDirective outer = createDirective(2, 10);
+		final FSTDirective inner = createDirective(4, 6);
+		inner.setEndLine(6, 5);
+		outer.addChild(inner);
+		final FSTDirective other = createDirective(12, 14);
+
+		final DirectiveIndex index = new DirectiveIndex(Arrays.asList(other, inner, null, outer));
+		assertEquals(3, index.size());
+
+		assertEquals(Arrays.asList(outer, inner), index.getDirectives(5));
+		assertEquals(Arrays.asList(outer), index.getDirectives(8));
+		assertEquals(Arrays.asList(), index.getDirectives(11));
+		assertEquals(Arrays.asList(outer, inner, other), index.getDirectives(0, 20));
+		assertEquals(Arrays.asList(other), index.getDirectives(11, 12));
+
+		assertTrue(index.hasBoundary(4, 4));
+		assertTrue(index.hasBoundary(7, 10));
+		assertFalse(index.hasBoundary(7, 9));
+		assertFalse(index.hasBoundary(15, 20));
+	}
+
+	@Test
+	public void testLastLine() {
+		final FSTDirective outer = createDirective(0, 3);
+		final FSTDirective inner = createDirective(1, 5);
+		inner.setEndLine(5, 2);
+		outer.addChild(inner);
+
+		final DirectiveIndex index = new DirectiveIndex(Arrays.asList(outer, inner));
+		assertEquals(6, index.getLastLine(outer));
+		assertEquals(5, index.getLastLine(inner));
+		assertEquals(Arrays.asList(outer), index.getDirectives(6));
+	}
+
+	@Test
+	public void testShift() {
+		final FSTDirective outer = createDirective(2, 10);
+		final FSTDirective inner = createDirective(4, 6);
+		outer.addChild(inner);
+		final FSTDirective other = createDirective(12, 14);
+
+		final DirectiveIndex index = new DirectiveIndex(Arrays.asList(outer, inner, other));
+		final DirectiveIndex shiftedIndex = index.shift(7, 3);
+
+		assertEquals(2, shiftedIndex.getStartLine(outer));
+		assertEquals(13, shiftedIndex.getEndLine(outer));
+		assertEquals(13, shiftedIndex.getLastLine(outer));
+		assertEquals(6, shiftedIndex.getEndLine(inner));
+		assertEquals(15, shiftedIndex.getStartLine(other));
+		assertEquals(Arrays.asList(outer), shiftedIndex.getDirectives(12, 13));
+		assertEquals(Arrays.asList(other), shiftedIndex.getDirectives(15));
+		assertTrue(shiftedIndex.hasBoundary(13, 13));
+		assertFalse(shiftedIndex.hasBoundary(10, 12));
+
+		// the directives and the original index are unchanged
+		assertEquals(10, outer.getEndLine());
+		assertEquals(12, other.getStartLine());
+		assertEquals(12, index.getStartLine(other));
+	}
+
+	@Test
+	public void testRandomRanges() {
+		final Random random = new Random(0);
+		final List<FSTDirective> directives = new ArrayList<>();
+		for (int i = 0; i < 500; i++) {
+			final int start = random.nextInt(10000);
+			directives.add(createDirective(start, start + random.nextInt(200)));
+		}
+		final DirectiveIndex index = new DirectiveIndex(directives);
+
+		for (int i = 0; i < 200; i++) {
+			final int from = random.nextInt(10300);
+			final int to = from + random.nextInt(50);
+			final Set<FSTDirective> expected = Collections.newSetFromMap(new IdentityHashMap<FSTDirective, Boolean>());
+			for (FSTDirective directive : directives) {
+				if (directive.getStartLine() <= to && directive.getEndLine() >= from) {
+					expected.add(directive);
+				}
+			}
+			final List<FSTDirective> result = index.getDirectives(from, to);
+			assertEquals(expected.size(), result.size());
+			assertTrue(expected.containsAll(result));
+			for (int j = 1; j < result.size(); j++) {
+				assertTrue(result.get(j - 1).getStartLine() <= result.get(j).getStartLine());
+			}
+		}
+	}
+
+}
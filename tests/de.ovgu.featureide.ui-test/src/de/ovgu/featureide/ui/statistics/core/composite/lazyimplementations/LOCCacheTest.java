@@ -0,0 +1,133 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2016  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ * 
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.ui.statistics.core.composite.lazyimplementations;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.Path;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests that the {@link LOCCache} only counts the lines of a file again if its modification stamp and its content changed.
+ */
+public class LOCCacheTest {
+
+	private File tempFile;
+	private long modificationStamp;
+	private LOCCache cache;
+	private IFile file;
+
+	@Before
+	public void setUp() throws IOException {
+		tempFile = File.createTempFile("LOCCacheTest", ".java");
+		modificationStamp = 1;
+		cache = new LOCCache();
+		file = (IFile) Proxy.newProxyInstance(IFile.class.getClassLoader(), new Class<?>[] { IFile.class }, new InvocationHandler() {
+			@Override
+			public Object invoke(Object proxy, Method method, Object[] args) {
+				switch (method.getName()) {
+				case "getFullPath":
+					return new Path("/Project/src/Test.java");
+				case "getLocation":
+					return new Path(tempFile.getAbsolutePath());
+				case "getModificationStamp":
+					return modificationStamp;
+				case "getFileExtension":
+					return "java";
+				case "getCharset":
+					return StandardCharsets.UTF_8.name();
+				default:
+					throw new UnsupportedOperationException(method.getName());
+				}
+			}
+		});
+	}
+
+	@After
+	public void tearDown() {
+		tempFile.delete();
+	}
+
+	private void write(String content) throws IOException {
+		Files.write(tempFile.toPath(), content.getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void testUnchangedStamp() throws IOException {
+		write("int a;\nint b;\n");
+		assertEquals(2, cache.getLOC(file));
+
+		// the content is not read again as long as the stamp is unchanged
+		write("int a;\nint b;\nint c;\n");
+		assertEquals(2, cache.getLOC(file));
+		assertEquals(1, cache.getCountedFileCount());
+		assertEquals(1, cache.size());
+	}
+
+	@Test
+	public void testChangedStamp() throws IOException {
+		write("int a;\nint b;\n");
+		assertEquals(2, cache.getLOC(file));
+
+		write("int a;\nint b;\n// comment\nint c;\n");
+		modificationStamp++;
+		assertEquals(3, cache.getLOC(file));
+		assertEquals(2, cache.getCountedFileCount());
+	}
+
+	@Test
+	public void testUnchangedChecksum() throws IOException {
+		write("int a;\nint b;\n");
+		assertEquals(2, cache.getLOC(file));
+
+		// the file was touched, but its content is equal
+		modificationStamp++;
+		assertEquals(2, cache.getLOC(file));
+		assertEquals(1, cache.getCountedFileCount());
+
+		// the new stamp is stored as well
+		write("int a;\n");
+		assertEquals(2, cache.getLOC(file));
+		assertEquals(1, cache.getCountedFileCount());
+	}
+
+	@Test
+	public void testClear() throws IOException {
+		write("int a;\n");
+		assertEquals(1, cache.getLOC(file));
+		cache.clear();
+		assertEquals(0, cache.size());
+		assertEquals(1, cache.getLOC(file));
+		assertEquals(2, cache.getCountedFileCount());
+	}
+
+}